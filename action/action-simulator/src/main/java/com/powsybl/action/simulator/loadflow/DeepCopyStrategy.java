@@ -7,22 +7,42 @@
 package com.powsybl.action.simulator.loadflow;
 
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
 import com.powsybl.iidm.xml.NetworkXml;
 
 import java.util.Objects;
 
 /**
+ * Create each state as a deep copy of the network at the time the strategy is created. States are copied in memory,
+ * from a private copy of the network, when the network factory supports it, else through a compressed XML export.
+ *
  * @author Teofil Calin BANC <teofil-calin.banc at rte-france.com>
  */
 class DeepCopyStrategy implements NetworkCopyStrategy {
+
+    private final NetworkFactory networkFactory;
+
+    private final Network snapshot;
+
     private final byte[] compressedBytes;
 
     DeepCopyStrategy(Network network) {
-        this.compressedBytes = NetworkXml.gzip(Objects.requireNonNull(network));
+        Objects.requireNonNull(network);
+        networkFactory = NetworkFactory.findDefault();
+        if (networkFactory.isCopySupported(network)) {
+            snapshot = networkFactory.copy(network, true);
+            compressedBytes = null;
+        } else {
+            snapshot = null;
+            compressedBytes = NetworkXml.gzip(network);
+        }
     }
 
     @Override
     public Network createState(String id) {
+        if (snapshot != null) {
+            return networkFactory.copy(snapshot, true);
+        }
         return NetworkXml.gunzip(compressedBytes);
     }
 
@@ -24,6 +24,10 @@ import java.util.Objects;
 import java.util.Optional;
 
 /**
+ * Naming strategies based on aliases may be shared by the writers of the different CGMES profiles running
+ * concurrently: the identifiers created during the export are stored under the lock of the strategy, so that all the
+ * profiles agree on them.
+ *
  * @author Miora Vedelago <miora.ralambotiana at rte-france.com>
  */
 public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy {
@@ -37,7 +41,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
         this.idByUuid.putAll(Objects.requireNonNull(idByUuid));
     }
 
-    public AbstractCgmesAliasNamingStrategy readFrom(InputStream is) {
+    public synchronized AbstractCgmesAliasNamingStrategy readFrom(InputStream is) {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
             CsvParserSettings settings = new CsvParserSettings();
             setFormat(settings.getFormat());
@@ -66,7 +70,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
     }
 
     @Override
-    public String getIidmId(String type, String id) {
+    public synchronized String getIidmId(String type, String id) {
         return idByUuid.getOrDefault(id, id);
     }
 
@@ -108,7 +112,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
     }
 
     @Override
-    public String getCgmesId(String identifier) {
+    public synchronized String getCgmesId(String identifier) {
         // This is a hack to save in the naming strategy an identifier for something that has no related IIDM object
         // Control Area identifiers
         if (idByUuid.containsValue(identifier)) {
@@ -131,7 +135,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
     }
 
     @Override
-    public void readIdMapping(Identifiable<?> identifiable, String type) {
+    public synchronized void readIdMapping(Identifiable<?> identifiable, String type) {
         if (idByUuid.containsValue(identifiable.getId())) {
             String uuid = idByUuid.inverse().get(identifiable.getId());
             // alias UUID is only created on request, for selected IIDM objects.
@@ -158,7 +162,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
         }
     }
 
-    private String getCgmesId(Identifiable<?> identifiable, String id, String aliasName) {
+    private synchronized String getCgmesId(Identifiable<?> identifiable, String id, String aliasName) {
         if (idByUuid.containsValue(id)) {
             return idByUuid.inverse().get(id);
         }
@@ -176,7 +180,7 @@ public abstract class AbstractCgmesAliasNamingStrategy implements NamingStrategy
         return uuid;
     }
 
-    private void writeIdMapping(BufferedWriter writer) {
+    private synchronized void writeIdMapping(BufferedWriter writer) {
         CsvWriterSettings settings = new CsvWriterSettings();
         setFormat(settings.getFormat());
         CsvWriter csvWriter = new CsvWriter(writer, settings);
@@ -10,12 +10,16 @@ package com.powsybl.cgmes.conversion;
 import com.google.auto.service.AutoService;
 import com.powsybl.cgmes.conversion.export.*;
 import com.powsybl.cgmes.model.CgmesNamespace;
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.commons.exceptions.UncheckedXmlStreamException;
 import com.powsybl.commons.xml.XmlUtil;
 import com.powsybl.iidm.export.Exporter;
+import com.powsybl.iidm.network.Bus;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.commons.parameters.Parameter;
 import com.powsybl.commons.parameters.ParameterDefaultValueConfig;
 import com.powsybl.commons.parameters.ParameterType;
@@ -26,10 +30,16 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -74,37 +84,138 @@ public class CgmesExport implements Exporter {
         if (cimVersionParam != null) {
             context.setCimVersion(Integer.parseInt(cimVersionParam));
         }
+        List<String> profiles = Parameter.readStringList(getFormat(), params, PROFILES_PARAMETER, defaultValueConfig);
+        List<ProfileExport> exports = new ArrayList<>();
+        if (profiles.contains("EQ")) {
+            exports.add(new ProfileExport(filenameEq, context.getEqModelDescription(), EquipmentExport::write));
+        }
+        if (profiles.contains("TP")) {
+            exports.add(new ProfileExport(filenameTp, context.getTpModelDescription(), TopologyExport::write));
+        }
+        if (profiles.contains("SSH")) {
+            exports.add(new ProfileExport(filenameSsh, context.getSshModelDescription(), SteadyStateHypothesisExport::write));
+        }
+        if (profiles.contains("SV")) {
+            exports.add(new ProfileExport(filenameSv, context.getSvModelDescription(), StateVariablesExport::write));
+        }
         try {
-            List<String> profiles = Parameter.readStringList(getFormat(), params, PROFILES_PARAMETER, defaultValueConfig);
-            if (profiles.contains("EQ")) {
-                try (OutputStream out = new BufferedOutputStream(ds.newOutputStream(filenameEq, false))) {
-                    XMLStreamWriter writer = XmlUtil.initializeWriter(true, INDENT, out);
-                    EquipmentExport.write(network, writer, context);
+            if (Parameter.readBoolean(getFormat(), params, PARALLEL_PROFILES_PARAMETER, defaultValueConfig) && exports.size() > 1) {
+                exportProfilesInParallel(network, exports, profiles.contains("EQ"), context, ds);
+            } else {
+                for (ProfileExport export : exports) {
+                    try (OutputStream out = new BufferedOutputStream(ds.newOutputStream(export.filename, false))) {
+                        export.write(network, out, context);
+                    }
                 }
             }
-            if (profiles.contains("TP")) {
-                try (OutputStream out = new BufferedOutputStream(ds.newOutputStream(filenameTp, false))) {
-                    XMLStreamWriter writer = XmlUtil.initializeWriter(true, INDENT, out);
-                    TopologyExport.write(network, writer, context);
-                }
+            context.getNamingStrategy().writeIdMapping(baseName + "_id_mapping.csv", ds);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface ProfileWriter {
+        void write(Network network, XMLStreamWriter writer, CgmesExportContext context);
+    }
+
+    private static final class ProfileExport {
+
+        private final String filename;
+        private final CgmesExportContext.ModelDescription modelDescription;
+        private final ProfileWriter writer;
+
+        private ProfileExport(String filename, CgmesExportContext.ModelDescription modelDescription, ProfileWriter writer) {
+            this.filename = filename;
+            this.modelDescription = modelDescription;
+            this.writer = writer;
+        }
+
+        private void write(Network network, OutputStream out, CgmesExportContext context) {
+            try {
+                writer.write(network, XmlUtil.initializeWriter(true, INDENT, out), context);
+            } catch (XMLStreamException e) {
+                throw new UncheckedXmlStreamException(e);
             }
-            if (profiles.contains("SSH")) {
-                try (OutputStream out = new BufferedOutputStream(ds.newOutputStream(filenameSsh, false))) {
-                    XMLStreamWriter writer = XmlUtil.initializeWriter(true, INDENT, out);
-                    SteadyStateHypothesisExport.write(network, writer, context);
-                }
+        }
+    }
+
+    /**
+     * Write the profiles at the same time, each one in its own thread. Everything the writers of different profiles
+     * share is computed before: identifiers of the models, tap changer aliases and the topology of the network.
+     * As data sources do not support several output streams open at the same time (zip archives, memory),
+     * each profile is written to a temporary file, then copied to the data source once all of them are written.
+     */
+    private static void exportProfilesInParallel(Network network, List<ProfileExport> exports, boolean exportEquipment,
+                                                 CgmesExportContext context, DataSource ds) throws IOException {
+        context.assignModelIds(exports.stream().map(export -> export.modelDescription).collect(Collectors.toList()));
+        context.setExportEquipment(exportEquipment);
+        if (exportEquipment) {
+            EquipmentExport.adjustTapChangerAliases(network);
+        }
+        computeTopology(network);
+
+        VariantManager variantManager = network.getVariantManager();
+        String variantId = variantManager.getWorkingVariantId();
+        boolean multiThreadAccess = variantManager.isVariantMultiThreadAccessAllowed();
+
+        List<Path> tmpFiles = new ArrayList<>(exports.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(exports.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(exports.size());
+            for (ProfileExport export : exports) {
+                Path tmpFile = Files.createTempFile("cgmes-export", ".xml");
+                tmpFiles.add(tmpFile);
+                futures.add(executor.submit(() -> {
+                    if (multiThreadAccess) {
+                        variantManager.setWorkingVariant(variantId);
+                    }
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmpFile))) {
+                        export.write(network, out, context);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
             }
-            if (profiles.contains("SV")) {
-                try (OutputStream out = new BufferedOutputStream(ds.newOutputStream(filenameSv, false))) {
-                    XMLStreamWriter writer = XmlUtil.initializeWriter(true, INDENT, out);
-                    StateVariablesExport.write(network, writer, context);
+            for (Future<?> future : futures) {
+                join(future);
+            }
+            for (int i = 0; i < exports.size(); i++) {
+                try (OutputStream out = ds.newOutputStream(exports.get(i).filename, false)) {
+                    Files.copy(tmpFiles.get(i), out);
                 }
             }
-            context.getNamingStrategy().writeIdMapping(baseName + "_id_mapping.csv", ds);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        } catch (XMLStreamException e) {
-            throw new UncheckedXmlStreamException(e);
+        } finally {
+            executor.shutdownNow();
+            for (Path tmpFile : tmpFiles) {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+    }
+
+    private static void join(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        }
+    }
+
+    /**
+     * Bus views and components are computed lazily on first access, compute them before sharing the network.
+     */
+    private static void computeTopology(Network network) {
+        for (VoltageLevel vl : network.getVoltageLevels()) {
+            vl.getBusBreakerView().getBuses().forEach(Bus::getConnectedComponent);
+            vl.getBusView().getBuses().forEach(bus -> {
+                bus.getConnectedComponent();
+                bus.getSynchronousComponent();
+            });
         }
     }
 
@@ -135,6 +246,7 @@ public class CgmesExport implements Exporter {
     public static final String NAMING_STRATEGY = "iidm.export.cgmes.naming-strategy";
     public static final String PROFILES = "iidm.export.cgmes.profiles";
     public static final String WITH_TOPOLOGICAL_MAPPING = "iidm.export.cgmes.with-topological-mapping";
+    public static final String PARALLEL_PROFILES = "iidm.export.cgmes.parallel-profiles";
 
     private static final Parameter BASE_NAME_PARAMETER = new Parameter(
             BASE_NAME,
@@ -174,6 +286,11 @@ public class CgmesExport implements Exporter {
             ParameterType.BOOLEAN,
             "Take topological mapping (CGMES-IIDM) of CgmesIidmMapping extension into account or create one for CGMES export",
             Boolean.FALSE);
+    private static final Parameter PARALLEL_PROFILES_PARAMETER = new Parameter(
+            PARALLEL_PROFILES,
+            ParameterType.BOOLEAN,
+            "Write the profiles concurrently",
+            Boolean.FALSE);
 
     private static final List<Parameter> STATIC_PARAMETERS = List.of(
             BASE_NAME_PARAMETER,
@@ -182,5 +299,6 @@ public class CgmesExport implements Exporter {
             EXPORT_POWER_FLOWS_FOR_SWITCHES_PARAMETER,
             NAMING_STRATEGY_PARAMETER,
             PROFILES_PARAMETER,
-            WITH_TOPOLOGICAL_MAPPING_PARAMETER);
+            WITH_TOPOLOGICAL_MAPPING_PARAMETER,
+            PARALLEL_PROFILES_PARAMETER);
 }
@@ -221,6 +221,12 @@ public class CgmesImport implements Importer {
                                 p,
                                 IMPORT_CONTROL_AREAS_PARAMETER,
                                 defaultValueConfig))
+                .setPrefetchQueries(
+                        Parameter.readBoolean(
+                                getFormat(),
+                                p,
+                                PREFETCH_QUERIES_PARAMETER,
+                                defaultValueConfig))
                 .setProfileForInitialValuesShuntSectionsTapPositions(
                         Parameter.readString(
                                 getFormat(),
@@ -288,6 +294,7 @@ public class CgmesImport implements Importer {
     public static final String IMPORT_CONTROL_AREAS = "iidm.import.cgmes.import-control-areas";
     public static final String POST_PROCESSORS = "iidm.import.cgmes.post-processors";
     public static final String POWSYBL_TRIPLESTORE = "iidm.import.cgmes.powsybl-triplestore";
+    public static final String PREFETCH_QUERIES = "iidm.import.cgmes.prefetch-queries";
     public static final String PROFILE_FOR_INITIAL_VALUES_SHUNT_SECTIONS_TAP_POSITIONS = "iidm.import.cgmes.profile-for-initial-values-shunt-sections-tap-positions";
     public static final String SOURCE_FOR_IIDM_ID = "iidm.import.cgmes.source-for-iidm-id";
     public static final String STORE_CGMES_MODEL_AS_NETWORK_EXTENSION = "iidm.import.cgmes.store-cgmes-model-as-network-extension";
@@ -354,11 +361,18 @@ public class CgmesImport implements Importer {
     private static final Parameter POWSYBL_TRIPLESTORE_PARAMETER = new Parameter(
             POWSYBL_TRIPLESTORE,
             ParameterType.STRING,
-            "The triplestore used during the import",
+            "The triplestore used during the import, or streaming to read CIM16 files without triple store",
             TripleStoreFactory.defaultImplementation(),
             null,
             ParameterScope.TECHNICAL)
             .addAdditionalNames("powsyblTripleStore");
+    private static final Parameter PREFETCH_QUERIES_PARAMETER = new Parameter(
+            PREFETCH_QUERIES,
+            ParameterType.BOOLEAN,
+            "Evaluate independent triplestore queries concurrently before conversion",
+            Boolean.FALSE,
+            null,
+            ParameterScope.TECHNICAL);
     private static final Parameter PROFILE_FOR_INITIAL_VALUES_SHUNT_SECTIONS_TAP_POSITIONS_PARAMETER = new Parameter(
         PROFILE_FOR_INITIAL_VALUES_SHUNT_SECTIONS_TAP_POSITIONS,
         ParameterType.STRING,
@@ -396,6 +410,7 @@ public class CgmesImport implements Importer {
             ID_MAPPING_FILE_NAMING_STRATEGY_PARAMETER,
             IMPORT_CONTROL_AREAS_PARAMETER,
             POWSYBL_TRIPLESTORE_PARAMETER,
+            PREFETCH_QUERIES_PARAMETER,
             PROFILE_FOR_INITIAL_VALUES_SHUNT_SECTIONS_TAP_POSITIONS_PARAMETER,
             SOURCE_FOR_IIDM_ID_PARAMETER,
             STORE_CGMES_CONVERSION_CONTEXT_AS_NETWORK_EXTENSION_PARAMETER,
@@ -16,6 +16,7 @@ import com.powsybl.cgmes.model.CgmesModel;
 import com.powsybl.cgmes.model.CgmesModelException;
 import com.powsybl.cgmes.model.CgmesSubset;
 import com.powsybl.cgmes.model.CgmesTerminal;
+import com.powsybl.cgmes.model.streaming.CgmesModelStreaming;
 import com.powsybl.cgmes.model.triplestore.CgmesModelTripleStore;
 import com.powsybl.iidm.network.*;
 import com.powsybl.triplestore.api.PropertyBag;
@@ -30,6 +31,8 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -137,6 +140,26 @@ public class Conversion {
         if (!cgmes.hasEquipmentCore()) {
             throw new CgmesModelException("Data source does not contain EquipmentCore data");
         }
+        // post-processors query the triple store, which the streaming model does not have
+        if (!postProcessors.isEmpty() && cgmes instanceof CgmesModelStreaming) {
+            throw new CgmesModelException("CGMES post-processors "
+                    + postProcessors.stream().map(CgmesImportPostProcessor::getName).collect(Collectors.toList())
+                    + " need a triple store and cannot be used with the streaming CGMES model");
+        }
+        if (config.prefetchQueries() && cgmes instanceof CgmesModelTripleStore) {
+            CgmesModelTripleStore cgmests = (CgmesModelTripleStore) cgmes;
+            prefetchQueries(cgmests);
+            try {
+                return convertModel();
+            } finally {
+                // also cancels the queries not evaluated yet if the conversion fails
+                cgmests.clearPrefetchedQueries();
+            }
+        }
+        return convertModel();
+    }
+
+    private Network convertModel() {
         Network network = createNetwork();
         Context context = createContext(network);
         assignNetworkProperties(context);
@@ -231,7 +254,6 @@ public class Conversion {
 
         // apply post-processors
         for (CgmesImportPostProcessor postProcessor : postProcessors) {
-            // FIXME generic cgmes models may not have an underlying triplestore
             // TODO maybe pass the properties to the post processors
             postProcessor.process(network, cgmes.tripleStore());
         }
@@ -251,6 +273,40 @@ public class Conversion {
         return network;
     }
 
+    /**
+     * Evaluate in the background the queries needed by the conversion, in the order they are first used, so that
+     * queries are evaluated while the network is built from the results of the previous ones. The first queries are
+     * the ones used to build the caches of the model and the context.
+     * <p>
+     * PrefetchQueriesConversionTest checks that this list matches the queries evaluated by the conversion: update it
+     * together with the conversion.
+     */
+    private void prefetchQueries(CgmesModelTripleStore cgmests) {
+        List<String> queries = new ArrayList<>(List.of("modelIds", "boundaryNodes", "voltageLevels", "substations",
+                "switches", "transformerEnds", "terminals", "connectivityNodes", "topologicalNodes",
+                "connectivityNodeContainers", "acDcConverters", "dcLineSegments", "ratioTapChangers", "phaseTapChangers",
+                "ratioTapChangerTablesPoints", "phaseTapChangerTablesPoints", "reactiveCapabilityCurveData", "modelDates",
+                "baseVoltages", "regulatingControls"));
+        if (!config.createBusbarSectionForEveryConnectivityNode()) {
+            queries.add("busbarSections");
+        }
+        queries.addAll(List.of("energyConsumers", "energySources", "equivalentInjections", "externalNetworkInjections",
+                "shuntCompensators", "equivalentShunts", "staticVarCompensators", "asynchronousMachines",
+                "synchronousMachines", "acLineSegments", "equivalentBranches", "seriesCompensators", "dcTerminals",
+                "operationalLimits"));
+        if (config.convertSvInjections()) {
+            queries.add("svInjections");
+        }
+        if (config.importControlAreas()) {
+            queries.addAll(List.of("controlAreas", "tieFlows"));
+        }
+        int threads = Math.max(1, Math.min(MAX_PREFETCH_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        cgmests.prefetchNamedQueries(queries, executor);
+        // Already submitted queries are still evaluated, the threads end with the last one
+        executor.shutdown();
+    }
+
     private Source isBoundaryTopologicalNode(String graph) {
         //There are unit tests where the boundary file contains the sequence "TPBD" and others "TP_BD"
         return graph.contains("TP") && graph.contains("BD")  ? Source.BOUNDARY : Source.IGM;
@@ -389,12 +445,18 @@ public class Conversion {
     }
 
     private void addCimCharacteristics(Network network) {
+        int cimVersion;
         if (cgmes instanceof CgmesModelTripleStore) {
-            network.newExtension(CimCharacteristicsAdder.class)
-                    .setTopologyKind(cgmes.isNodeBreaker() ? CgmesTopologyKind.NODE_BREAKER : CgmesTopologyKind.BUS_BRANCH)
-                    .setCimVersion(((CgmesModelTripleStore) cgmes).getCimVersion())
-                    .add();
+            cimVersion = ((CgmesModelTripleStore) cgmes).getCimVersion();
+        } else if (cgmes instanceof CgmesModelStreaming) {
+            cimVersion = ((CgmesModelStreaming) cgmes).getCimVersion();
+        } else {
+            return;
         }
+        network.newExtension(CimCharacteristicsAdder.class)
+                .setTopologyKind(cgmes.isNodeBreaker() ? CgmesTopologyKind.NODE_BREAKER : CgmesTopologyKind.BUS_BRANCH)
+                .setCimVersion(cimVersion)
+                .add();
     }
 
     private void putVoltageLevelRefByLineContainerIdIfPresent(String lineContainerId, Supplier<String> terminalId1,
@@ -741,6 +803,15 @@ public class Conversion {
             return this;
         }
 
+        public boolean prefetchQueries() {
+            return prefetchQueries;
+        }
+
+        public Config setPrefetchQueries(boolean prefetchQueries) {
+            this.prefetchQueries = prefetchQueries;
+            return this;
+        }
+
         public boolean convertSvInjections() {
             return convertSvInjections;
         }
@@ -867,6 +938,7 @@ public class Conversion {
 
         private boolean createBusbarSectionForEveryConnectivityNode = false;
         private boolean convertSvInjections = true;
+        private boolean prefetchQueries = false;
         private StateProfile profileForInitialValuesShuntSectionsTapPositions = SSH;
         private boolean storeCgmesModelAsNetworkExtension = true;
         private boolean storeCgmesConversionContextAsNetworkExtension = false;
@@ -896,6 +968,8 @@ public class Conversion {
 
     private static final Logger LOG = LoggerFactory.getLogger(Conversion.class);
 
+    private static final int MAX_PREFETCH_THREADS = 4;
+
     public static final String NETWORK_PS_CGMES_MODEL_DETAIL = "CGMESModelDetail";
     public static final String NETWORK_PS_CGMES_MODEL_DETAIL_BUS_BRANCH = "bus-branch";
     public static final String NETWORK_PS_CGMES_MODEL_DETAIL_NODE_BREAKER = "node-breaker";
@@ -54,7 +54,10 @@ public class CgmesExportContext {
     private boolean exportFlowsForSwitches = false;
     private boolean exportEquipment = false;
 
-    private final Map<String, Set<CgmesIidmMapping.CgmesTopologicalNode>> topologicalNodeByBusViewBusMapping = new HashMap<>();
+    private boolean modelIdsAssigned = false;
+
+    // Synchronized: topological nodes of HVDC lines are added by the TP writer while other profiles may be written
+    private final Map<String, Set<CgmesIidmMapping.CgmesTopologicalNode>> topologicalNodeByBusViewBusMapping = Collections.synchronizedMap(new HashMap<>());
     private final Set<CgmesIidmMapping.CgmesTopologicalNode> unmappedTopologicalNodes = new HashSet<>();
 
     private final Map<Double, BaseVoltageMapping.BaseVoltageSource> baseVoltageByNominalVoltageMapping = new HashMap<>();
@@ -89,6 +92,24 @@ public class CgmesExportContext {
         }
     }
 
+    /**
+     * Assign the identifiers of the given models before writing any of them, so that the dependencies between models
+     * are known in advance and the profiles can be written in any order, or at the same time.
+     * Model descriptions written afterwards keep their assigned identifier.
+     */
+    public CgmesExportContext assignModelIds(Collection<ModelDescription> modelDescriptions) {
+        for (ModelDescription modelDescription : modelDescriptions) {
+            modelDescription.setId("urn:uuid:" + CgmesExportUtil.getUniqueId());
+        }
+        updateDependencies();
+        modelIdsAssigned = true;
+        return this;
+    }
+
+    public boolean hasAssignedModelIds() {
+        return modelIdsAssigned;
+    }
+
     public static final class ModelDescription {
 
         private String description;
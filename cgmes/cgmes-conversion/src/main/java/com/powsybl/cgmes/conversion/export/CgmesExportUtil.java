@@ -94,9 +94,12 @@ public final class CgmesExportUtil {
 
     public static void writeModelDescription(XMLStreamWriter writer, ModelDescription modelDescription, CgmesExportContext context) throws XMLStreamException {
         writer.writeStartElement(MD_NAMESPACE, "FullModel");
-        String modelId = "urn:uuid:" + CgmesExportUtil.getUniqueId();
-        modelDescription.setId(modelId);
-        context.updateDependencies();
+        String modelId = modelDescription.getId();
+        if (!context.hasAssignedModelIds() || modelId == null) {
+            modelId = "urn:uuid:" + CgmesExportUtil.getUniqueId();
+            modelDescription.setId(modelId);
+            context.updateDependencies();
+        }
         writer.writeAttribute(RDF_NAMESPACE, CgmesNames.ABOUT, modelId);
         writer.writeStartElement(MD_NAMESPACE, CgmesNames.SCENARIO_TIME);
         writer.writeCharacters(ISODateTimeFormat.dateTimeNoMillis().withZoneUTC().print(context.getScenarioTime()));
@@ -362,6 +362,17 @@ public final class EquipmentExport {
         }
     }
 
+    /**
+     * Adjust the aliases of the tap changers of all the two windings transformers of the network as it is done while
+     * writing the EQ profile. Other profiles read these aliases, it has to be done before writing profiles concurrently.
+     */
+    public static void adjustTapChangerAliases(Network network) {
+        for (TwoWindingsTransformer twt : network.getTwoWindingsTransformers()) {
+            adjustTapChangerAliases2wt(twt, twt.getPhaseTapChanger(), CgmesNames.PHASE_TAP_CHANGER);
+            adjustTapChangerAliases2wt(twt, twt.getRatioTapChanger(), CgmesNames.RATIO_TAP_CHANGER);
+        }
+    }
+
     private static void adjustTapChangerAliases2wt(TwoWindingsTransformer transformer, TapChanger<?, ?> tc, String tapChangerKind) {
         // If we had alias only for tc1, is ok, we will export only tc1 at end 1
         // If we had alias for tc1 and tc2, is ok, tc2 has been moved to end 1 and combined with tc1, but we preserve id for tc1
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.cgmes.conversion.test;
+
+import com.powsybl.cgmes.conformity.CgmesConformity1Catalog;
+import com.powsybl.cgmes.conversion.Conversion;
+import com.powsybl.cgmes.conversion.test.network.compare.Comparison;
+import com.powsybl.cgmes.conversion.test.network.compare.ComparisonConfig;
+import com.powsybl.cgmes.model.CgmesModel;
+import com.powsybl.cgmes.model.CgmesModelFactory;
+import com.powsybl.cgmes.model.CgmesOnDataSource;
+import com.powsybl.cgmes.model.test.TestGridModel;
+import com.powsybl.cgmes.model.triplestore.CgmesModelTripleStore;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.TripleStoreFactory;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class PrefetchQueriesConversionTest {
+
+    @Test
+    public void microGridBaseCaseBE() {
+        compare(CgmesConformity1Catalog.microGridBaseCaseBE());
+    }
+
+    @Test
+    public void miniNodeBreaker() {
+        compare(CgmesConformity1Catalog.miniNodeBreaker());
+    }
+
+    @Test
+    public void prefetchedQueries() {
+        CgmesModelTripleStore cgmes = (CgmesModelTripleStore) CgmesModelFactory.create(
+                CgmesConformity1Catalog.microGridBaseCaseBE().dataSource(), TripleStoreFactory.defaultImplementation());
+        PropertyBags expected = cgmes.terminals();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            cgmes.prefetchNamedQueries(List.of("terminals", "unknownQuery"), executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(expected, cgmes.terminals());
+        // The prefetched result is only used once
+        assertEquals(expected, cgmes.terminals());
+    }
+
+    @Test
+    public void prefetchedQueriesFollowConversion() {
+        checkPrefetchedQueries(CgmesConformity1Catalog.microGridBaseCaseBE(), new Conversion.Config(), true);
+        // the first use of some queries depends on the model content
+        checkPrefetchedQueries(CgmesConformity1Catalog.miniNodeBreaker(), new Conversion.Config(), false);
+        checkPrefetchedQueries(CgmesConformity1Catalog.microGridBaseCaseBE(), new Conversion.Config()
+                .setConvertSvInjections(false)
+                .setImportControlAreas(false)
+                .setCreateCgmesExportMapping(true), true);
+        checkPrefetchedQueries(CgmesConformity1Catalog.miniNodeBreaker(), new Conversion.Config()
+                .setCreateBusbarSectionForEveryConnectivityNode(true), false);
+    }
+
+    /**
+     * Check that the queries prefetched by the conversion are the ones it evaluates, and optionally in the same order,
+     * so that the prefetch list does not drift from the conversion code.
+     */
+    private static void checkPrefetchedQueries(TestGridModel gm, Conversion.Config config, boolean checkOrder) {
+        RecordingCgmesModel cgmes = new RecordingCgmesModel(new CgmesOnDataSource(gm.dataSource()).cimNamespace());
+        cgmes.read(gm.dataSource(), null);
+        new Conversion(cgmes, config.setPrefetchQueries(true)).convert();
+        List<String> evaluated = new ArrayList<>(cgmes.evaluatedQueries);
+        evaluated.removeAll(cgmes.evaluatedBeforePrefetchQueries);
+        if (checkOrder) {
+            assertEquals(evaluated, cgmes.prefetchedQueries);
+        } else {
+            assertEquals(new HashSet<>(evaluated), new HashSet<>(cgmes.prefetchedQueries));
+            assertEquals(evaluated.size(), cgmes.prefetchedQueries.size());
+        }
+    }
+
+    private static final class RecordingCgmesModel extends CgmesModelTripleStore {
+
+        // Parameterless queries evaluated after the prefetch, in order of first evaluation
+        private final Set<String> evaluatedQueries = new LinkedHashSet<>();
+
+        private final List<String> prefetchedQueries = new ArrayList<>();
+
+        // Parameterless queries evaluated before the prefetch, to check the model, not worth prefetching
+        private final Set<String> evaluatedBeforePrefetchQueries = new HashSet<>();
+
+        private boolean prefetched = false;
+
+        private RecordingCgmesModel(String cimNamespace) {
+            super(cimNamespace, TripleStoreFactory.create(TripleStoreFactory.defaultImplementation()));
+        }
+
+        @Override
+        public PropertyBags namedQuery(String name, String... params) {
+            if (params.length == 0) {
+                if (prefetched) {
+                    evaluatedQueries.add(name);
+                } else {
+                    evaluatedBeforePrefetchQueries.add(name);
+                }
+            }
+            return super.namedQuery(name, params);
+        }
+
+        @Override
+        public void prefetchNamedQueries(Collection<String> names, Executor executor) {
+            prefetched = true;
+            prefetchedQueries.addAll(names);
+            super.prefetchNamedQueries(names, executor);
+        }
+    }
+
+    private static void compare(TestGridModel gm) {
+        CgmesModel cgmes1 = CgmesModelFactory.create(gm.dataSource(), TripleStoreFactory.defaultImplementation());
+        CgmesModel cgmes2 = CgmesModelFactory.create(gm.dataSource(), TripleStoreFactory.defaultImplementation());
+        Network expected = new Conversion(cgmes1, new Conversion.Config().setPrefetchQueries(false)).convert();
+        Network actual = new Conversion(cgmes2, new Conversion.Config().setPrefetchQueries(true)).convert();
+        new Comparison(expected, actual, new ComparisonConfig()).compare();
+    }
+}
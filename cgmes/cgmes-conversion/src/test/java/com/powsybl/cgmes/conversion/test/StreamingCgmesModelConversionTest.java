@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.cgmes.conversion.test;
+
+import com.powsybl.cgmes.conformity.CgmesConformity1Catalog;
+import com.powsybl.cgmes.conversion.CgmesImportPostProcessor;
+import com.powsybl.cgmes.conversion.Conversion;
+import com.powsybl.cgmes.conversion.test.network.compare.Comparison;
+import com.powsybl.cgmes.conversion.test.network.compare.ComparisonConfig;
+import com.powsybl.cgmes.model.CgmesModel;
+import com.powsybl.cgmes.model.CgmesModelException;
+import com.powsybl.cgmes.model.CgmesModelFactory;
+import com.powsybl.cgmes.model.streaming.CgmesModelStreaming;
+import com.powsybl.cgmes.model.test.TestGridModel;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.triplestore.api.TripleStore;
+import com.powsybl.triplestore.api.TripleStoreFactory;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class StreamingCgmesModelConversionTest {
+
+    @Test
+    public void microGridBaseCaseBE() {
+        compare(CgmesConformity1Catalog.microGridBaseCaseBE());
+    }
+
+    @Test
+    public void miniBusBranch() {
+        compare(CgmesConformity1Catalog.miniBusBranch());
+    }
+
+    @Test
+    public void miniNodeBreaker() {
+        compare(CgmesConformity1Catalog.miniNodeBreaker());
+    }
+
+    @Test
+    public void smallBusBranch() {
+        compare(CgmesConformity1Catalog.smallBusBranch());
+    }
+
+    @Test
+    public void microGridBaseCaseAssembled() {
+        compare(CgmesConformity1Catalog.microGridBaseCaseAssembled());
+    }
+
+    @Test
+    public void postProcessorsNotSupported() {
+        CgmesModel streamingModel = CgmesModelFactory.create(CgmesConformity1Catalog.miniBusBranch().dataSource(), CgmesModelFactory.STREAMING_IMPLEMENTATION);
+        CgmesImportPostProcessor postProcessor = new CgmesImportPostProcessor() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public void process(Network network, TripleStore tripleStore) {
+                fail();
+            }
+        };
+        Conversion conversion = new Conversion(streamingModel, new Conversion.Config(), List.of(postProcessor));
+        CgmesModelException e = assertThrows(CgmesModelException.class, conversion::convert);
+        assertEquals("CGMES post-processors [test] need a triple store and cannot be used with the streaming CGMES model", e.getMessage());
+    }
+
+    private static void compare(TestGridModel gm) {
+        CgmesModel tripleStoreModel = CgmesModelFactory.create(gm.dataSource(), TripleStoreFactory.defaultImplementation());
+        CgmesModel streamingModel = CgmesModelFactory.create(gm.dataSource(), CgmesModelFactory.STREAMING_IMPLEMENTATION);
+        assertTrue(streamingModel instanceof CgmesModelStreaming);
+        assertEquals(tripleStoreModel.isNodeBreaker(), streamingModel.isNodeBreaker());
+        assertEquals(tripleStoreModel.modelId(), streamingModel.modelId());
+
+        Network expected = new Conversion(tripleStoreModel).convert();
+        Network actual = new Conversion(streamingModel).convert();
+        new Comparison(expected, actual, new ComparisonConfig()).compare();
+    }
+}
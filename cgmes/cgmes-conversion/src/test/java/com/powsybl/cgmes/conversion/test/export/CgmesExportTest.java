@@ -39,6 +39,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.Assert.*;
 
@@ -281,8 +283,60 @@ public class CgmesExportTest {
         }
     }
 
+    @Test
+    public void testParallelProfiles() throws IOException {
+        ReadOnlyDataSource ds = CgmesConformity1Catalog.microGridBaseCaseBE().dataSource();
+        Network network = Importers.importData("CGMES", ds, null);
+
+        try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+            Path tmpDir = Files.createDirectory(fs.getPath("/test-parallel-profiles"));
+            Network expected = Importers.loadNetwork(exportAndAddBoundaries(network, tmpDir, "sequential", null, ds), null);
+            Properties params = new Properties();
+            params.put(CgmesExport.PARALLEL_PROFILES, "true");
+            Network actual = Importers.loadNetwork(exportAndAddBoundaries(network, tmpDir, "parallel", params, ds), null);
+
+            // Dependencies between models are known before the profiles are written
+            String sv = Files.readString(tmpDir.resolve("parallel_SV.xml"));
+            assertTrue(sv.contains("rdf:resource=\"" + modelId(tmpDir.resolve("parallel_TP.xml")) + "\""));
+            assertTrue(sv.contains("rdf:resource=\"" + modelId(tmpDir.resolve("parallel_SSH.xml")) + "\""));
+
+            // Same equipment and the same state as a sequential export
+            assertEquals(expected.getLineCount(), actual.getLineCount());
+            for (Line line : expected.getLines()) {
+                assertEquals(line.getTerminal1().getP(), actual.getLine(line.getId()).getTerminal1().getP(), 0.0);
+                assertEquals(line.getTerminal2().getQ(), actual.getLine(line.getId()).getTerminal2().getQ(), 0.0);
+            }
+            assertEquals(expected.getGeneratorCount(), actual.getGeneratorCount());
+            for (Generator generator : expected.getGenerators()) {
+                assertEquals(generator.getTargetP(), actual.getGenerator(generator.getId()).getTargetP(), 0.0);
+                assertEquals(generator.getTargetV(), actual.getGenerator(generator.getId()).getTargetV(), 0.0);
+            }
+            assertEquals(expected.getTwoWindingsTransformerCount(), actual.getTwoWindingsTransformerCount());
+            for (TwoWindingsTransformer twt : expected.getTwoWindingsTransformers()) {
+                TwoWindingsTransformer actualTwt = actual.getTwoWindingsTransformer(twt.getId());
+                assertEquals(twt.getAliases(), actualTwt.getAliases());
+                if (twt.hasPhaseTapChanger()) {
+                    assertEquals(twt.getPhaseTapChanger().getTapPosition(), actualTwt.getPhaseTapChanger().getTapPosition());
+                }
+                if (twt.hasRatioTapChanger()) {
+                    assertEquals(twt.getRatioTapChanger().getTapPosition(), actualTwt.getRatioTapChanger().getTapPosition());
+                }
+            }
+        }
+    }
+
+    private static String modelId(Path file) throws IOException {
+        Matcher matcher = Pattern.compile("FullModel rdf:about=\"([^\"]*)\"").matcher(Files.readString(file));
+        assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
     private static ReadOnlyDataSource exportAndAddBoundaries(Network network, Path tmpDir, String baseName, ReadOnlyDataSource originalDataSource) throws IOException {
-        Exporters.export("CGMES", network, null, tmpDir.resolve(baseName));
+        return exportAndAddBoundaries(network, tmpDir, baseName, null, originalDataSource);
+    }
+
+    private static ReadOnlyDataSource exportAndAddBoundaries(Network network, Path tmpDir, String baseName, Properties params, ReadOnlyDataSource originalDataSource) throws IOException {
+        Exporters.export("CGMES", network, params, tmpDir.resolve(baseName));
         String eqbd = originalDataSource.listNames(".*EQ_BD.*").stream().findFirst().orElse(null);
         if (eqbd != null) {
             try (InputStream is = originalDataSource.newInputStream(eqbd)) {
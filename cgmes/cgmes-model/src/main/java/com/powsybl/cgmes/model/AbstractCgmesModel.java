@@ -10,6 +10,8 @@ package com.powsybl.cgmes.model;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.triplestore.api.PropertyBag;
 import com.powsybl.triplestore.api.PropertyBags;
+import org.joda.time.DateTime;
+import org.joda.time.format.ISODateTimeFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +20,9 @@ import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.powsybl.cgmes.model.CgmesNamespace.CGMES_EQ_3_OR_GREATER_PREFIX;
+import static com.powsybl.cgmes.model.CgmesNamespace.CIM_100_EQ_PROFILE;
+
 /**
  * @author Luma Zamarreño <zamarrenolm at aia.es>
  */
@@ -215,6 +220,173 @@ public abstract class AbstractCgmesModel implements CgmesModel {
         return cs;
     }
 
+    // Model profiles
+
+    /**
+     * Check if the model contains Equipment Core data.
+     *
+     * @param modelProfiles the profiles of the FullModel objects, in properties "FullModel" and "profile"
+     */
+    protected static boolean hasEquipmentCore(PropertyBags modelProfiles) {
+        for (PropertyBag m : modelProfiles) {
+            String p = m.get(PROFILE);
+            if (p != null && isEquipmentCore(p)) {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("Model contains Equipment Core data profile in model {}",
+                            m.get(CgmesNames.FULL_MODEL));
+                }
+                return true;
+            }
+        }
+        // None of the FullModel objects contains EquipmentCore profile
+        return false;
+    }
+
+    /**
+     * Check if the model contains boundary data.
+     *
+     * @param modelProfiles the profiles of the FullModel objects, in properties "FullModel" and "profile"
+     */
+    protected static boolean hasBoundary(PropertyBags modelProfiles) {
+        // The Model has boundary if we are able to find models
+        // that have EquipmentBoundary profile
+        // and models that have TopologyBoundary profile
+        boolean hasEquipmentBoundary = false;
+        boolean hasTopologyBoundary = false;
+        for (PropertyBag m : modelProfiles) {
+            String p = m.get(PROFILE);
+            String mid = m.get(CgmesNames.FULL_MODEL);
+            if (p != null && p.contains("/EquipmentBoundary/")) {
+                LOG.info("Model contains EquipmentBoundary data in model {}", mid);
+                hasEquipmentBoundary = true;
+            }
+            if (p != null && p.contains("/TopologyBoundary/")) {
+                LOG.info("Model contains TopologyBoundary data in model {}", mid);
+                hasTopologyBoundary = true;
+            }
+        }
+        return hasEquipmentBoundary && hasTopologyBoundary;
+    }
+
+    /**
+     * Check if the model has to be considered node-breaker.
+     *
+     * @param modelProfiles the profiles of the FullModel objects, in properties "FullModel" and "profile"
+     */
+    protected static boolean isNodeBreaker(PropertyBags modelProfiles) {
+        if (allEqCgmes3OrGreater(modelProfiles)) {
+            return true;
+        }
+        // Only consider is node breaker if all models that have profile
+        // EquipmentCore or EquipmentBoundary
+        // also have EquipmentOperation or EquipmentBoundaryOperation
+        Map<String, Boolean> modelHasOperationProfile = computeModelHasOperationProfile(modelProfiles);
+        boolean consideredNodeBreaker = modelHasOperationProfile.values().stream().allMatch(Boolean::valueOf);
+        if (LOG.isInfoEnabled()) {
+            logNodeBreaker(consideredNodeBreaker, modelHasOperationProfile);
+        }
+        return consideredNodeBreaker;
+    }
+
+    /**
+     * Get a date of the model.
+     *
+     * @param modelDates the dates of the FullModel objects that are not boundaries
+     * @param propertyName the date property, "scenarioTime" or "created"
+     * @param defaultValue the date to use if it is not found or invalid
+     */
+    protected static DateTime date(PropertyBags modelDates, String propertyName, DateTime defaultValue) {
+        DateTime d = defaultValue;
+        if (modelDates != null && !modelDates.isEmpty()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Candidates to modelDates:{}{}", System.lineSeparator(), modelDates.tabulateLocals());
+            }
+            String s = modelDates.get(0).get(propertyName);
+            if (s != null && !s.isEmpty()) {
+                // Assume date time given as UTC if no explicit zone is specified
+                try {
+                    d = DateTime.parse(s, ISODateTimeFormat.dateTimeParser().withOffsetParsed().withZoneUTC());
+                } catch (IllegalArgumentException e) {
+                    LOG.error("Invalid date: {}. The date has been fixed to {}.", s, defaultValue);
+                    return defaultValue;
+                }
+            }
+        }
+        return d;
+    }
+
+    private static boolean allEqCgmes3OrGreater(PropertyBags modelProfiles) {
+        for (PropertyBag mp : modelProfiles) {
+            String p = mp.get(PROFILE);
+            if (p != null && isEquipmentCore(p) && !isEqCgmes3OrGreater(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEqCgmes3OrGreater(String profile) {
+        return profile.startsWith(CGMES_EQ_3_OR_GREATER_PREFIX) && profile.compareTo(CIM_100_EQ_PROFILE) >= 0;
+    }
+
+    private static void logNodeBreaker(boolean consideredNodeBreaker, Map<String, Boolean> modelHasOperationProfile) {
+        if (consideredNodeBreaker) {
+            LOG.info(
+                    "All FullModel objects have EquipmentOperation profile, so conversion will be considered node-breaker");
+        } else {
+            LOG.info(
+                    "Following FullModel objects do not have EquipmentOperation profile, so conversion will not be considered node-breaker:");
+            modelHasOperationProfile.entrySet().forEach(meqop -> {
+                if (!meqop.getValue()) {
+                    LOG.info("    {}", meqop.getKey());
+                }
+            });
+        }
+    }
+
+    private static Map<String, Boolean> computeModelHasOperationProfile(PropertyBags modelProfiles) {
+        // A bus/branch model with a single instance file where its node/breaker boundary has been assembled
+        // Must not be considered as node-breaker
+        Map<String, Boolean> modelHasOperationProfile = new HashMap<>();
+        Map<String, Boolean> modelHasBoundaryOperationProfile = new HashMap<>();
+        for (PropertyBag mp : modelProfiles) {
+            String m = mp.get("FullModel");
+            String p = mp.get(PROFILE);
+            if (p != null) {
+                updateModelHasOperationProfile(modelHasOperationProfile, modelHasBoundaryOperationProfile, m, p);
+            }
+        }
+        modelHasBoundaryOperationProfile.forEach((m, v) -> modelHasOperationProfile.merge(m, v, (vm, vbd) -> vm && vbd));
+        return modelHasOperationProfile;
+    }
+
+    private static void updateModelHasOperationProfile(Map<String, Boolean> modelHasOperationProfile, Map<String, Boolean> modelHasBoundaryOperationProfile, String model, String profile) {
+        if (isEquipmentCore(profile)) {
+            // Set to false only if we do not have a value already
+            modelHasOperationProfile.putIfAbsent(model, false);
+        }
+        if (isEquipmentOperation(profile)) {
+            modelHasOperationProfile.put(model, true);
+            LOG.info("Model {} is considered node-breaker", model);
+        }
+        if (profile.contains("/EquipmentBoundary/")) {
+            // Set to false only if we do not have a value already
+            modelHasBoundaryOperationProfile.putIfAbsent(model, false);
+        }
+        if (profile.contains("/EquipmentBoundaryOperation/")) {
+            modelHasBoundaryOperationProfile.put(model, true);
+            LOG.info("Model {} boundary is considered node-breaker", model);
+        }
+    }
+
+    private static boolean isEquipmentCore(String profile) {
+        return profile.contains("/EquipmentCore/") || profile.contains("/CIM/CoreEquipment");
+    }
+
+    private static boolean isEquipmentOperation(String profile) {
+        return profile.contains("/EquipmentOperation/") || profile.contains("/CIM/Operation");
+    }
+
     // read/write
 
     @Override
@@ -268,5 +440,6 @@ public abstract class AbstractCgmesModel implements CgmesModel {
     private Map<String, String[]> powerTransformerPhaseTapChanger;
     private Map<String, CgmesDcTerminal> cachedDcTerminals;
 
+    private static final String PROFILE = "profile";
     private static final Logger LOG = LoggerFactory.getLogger(AbstractCgmesModel.class);
 }
@@ -7,10 +7,13 @@
 
 package com.powsybl.cgmes.model;
 
+import com.powsybl.cgmes.model.streaming.CgmesModelStreaming;
 import com.powsybl.cgmes.model.triplestore.CgmesModelTripleStore;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.triplestore.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 
@@ -19,6 +22,14 @@ import java.util.Objects;
  */
 public final class CgmesModelFactory {
 
+    /**
+     * Implementation reading the instance files in columnar tables instead of a triple store, only available for CIM16
+     * models, that can not be updated nor written.
+     */
+    public static final String STREAMING_IMPLEMENTATION = "streaming";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CgmesModelFactory.class);
+
     private CgmesModelFactory() {
     }
 
@@ -61,9 +72,16 @@ public final class CgmesModelFactory {
     }
 
     private static CgmesModel createImplementation(String implementation, TripleStoreOptions tripleStoreOptions, ReadOnlyDataSource ds) {
-        // Only triple store implementations are available
-        TripleStore tripleStore = TripleStoreFactory.create(implementation, tripleStoreOptions);
         String cimNamespace = new CgmesOnDataSource(ds).cimNamespace();
+        String tripleStoreImplementation = implementation;
+        if (STREAMING_IMPLEMENTATION.equals(implementation)) {
+            if (CgmesNamespace.CIM_16_NAMESPACE.equals(cimNamespace)) {
+                return new CgmesModelStreaming(cimNamespace, tripleStoreOptions.isRemoveInitialUnderscoreForIdentifiers());
+            }
+            LOG.warn("Streaming CGMES model is not available for CIM namespace {}, a triple store is used", cimNamespace);
+            tripleStoreImplementation = TripleStoreFactory.DEFAULT_IMPLEMENTATION;
+        }
+        TripleStore tripleStore = TripleStoreFactory.create(tripleStoreImplementation, tripleStoreOptions);
         return new CgmesModelTripleStore(cimNamespace, tripleStore);
     }
 
@@ -0,0 +1,1375 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.cgmes.model.streaming;
+
+import com.powsybl.cgmes.model.AbstractCgmesModel;
+import com.powsybl.cgmes.model.CgmesNamespace;
+import com.powsybl.cgmes.model.CgmesSubset;
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.triplestore.api.PropertyBag;
+import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.TripleStore;
+import org.joda.time.DateTime;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A CGMES model reading the RDF/XML instance files in one streaming pass each, into columnar tables of objects
+ * indexed by identifier ({@link CimTables}), instead of loading them into a triple store. Queries are answered by
+ * joining the tables, giving the same results as the CIM16 SPARQL queries of {@code CgmesModelTripleStore}, at the
+ * price of a read-only model: it cannot be updated nor written.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class CgmesModelStreaming extends AbstractCgmesModel {
+
+    private static final String RDF_TYPE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+
+    private static final String NAME = "IdentifiedObject.name";
+    private static final String SEQUENCE_NUMBER = "ACDCTerminal.sequenceNumber";
+    private static final String CONDUCTING_EQUIPMENT = "Terminal.ConductingEquipment";
+    private static final String CONTROL_ENABLED = "RegulatingCondEq.controlEnabled";
+    private static final String REGULATING_CONTROL = "RegulatingCondEq.RegulatingControl";
+
+    private static final String FULL_MODEL = "FullModel";
+    private static final String MODELING_AUTHORITY_SET = "Model.modelingAuthoritySet";
+    private static final String PROFILE = "Model.profile";
+
+    private static final String[] TAP_CHANGER_PROPERTIES = {
+        NAME, "name",
+        "TapChanger.lowStep", "lowStep",
+        "TapChanger.highStep", "highStep",
+        "TapChanger.neutralStep", "neutralStep",
+        "TapChanger.normalStep", "normalStep",
+        "TapChanger.neutralU", "neutralU",
+    };
+
+    private static final String[] TAP_CHANGER_TABLE_POINT_PROPERTIES = {
+        "TapChangerTablePoint.ratio", "ratio",
+        "TapChangerTablePoint.r", "r",
+        "TapChangerTablePoint.x", "x",
+        "TapChangerTablePoint.g", "g",
+        "TapChangerTablePoint.b", "b",
+    };
+
+    private final String cimNamespace;
+
+    private final boolean removeInitialUnderscoreForIdentifiers;
+
+    private final CimTables tables = new CimTables();
+
+    /* values of a reference property, indexed by referenced object */
+    private final Map<String, Map<String, List<String>>> referencesIndexes = new HashMap<>();
+
+    private Boolean nodeBreaker = null;
+
+    public CgmesModelStreaming(String cimNamespace, boolean removeInitialUnderscoreForIdentifiers) {
+        this.cimNamespace = Objects.requireNonNull(cimNamespace);
+        if (!CgmesNamespace.CIM_16_NAMESPACE.equals(cimNamespace)) {
+            throw new IllegalArgumentException("Streaming CGMES model only supports CIM16, namespace is " + cimNamespace);
+        }
+        this.removeInitialUnderscoreForIdentifiers = removeInitialUnderscoreForIdentifiers;
+    }
+
+    public String getCimNamespace() {
+        return cimNamespace;
+    }
+
+    public int getCimVersion() {
+        return CgmesNamespace.CIM_16.getVersion();
+    }
+
+    public CimTables getTables() {
+        return tables;
+    }
+
+    @Override
+    public void read(InputStream is, String baseName, String contextName) {
+        nodeBreaker = null;
+        referencesIndexes.clear();
+        tables.read(is, contextName);
+    }
+
+    @Override
+    public TripleStore tripleStore() {
+        throw new UnsupportedOperationException("Streaming CGMES model has no triple store");
+    }
+
+    @Override
+    public void print(PrintStream out) {
+        print(out::println);
+    }
+
+    @Override
+    public void print(Consumer<String> liner) {
+        for (CimTable table : tables.tables()) {
+            liner.accept(String.format("%s %d rows", table.getType(), table.size()));
+        }
+    }
+
+    @Override
+    public void write(DataSource ds) {
+        throw new UnsupportedOperationException("Streaming CGMES model cannot be written");
+    }
+
+    @Override
+    public void clear(CgmesSubset subset) {
+        throw new UnsupportedOperationException("Streaming CGMES model cannot be updated");
+    }
+
+    @Override
+    public void add(CgmesSubset subset, String type, PropertyBags objects) {
+        throw new UnsupportedOperationException("Streaming CGMES model cannot be updated");
+    }
+
+    // Model description
+
+    @Override
+    public boolean hasEquipmentCore() {
+        return hasEquipmentCore(modelProfiles());
+    }
+
+    @Override
+    public boolean hasBoundary() {
+        return hasBoundary(modelProfiles());
+    }
+
+    @Override
+    public boolean isNodeBreaker() {
+        if (nodeBreaker == null) {
+            nodeBreaker = isNodeBreaker(modelProfiles());
+        }
+        return nodeBreaker;
+    }
+
+    @Override
+    public String modelId() {
+        Pattern equipmentCore = Pattern.compile("EquipmentCore", Pattern.CASE_INSENSITIVE);
+        return fullModels(MODELING_AUTHORITY_SET).stream()
+            .filter(m -> equipmentCore.matcher(m.get("profile")).find() && !isBoundaryProfile(m.get("profile")))
+            .map(m -> m.get(FULL_MODEL))
+            .findFirst()
+            .orElse("unknown");
+    }
+
+    @Override
+    public DateTime scenarioTime() {
+        return date(modelDates(), "scenarioTime", DateTime.now());
+    }
+
+    @Override
+    public DateTime created() {
+        return date(modelDates(), "created", DateTime.now());
+    }
+
+    private PropertyBags modelDates() {
+        PropertyBags dates = new PropertyBags();
+        fullModels(MODELING_AUTHORITY_SET, "Model.created", "Model.scenarioTime").stream()
+            .filter(m -> !isBoundaryProfile(m.get("profile")))
+            .forEach(dates::add);
+        return dates;
+    }
+
+    private static boolean isBoundaryProfile(String profile) {
+        String p = profile.toLowerCase(Locale.ROOT);
+        return p.contains("equipmentboundary") || p.contains("topologyboundary");
+    }
+
+    /**
+     * One bag per FullModel and profile, with the local name of the given properties.
+     */
+    private PropertyBags fullModels(String... properties) {
+        Rows rows = new Rows(FULL_MODEL, "profile", "graph");
+        CimTable t = tables.table(FULL_MODEL);
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (t.has(row, properties)) {
+                for (String profile : t.getAll(row, PROFILE)) {
+                    PropertyBag b = rows.add();
+                    b.put(FULL_MODEL, t.id(row));
+                    b.put("profile", profile);
+                    b.put("graph", tables.graph(t.graph(row)));
+                    for (String property : properties) {
+                        b.put(property.substring(property.indexOf('.') + 1), t.get(row, property));
+                    }
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags modelProfiles() {
+        return fullModels();
+    }
+
+    @Override
+    public PropertyBags fullModel(String cgmesProfile) {
+        Pattern profile = Pattern.compile(cgmesProfile, Pattern.CASE_INSENSITIVE);
+        Rows rows = new Rows(FULL_MODEL, "scenarioTime", "created", "version", "DependentOn", "modelingAuthoritySet", "profile", "description");
+        CimTable t = tables.table(FULL_MODEL);
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (t.has(row, "Model.scenarioTime", "Model.created", "Model.version", MODELING_AUTHORITY_SET)) {
+                for (String p : t.getAll(row, PROFILE)) {
+                    if (!profile.matcher(p).find()) {
+                        continue;
+                    }
+                    for (String dependentOn : t.getAll(row, "Model.DependentOn")) {
+                        PropertyBag b = rows.add();
+                        b.put(FULL_MODEL, t.id(row));
+                        putRequired(b, t, row, "Model.scenarioTime", "scenarioTime", "Model.created", "created",
+                            "Model.version", "version", MODELING_AUTHORITY_SET, "modelingAuthoritySet");
+                        b.put("DependentOn", dependentOn);
+                        b.put("profile", p);
+                        b.putNonNull("description", t.get(row, "Model.description"));
+                    }
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public String version() {
+        for (CimTable t : tables.tables()) {
+            for (int row = 0; row < t.size(); row++) {
+                String version = t.get(row, "IEC61970CIMVersion.version");
+                if (version != null) {
+                    return version;
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    @Override
+    public PropertyBags graph() {
+        Rows rows = new Rows("graph");
+        tables.graphs().forEach(g -> rows.add().put("graph", g));
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags numObjectsByType() {
+        Rows rows = new Rows("Type", "numObjects");
+        for (CimTable t : tables.tables()) {
+            if (t.getNamespace().startsWith(cimNamespace)) {
+                PropertyBag b = rows.add();
+                b.put("Type", t.getType());
+                b.put("numObjects", Integer.toString(t.objectCount()));
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags allObjectsOfType(String type) {
+        Objects.requireNonNull(type);
+        Rows rows = new Rows("object", "attribute", "value", "graph");
+        CimTable t = tables.table(type);
+        for (int row = 0; t != null && row < t.size(); row++) {
+            String graph = tables.graph(t.graph(row));
+            rows.add(t.id(row), RDF_TYPE, t.getType(), graph);
+            for (String property : t.propertyNames()) {
+                String attribute = t.column(property).getNamespace() + property;
+                for (String value : t.getAll(row, property)) {
+                    rows.add(t.id(row), attribute, value, graph);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    // Containers and nodes
+
+    @Override
+    public PropertyBags boundaryNodes() {
+        Rows rows = new Rows("graphBDEQ", FULL_MODEL, "modelProfile", "ConnectivityNode", "name", "container",
+            "energyIdentCodeEicFromNode", "energyIdentCodeEicFromNodeContainer", "description", "grapBDTP", "TopologicalNode",
+            "topologicalNodeName");
+        Pattern boundaryOperation = Pattern.compile("EquipmentBoundaryOperation", Pattern.CASE_INSENSITIVE);
+        Map<String, List<PropertyBag>> boundaryModelsByGraph = new HashMap<>();
+        for (PropertyBag m : fullModels()) {
+            if (boundaryOperation.matcher(m.get("profile")).find()) {
+                boundaryModelsByGraph.computeIfAbsent(m.get("graph"), g -> new ArrayList<>()).add(m);
+            }
+        }
+        CimTable t = tables.table("ConnectivityNode");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            List<PropertyBag> models = boundaryModelsByGraph.get(tables.graph(t.graph(row)));
+            if (models == null || !t.has(row, NAME, "ConnectivityNode.ConnectivityNodeContainer")
+                || !"true".equals(t.get(row, "ConnectivityNode.boundaryPoint"))) {
+                continue;
+            }
+            String cn = t.id(row);
+            String container = t.get(row, "ConnectivityNode.ConnectivityNodeContainer");
+            int tpRow = t.findRow(cn, "ConnectivityNode.TopologicalNode");
+            String tn = tpRow != -1 ? t.get(tpRow, "ConnectivityNode.TopologicalNode") : null;
+            String tnName = tn != null ? tables.find(tn, NAME) : null;
+            if (tnName == null) {
+                continue;
+            }
+            for (PropertyBag m : models) {
+                PropertyBag b = rows.add();
+                b.put("graphBDEQ", tables.graph(t.graph(row)));
+                b.put(FULL_MODEL, m.get(FULL_MODEL));
+                b.put("modelProfile", m.get("profile"));
+                b.put("ConnectivityNode", cn);
+                b.put("name", t.get(row, NAME));
+                b.put("container", container);
+                b.putNonNull("energyIdentCodeEicFromNode", tables.find(cn, "IdentifiedObject.energyIdentCodeEic"));
+                b.putNonNull("energyIdentCodeEicFromNodeContainer", tables.find(container, "IdentifiedObject.energyIdentCodeEic"));
+                b.putNonNull("description", tables.find(cn, "IdentifiedObject.description"));
+                b.put("grapBDTP", tables.graph(t.graph(tpRow)));
+                b.put("TopologicalNode", tn);
+                b.put("topologicalNodeName", tnName);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags baseVoltages() {
+        Rows rows = new Rows("BaseVoltage", "nominalVoltage", "graph");
+        CimTable t = tables.table("BaseVoltage");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            String nominalVoltage = t.get(row, "BaseVoltage.nominalVoltage");
+            if (nominalVoltage != null) {
+                rows.add(t.id(row), nominalVoltage, tables.graph(t.graph(row)));
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags substations() {
+        Rows rows = new Rows("Substation", "name", "SubRegion", "subRegionName", "Region", "regionName");
+        CimTable t = tables.table("Substation");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (!t.has(row, NAME, "Substation.Region")) {
+                continue;
+            }
+            String subRegion = t.get(row, "Substation.Region");
+            String subRegionName = tables.find(subRegion, NAME);
+            String region = tables.find(subRegion, "SubGeographicalRegion.Region");
+            String regionName = region != null ? tables.find(region, NAME) : null;
+            if (subRegionName != null && regionName != null) {
+                rows.add(t.id(row), t.get(row, NAME), subRegion, subRegionName, region, regionName);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags voltageLevels() {
+        Rows rows = new Rows("VoltageLevel", "Substation", "name", "BaseVoltage", "lowVoltageLimit", "highVoltageLimit", "nominalVoltage");
+        CimTable t = tables.table("VoltageLevel");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "VoltageLevel.Substation", "Substation", NAME, "name", "VoltageLevel.BaseVoltage", "BaseVoltage")) {
+                b.put("VoltageLevel", t.id(row));
+                putOptional(b, t.id(row), "VoltageLevel.lowVoltageLimit", "lowVoltageLimit", "VoltageLevel.highVoltageLimit", "highVoltageLimit");
+                putOptional(b, b.get("BaseVoltage"), "BaseVoltage.nominalVoltage", "nominalVoltage");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags terminals() {
+        Rows rows = new Rows("Terminal", "ConductingEquipment", "conductingEquipmentType", "sequenceNumber", "name", "connected",
+            "SvPowerFlow", "p", "q", "SvStatus", "inService", "ConnectivityNode", "TopologicalNodeConnectivityNode",
+            "TopologicalNodeTerminal");
+        CimTable t = tables.table("Terminal");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            String equipment = t.get(row, CONDUCTING_EQUIPMENT);
+            String equipmentType = equipment != null ? type(equipment) : null;
+            if (equipmentType == null) {
+                continue;
+            }
+            String terminal = t.id(row);
+            PropertyBag b = rows.add();
+            b.put("Terminal", terminal);
+            b.put("ConductingEquipment", equipment);
+            b.put("conductingEquipmentType", equipmentType);
+            putOptional(b, terminal, SEQUENCE_NUMBER, "sequenceNumber", NAME, "name", "ACDCTerminal.connected", "connected");
+            referencing("SvPowerFlow.Terminal", terminal).stream()
+                .filter(sv -> putGroup(b, sv, "SvPowerFlow.p", "p", "SvPowerFlow.q", "q"))
+                .findFirst()
+                .ifPresent(sv -> b.put("SvPowerFlow", sv));
+            referencing("SvStatus.ConductingEquipment", equipment).stream()
+                .filter(sv -> putGroup(b, sv, "SvStatus.inService", "inService"))
+                .findFirst()
+                .ifPresent(sv -> b.put("SvStatus", sv));
+            String cn = tables.find(terminal, "Terminal.ConnectivityNode");
+            if (cn != null) {
+                b.put("ConnectivityNode", cn);
+                putOptional(b, cn, "ConnectivityNode.TopologicalNode", "TopologicalNodeConnectivityNode");
+            }
+            putOptional(b, terminal, "Terminal.TopologicalNode", "TopologicalNodeTerminal");
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags connectivityNodes() {
+        if (cachedNodes) {
+            return cachedConnectivityNodes;
+        }
+        Rows rows = new Rows("ConnectivityNode", "ConnectivityNodeContainer", "name", "fromEndIsoCode", "toEndIsoCode", "TopologicalNode",
+            "BaseVoltage", "SvVoltageT", "v", "angle");
+        CimTable t = tables.table("ConnectivityNode");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            String container = t.get(row, "ConnectivityNode.ConnectivityNodeContainer");
+            if (container == null) {
+                continue;
+            }
+            String cn = t.id(row);
+            PropertyBag b = rows.add();
+            b.put("ConnectivityNode", cn);
+            b.put("ConnectivityNodeContainer", container);
+            putOptional(b, cn, NAME, "name", "ConnectivityNode.fromEndIsoCode", "fromEndIsoCode", "ConnectivityNode.toEndIsoCode", "toEndIsoCode");
+            String tn = t.find(row, "ConnectivityNode.TopologicalNode");
+            if (tn == null) {
+                // For TSOs missing the direct relationship ConnectivityNode -> TopologicalNode in TP
+                // We have to locate the TopologicalNode through one of the Terminals connected to the
+                // ConnectivityNode
+                tn = referencing("Terminal.ConnectivityNode", cn).stream()
+                    .map(terminal -> tables.find(terminal, "Terminal.TopologicalNode"))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            }
+            String baseVoltage = tn != null ? tables.find(tn, "TopologicalNode.BaseVoltage") : null;
+            if (baseVoltage != null) {
+                b.put("TopologicalNode", tn);
+                b.put("BaseVoltage", baseVoltage);
+                putSvVoltage(b, tn, "SvVoltageT");
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags topologicalNodes() {
+        if (cachedNodes) {
+            return cachedTopologicalNodes;
+        }
+        Rows rows = new Rows("TopologicalNode", "name", "BaseVoltage", "ConnectivityNodeContainer", "fromEndIsoCode", "toEndIsoCode",
+            "SvVoltageT", "v", "angle", "graphTP");
+        CimTable t = tables.table("TopologicalNode");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "TopologicalNode.BaseVoltage", "BaseVoltage",
+                "TopologicalNode.ConnectivityNodeContainer", "ConnectivityNodeContainer")) {
+                String tn = t.id(row);
+                b.put("TopologicalNode", tn);
+                b.put("graphTP", tables.graph(t.graph(row)));
+                putOptional(b, tn, "TopologicalNode.fromEndIsoCode", "fromEndIsoCode", "TopologicalNode.toEndIsoCode", "toEndIsoCode");
+                putSvVoltage(b, tn, "SvVoltageT");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    private void putSvVoltage(PropertyBag b, String topologicalNode, String svVoltageName) {
+        referencing("SvVoltage.TopologicalNode", topologicalNode).stream()
+            .filter(sv -> putGroup(b, sv, "SvVoltage.v", "v", "SvVoltage.angle", "angle"))
+            .findFirst()
+            .ifPresent(sv -> b.put(svVoltageName, sv));
+    }
+
+    @Override
+    public PropertyBags topologicalIslands() {
+        Rows rows = new Rows("TopologicalIsland", "name", "AngleRefTopologicalNode", "TopologicalNodes");
+        CimTable t = tables.table("TopologicalIsland");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (t.has(row, NAME, "TopologicalIsland.AngleRefTopologicalNode")) {
+                for (String tn : t.getAll(row, "TopologicalIsland.TopologicalNodes")) {
+                    rows.add(t.id(row), t.get(row, NAME), t.get(row, "TopologicalIsland.AngleRefTopologicalNode"), tn);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags connectivityNodeContainers() {
+        Rows rows = new Rows("ConnectivityNodeContainer", "connectivityNodeContainerType", "Substation", "VoltageLevel");
+        for (String className : List.of("VoltageLevel", "Bay", "Line")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                String id = t.id(row);
+                PropertyBag b = rows.add();
+                b.put("ConnectivityNodeContainer", id);
+                b.put("connectivityNodeContainerType", t.getType());
+                if (className.equals("VoltageLevel")) {
+                    String substation = t.get(row, "VoltageLevel.Substation");
+                    if (substation != null) {
+                        b.put("Substation", substation);
+                        b.put("VoltageLevel", id);
+                    }
+                } else if (className.equals("Bay")) {
+                    String voltageLevel = t.get(row, "Bay.VoltageLevel");
+                    String substation = voltageLevel != null ? tables.find(voltageLevel, "VoltageLevel.Substation") : null;
+                    if (substation != null) {
+                        b.put("Substation", substation);
+                        b.put("VoltageLevel", voltageLevel);
+                    }
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags operationalLimits() {
+        Rows rows = new Rows("OperationalLimit", "OperationalLimitSubclass", "name", "OperationalLimitSet", "OperationalLimitType", "value",
+            "Terminal", "Equipment", "EquipmentContainer", "operationalLimitTypeName", "direction", "limitType", "acceptableDuration");
+        for (CimTable t : tables.tables()) {
+            if (t.column("OperationalLimit.OperationalLimitSet") == null) {
+                continue;
+            }
+            for (int row = 0; row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (!putRequired(b, t, row, NAME, "name", "OperationalLimit.OperationalLimitSet", "OperationalLimitSet",
+                    "OperationalLimit.OperationalLimitType", "OperationalLimitType")) {
+                    continue;
+                }
+                String limitType = b.get("OperationalLimitType");
+                CimTable types = tables.table("OperationalLimitType");
+                String limitTypeName = types != null ? types.find(limitType, NAME) : null;
+                if (limitTypeName == null) {
+                    continue;
+                }
+                String id = t.id(row);
+                b.put("OperationalLimit", id);
+                b.put("OperationalLimitSubclass", t.getType());
+                for (String value : List.of("CurrentLimit.value", "ApparentPowerLimit.value", "VoltageLimit.value")) {
+                    putOptional(b, id, value, "value");
+                }
+                String limitSet = b.get("OperationalLimitSet");
+                putOptional(b, limitSet, "OperationalLimitSet.Terminal", "Terminal");
+                String equipment = tables.find(limitSet, "OperationalLimitSet.Equipment");
+                if (equipment != null) {
+                    b.put("Equipment", equipment);
+                    if (!putGroup(b, equipment, "Equipment.EquipmentContainer", "EquipmentContainer")) {
+                        b.remove("Equipment");
+                    }
+                }
+                b.put("operationalLimitTypeName", limitTypeName);
+                putOptional(b, limitType, "OperationalLimitType.direction", "direction", "OperationalLimitType.limitType", "limitType",
+                    "OperationalLimitType.acceptableDuration", "acceptableDuration");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    // Equipments
+
+    @Override
+    public PropertyBags busBarSections() {
+        Rows rows = new Rows("BusbarSection", "name", "Terminal");
+        CimTable t = tables.table("BusbarSection");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (t.has(row, NAME)) {
+                for (String terminal : terminals(t.id(row))) {
+                    rows.add(t.id(row), t.get(row, NAME), terminal);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags switches() {
+        Rows rows = new Rows("Switch", "type", "name", "EquipmentContainer", "retained", "normalOpen", "Terminal1", "seq1", "Terminal2", "seq2", "open");
+        for (String className : List.of("Switch", "Breaker", "Disconnector", "LoadBreakSwitch", "ProtectedSwitch", "GroundDisconnector")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (putRequired(b, t, row, NAME, "name", "Equipment.EquipmentContainer", "EquipmentContainer")
+                    && putTerminalPair(b, t.id(row), "Terminal", CONDUCTING_EQUIPMENT)) {
+                    String id = t.id(row);
+                    b.put("Switch", id);
+                    b.put("type", t.getType());
+                    putOptional(b, id, "Switch.retained", "retained", "Switch.normalOpen", "normalOpen", "Switch.open", "open");
+                    rows.bags.add(b);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags acLineSegments() {
+        Rows rows = new Rows("ACLineSegment", "r", "x", "bch", "name", "gch", "Terminal1", "seq1", "Terminal2", "seq2", "Line", "lineName");
+        CimTable t = tables.table("ACLineSegment");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "ACLineSegment.r", "r", "ACLineSegment.x", "x", "ACLineSegment.bch", "bch", NAME, "name")
+                && putTerminalPair(b, t.id(row), "Terminal", CONDUCTING_EQUIPMENT)) {
+                String id = t.id(row);
+                b.put("ACLineSegment", id);
+                putOptional(b, id, "ACLineSegment.gch", "gch");
+                // the line container has to be described in the same graph than the segment
+                String container = t.get(row, "Equipment.EquipmentContainer");
+                CimTable lines = tables.table("Line");
+                for (int r = container != null && lines != null ? lines.firstRow(container) : -1; r != -1; r = lines.nextRow(r)) {
+                    if (lines.graph(r) == t.graph(row) && lines.get(r, NAME) != null) {
+                        b.put("Line", container);
+                        b.put("lineName", lines.get(r, NAME));
+                    }
+                }
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags equivalentBranches() {
+        Rows rows = new Rows("EquivalentBranch", "name", "r", "x", "r21", "x21", "Terminal1", "Terminal2");
+        CimTable t = tables.table("EquivalentBranch");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "EquivalentBranch.r", "r", "EquivalentBranch.x", "x")) {
+                String id = t.id(row);
+                String terminal1 = terminalWithSequenceNumber(id, "1");
+                String terminal2 = terminalWithSequenceNumber(id, "2");
+                if (terminal1 != null && terminal2 != null) {
+                    b.put("EquivalentBranch", id);
+                    putGroup(b, id, "EquivalentBranch.r21", "r21", "EquivalentBranch.x21", "x21");
+                    b.put("Terminal1", terminal1);
+                    b.put("Terminal2", terminal2);
+                    rows.bags.add(b);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags seriesCompensators() {
+        Rows rows = new Rows("SeriesCompensator", "r", "x", "name", "Terminal1", "seq1", "Terminal2", "seq2");
+        CimTable t = tables.table("SeriesCompensator");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "SeriesCompensator.r", "r", "SeriesCompensator.x", "x", NAME, "name")
+                && putTerminalPair(b, t.id(row), "Terminal", CONDUCTING_EQUIPMENT)) {
+                b.put("SeriesCompensator", t.id(row));
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags transformers() {
+        Rows rows = new Rows("PowerTransformer", "name");
+        CimTable t = tables.table("PowerTransformer");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            if (t.has(row, NAME)) {
+                rows.add(t.id(row), t.get(row, NAME));
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags transformerEnds() {
+        Rows rows = new Rows("PowerTransformer", "name", "EquipmentContainer", "TransformerEnd", "b", "r", "x", "ratedU", "endNumber",
+            "Terminal", "connectionKind", "phaseAngleClock", "g", "RatioTapChanger", "PhaseTapChanger");
+        CimTable transformers = tables.table("PowerTransformer");
+        CimTable t = tables.table("PowerTransformerEnd");
+        for (int row = 0; transformers != null && t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (!putRequired(b, t, row, "PowerTransformerEnd.PowerTransformer", "PowerTransformer", "PowerTransformerEnd.b", "b",
+                "PowerTransformerEnd.r", "r", "PowerTransformerEnd.x", "x", "PowerTransformerEnd.ratedU", "ratedU",
+                "TransformerEnd.endNumber", "endNumber", "TransformerEnd.Terminal", "Terminal")) {
+                continue;
+            }
+            String transformer = b.get("PowerTransformer");
+            String name = transformers.find(transformer, NAME);
+            if (name == null) {
+                continue;
+            }
+            String end = t.id(row);
+            b.put("name", name);
+            putOptional(b, transformer, "Equipment.EquipmentContainer", "EquipmentContainer");
+            b.put("TransformerEnd", end);
+            putOptional(b, end, "PowerTransformerEnd.connectionKind", "connectionKind", "PowerTransformerEnd.phaseAngleClock", "phaseAngleClock",
+                "PowerTransformerEnd.g", "g");
+            referencing("RatioTapChanger.TransformerEnd", end).stream().findFirst().ifPresent(tc -> b.put("RatioTapChanger", tc));
+            referencing("PhaseTapChanger.TransformerEnd", end).stream().findFirst().ifPresent(tc -> b.put("PhaseTapChanger", tc));
+            rows.bags.add(b);
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags ratioTapChangers() {
+        Rows rows = new Rows("RatioTapChanger", "name", "lowStep", "highStep", "neutralStep", "normalStep", "neutralU", "stepVoltageIncrement",
+            "ltcFlag", "TransformerEnd", "TapChangerControl", "tculControlMode", "RatioTapChangerTable", "tapChangerControlEnabled", "step",
+            "SvTapStep", "SVtapStep");
+        CimTable t = tables.table("RatioTapChanger");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, TAP_CHANGER_PROPERTIES)
+                && putRequired(b, t, row, "RatioTapChanger.stepVoltageIncrement", "stepVoltageIncrement", "TapChanger.ltcFlag", "ltcFlag",
+                "RatioTapChanger.TransformerEnd", "TransformerEnd")) {
+                String id = t.id(row);
+                b.put("RatioTapChanger", id);
+                putGroup(b, id, "TapChanger.TapChangerControl", "TapChangerControl", "RatioTapChanger.tculControlMode", "tculControlMode");
+                putOptional(b, id, "RatioTapChanger.RatioTapChangerTable", "RatioTapChangerTable");
+                putTapChangerState(b, id, "SvTapStep");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags phaseTapChangers() {
+        Rows rows = new Rows("PhaseTapChanger", "phaseTapChangerType", "name", "lowStep", "highStep", "neutralStep", "normalStep", "neutralU",
+            "ltcFlag", "TransformerEnd", "transformerWindingRatedU", "xMax", "xMin", "stepPhaseShiftIncrement", "windingConnectionAngle",
+            "voltageStepIncrement", "PhaseTapChangerTable", "TapChangerControl", "tapChangerControlEnabled", "step", "SVTapStep", "SVtapStep");
+        CimTable ends = tables.table("PowerTransformerEnd");
+        for (CimTable t : tables.tables()) {
+            if (ends == null || t.column("PhaseTapChanger.TransformerEnd") == null) {
+                continue;
+            }
+            for (int row = 0; row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (!putRequired(b, t, row, TAP_CHANGER_PROPERTIES)
+                    || !putRequired(b, t, row, "TapChanger.ltcFlag", "ltcFlag", "PhaseTapChanger.TransformerEnd", "TransformerEnd")) {
+                    continue;
+                }
+                String ratedU = ends.find(b.get("TransformerEnd"), "PowerTransformerEnd.ratedU");
+                if (ratedU == null) {
+                    continue;
+                }
+                String id = t.id(row);
+                b.put("PhaseTapChanger", id);
+                b.put("phaseTapChangerType", t.getType());
+                b.put("transformerWindingRatedU", ratedU);
+                putGroup(b, id, "PhaseTapChangerLinear.xMax", "xMax", "PhaseTapChangerLinear.xMin", "xMin",
+                    "PhaseTapChangerLinear.stepPhaseShiftIncrement", "stepPhaseShiftIncrement");
+                putOptional(b, id, "PhaseTapChangerAsymmetrical.windingConnectionAngle", "windingConnectionAngle");
+                putGroup(b, id, "PhaseTapChangerNonLinear.xMax", "xMax", "PhaseTapChangerNonLinear.xMin", "xMin",
+                    "PhaseTapChangerNonLinear.voltageStepIncrement", "voltageStepIncrement");
+                putOptional(b, id, "PhaseTapChangerTabular.PhaseTapChangerTable", "PhaseTapChangerTable",
+                    "TapChanger.TapChangerControl", "TapChangerControl");
+                putTapChangerState(b, id, "SVTapStep");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    private void putTapChangerState(PropertyBag b, String tapChanger, String svTapStepName) {
+        putGroup(b, tapChanger, "TapChanger.controlEnabled", "tapChangerControlEnabled", "TapChanger.step", "step");
+        referencing("SvTapStep.TapChanger", tapChanger).stream()
+            .filter(sv -> putGroup(b, sv, "SvTapStep.position", "SVtapStep"))
+            .findFirst()
+            .ifPresent(sv -> b.put(svTapStepName, sv));
+    }
+
+    @Override
+    public PropertyBags ratioTapChangerTablesPoints() {
+        return tapChangerTablePoints("RatioTapChangerTablePoint", "RatioTapChangerTable", t -> true);
+    }
+
+    @Override
+    public PropertyBags ratioTapChangerTable(String tableId) {
+        Objects.requireNonNull(tableId);
+        return tapChangerTablePoints("RatioTapChangerTablePoint", "Table", regex(tableId));
+    }
+
+    @Override
+    public PropertyBags phaseTapChangerTablesPoints() {
+        return tapChangerTablePoints("PhaseTapChangerTablePoint", "PhaseTapChangerTable", t -> true);
+    }
+
+    @Override
+    public PropertyBags phaseTapChangerTable(String tableId) {
+        Objects.requireNonNull(tableId);
+        return tapChangerTablePoints("PhaseTapChangerTablePoint", "Table", regex(tableId));
+    }
+
+    private PropertyBags tapChangerTablePoints(String className, String tableName, Predicate<String> tableFilter) {
+        Rows rows = new Rows(className, tableName, "angle", "step", "ratio", "r", "x", "g", "b");
+        boolean phase = className.startsWith("Phase");
+        String tableProperty = className + "." + className.replace("Point", "");
+        CimTable t = tables.table(className);
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, tableProperty, tableName, "TapChangerTablePoint.step", "step")
+                && (!phase || putRequired(b, t, row, "PhaseTapChangerTablePoint.angle", "angle"))
+                && tableFilter.test(b.get(tableName))) {
+                String id = t.id(row);
+                b.put(className, id);
+                putOptional(b, id, TAP_CHANGER_TABLE_POINT_PROPERTIES);
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags regulatingControls() {
+        Rows rows = new Rows("RegulatingControl", "mode", "Terminal", "enabled", "targetValue", "targetValueUnitMultiplier", "discrete",
+            "targetDeadband");
+        for (String className : List.of("RegulatingControl", "TapChangerControl")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (putRequired(b, t, row, "RegulatingControl.mode", "mode", "RegulatingControl.Terminal", "Terminal")) {
+                    String id = t.id(row);
+                    b.put("RegulatingControl", id);
+                    if (putGroup(b, id, "RegulatingControl.enabled", "enabled", "RegulatingControl.targetValue", "targetValue",
+                        "RegulatingControl.targetValueUnitMultiplier", "targetValueUnitMultiplier", "RegulatingControl.discrete", "discrete")) {
+                        putOptional(b, id, "RegulatingControl.targetDeadband", "targetDeadband");
+                    }
+                    rows.bags.add(b);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags energyConsumers() {
+        Rows rows = new Rows("EnergyConsumer", "type", "name", "Terminal", "pfixed", "qfixed", "p", "q");
+        for (String className : List.of("EnergyConsumer", "ConformLoad", "NonConformLoad")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (putRequired(b, t, row, NAME, "name")) {
+                    String id = t.id(row);
+                    b.put("EnergyConsumer", id);
+                    b.put("type", t.getType());
+                    putOptional(b, id, "EnergyConsumer.pfixed", "pfixed", "EnergyConsumer.qfixed", "qfixed");
+                    putGroup(b, id, "EnergyConsumer.p", "p", "EnergyConsumer.q", "q");
+                    addForEachTerminal(rows, b, id);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags energySources() {
+        Rows rows = new Rows("EnergySource", "name", "Terminal", "p", "q");
+        CimTable t = tables.table("EnergySource");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name")) {
+                String id = t.id(row);
+                b.put("EnergySource", id);
+                putGroup(b, id, "EnergySource.activePower", "p", "EnergySource.reactivePower", "q");
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags shuntCompensators() {
+        Rows rows = new Rows("ShuntCompensator", "type", "name", "normalSections", "maximumSections", "nomU", "Terminal", "gPerSection",
+            "bPerSection", "RegulatingControl", "SvShuntCompensatorSections", "SVsections", "SSHsections", "controlEnabled");
+        for (String className : List.of("LinearShuntCompensator", "NonlinearShuntCompensator")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (putRequired(b, t, row, NAME, "name", "ShuntCompensator.normalSections", "normalSections",
+                    "ShuntCompensator.maximumSections", "maximumSections", "ShuntCompensator.nomU", "nomU")) {
+                    String id = t.id(row);
+                    b.put("ShuntCompensator", id);
+                    b.put("type", t.getType());
+                    putOptional(b, id, "LinearShuntCompensator.gPerSection", "gPerSection", "LinearShuntCompensator.bPerSection", "bPerSection",
+                        REGULATING_CONTROL, "RegulatingControl");
+                    referencing("SvShuntCompensatorSections.ShuntCompensator", id).stream()
+                        .filter(sv -> putGroup(b, sv, "SvShuntCompensatorSections.sections", "SVsections"))
+                        .findFirst()
+                        .ifPresent(sv -> b.put("SvShuntCompensatorSections", sv));
+                    putGroup(b, id, "ShuntCompensator.sections", "SSHsections", CONTROL_ENABLED, "controlEnabled");
+                    addForEachTerminal(rows, b, id);
+                }
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags equivalentShunts() {
+        Rows rows = new Rows("EquivalentShunt", "name", "b", "g", "Terminal");
+        CimTable t = tables.table("EquivalentShunt");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "EquivalentShunt.b", "b", "EquivalentShunt.g", "g")) {
+                b.put("EquivalentShunt", t.id(row));
+                addForEachTerminal(rows, b, t.id(row));
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags nonlinearShuntCompensatorPoints(String scId) {
+        Objects.requireNonNull(scId);
+        Predicate<String> shuntFilter = regex(scId);
+        Rows rows = new Rows("NonlinearShuntCompensatorPoint", "Shunt", "sectionNumber", "b", "g");
+        CimTable t = tables.table("NonlinearShuntCompensatorPoint");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "NonlinearShuntCompensatorPoint.NonlinearShuntCompensator", "Shunt",
+                "NonlinearShuntCompensatorPoint.sectionNumber", "sectionNumber", "NonlinearShuntCompensatorPoint.b", "b",
+                "NonlinearShuntCompensatorPoint.g", "g")
+                && shuntFilter.test(b.get("Shunt"))) {
+                b.put("NonlinearShuntCompensatorPoint", t.id(row));
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags staticVarCompensators() {
+        Rows rows = new Rows("StaticVarCompensator", "name", "capacitiveRating", "inductiveRating", "slope", "controlMode", "voltageSetPoint",
+            "Terminal", "RegulatingControl", "q", "controlEnabled");
+        CimTable t = tables.table("StaticVarCompensator");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "StaticVarCompensator.capacitiveRating", "capacitiveRating",
+                "StaticVarCompensator.inductiveRating", "inductiveRating", "StaticVarCompensator.slope", "slope",
+                "StaticVarCompensator.sVCControlMode", "controlMode", "StaticVarCompensator.voltageSetPoint", "voltageSetPoint")) {
+                String id = t.id(row);
+                b.put("StaticVarCompensator", id);
+                putOptional(b, id, REGULATING_CONTROL, "RegulatingControl");
+                putGroup(b, id, "StaticVarCompensator.q", "q", CONTROL_ENABLED, "controlEnabled");
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags synchronousMachines() {
+        Rows rows = new Rows("SynchronousMachine", "name", "GeneratingUnit", "ratedS", "generatingUnitType", "minP", "maxP", "initialP",
+            "nameGeneratingUnit", "generatingUnitDescription", "Terminal", "minQ", "maxQ", "ReactiveCapabilityCurve", "RegulatingControl",
+            "qPercent", "p", "q", "referencePriority", "controlEnabled", "normalPF");
+        CimTable t = tables.table("SynchronousMachine");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (!putRequired(b, t, row, NAME, "name", "RotatingMachine.GeneratingUnit", "GeneratingUnit")) {
+                continue;
+            }
+            String unit = b.get("GeneratingUnit");
+            CimTable units = tables.tableOf(unit);
+            int unitRow = units != null ? units.findRow(unit, "GeneratingUnit.minOperatingP", "GeneratingUnit.maxOperatingP",
+                "GeneratingUnit.initialP", NAME) : -1;
+            if (unitRow == -1) {
+                continue;
+            }
+            String id = t.id(row);
+            b.put("SynchronousMachine", id);
+            b.put("generatingUnitType", units.getType());
+            putRequired(b, units, unitRow, "GeneratingUnit.minOperatingP", "minP", "GeneratingUnit.maxOperatingP", "maxP",
+                "GeneratingUnit.initialP", "initialP", NAME, "nameGeneratingUnit");
+            putOptional(b, unit, "IdentifiedObject.description", "generatingUnitDescription", "GeneratingUnit.normalPF", "normalPF");
+            putOptional(b, id, "RotatingMachine.ratedS", "ratedS", "SynchronousMachine.minQ", "minQ", "SynchronousMachine.maxQ", "maxQ",
+                "SynchronousMachine.InitialReactiveCapabilityCurve", "ReactiveCapabilityCurve", REGULATING_CONTROL, "RegulatingControl",
+                "SynchronousMachine.qPercent", "qPercent");
+            putGroup(b, id, "RotatingMachine.p", "p", "RotatingMachine.q", "q", "SynchronousMachine.referencePriority", "referencePriority",
+                CONTROL_ENABLED, "controlEnabled");
+            addForEachTerminal(rows, b, id);
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags equivalentInjections() {
+        Rows rows = new Rows("EquivalentInjection", "name", "Terminal", "minP", "maxP", "minQ", "maxQ", "regulationCapability",
+            "ReactiveCapabilityCurve", "p", "q", "regulationStatus", "regulationTarget");
+        CimTable t = tables.table("EquivalentInjection");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name")) {
+                String id = t.id(row);
+                b.put("EquivalentInjection", id);
+                putOptional(b, id, "EquivalentInjection.minP", "minP", "EquivalentInjection.maxP", "maxP", "EquivalentInjection.minQ", "minQ",
+                    "EquivalentInjection.maxQ", "maxQ", "EquivalentInjection.regulationCapability", "regulationCapability",
+                    "EquivalentInjection.ReactiveCapabilityCurve", "ReactiveCapabilityCurve");
+                if (putGroup(b, id, "EquivalentInjection.p", "p", "EquivalentInjection.q", "q")) {
+                    putOptional(b, id, "EquivalentInjection.regulationStatus", "regulationStatus",
+                        "EquivalentInjection.regulationTarget", "regulationTarget");
+                }
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags externalNetworkInjections() {
+        Rows rows = new Rows("ExternalNetworkInjection", "name", "minP", "maxP", "Terminal", "minQ", "maxQ", "RegulatingControl", "p", "q",
+            "controlEnabled");
+        CimTable t = tables.table("ExternalNetworkInjection");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "ExternalNetworkInjection.minP", "minP", "ExternalNetworkInjection.maxP", "maxP")) {
+                String id = t.id(row);
+                b.put("ExternalNetworkInjection", id);
+                putOptional(b, id, "ExternalNetworkInjection.minQ", "minQ", "ExternalNetworkInjection.maxQ", "maxQ",
+                    REGULATING_CONTROL, "RegulatingControl");
+                putGroup(b, id, "ExternalNetworkInjection.p", "p", "ExternalNetworkInjection.q", "q", CONTROL_ENABLED, "controlEnabled");
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags svInjections() {
+        Rows rows = new Rows("SvInjection", "TopologicalNode", "pInjection", "qInjection");
+        CimTable t = tables.table("SvInjection");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "SvInjection.TopologicalNode", "TopologicalNode", "SvInjection.pInjection", "pInjection")) {
+                b.put("SvInjection", t.id(row));
+                putOptional(b, t.id(row), "SvInjection.qInjection", "qInjection");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags asynchronousMachines() {
+        Rows rows = new Rows("AsynchronousMachine", "name", "Terminal", "type", "p", "q", "controlEnabled");
+        CimTable t = tables.table("AsynchronousMachine");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name")) {
+                String id = t.id(row);
+                b.put("AsynchronousMachine", id);
+                putGroup(b, id, "AsynchronousMachine.asynchronousMachineType", "type", "RotatingMachine.p", "p", "RotatingMachine.q", "q",
+                    CONTROL_ENABLED, "controlEnabled");
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags reactiveCapabilityCurveData() {
+        Rows rows = new Rows("CurveData", "ReactiveCapabilityCurve", "xvalue", "y1value", "y2value");
+        CimTable t = tables.table("CurveData");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "CurveData.Curve", "ReactiveCapabilityCurve", "CurveData.xvalue", "xvalue", "CurveData.y1value", "y1value")) {
+                b.put("CurveData", t.id(row));
+                putOptional(b, t.id(row), "CurveData.y2value", "y2value");
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags controlAreas() {
+        Rows rows = new Rows("ControlArea", "name", "controlAreaType", "energyIdentCodeEic", "netInterchange", "pTolerance");
+        Pattern interchange = Pattern.compile("Interchange", Pattern.CASE_INSENSITIVE);
+        CimTable t = tables.table("ControlArea");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name", "ControlArea.type", "controlAreaType")
+                && interchange.matcher(b.get("controlAreaType")).find()) {
+                String id = t.id(row);
+                b.put("ControlArea", id);
+                putOptional(b, id, "IdentifiedObject.energyIdentCodeEic", "energyIdentCodeEic");
+                if (putGroup(b, id, "ControlArea.netInterchange", "netInterchange")) {
+                    putOptional(b, id, "ControlArea.pTolerance", "pTolerance");
+                }
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags tieFlows() {
+        Rows rows = new Rows("TieFlow", "terminal", "ControlArea");
+        CimTable t = tables.table("TieFlow");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, "TieFlow.Terminal", "terminal", "TieFlow.ControlArea", "ControlArea")) {
+                b.put("TieFlow", t.id(row));
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    // DC
+
+    @Override
+    public PropertyBags acDcConverters() {
+        Rows rows = new Rows("ACDCConverter", "type", "name", "ratedUdc", "Terminal", "PccTerminal", "ReactiveCapabilityCurve", "targetPpcc",
+            "p", "q", "poleLossP", "operatingMode", "controlMode", "targetUdc", "qPccControl", "pPccControl", "targetQpcc", "targetUpcc");
+        for (String className : List.of("ACDCConverter", "CsConverter", "VsConverter")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                PropertyBag b = rows.create();
+                if (!putRequired(b, t, row, NAME, "name", "ACDCConverter.ratedUdc", "ratedUdc")) {
+                    continue;
+                }
+                String id = t.id(row);
+                b.put("ACDCConverter", id);
+                b.put("type", t.getType());
+                putOptional(b, id, "ACDCConverter.PccTerminal", "PccTerminal", "VsConverter.CapabilityCurve", "ReactiveCapabilityCurve",
+                    "ACDCConverter.poleLossP", "poleLossP");
+                putGroup(b, id, "ACDCConverter.targetPpcc", "targetPpcc", "ACDCConverter.p", "p", "ACDCConverter.q", "q");
+                if (className.equals("CsConverter")
+                    && putGroup(b, id, "CsConverter.operatingMode", "operatingMode", "CsConverter.pPccControl", "controlMode")) {
+                    putOptional(b, id, "ACDCConverter.targetUdc", "targetUdc");
+                }
+                if (className.equals("VsConverter")
+                    && putGroup(b, id, "VsConverter.qPccControl", "qPccControl", "VsConverter.pPccControl", "pPccControl")) {
+                    putOptional(b, id, "VsConverter.targetQpcc", "targetQpcc", "VsConverter.targetUpcc", "targetUpcc");
+                }
+                addForEachTerminal(rows, b, id);
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags dcTerminals() {
+        Rows rows = new Rows("DCTerminal", "DCConductingEquipment", "dcConductingEquipmentType", "sequenceNumber", "name", "connected", "DCNode",
+            "DCTopologicalNode");
+        for (String className : List.of("DCTerminal", "ACDCConverterDCTerminal")) {
+            CimTable t = tables.table(className);
+            for (int row = 0; t != null && row < t.size(); row++) {
+                String equipment = t.get(row, className + ".DCConductingEquipment");
+                String equipmentType = equipment != null ? type(equipment) : null;
+                if (equipmentType == null) {
+                    continue;
+                }
+                String id = t.id(row);
+                PropertyBag b = rows.add();
+                b.put("DCTerminal", id);
+                b.put("DCConductingEquipment", equipment);
+                b.put("dcConductingEquipmentType", equipmentType);
+                putOptional(b, id, SEQUENCE_NUMBER, "sequenceNumber", NAME, "name", "ACDCTerminal.connected", "connected",
+                    "DCBaseTerminal.DCNode", "DCNode", "DCBaseTerminal.DCTopologicalNode", "DCTopologicalNode");
+            }
+        }
+        return rows.bags;
+    }
+
+    @Override
+    public PropertyBags dcLineSegments() {
+        Rows rows = new Rows("DCLineSegment", "name", "r", "l", "c", "length", "DCTerminal1", "seq1", "DCTerminal2", "seq2");
+        CimTable t = tables.table("DCLineSegment");
+        for (int row = 0; t != null && row < t.size(); row++) {
+            PropertyBag b = rows.create();
+            if (putRequired(b, t, row, NAME, "name")
+                && putTerminalPair(b, t.id(row), "DCTerminal", "DCTerminal.DCConductingEquipment")) {
+                String id = t.id(row);
+                b.put("DCLineSegment", id);
+                putOptional(b, id, "DCLineSegment.resistance", "r", "DCLineSegment.inductance", "l", "DCLineSegment.capacitance", "c",
+                    "DCLineSegment.length", "length");
+                b.put("DCTerminal1", b.remove("Terminal1"));
+                b.put("DCTerminal2", b.remove("Terminal2"));
+                rows.bags.add(b);
+            }
+        }
+        return rows.bags;
+    }
+
+    // Helpers
+
+    /**
+     * Results of a query, with the property names given by the variables of the corresponding SPARQL query.
+     */
+    private final class Rows {
+
+        private final List<String> names;
+
+        private final PropertyBags bags = new PropertyBags();
+
+        private Rows(String... names) {
+            this.names = List.of(names);
+        }
+
+        private PropertyBag create() {
+            return new PropertyBag(names, removeInitialUnderscoreForIdentifiers);
+        }
+
+        private PropertyBag add() {
+            PropertyBag b = create();
+            bags.add(b);
+            return b;
+        }
+
+        private void add(String... values) {
+            PropertyBag b = add();
+            for (int i = 0; i < values.length; i++) {
+                b.put(names.get(i), values[i]);
+            }
+        }
+    }
+
+    private static Predicate<String> regex(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return value -> pattern.matcher(value).find();
+    }
+
+    private String type(String id) {
+        CimTable table = tables.tableOf(id);
+        return table != null ? table.getType() : null;
+    }
+
+    /**
+     * Put the values of all the given properties of a row, given as pairs of property and name, only if all of them
+     * are defined in the row.
+     */
+    private static boolean putRequired(PropertyBag b, CimTable t, int row, String... propertiesAndNames) {
+        for (int i = 0; i < propertiesAndNames.length; i += 2) {
+            if (t.get(row, propertiesAndNames[i]) == null) {
+                return false;
+            }
+        }
+        for (int i = 0; i < propertiesAndNames.length; i += 2) {
+            b.put(propertiesAndNames[i + 1], t.get(row, propertiesAndNames[i]));
+        }
+        return true;
+    }
+
+    /**
+     * Put the values of the given properties of an object that are defined, given as pairs of property and name.
+     */
+    private void putOptional(PropertyBag b, String id, String... propertiesAndNames) {
+        for (int i = 0; i < propertiesAndNames.length; i += 2) {
+            b.putNonNull(propertiesAndNames[i + 1], tables.find(id, propertiesAndNames[i]));
+        }
+    }
+
+    /**
+     * Put the values of the given properties of an object, given as pairs of property and name, only if all of them
+     * are defined.
+     */
+    private boolean putGroup(PropertyBag b, String id, String... propertiesAndNames) {
+        String[] values = new String[propertiesAndNames.length / 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = tables.find(id, propertiesAndNames[2 * i]);
+            if (values[i] == null) {
+                return false;
+            }
+        }
+        for (int i = 0; i < values.length; i++) {
+            b.put(propertiesAndNames[2 * i + 1], values[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Get the objects referencing the given object through the given property.
+     */
+    private List<String> referencing(String property, String id) {
+        Map<String, List<String>> index = referencesIndexes.computeIfAbsent(property, p -> {
+            Map<String, List<String>> referencing = new HashMap<>();
+            for (CimTable t : tables.tables()) {
+                if (t.column(p) == null) {
+                    continue;
+                }
+                for (int row = 0; row < t.size(); row++) {
+                    String value = t.get(row, p);
+                    if (value != null) {
+                        List<String> ids = referencing.computeIfAbsent(value, v -> new ArrayList<>(1));
+                        if (!ids.contains(t.id(row))) {
+                            ids.add(t.id(row));
+                        }
+                    }
+                }
+            }
+            return referencing;
+        });
+        return index.getOrDefault(id, Collections.emptyList());
+    }
+
+    private List<String> terminals(String equipment) {
+        return referencing(CONDUCTING_EQUIPMENT, equipment);
+    }
+
+    private void addForEachTerminal(Rows rows, PropertyBag b, String equipment) {
+        for (String terminal : terminals(equipment)) {
+            PropertyBag bt = b.copy();
+            bt.put("Terminal", terminal);
+            rows.bags.add(bt);
+        }
+    }
+
+    private String terminalWithSequenceNumber(String equipment, String sequenceNumber) {
+        return terminals(equipment).stream()
+            .filter(terminal -> sequenceNumber.equals(tables.find(terminal, SEQUENCE_NUMBER)))
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * Put the two terminals of an equipment, identified by their sequence numbers or, when there are no sequence
+     * numbers, by the order of their identifiers.
+     */
+    private boolean putTerminalPair(PropertyBag b, String equipment, String terminalClassName, String equipmentProperty) {
+        CimTable terminals = tables.table(terminalClassName);
+        if (terminals == null) {
+            return false;
+        }
+        String terminal1 = null;
+        String terminal2 = null;
+        String seq1 = null;
+        String seq2 = null;
+        List<String> withoutSequenceNumber = new ArrayList<>(2);
+        for (String terminal : referencing(equipmentProperty, equipment)) {
+            if (terminals.firstRow(terminal) == -1) {
+                continue;
+            }
+            String seq = tables.find(terminal, SEQUENCE_NUMBER);
+            if ("1".equals(seq)) {
+                terminal1 = terminal;
+                seq1 = seq;
+            } else if ("2".equals(seq)) {
+                terminal2 = terminal;
+                seq2 = seq;
+            } else if (seq == null) {
+                withoutSequenceNumber.add(terminal);
+            }
+        }
+        if ((terminal1 == null || terminal2 == null) && withoutSequenceNumber.size() >= 2) {
+            withoutSequenceNumber.sort(Comparator.naturalOrder());
+            terminal1 = withoutSequenceNumber.get(0);
+            terminal2 = withoutSequenceNumber.get(1);
+        } else if (terminal1 == null || terminal2 == null) {
+            return false;
+        }
+        b.put("Terminal1", terminal1);
+        b.putNonNull("seq1", seq1);
+        b.put("Terminal2", terminal2);
+        b.putNonNull("seq2", seq2);
+        return true;
+    }
+}
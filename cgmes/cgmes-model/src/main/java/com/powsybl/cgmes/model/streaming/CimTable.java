@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.cgmes.model.streaming;
+
+import java.util.*;
+
+/**
+ * Columnar storage of the objects of a CIM class. There is one row per object and per graph (instance file) the
+ * object is described in, so that the properties given by different profiles (EQ, SSH, SV...) are kept separated as in
+ * a triple store. Rows are indexed by object identifier, and properties are stored in one column per property,
+ * columns holding either literal values or references to other objects.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public final class CimTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String className;
+
+    private final String namespace;
+
+    private int size = 0;
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+
+    private int[] graphs = new int[INITIAL_CAPACITY];
+
+    /* next row describing the same object, or -1 */
+    private int[] nextRows = new int[INITIAL_CAPACITY];
+
+    private final Map<String, Integer> firstRowById = new HashMap<>();
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * Values of a property of the objects of the table.
+     */
+    static final class Column {
+
+        private final String namespace;
+
+        private final boolean reference;
+
+        private String[] values;
+
+        /* values of the rows having several values for the property, rarely used (FullModel profiles...) */
+        private Map<Integer, List<String>> extraValues;
+
+        private Column(String namespace, boolean reference, int capacity) {
+            this.namespace = namespace;
+            this.reference = reference;
+            this.values = new String[capacity];
+        }
+
+        String getNamespace() {
+            return namespace;
+        }
+
+        boolean isReference() {
+            return reference;
+        }
+
+        private void set(int row, String value) {
+            if (values[row] == null) {
+                values[row] = value;
+            } else {
+                if (extraValues == null) {
+                    extraValues = new HashMap<>();
+                }
+                extraValues.computeIfAbsent(row, r -> new ArrayList<>()).add(value);
+            }
+        }
+
+        private List<String> all(int row) {
+            String value = values[row];
+            if (value == null) {
+                return Collections.emptyList();
+            }
+            List<String> extra = extraValues != null ? extraValues.get(row) : null;
+            if (extra == null) {
+                return Collections.singletonList(value);
+            }
+            List<String> all = new ArrayList<>(extra.size() + 1);
+            all.add(value);
+            all.addAll(extra);
+            return all;
+        }
+    }
+
+    CimTable(String className, String namespace) {
+        this.className = Objects.requireNonNull(className);
+        this.namespace = Objects.requireNonNull(namespace);
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Full name of the class, as given by rdf:type in a triple store.
+     */
+    public String getType() {
+        return namespace + className;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct objects of the table, an object may be described in several rows.
+     */
+    public int objectCount() {
+        return firstRowById.size();
+    }
+
+    public String id(int row) {
+        return ids[row];
+    }
+
+    public int graph(int row) {
+        return graphs[row];
+    }
+
+    /**
+     * Get the first row describing an object, or -1.
+     */
+    public int firstRow(String id) {
+        Integer row = firstRowById.get(id);
+        return row != null ? row : -1;
+    }
+
+    /**
+     * Get the next row describing the same object than the given row, or -1.
+     */
+    public int nextRow(int row) {
+        return nextRows[row];
+    }
+
+    public Set<String> propertyNames() {
+        return columns.keySet();
+    }
+
+    Column column(String property) {
+        return columns.get(property);
+    }
+
+    /**
+     * Get the value of a property in the given row, the first one if the property has several values.
+     */
+    public String get(int row, String property) {
+        Column column = columns.get(property);
+        return column != null ? column.values[row] : null;
+    }
+
+    /**
+     * Get all the values of a property in the given row.
+     */
+    public List<String> getAll(int row, String property) {
+        Column column = columns.get(property);
+        return column != null ? column.all(row) : Collections.emptyList();
+    }
+
+    public boolean has(int row, String... properties) {
+        for (String property : properties) {
+            if (get(row, property) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the value of a property of an object, looking first in the given row then in all the rows of the object.
+     */
+    public String find(int row, String property) {
+        Column column = columns.get(property);
+        if (column == null) {
+            return null;
+        }
+        String value = column.values[row];
+        for (int r = firstRow(ids[row]); value == null && r != -1; r = nextRows[r]) {
+            value = column.values[r];
+        }
+        return value;
+    }
+
+    /**
+     * Get the value of a property of an object, in any of its rows.
+     */
+    public String find(String id, String property) {
+        int row = firstRow(id);
+        return row != -1 ? find(row, property) : null;
+    }
+
+    /**
+     * Get the first row of an object having all the given properties, or -1.
+     */
+    public int findRow(String id, String... properties) {
+        for (int r = firstRow(id); r != -1; r = nextRows[r]) {
+            if (has(r, properties)) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the row describing the given object in the given graph, creating it if needed.
+     */
+    int row(String id, int graph) {
+        int last = firstRow(id);
+        while (last != -1 && nextRows[last] != -1) {
+            last = nextRows[last];
+        }
+        if (last != -1 && graphs[last] == graph) {
+            return last;
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            graphs = Arrays.copyOf(graphs, capacity);
+            nextRows = Arrays.copyOf(nextRows, capacity);
+            for (Column column : columns.values()) {
+                column.values = Arrays.copyOf(column.values, capacity);
+            }
+        }
+        int row = size++;
+        ids[row] = id;
+        graphs[row] = graph;
+        nextRows[row] = -1;
+        if (last == -1) {
+            firstRowById.put(id, row);
+        } else {
+            nextRows[last] = row;
+        }
+        return row;
+    }
+
+    void set(int row, String propertyNamespace, String property, String value, boolean reference) {
+        columns.computeIfAbsent(property, p -> new Column(propertyNamespace, reference, ids.length)).set(row, value);
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.cgmes.model.streaming;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.powsybl.cgmes.model.CgmesModelException;
+import com.powsybl.commons.xml.XmlUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * The objects of a set of CIM RDF/XML instance files, stored in one {@link CimTable} per class.
+ * <p>
+ * Files are read in one pass with a StAX parser: each child element of rdf:RDF is an object, identified by its rdf:ID
+ * or rdf:about attribute, and its child elements are its properties, either literals or references given by an
+ * rdf:resource attribute. Identifiers are stored as written in the file, without the leading '#' of local
+ * references, and are shared between the tables.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class CimTables {
+
+    private static final String RDF_NAMESPACE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+
+    private static final Supplier<XMLInputFactory> XML_INPUT_FACTORY_SUPPLIER = Suppliers.memoize(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    private final Map<String, CimTable> tablesByClassName = new LinkedHashMap<>();
+
+    /* table of the class an object has been first described with */
+    private final Map<String, CimTable> tableById = new HashMap<>();
+
+    /* other tables an object is described in, when the object has been described with several classes */
+    private final Map<String, List<CimTable>> otherTablesById = new HashMap<>();
+
+    private final List<String> graphs = new ArrayList<>();
+
+    private final Map<String, String> identifiers = new HashMap<>();
+
+    public List<String> graphs() {
+        return Collections.unmodifiableList(graphs);
+    }
+
+    public String graph(int index) {
+        return graphs.get(index);
+    }
+
+    public Collection<CimTable> tables() {
+        return Collections.unmodifiableCollection(tablesByClassName.values());
+    }
+
+    /**
+     * Get the table of a class, or null if there is no object of this class.
+     */
+    public CimTable table(String className) {
+        return tablesByClassName.get(className);
+    }
+
+    /**
+     * Get the table of the class an object has been first described with, or null if the object is unknown.
+     */
+    public CimTable tableOf(String id) {
+        return tableById.get(id);
+    }
+
+    /**
+     * Get the value of a property of an object, whatever the class and the graph it has been described in.
+     */
+    public String find(String id, String property) {
+        CimTable table = tableById.get(id);
+        if (table == null) {
+            return null;
+        }
+        String value = table.find(id, property);
+        if (value == null) {
+            for (CimTable other : otherTablesById.getOrDefault(id, Collections.emptyList())) {
+                value = other.find(id, property);
+                if (value != null) {
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Read a RDF/XML instance file, the objects are added to the graph of the given name.
+     */
+    public void read(InputStream is, String graphName) {
+        Objects.requireNonNull(is);
+        int graph = graphs.indexOf(graphName);
+        if (graph == -1) {
+            graph = graphs.size();
+            graphs.add(graphName);
+        }
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY_SUPPLIER.get().createXMLStreamReader(is);
+            try {
+                read(reader, graph);
+            } finally {
+                reader.close();
+                XmlUtil.gcXmlInputFactory(XML_INPUT_FACTORY_SUPPLIER.get());
+            }
+        } catch (XMLStreamException e) {
+            throw new CgmesModelException(String.format("Reading %s", graphName), e);
+        }
+    }
+
+    private void read(XMLStreamReader reader, int graph) throws XMLStreamException {
+        // depth 1 is rdf:RDF, depth 2 the objects and depth 3 their properties
+        int depth = 0;
+        CimTable table = null;
+        int row = -1;
+        String propertyNamespace = null;
+        String property = null;
+        StringBuilder text = new StringBuilder();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2) {
+                    String id = objectId(reader);
+                    if (id != null) {
+                        table = tableFor(id, reader.getNamespaceURI(), reader.getLocalName());
+                        row = table.row(id, graph);
+                    }
+                } else if (depth == 3 && table != null) {
+                    String resource = reader.getAttributeValue(RDF_NAMESPACE, "resource");
+                    if (resource != null) {
+                        table.set(row, reader.getNamespaceURI(), reader.getLocalName(), identifier(resource), true);
+                    } else {
+                        propertyNamespace = reader.getNamespaceURI();
+                        property = reader.getLocalName();
+                        text.setLength(0);
+                    }
+                } else if (depth > 3) {
+                    // nested descriptions are not used by CIM instance files, the property is ignored
+                    property = null;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 3 && property != null) {
+                    table.set(row, propertyNamespace, property, text.toString(), false);
+                    property = null;
+                } else if (depth == 2) {
+                    table = null;
+                }
+                depth--;
+            } else if (property != null && depth == 3 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE)) {
+                text.append(reader.getText());
+            }
+        }
+    }
+
+    private String objectId(XMLStreamReader reader) {
+        String id = reader.getAttributeValue(RDF_NAMESPACE, "ID");
+        if (id == null) {
+            id = reader.getAttributeValue(RDF_NAMESPACE, "about");
+        }
+        return id != null ? identifier(id) : null;
+    }
+
+    private String identifier(String reference) {
+        String id = reference.startsWith("#") ? reference.substring(1) : reference;
+        return identifiers.computeIfAbsent(id, k -> k);
+    }
+
+    private CimTable tableFor(String id, String namespace, String className) {
+        CimTable table = tablesByClassName.computeIfAbsent(className, c -> new CimTable(c, namespace));
+        CimTable first = tableById.putIfAbsent(id, table);
+        if (first != null && first != table) {
+            List<CimTable> others = otherTablesById.computeIfAbsent(id, k -> new ArrayList<>(1));
+            if (!others.contains(table)) {
+                others.add(table);
+            }
+        }
+        return table;
+    }
+}
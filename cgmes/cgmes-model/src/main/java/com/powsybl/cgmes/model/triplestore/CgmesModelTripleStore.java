@@ -12,23 +12,23 @@ import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.triplestore.api.*;
 import org.apache.commons.lang3.EnumUtils;
 import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.powsybl.cgmes.model.CgmesNamespace.CGMES_EQ_3_OR_GREATER_PREFIX;
-import static com.powsybl.cgmes.model.CgmesNamespace.CIM_100_EQ_PROFILE;
-
 /**
  * @author Luma Zamarreño <zamarrenolm at aia.es>
  */
@@ -49,6 +49,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     public void read(InputStream is, String baseName, String contextName) {
         // Reset cached nodeBreaker value everytime we read new data
         nodeBreaker = null;
+        clearPrefetchedQueries();
         tripleStore.read(is, baseName, contextName);
     }
 
@@ -82,35 +83,11 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
 
     // Queries
 
-    private static boolean isEquipmentCore(String profile) {
-        return profile.contains("/EquipmentCore/") || profile.contains("/CIM/CoreEquipment");
-    }
-
-    private static boolean isEquipmentOperation(String profile) {
-        return profile.contains("/EquipmentOperation/") || profile.contains("/CIM/Operation");
-    }
-
     @Override
     public boolean hasEquipmentCore() {
         if (queryCatalog.containsKey(MODEL_PROFILES)) {
             PropertyBags r = namedQuery(MODEL_PROFILES);
-            if (r == null) {
-                return false;
-            }
-            for (PropertyBag m : r) {
-                String p = m.get(PROFILE);
-                if (p != null && isEquipmentCore(p)) {
-                    if (LOG.isInfoEnabled()) {
-                        LOG.info("Model contains Equipment Core data profile in model {}",
-                                m.get(CgmesNames.FULL_MODEL));
-                    }
-                    return true;
-                }
-            }
-
-            // We have a query for model profiles
-            // but none of the FullModel objects contains EquipmentCore profile
-            return false;
+            return r != null && hasEquipmentCore(r);
         }
         // If we do not have a query for model profiles we assume equipment core is
         // available
@@ -120,32 +97,13 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
 
     @Override
     public boolean hasBoundary() {
-        // The Model has boundary if we are able to find models
-        // that have EquipmentBoundary profile
-        // and models that have TopologyBoundary profile
-        boolean hasEquipmentBoundary = false;
-        boolean hasTopologyBoundary = false;
         if (queryCatalog.containsKey(MODEL_PROFILES)) {
             PropertyBags r = namedQuery(MODEL_PROFILES);
-            if (r == null) {
-                return false;
-            }
-            for (PropertyBag m : r) {
-                String p = m.get(PROFILE);
-                String mid = m.get(CgmesNames.FULL_MODEL);
-                if (p != null && p.contains("/EquipmentBoundary/")) {
-                    LOG.info("Model contains EquipmentBoundary data in model {}", mid);
-                    hasEquipmentBoundary = true;
-                }
-                if (p != null && p.contains("/TopologyBoundary/")) {
-                    LOG.info("Model contains TopologyBoundary data in model {}", mid);
-                    hasTopologyBoundary = true;
-                }
-            }
+            return r != null && hasBoundary(r);
         }
         // If we do not have a query for model profiles we assume no boundary exist
         // (Maybe for CIM14 data sources we should rely on file names ?)
-        return hasEquipmentBoundary && hasTopologyBoundary;
+        return false;
     }
 
     @Override
@@ -163,85 +121,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
             return false;
         }
         PropertyBags r = namedQuery(MODEL_PROFILES);
-        if (r == null) {
-            return false;
-        }
-        if (allEqCgmes3OrGreater(r)) {
-            return true;
-        }
-        // Only consider is node breaker if all models that have profile
-        // EquipmentCore or EquipmentBoundary
-        // also have EquipmentOperation or EquipmentBoundaryOperation
-        Map<String, Boolean> modelHasOperationProfile = computeModelHasOperationProfile(r);
-        boolean consideredNodeBreaker = modelHasOperationProfile.values().stream().allMatch(Boolean::valueOf);
-        if (LOG.isInfoEnabled()) {
-            logNodeBreaker(consideredNodeBreaker, modelHasOperationProfile);
-        }
-        return consideredNodeBreaker;
-    }
-
-    private boolean allEqCgmes3OrGreater(PropertyBags modelProfiles) {
-        for (PropertyBag mp : modelProfiles) {
-            String p = mp.get(PROFILE);
-            if (p != null && isEquipmentCore(p) && !isEqCgmes3OrGreater(p)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static boolean isEqCgmes3OrGreater(String profile) {
-        return profile.startsWith(CGMES_EQ_3_OR_GREATER_PREFIX) && profile.compareTo(CIM_100_EQ_PROFILE) >= 0;
-    }
-
-    private void logNodeBreaker(boolean consideredNodeBreaker, Map<String, Boolean> modelHasOperationProfile) {
-        if (consideredNodeBreaker) {
-            LOG.info(
-                    "All FullModel objects have EquipmentOperation profile, so conversion will be considered node-breaker");
-        } else {
-            LOG.info(
-                    "Following FullModel objects do not have EquipmentOperation profile, so conversion will not be considered node-breaker:");
-            modelHasOperationProfile.entrySet().forEach(meqop -> {
-                if (!meqop.getValue()) {
-                    LOG.info("    {}", meqop.getKey());
-                }
-            });
-        }
-    }
-
-    private Map<String, Boolean> computeModelHasOperationProfile(PropertyBags modelProfiles) {
-        // A bus/branch model with a single instance file where its node/breaker boundary has been assembled
-        // Must not be considered as node-breaker
-        Map<String, Boolean> modelHasOperationProfile = new HashMap<>();
-        Map<String, Boolean> modelHasBoundaryOperationProfile = new HashMap<>();
-        for (PropertyBag mp : modelProfiles) {
-            String m = mp.get("FullModel");
-            String p = mp.get(PROFILE);
-            if (p != null) {
-                updateModelHasOperationProfile(modelHasOperationProfile, modelHasBoundaryOperationProfile, m, p);
-            }
-        }
-        modelHasBoundaryOperationProfile.forEach((m, v) -> modelHasOperationProfile.merge(m, v, (vm, vbd) -> vm && vbd));
-        return modelHasOperationProfile;
-    }
-
-    private void updateModelHasOperationProfile(Map<String, Boolean> modelHasOperationProfile, Map<String, Boolean> modelHasBoundaryOperationProfile, String model, String profile) {
-        if (isEquipmentCore(profile)) {
-            // Set to false only if we do not have a value already
-            modelHasOperationProfile.putIfAbsent(model, false);
-        }
-        if (isEquipmentOperation(profile)) {
-            modelHasOperationProfile.put(model, true);
-            LOG.info("Model {} is considered node-breaker", model);
-        }
-        if (profile.contains("/EquipmentBoundary/")) {
-            // Set to false only if we do not have a value already
-            modelHasBoundaryOperationProfile.putIfAbsent(model, false);
-        }
-        if (profile.contains("/EquipmentBoundaryOperation/")) {
-            modelHasBoundaryOperationProfile.put(model, true);
-            LOG.info("Model {} boundary is considered node-breaker", model);
-        }
+        return r != null && isNodeBreaker(r);
     }
 
     @Override
@@ -280,26 +160,10 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     }
 
     private DateTime queryDate(String propertyName, DateTime defaultValue) {
-        DateTime d = defaultValue;
         if (queryCatalog.containsKey("modelDates")) {
-            PropertyBags r = namedQuery("modelDates");
-            if (r != null && !r.isEmpty()) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Candidates to modelDates:{}{}", System.lineSeparator(), r.tabulateLocals());
-                }
-                String s = r.get(0).get(propertyName);
-                if (s != null && !s.isEmpty()) {
-                    // Assume date time given as UTC if no explicit zone is specified
-                    try {
-                        d = DateTime.parse(s, ISODateTimeFormat.dateTimeParser().withOffsetParsed().withZoneUTC());
-                    } catch (IllegalArgumentException e) {
-                        LOG.error("Invalid date: {}. The date has been fixed to {}.", s, defaultValue);
-                        return defaultValue;
-                    }
-                }
-            }
+            return date(namedQuery("modelDates"), propertyName, defaultValue);
         }
-        return d;
+        return defaultValue;
     }
 
     @Override
@@ -552,6 +416,16 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     }
 
     public PropertyBags namedQuery(String name, String... params) {
+        if (params.length == 0) {
+            CompletableFuture<PropertyBags> prefetched = prefetchedQueries.remove(name);
+            if (prefetched != null) {
+                return join(prefetched);
+            }
+        }
+        return evaluateNamedQuery(name, params);
+    }
+
+    private PropertyBags evaluateNamedQuery(String name, String... params) {
         String queryText = queryCatalog.get(name);
         if (queryText == null) {
             LOG.warn("Query [{}] not found in catalog", name);
@@ -570,6 +444,40 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
         return r;
     }
 
+    /**
+     * Start the evaluation of named queries without parameters on the given executor. The result of a prefetched query
+     * is returned by the next call to {@link #namedQuery(String, String...)} for this query, following calls evaluate
+     * the query again. Prefetched results are discarded when the model is modified.
+     */
+    public void prefetchNamedQueries(Collection<String> names, Executor executor) {
+        Objects.requireNonNull(names);
+        Objects.requireNonNull(executor);
+        for (String name : names) {
+            if (queryCatalog.containsKey(name)) {
+                prefetchedQueries.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> evaluateNamedQuery(n), executor));
+            }
+        }
+    }
+
+    /**
+     * Discard the results of the prefetched queries that have not been used, queries not yet evaluated are cancelled.
+     */
+    public void clearPrefetchedQueries() {
+        prefetchedQueries.values().forEach(f -> f.cancel(false));
+        prefetchedQueries.clear();
+    }
+
+    private static PropertyBags join(CompletableFuture<PropertyBags> prefetched) {
+        try {
+            return prefetched.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     public void namedQueryUpdate(String name, String... params) {
         String queryText = queryCatalog.get(name);
         if (queryText == null) {
@@ -592,6 +500,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     }
 
     public void update(String queryText) {
+        clearPrefetchedQueries();
         tripleStore.update(queryText);
     }
 
@@ -639,6 +548,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
         // For example for state variables:
         // <md:Model.profile>http://entsoe.eu/CIM/StateVariables/4/1</md:Model.profile>
         // For CIM14 data files we do not have the profile,
+        clearPrefetchedQueries();
         Set<String> contextNames = tripleStore.contextNames();
         for (String contextName : contextNames) {
             if (subset.isValidName(contextName)) {
@@ -649,6 +559,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
 
     @Override
     public void add(CgmesSubset subset, String type, PropertyBags objects) {
+        clearPrefetchedQueries();
         String contextName = contextNameFor(subset);
         try {
             tripleStore.add(contextName, cimNamespace, type, objects);
@@ -663,6 +574,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
         String contextName = EnumUtils.isValidEnum(CgmesSubset.class, context)
             ? contextNameFor(CgmesSubset.valueOf(context))
             : context;
+        clearPrefetchedQueries();
         try {
             if (type.equals(CgmesNames.FULL_MODEL)) {
                 tripleStore.add(contextName, mdNamespace(), type, objects);
@@ -739,9 +651,9 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     private final TripleStore tripleStore;
     private final QueryCatalog queryCatalog;
     private Boolean nodeBreaker = null;
+    private final Map<String, CompletableFuture<PropertyBags>> prefetchedQueries = new ConcurrentHashMap<>();
 
     private static final String MODEL_PROFILES = "modelProfiles";
-    private static final String PROFILE = "profile";
     private static final Logger LOG = LoggerFactory.getLogger(CgmesModelTripleStore.class);
     private static final String[] PARAMETER_REFERENCE = {"{0}", "{1}", "{2}", "{3}", "{4}", "{5}", "{6}", "{7}", "{8}", "{9}"};
 }
@@ -17,4 +17,13 @@ public interface DataSourceObserver {
 
     void closed(String streamName);
 
+    /**
+     * Called when a stream is closed, with the number of bytes read or written through the stream and the time in
+     * nanoseconds the stream stayed open, to follow the throughput of a data source. By default only
+     * {@link #closed(String)} is called.
+     */
+    default void closed(String streamName, long bytes, long nanos) {
+        closed(streamName);
+    }
+
 }
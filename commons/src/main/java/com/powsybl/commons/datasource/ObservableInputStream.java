@@ -20,6 +20,10 @@ class ObservableInputStream extends ForwardingInputStream<InputStream> {
 
     private final DataSourceObserver observer;
 
+    private final long openingTime;
+
+    private long bytes = 0;
+
     ObservableInputStream(InputStream is, String streamName, DataSourceObserver observer) {
         super(is);
         this.streamName = streamName;
@@ -27,13 +31,37 @@ class ObservableInputStream extends ForwardingInputStream<InputStream> {
         if (observer != null) {
             observer.opened(streamName);
         }
+        openingTime = System.nanoTime();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            bytes++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            bytes += n;
+        }
+        return n;
     }
 
     @Override
     public void close() throws IOException {
         super.close();
         if (observer != null) {
-            observer.closed(streamName);
+            observer.closed(streamName, bytes, System.nanoTime() - openingTime);
         }
     }
 
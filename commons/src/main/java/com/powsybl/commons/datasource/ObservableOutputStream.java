@@ -22,6 +22,10 @@ public class ObservableOutputStream extends ForwardingOutputStream<OutputStream>
 
     private final DataSourceObserver observer;
 
+    private final long openingTime;
+
+    private long bytes = 0;
+
     public ObservableOutputStream(OutputStream os, String streamName, DataSourceObserver observer) {
         super(os);
         this.streamName = streamName;
@@ -29,13 +33,31 @@ public class ObservableOutputStream extends ForwardingOutputStream<OutputStream>
         if (observer != null) {
             observer.opened(streamName);
         }
+        openingTime = System.nanoTime();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        super.write(b, off, len);
+        bytes += len;
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        super.write(b);
+        bytes++;
     }
 
     @Override
     public void close() throws IOException {
         super.close();
         if (observer != null) {
-            observer.closed(streamName);
+            observer.closed(streamName, bytes, System.nanoTime() - openingTime);
         }
     }
 
@@ -9,24 +9,45 @@ package com.powsybl.commons.datasource;
 import com.google.common.io.ByteStreams;
 import com.powsybl.commons.io.ForwardingInputStream;
 import com.powsybl.commons.io.ForwardingOutputStream;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.EntryStreamOffsets;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.BoundedInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
+ * A data source whose files are the entries of a zip file.
+ * <p>
+ * The central directory of the zip file is read once and kept as long as the zip file is not modified, entries are
+ * then read directly at their offset in the zip file. The content of an entry can also be read as a byte buffer,
+ * see {@link #getByteBuffers(Collection)}.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class ZipFileDataSource implements DataSource {
@@ -39,6 +60,32 @@ public class ZipFileDataSource implements DataSource {
 
     private final DataSourceObserver observer;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    private ZipIndex index;
+
+    /**
+     * Entries of the zip file, as read from its central directory.
+     */
+    private static final class ZipIndex {
+
+        private final FileTime lastModifiedTime;
+
+        private final long size;
+
+        private final Map<String, ZipArchiveEntry> entries;
+
+        private ZipIndex(FileTime lastModifiedTime, long size, Map<String, ZipArchiveEntry> entries) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.size = size;
+            this.entries = entries;
+        }
+
+        private boolean isUpToDate(BasicFileAttributes attributes) {
+            return lastModifiedTime.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+
     public ZipFileDataSource(Path directory, String zipFileName, String baseName, DataSourceObserver observer) {
         this.directory = Objects.requireNonNull(directory);
         this.zipFileName = Objects.requireNonNull(zipFileName);
@@ -76,22 +123,48 @@ public class ZipFileDataSource implements DataSource {
         return exists(DataSourceUtil.getFileName(baseName, suffix, ext));
     }
 
-    private static boolean entryExists(Path zipFilePath, String fileName) {
-        if (Files.exists(zipFilePath)) {
+    /**
+     * Get the entries of the zip file, reading its central directory only if it has never been read or if the zip
+     * file has been modified since. Returns null if the zip file does not exist.
+     */
+    private synchronized ZipIndex getIndex() throws IOException {
+        Path zipFilePath = getZipFilePath();
+        if (!Files.exists(zipFilePath)) {
+            index = null;
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(zipFilePath, BasicFileAttributes.class);
+        if (index == null || !index.isUpToDate(attributes)) {
+            Map<String, ZipArchiveEntry> entries = new LinkedHashMap<>();
             try (ZipFile zipFile = new ZipFile(Files.newByteChannel(zipFilePath))) {
-                return zipFile.getEntry(fileName) != null;
-            } catch (IOException e) {
-                return false;
+                Enumeration<ZipArchiveEntry> e = zipFile.getEntries();
+                while (e.hasMoreElements()) {
+                    ZipArchiveEntry zipEntry = e.nextElement();
+                    entries.putIfAbsent(zipEntry.getName(), zipEntry);
+                }
             }
+            index = new ZipIndex(attributes.lastModifiedTime(), attributes.size(), entries);
+        }
+        return index;
+    }
+
+    private synchronized void invalidateIndex() {
+        index = null;
+    }
+
+    private ZipArchiveEntry findEntry(String fileName) {
+        try {
+            ZipIndex zipIndex = getIndex();
+            return zipIndex != null ? zipIndex.entries.get(fileName) : null;
+        } catch (IOException e) {
+            return null;
         }
-        return false;
     }
 
     @Override
     public boolean exists(String fileName) {
         Objects.requireNonNull(fileName);
-        Path zipFilePath = getZipFilePath();
-        return entryExists(zipFilePath, fileName);
+        return findEntry(fileName) != null;
     }
 
     @Override
@@ -116,27 +189,176 @@ public class ZipFileDataSource implements DataSource {
         }
     }
 
+    /**
+     * Input stream on the data of an entry read directly in the zip file, from its offset in the file.
+     */
+    private static final class DirectZipEntryInputStream extends ForwardingInputStream<InputStream> {
+
+        private final InputStream channelStream;
+
+        private final Inflater inflater;
+
+        private DirectZipEntryInputStream(InputStream is, InputStream channelStream, Inflater inflater) {
+            super(is);
+            this.channelStream = channelStream;
+            this.inflater = inflater;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+                channelStream.close();
+            }
+        }
+    }
+
+    private static boolean isDirectlyReadable(ZipArchiveEntry entry) {
+        return (entry.getMethod() == ZipEntry.STORED || entry.getMethod() == ZipEntry.DEFLATED)
+                && !entry.getGeneralPurposeBit().usesEncryption()
+                && entry.getDataOffset() != EntryStreamOffsets.OFFSET_UNKNOWN
+                && entry.getCompressedSize() != ArchiveEntry.SIZE_UNKNOWN;
+    }
+
+    private InputStream newEntryInputStream(ZipArchiveEntry entry) throws IOException {
+        Path zipFilePath = getZipFilePath();
+        if (!isDirectlyReadable(entry)) {
+            // Other compression methods: go through the zip file
+            return new ZipEntryInputStream(new ZipFile(Files.newByteChannel(zipFilePath)), entry.getName());
+        }
+        SeekableByteChannel channel = Files.newByteChannel(zipFilePath);
+        InputStream channelStream = Channels.newInputStream(channel.position(entry.getDataOffset()));
+        InputStream is = new BoundedInputStream(channelStream, entry.getCompressedSize());
+        Inflater inflater = null;
+        if (entry.getMethod() == ZipEntry.DEFLATED) {
+            inflater = new Inflater(true);
+            is = new InflaterInputStream(is, inflater, BUFFER_SIZE);
+        }
+        return new DirectZipEntryInputStream(is, channelStream, inflater);
+    }
+
     @Override
     public InputStream newInputStream(String fileName) throws IOException {
         Objects.requireNonNull(fileName);
-        Path zipFilePath = getZipFilePath();
-        if (entryExists(zipFilePath, fileName)) {
-            InputStream is = new ZipEntryInputStream(new ZipFile(Files.newByteChannel(zipFilePath)), fileName);
-            return observer != null ? new ObservableInputStream(is, zipFilePath + ":" + fileName, observer) : is;
+        ZipArchiveEntry entry = findEntry(fileName);
+        if (entry != null) {
+            InputStream is = newEntryInputStream(entry);
+            return observer != null ? new ObservableInputStream(is, getZipFilePath() + ":" + fileName, observer) : is;
         }
         return null;
     }
 
+    /**
+     * Get the content of an entry, or null if the entry does not exist. See {@link #getByteBuffers(Collection)}.
+     */
+    public ByteBuffer getByteBuffer(String fileName) throws IOException {
+        Objects.requireNonNull(fileName);
+        return getByteBuffers(List.of(fileName)).get(fileName);
+    }
+
+    /**
+     * Get the content of several entries as read-only byte buffers, by file name. Entries that do not exist are
+     * ignored.
+     * <p>
+     * Stored (uncompressed) entries are memory mapped when the file system of the zip file allows it, so that they are
+     * not copied. Compressed entries are decompressed in memory, concurrently if there are several of them.
+     */
+    public Map<String, ByteBuffer> getByteBuffers(Collection<String> fileNames) throws IOException {
+        Objects.requireNonNull(fileNames);
+        ZipIndex zipIndex = getIndex();
+        Map<String, ByteBuffer> buffers = new LinkedHashMap<>();
+        if (zipIndex == null) {
+            return buffers;
+        }
+        List<ZipArchiveEntry> compressedEntries = new ArrayList<>();
+        for (String fileName : fileNames) {
+            ZipArchiveEntry entry = zipIndex.entries.get(fileName);
+            if (entry != null) {
+                if (entry.getMethod() == ZipEntry.STORED && isDirectlyReadable(entry)) {
+                    buffers.put(fileName, map(entry));
+                } else {
+                    // Keep the order of the requested file names
+                    buffers.put(fileName, null);
+                    compressedEntries.add(entry);
+                }
+            }
+        }
+        if (compressedEntries.size() == 1) {
+            buffers.put(compressedEntries.get(0).getName(), decompress(compressedEntries.get(0)));
+        } else if (!compressedEntries.isEmpty()) {
+            List<Future<ByteBuffer>> futures = new ArrayList<>(compressedEntries.size());
+            for (ZipArchiveEntry entry : compressedEntries) {
+                futures.add(ForkJoinPool.commonPool().submit(() -> decompress(entry)));
+            }
+            for (int i = 0; i < compressedEntries.size(); i++) {
+                buffers.put(compressedEntries.get(i).getName(), join(futures.get(i)));
+            }
+        }
+        return buffers;
+    }
+
+    private ByteBuffer map(ZipArchiveEntry entry) throws IOException {
+        String streamName = getZipFilePath() + ":" + entry.getName();
+        if (observer != null) {
+            observer.opened(streamName);
+        }
+        long openingTime = System.nanoTime();
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(getZipFilePath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, entry.getDataOffset(), entry.getCompressedSize());
+        } catch (UnsupportedOperationException e) {
+            // File systems not supporting memory mapping, in-memory ones for instance
+            try (InputStream is = newEntryInputStream(entry)) {
+                buffer = ByteBuffer.wrap(is.readAllBytes()).asReadOnlyBuffer();
+            }
+        }
+        if (observer != null) {
+            observer.closed(streamName, buffer.remaining(), System.nanoTime() - openingTime);
+        }
+        return buffer;
+    }
+
+    private ByteBuffer decompress(ZipArchiveEntry entry) throws IOException {
+        try (InputStream is = observer != null ? new ObservableInputStream(newEntryInputStream(entry), getZipFilePath() + ":" + entry.getName(), observer)
+                                               : newEntryInputStream(entry)) {
+            return ByteBuffer.wrap(is.readAllBytes()).asReadOnlyBuffer();
+        }
+    }
+
+    private static ByteBuffer join(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+
     private static final class ZipEntryOutputStream extends ForwardingOutputStream<ZipOutputStream> {
 
+        private final ZipFileDataSource dataSource;
+
         private final Path zipFilePath;
 
         private final String fileName;
 
         private boolean closed;
 
-        private ZipEntryOutputStream(Path zipFilePath, String fileName) throws IOException {
+        private ZipEntryOutputStream(ZipFileDataSource dataSource, Path zipFilePath, String fileName) throws IOException {
             super(new ZipOutputStream(Files.newOutputStream(getTmpZipFilePath(zipFilePath))));
+            this.dataSource = dataSource;
             this.zipFilePath = zipFilePath;
             this.fileName = fileName;
             this.closed = false;
@@ -178,6 +400,7 @@ public class ZipFileDataSource implements DataSource {
                 // swap with tmp zip
                 Path tmpZipFilePath = getTmpZipFilePath(zipFilePath);
                 Files.move(tmpZipFilePath, zipFilePath, StandardCopyOption.REPLACE_EXISTING);
+                dataSource.invalidateIndex();
 
                 closed = true;
             }
@@ -191,7 +414,7 @@ public class ZipFileDataSource implements DataSource {
             throw new UnsupportedOperationException("append not supported in zip file data source");
         }
         Path zipFilePath = getZipFilePath();
-        OutputStream os = new ZipEntryOutputStream(zipFilePath, fileName);
+        OutputStream os = new ZipEntryOutputStream(this, zipFilePath, fileName);
         return observer != null ? new ObservableOutputStream(os, zipFilePath + ":" + fileName, observer) : os;
     }
 
@@ -204,15 +427,14 @@ public class ZipFileDataSource implements DataSource {
     public Set<String> listNames(String regex) throws IOException {
         // Consider only files in the given folder, do not go into folders
         Pattern p = Pattern.compile(regex);
+        ZipIndex zipIndex = getIndex();
+        if (zipIndex == null) {
+            throw new NoSuchFileException(getZipFilePath().toString());
+        }
         Set<String> names = new HashSet<>();
-        Path zipFilePath = getZipFilePath();
-        try (ZipFile zipFile = new ZipFile(Files.newByteChannel(zipFilePath))) {
-            Enumeration<ZipArchiveEntry> e = zipFile.getEntries();
-            while (e.hasMoreElements()) {
-                ZipArchiveEntry zipEntry = e.nextElement();
-                if (!zipEntry.isDirectory() && p.matcher(zipEntry.getName()).matches()) {
-                    names.add(zipEntry.getName());
-                }
+        for (ZipArchiveEntry zipEntry : zipIndex.entries.values()) {
+            if (!zipEntry.isDirectory() && p.matcher(zipEntry.getName()).matches()) {
+                names.add(zipEntry.getName());
             }
         }
         return names;
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.xml;
+
+/**
+ * A {@link javax.xml.stream.XMLStreamReader} which can read double attributes without parsing them from text,
+ * used by {@link XmlUtil} when available.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public interface DoubleAttributeReader {
+
+    /**
+     * Get the value of an attribute of the current element, or the default value if the element has no such attribute.
+     */
+    double getDoubleAttributeValue(String localName, double defaultValue);
+}
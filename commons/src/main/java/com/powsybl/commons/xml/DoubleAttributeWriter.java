@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.xml;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * A {@link javax.xml.stream.XMLStreamWriter} which can write double attributes without converting them to text,
+ * used by {@link XmlUtil} when available.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public interface DoubleAttributeWriter {
+
+    void writeDoubleAttribute(String localName, double value) throws XMLStreamException;
+}
@@ -153,12 +153,20 @@ public final class XmlUtil {
 
     public static void writeDouble(String name, double value, XMLStreamWriter writer) throws XMLStreamException {
         if (!Double.isNaN(value)) {
-            writer.writeAttribute(name, Double.toString(value));
+            writeDoubleAttribute(name, value, writer);
         }
     }
 
     public static void writeOptionalDouble(String name, double value, double absentValue, XMLStreamWriter writer) throws XMLStreamException {
         if (!Double.isNaN(value) && value != absentValue) {
+            writeDoubleAttribute(name, value, writer);
+        }
+    }
+
+    private static void writeDoubleAttribute(String name, double value, XMLStreamWriter writer) throws XMLStreamException {
+        if (writer instanceof DoubleAttributeWriter) {
+            ((DoubleAttributeWriter) writer).writeDoubleAttribute(name, value);
+        } else {
             writer.writeAttribute(name, Double.toString(value));
         }
     }
@@ -211,6 +219,9 @@ public final class XmlUtil {
     }
 
     public static double readDoubleAttribute(XMLStreamReader reader, String attributeName) {
+        if (reader instanceof DoubleAttributeReader) {
+            return ((DoubleAttributeReader) reader).getDoubleAttributeValue(attributeName, Double.NaN);
+        }
         return Double.valueOf(reader.getAttributeValue(null, attributeName));
     }
 
@@ -219,6 +230,9 @@ public final class XmlUtil {
     }
 
     public static double readOptionalDoubleAttribute(XMLStreamReader reader, String attributeName, double defaultValue) {
+        if (reader instanceof DoubleAttributeReader) {
+            return ((DoubleAttributeReader) reader).getDoubleAttributeValue(attributeName, defaultValue);
+        }
         String attributeValue = reader.getAttributeValue(null, attributeName);
         return attributeValue != null ? Double.valueOf(attributeValue) : defaultValue;
     }
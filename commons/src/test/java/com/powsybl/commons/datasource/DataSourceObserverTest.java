@@ -20,6 +20,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -72,4 +73,30 @@ public class DataSourceObserverTest {
         assertEquals("/tmp/test.txt", openedStream[0]);
         assertEquals("/tmp/test.txt", closedStream[0]);
     }
+
+    @Test
+    public void countersTest() throws IOException {
+        long[] bytes = new long[1];
+        long[] nanos = new long[1];
+        DataSourceObserver observer = new DefaultDataSourceObserver() {
+            @Override
+            public void closed(String streamName, long bytes0, long nanos0) {
+                bytes[0] = bytes0;
+                nanos[0] = nanos0;
+            }
+        };
+
+        DataSource dataSource = new FileDataSource(testDir, "test", observer);
+        try (OutputStream os = dataSource.newOutputStream(null, "txt", false)) {
+            os.write(new byte[10]);
+            os.write(1);
+        }
+        assertEquals(11, bytes[0]);
+        assertTrue(nanos[0] >= 0);
+
+        try (InputStream is = dataSource.newInputStream(null, "txt")) {
+            assertEquals(11, is.readAllBytes().length);
+        }
+        assertEquals(11, bytes[0]);
+    }
 }
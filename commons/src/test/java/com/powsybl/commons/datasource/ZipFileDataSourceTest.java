@@ -9,7 +9,17 @@ package com.powsybl.commons.datasource;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -79,4 +89,79 @@ public class ZipFileDataSourceTest extends AbstractDataSourceTest {
         assertEquals("Test String", new String(dataSource.newInputStream(UNRELATED_FILE).readAllBytes()));
     }
 
+    private static void writeZip(Path zipFile) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            byte[] stored = "Stored content".getBytes(StandardCharsets.UTF_8);
+            ZipEntry e = new ZipEntry(MAIN_FILE);
+            e.setMethod(ZipEntry.STORED);
+            e.setSize(stored.length);
+            CRC32 crc = new CRC32();
+            crc.update(stored);
+            e.setCrc(crc.getValue());
+            out.putNextEntry(e);
+            out.write(stored);
+            out.closeEntry();
+
+            for (String name : List.of(ADDITIONAL_FILE, UNRELATED_FILE)) {
+                out.putNextEntry(new ZipEntry(name));
+                out.write(("Deflated content of " + name).repeat(100).getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    private static void checkByteBuffers(ZipFileDataSource dataSource) throws IOException {
+        Map<String, ByteBuffer> buffers = dataSource.getByteBuffers(List.of(UNRELATED_FILE, MAIN_FILE, "missing", ADDITIONAL_FILE));
+        assertEquals(List.of(UNRELATED_FILE, MAIN_FILE, ADDITIONAL_FILE), new ArrayList<>(buffers.keySet()));
+        assertEquals("Stored content", toString(buffers.get(MAIN_FILE)));
+        assertEquals(("Deflated content of " + ADDITIONAL_FILE).repeat(100), toString(buffers.get(ADDITIONAL_FILE)));
+        assertEquals(("Deflated content of " + UNRELATED_FILE).repeat(100), toString(buffers.get(UNRELATED_FILE)));
+        assertTrue(buffers.get(MAIN_FILE).isReadOnly());
+        assertEquals("Stored content", toString(dataSource.getByteBuffer(MAIN_FILE)));
+        assertNull(dataSource.getByteBuffer("missing"));
+
+        // Entries are read directly at their offset
+        assertEquals("Stored content", new String(dataSource.newInputStream(MAIN_FILE).readAllBytes(), StandardCharsets.UTF_8));
+        try (InputStream is = dataSource.newInputStream(ADDITIONAL_FILE)) {
+            assertEquals(("Deflated content of " + ADDITIONAL_FILE).repeat(100), new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void byteBuffersTest() throws IOException {
+        writeZip(fileSystem.getPath(ZIP_PATH));
+        checkByteBuffers(new ZipFileDataSource(fileSystem.getPath(WORK_DIR), ZIP_FILENAME, BASENAME, null));
+    }
+
+    @Test
+    public void mappedByteBuffersTest() throws IOException {
+        // Memory mapping is only supported by the default file system
+        Path dir = Files.createTempDirectory("zip-data-source");
+        try {
+            writeZip(dir.resolve(ZIP_FILENAME));
+            ZipFileDataSource dataSource = new ZipFileDataSource(dir, ZIP_FILENAME, BASENAME, null);
+            checkByteBuffers(dataSource);
+            assertTrue(dataSource.getByteBuffer(MAIN_FILE).isDirect());
+        } finally {
+            Files.deleteIfExists(dir.resolve(ZIP_FILENAME));
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void indexUpdateTest() throws IOException {
+        writeZip(fileSystem.getPath(ZIP_PATH));
+        ZipFileDataSource dataSource = new ZipFileDataSource(fileSystem.getPath(WORK_DIR), ZIP_FILENAME, BASENAME, null);
+        assertEquals(Set.of(MAIN_FILE, ADDITIONAL_FILE, UNRELATED_FILE), dataSource.listNames(".*"));
+        try (OutputStream os = dataSource.newOutputStream("new.txt", false)) {
+            os.write("New".getBytes(StandardCharsets.UTF_8));
+        }
+        assertTrue(dataSource.exists("new.txt"));
+        assertEquals("New", toString(dataSource.getByteBuffer("new.txt")));
+        assertEquals(Set.of(MAIN_FILE, ADDITIONAL_FILE, UNRELATED_FILE, "new.txt"), dataSource.listNames(".*"));
+    }
 }
@@ -140,6 +140,9 @@ public class LocalComputationManager implements ComputationManager {
 
     private interface ExecutionMonitor {
 
+        default void onStart(CommandExecution execution, int executionIndex) {
+        }
+
         void onProgress(CommandExecution execution, int executionIndex);
 
     }
@@ -157,6 +160,9 @@ public class LocalComputationManager implements ComputationManager {
                     executionSubmitter.execute(() -> {
                         try {
                             enter();
+                            if (monitor != null) {
+                                monitor.onStart(commandExecution, idx);
+                            }
                             logExecutingCommand(workingDir, command, idx);
                             preProcess(workingDir, command, idx);
                             int exitValue = process(workingDir, commandExecution, idx, variables, computationParameters);
@@ -343,7 +349,17 @@ public class LocalComputationManager implements ComputationManager {
 
             ExecutionReport report;
             try {
-                report = execute(workingDir.toPath(), commandExecutionList, environment.getVariables(), parameters, handler::onExecutionCompletion);
+                report = execute(workingDir.toPath(), commandExecutionList, environment.getVariables(), parameters, new ExecutionMonitor() {
+                    @Override
+                    public void onStart(CommandExecution execution, int executionIndex) {
+                        handler.onExecutionStart(execution, executionIndex);
+                    }
+
+                    @Override
+                    public void onProgress(CommandExecution execution, int executionIndex) {
+                        handler.onExecutionCompletion(execution, executionIndex);
+                    }
+                });
             } catch (InterruptedException exc) {
                 localCommandExecutor.stop(workingDir.toPath());
                 throw exc;
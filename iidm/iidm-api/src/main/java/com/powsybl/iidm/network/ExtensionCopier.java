@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network;
+
+import com.powsybl.commons.extensions.Extension;
+
+/**
+ * A provider used through java's {@link java.util.ServiceLoader}, to copy an extension during the in-memory copy of
+ * a network, see {@link NetworkFactory#copy(Network, boolean)}. A network can only be copied in memory if a copier is
+ * available for each of its extensions.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ *
+ * @param <E> The extension
+ */
+public interface ExtensionCopier<E extends Extension<?>> {
+
+    /**
+     * Gives the elements of the copy corresponding to the elements of the source network.
+     */
+    interface Context {
+
+        /**
+         * Get the terminal of the copy corresponding to a terminal of the source network.
+         *
+         * @param terminal a terminal of the source network, or null
+         * @return the terminal of the copy, or null if the given terminal is null
+         */
+        Terminal getTerminal(Terminal terminal);
+    }
+
+    /**
+     * Returns the class of the extensions copied by this copier, an extension is copied by the copier of the class it
+     * is an instance of.
+     *
+     * @return the extension class
+     */
+    // Class<? super E> to allow copiers of generic extensions to return the class of the raw type
+    Class<? super E> getExtensionClass();
+
+    /**
+     * Add a copy of an extension to the corresponding identifiable of the copy. Variant dependent attributes are
+     * copied from the working variant of the source network.
+     *
+     * @param extension the extension of the source network
+     * @param identifiable the identifiable of the copy on which the extension has to be added
+     * @param context the correspondence between the source network and the copy
+     */
+    void copy(E extension, Identifiable<?> identifiable, Context context);
+
+    /**
+     * Copy the variant dependent attributes of an extension from the working variant of the source network to the
+     * working variant of the copy. Called for each copied variant, after {@link #copy}. Nothing is done by default,
+     * which is right for extensions without variant dependent attributes.
+     *
+     * @param extension the extension of the source network
+     * @param identifiable the identifiable of the copy holding the copied extension
+     * @param context the correspondence between the source network and the copy
+     */
+    default void copyState(E extension, Identifiable<?> identifiable, Context context) {
+        // no variant dependent attributes
+    }
+}
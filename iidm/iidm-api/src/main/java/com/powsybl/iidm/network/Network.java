@@ -11,7 +11,9 @@ import com.powsybl.commons.reporter.Reporter;
 import org.joda.time.DateTime;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -833,6 +835,50 @@ public interface Network extends Container<Network> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Get the elements of the network an attribute is defined for, in the order of the vectors of
+     * {@link #getAttributeVector(VectorAttribute)} and {@link #setAttributeVector(VectorAttribute, double[])}.
+     * The list may contain {@code null} at positions not used by any element (removed elements for instance).
+     * The order is only valid until an element is added to or removed from the network.
+     *
+     * @param attribute the attribute
+     * @return the elements, by position in the vectors
+     */
+    default <T> List<T> getAttributeVectorElements(VectorAttribute<T> attribute) {
+        return attribute.getElements(this).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the values of an attribute for all the elements of the network, in the working variant. The value at a
+     * position not used by any element is undefined.
+     *
+     * @param attribute the attribute
+     * @return the values, by position in {@link #getAttributeVectorElements(VectorAttribute)}
+     */
+    default <T> double[] getAttributeVector(VectorAttribute<T> attribute) {
+        return attribute.getElements(this).mapToDouble(attribute::getValue).toArray();
+    }
+
+    /**
+     * Set the values of an attribute for all the elements of the network, in the working variant. The values at
+     * positions not used by any element are ignored.
+     *
+     * @param attribute the attribute
+     * @param values the values, by position in {@link #getAttributeVectorElements(VectorAttribute)}
+     */
+    default <T> void setAttributeVector(VectorAttribute<T> attribute, double[] values) {
+        List<T> elements = getAttributeVectorElements(attribute);
+        if (values.length != elements.size()) {
+            throw new IllegalArgumentException("Vector size " + values.length + " is different from the number of elements " + elements.size());
+        }
+        for (int i = 0; i < values.length; i++) {
+            T element = elements.get(i);
+            if (element != null) {
+                attribute.setValue(element, values[i]);
+            }
+        }
+    }
+
     /**
      * Get a bus/breaker view of the network.
      */
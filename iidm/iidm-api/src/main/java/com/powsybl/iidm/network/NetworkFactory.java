@@ -24,6 +24,30 @@ public interface NetworkFactory {
      */
     Network createNetwork(String id, String sourceFormat);
 
+    /**
+     * Check if a network can be copied by {@link #copy(Network, boolean)}: the factory has to support in-memory copy,
+     * and an {@link ExtensionCopier} has to be available for each extension of the network.
+     *
+     * @param network the network to copy
+     * @return true if the network can be copied in memory, false otherwise
+     */
+    default boolean isCopySupported(Network network) {
+        return false;
+    }
+
+    /**
+     * Create a deep copy of a network, directly from its object graph, without any serialization.
+     *
+     * @param network the network to copy
+     * @param workingVariantOnly if true, only the working variant is copied, as the initial variant of the copy,
+     *                           else all the variants are copied
+     * @return the copy of the network
+     * @throws UnsupportedOperationException if {@link #isCopySupported(Network)} is false for this network
+     */
+    default Network copy(Network network, boolean workingVariantOnly) {
+        throw new UnsupportedOperationException("In-memory copy is not supported by this network factory");
+    }
+
     /**
      * Find a {@code NetworkFactory} instance base on its name.
      *
@@ -7,6 +7,7 @@
 package com.powsybl.iidm.network;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -92,6 +93,42 @@ public interface VariantManager {
      */
     void cloneVariant(String sourceVariantId, String targetVariantId, boolean mayOverwrite);
 
+    /**
+     * Create or overwrite lightweight variants by cloning an existing one.
+     * <p>
+     * A copy-on-write variant only stores the attributes written after its creation, the other attributes are
+     * read from the source variant. This makes the creation of such a variant almost free and its memory footprint
+     * proportional to the number of modified attributes, which suits variants modifying only a few equipments
+     * (contingencies, remedial actions, sensitivity computations, ...).
+     * <p>
+     * Modifying the source variant does not affect its copy-on-write variants, but the source variant cannot be
+     * removed or overwritten while copy-on-write variants depend on it. Overwriting an existing variant keeps its
+     * kind: a regular variant is fully copied, a copy-on-write variant forgets the attributes written so far.
+     * <p>
+     * The default implementation creates regular variants.
+     *
+     * @param sourceVariantId the source variant id
+     * @param targetVariantIds the target variant id list (the ones that will be created/overwritten)
+     * @param mayOverwrite indicates if the target can be overwritten when it already exists
+     * @throws com.powsybl.commons.PowsyblException
+     *                       if a variant with an id of targetVariantIds already exists and
+     *                       the mayOverwrite parameter is set to {@code false}
+     */
+    default void cloneVariantCopyOnWrite(String sourceVariantId, List<String> targetVariantIds, boolean mayOverwrite) {
+        cloneVariant(sourceVariantId, targetVariantIds, mayOverwrite);
+    }
+
+    /**
+     * Create a new lightweight variant by cloning an existing one.
+     *
+     * @param sourceVariantId the source variant id
+     * @param targetVariantId the target variant id (the one that will be created)
+     * @see #cloneVariantCopyOnWrite(String, List, boolean)
+     */
+    default void cloneVariantCopyOnWrite(String sourceVariantId, String targetVariantId) {
+        cloneVariantCopyOnWrite(sourceVariantId, Collections.singletonList(targetVariantId), false);
+    }
+
     /**
      * Remove a variant.
      *
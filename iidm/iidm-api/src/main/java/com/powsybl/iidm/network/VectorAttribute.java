@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * A variant dependent attribute of network elements that can be read and written for all the elements of a network
+ * at once.
+ *
+ * @param <T> the type of the elements
+ * @see Network#getAttributeVectorElements(VectorAttribute)
+ * @see Network#getAttributeVector(VectorAttribute)
+ * @see Network#setAttributeVector(VectorAttribute, double[])
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public final class VectorAttribute<T> {
+
+    public static final VectorAttribute<Terminal> TERMINAL_P = new VectorAttribute<>("terminalP",
+        VectorAttribute::getTerminals, Terminal::getP, Terminal::setP);
+
+    public static final VectorAttribute<Terminal> TERMINAL_Q = new VectorAttribute<>("terminalQ",
+        VectorAttribute::getTerminals, Terminal::getQ, Terminal::setQ);
+
+    public static final VectorAttribute<Generator> GENERATOR_TARGET_P = new VectorAttribute<>("generatorTargetP",
+        Network::getGeneratorStream, Generator::getTargetP, Generator::setTargetP);
+
+    public static final VectorAttribute<Generator> GENERATOR_TARGET_Q = new VectorAttribute<>("generatorTargetQ",
+        Network::getGeneratorStream, Generator::getTargetQ, Generator::setTargetQ);
+
+    public static final VectorAttribute<Generator> GENERATOR_TARGET_V = new VectorAttribute<>("generatorTargetV",
+        Network::getGeneratorStream, Generator::getTargetV, Generator::setTargetV);
+
+    private final String name;
+
+    private final Function<Network, Stream<T>> elements;
+
+    private final ToDoubleFunction<T> getter;
+
+    private final ObjDoubleConsumer<T> setter;
+
+    private VectorAttribute(String name, Function<Network, Stream<T>> elements, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+        this.name = Objects.requireNonNull(name);
+        this.elements = Objects.requireNonNull(elements);
+        this.getter = Objects.requireNonNull(getter);
+        this.setter = Objects.requireNonNull(setter);
+    }
+
+    private static Stream<Terminal> getTerminals(Network network) {
+        return network.getConnectableStream().flatMap(c -> ((Connectable<?>) c).getTerminals().stream().map(Terminal.class::cast));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the elements of a network this attribute is defined for, one element after the other.
+     */
+    public Stream<T> getElements(Network network) {
+        return elements.apply(network);
+    }
+
+    /**
+     * Get the value of this attribute for an element, in the working variant.
+     */
+    public double getValue(T element) {
+        return getter.applyAsDouble(element);
+    }
+
+    /**
+     * Set the value of this attribute for an element, in the working variant.
+     */
+    public void setValue(T element, double value) {
+        setter.accept(element, value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.import_;
+
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+
+/**
+ * Listener of the import of all the networks of a directory.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public interface ImportAllListener {
+
+    /**
+     * Called when the import of a data source starts, in the thread running the import.
+     */
+    default void onImportStart(ReadOnlyDataSource dataSource) {
+    }
+
+    /**
+     * Called when the imported network of a data source has been consumed, in the calling thread.
+     */
+    default void onImportEnd(ReadOnlyDataSource dataSource, ImportMetrics metrics) {
+    }
+
+    /**
+     * Called when the import of a data source has failed, in the calling thread.
+     */
+    default void onImportFailure(ReadOnlyDataSource dataSource, Exception e) {
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.import_;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Options of the import of all the networks of a directory, see
+ * {@link Importers#importAll(java.nio.file.Path, Importer, ImportAllOptions, java.util.Properties, java.util.function.Consumer, ImportAllListener, com.powsybl.commons.reporter.Reporter)}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class ImportAllOptions {
+
+    /**
+     * Executor the imports are run on, imports are run one after the other in the calling thread if not defined.
+     */
+    private Executor executor;
+
+    /**
+     * Maximum number of networks being imported or waiting to be consumed.
+     */
+    private int maxPendingImports = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Give the networks to the consumer in the order of the files rather than in the order imports complete.
+     */
+    private boolean ordered = true;
+
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+    public ImportAllOptions setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public int getMaxPendingImports() {
+        return maxPendingImports;
+    }
+
+    public ImportAllOptions setMaxPendingImports(int maxPendingImports) {
+        if (maxPendingImports < 1) {
+            throw new IllegalArgumentException("Invalid maximum number of pending imports: " + maxPendingImports);
+        }
+        this.maxPendingImports = maxPendingImports;
+        return this;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public ImportAllOptions setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.import_;
+
+/**
+ * Metrics of the import of a network by {@link Importers#importAll}. Durations are in milliseconds.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public final class ImportMetrics {
+
+    private final long fileSize;
+
+    private final long importTime;
+
+    private final long waitingTime;
+
+    private final long consumeTime;
+
+    public ImportMetrics(long fileSize, long importTime, long waitingTime, long consumeTime) {
+        this.fileSize = fileSize;
+        this.importTime = importTime;
+        this.waitingTime = waitingTime;
+        this.consumeTime = consumeTime;
+    }
+
+    /**
+     * Size in bytes of the imported file, -1 if unknown.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Time spent to import the network.
+     */
+    public long getImportTime() {
+        return importTime;
+    }
+
+    /**
+     * Time the imported network has waited before being consumed.
+     */
+    public long getWaitingTime() {
+        return waitingTime;
+    }
+
+    /**
+     * Time spent by the consumer on the network.
+     */
+    public long getConsumeTime() {
+        return consumeTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportMetrics(fileSize=" + fileSize + ", importTime=" + importTime + ", waitingTime=" + waitingTime
+                + ", consumeTime=" + consumeTime + ")";
+    }
+}
@@ -25,10 +25,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -99,29 +96,94 @@ public final class Importers {
         return importData(format, new FileDataSource(Paths.get(directory), baseName), parameters);
     }
 
-    private static void doImport(ReadOnlyDataSource dataSource, Importer importer, Properties parameters, Consumer<Network> consumer, Consumer<ReadOnlyDataSource> listener, Reporter reporter) {
-        Objects.requireNonNull(consumer);
+    /**
+     * A data source found in a directory, with the size of its file.
+     */
+    private static final class DataSourceFile {
+
+        private final ReadOnlyDataSource dataSource;
+
+        private final long size;
+
+        private DataSourceFile(ReadOnlyDataSource dataSource, long size) {
+            this.dataSource = dataSource;
+            this.size = size;
+        }
+    }
+
+    /**
+     * The result of the import of a data source, waiting to be consumed.
+     */
+    private static final class ImportResult {
+
+        private final DataSourceFile file;
+
+        private Network network;
+
+        private Exception error;
+
+        private long importTime;
+
+        private long endNanos;
+
+        private ImportResult(DataSourceFile file) {
+            this.file = file;
+        }
+    }
+
+    private static ImportResult doImport(DataSourceFile file, Importer importer, Properties parameters, ImportAllListener listener, Reporter reporter) {
+        ImportResult result = new ImportResult(file);
+        long start = System.nanoTime();
         try {
-            if (listener != null) {
-                listener.accept(dataSource);
-            }
-            Network network = importer.importData(dataSource, NetworkFactory.findDefault(), parameters, reporter);
-            consumer.accept(network);
+            listener.onImportStart(file.dataSource);
+            result.network = importer.importData(file.dataSource, NetworkFactory.findDefault(), parameters, reporter);
         } catch (Exception e) {
-            LOGGER.error(e.toString(), e);
+            result.error = e;
         }
+        result.endNanos = System.nanoTime();
+        result.importTime = TimeUnit.NANOSECONDS.toMillis(result.endNanos - start);
+        return result;
     }
 
-    private static void addDataSource(Path dir, Path file, Importer importer, List<ReadOnlyDataSource> dataSources) {
+    private static void consume(ImportResult result, Consumer<Network> consumer, ImportAllListener listener) {
+        long waitingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - result.endNanos);
+        Exception error = result.error;
+        long consumeTime = 0;
+        if (error == null) {
+            long start = System.nanoTime();
+            try {
+                consumer.accept(result.network);
+            } catch (Exception e) {
+                error = e;
+            }
+            consumeTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        if (error != null) {
+            LOGGER.error(error.toString(), error);
+            listener.onImportFailure(result.file.dataSource, error);
+        } else {
+            listener.onImportEnd(result.file.dataSource, new ImportMetrics(result.file.size, result.importTime, waitingTime, consumeTime));
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void addDataSource(Path dir, Path file, Importer importer, List<DataSourceFile> dataSources) {
         Objects.requireNonNull(importer);
         String caseBaseName = DataSourceUtil.getBaseName(file);
         ReadOnlyDataSource ds = new GenericReadOnlyDataSource(dir, caseBaseName);
         if (importer.exists(ds)) {
-            dataSources.add(ds);
+            dataSources.add(new DataSourceFile(ds, size(file)));
         }
     }
 
-    private static void importAll(Path parent, Importer importer, List<ReadOnlyDataSource> dataSources) throws IOException {
+    private static void importAll(Path parent, Importer importer, List<DataSourceFile> dataSources) throws IOException {
         if (Files.isDirectory(parent)) {
             try (Stream<Path> stream = Files.list(parent)) {
                 stream.sorted().forEach(child -> {
@@ -143,31 +205,109 @@ public final class Importers {
         }
     }
 
+    private static ImportAllListener toImportAllListener(Consumer<ReadOnlyDataSource> listener) {
+        return new ImportAllListener() {
+            @Override
+            public void onImportStart(ReadOnlyDataSource dataSource) {
+                if (listener != null) {
+                    listener.accept(dataSource);
+                }
+            }
+        };
+    }
+
+    /**
+     * Import all the networks of a directory, and its sub directories, that can be imported by an importer.
+     * <p>
+     * If parallel, all the networks are imported concurrently and the consumer is called from the pool threads, as
+     * soon as each network is imported: it has to be thread safe. Use
+     * {@link #importAll(Path, Importer, ImportAllOptions, Properties, Consumer, ImportAllListener, Reporter)} to bound
+     * the number of networks in memory and consume them from the calling thread.
+     */
     public static void importAll(Path dir, Importer importer, boolean parallel, Properties parameters, Consumer<Network> consumer, Consumer<ReadOnlyDataSource> listener, Reporter reporter) throws IOException, InterruptedException, ExecutionException {
-        List<ReadOnlyDataSource> dataSources = new ArrayList<>();
+        if (!parallel) {
+            importAll(dir, importer, new ImportAllOptions(), parameters, consumer, toImportAllListener(listener), reporter);
+            return;
+        }
+        Objects.requireNonNull(consumer);
+        List<DataSourceFile> dataSources = new ArrayList<>();
         importAll(dir, importer, dataSources);
-        if (parallel) {
-            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-            try {
-                List<Future<?>> futures = dataSources.stream()
-                        .map(ds -> {
-                            Reporter child = createSubReporter(reporter, ds);
-                            return executor.submit(() -> doImport(ds, importer, parameters, consumer, listener, child));
-                        })
-                        .collect(Collectors.toList());
-                for (Future<?> future : futures) {
-                    future.get();
+        ImportAllListener importAllListener = toImportAllListener(listener);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<?>> futures = dataSources.stream()
+                    .map(ds -> {
+                        Reporter child = createSubReporter(reporter, ds.dataSource);
+                        return executor.submit(() -> consume(doImport(ds, importer, parameters, importAllListener, child), consumer, importAllListener));
+                    })
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Import all the networks of a directory, and its sub directories, that can be imported by an importer.
+     * <p>
+     * If an executor is given in the options, imports are run concurrently on this executor, with at most
+     * {@link ImportAllOptions#getMaxPendingImports()} networks being imported or waiting to be consumed: the next import
+     * is only started once the consumer has taken a network. The consumer is always called from the calling thread.
+     * Failed imports are logged and reported to the listener, the other networks are still imported.
+     */
+    public static void importAll(Path dir, Importer importer, ImportAllOptions options, Properties parameters, Consumer<Network> consumer,
+                                 ImportAllListener listener, Reporter reporter) throws IOException, InterruptedException, ExecutionException {
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(consumer);
+        Objects.requireNonNull(listener);
+        Objects.requireNonNull(reporter);
+        List<DataSourceFile> dataSources = new ArrayList<>();
+        importAll(dir, importer, dataSources);
+        Executor executor = options.getExecutor().orElse(null);
+        if (executor == null) {
+            for (DataSourceFile dataSource : dataSources) {
+                consume(doImport(dataSource, importer, parameters, listener, createSubReporter(reporter, dataSource.dataSource)), consumer, listener);
+            }
+            return;
+        }
+        CompletionService<ImportResult> completionService = new ExecutorCompletionService<>(executor);
+        Deque<Future<ImportResult>> pendingImports = new ArrayDeque<>();
+        try {
+            for (DataSourceFile dataSource : dataSources) {
+                if (pendingImports.size() >= options.getMaxPendingImports()) {
+                    consume(nextResult(pendingImports, completionService, options.isOrdered()), consumer, listener);
+                }
+                Reporter child = createSubReporter(reporter, dataSource.dataSource);
+                Callable<ImportResult> task = () -> doImport(dataSource, importer, parameters, listener, child);
+                if (options.isOrdered()) {
+                    // not through the completion service, that would keep the results of the completed imports
+                    FutureTask<ImportResult> future = new FutureTask<>(task);
+                    executor.execute(future);
+                    pendingImports.addLast(future);
+                } else {
+                    pendingImports.addLast(completionService.submit(task));
                 }
-            } finally {
-                executor.shutdownNow();
             }
-        } else {
-            for (ReadOnlyDataSource dataSource : dataSources) {
-                doImport(dataSource, importer, parameters, consumer, listener, createSubReporter(reporter, dataSource));
+            while (!pendingImports.isEmpty()) {
+                consume(nextResult(pendingImports, completionService, options.isOrdered()), consumer, listener);
             }
+        } finally {
+            pendingImports.forEach(future -> future.cancel(true));
         }
     }
 
+    private static ImportResult nextResult(Deque<Future<ImportResult>> pendingImports, CompletionService<ImportResult> completionService,
+                                           boolean ordered) throws InterruptedException, ExecutionException {
+        if (ordered) {
+            return pendingImports.removeFirst().get();
+        }
+        Future<ImportResult> future = completionService.take();
+        pendingImports.remove(future);
+        return future.get();
+    }
+
     private static Reporter createSubReporter(Reporter reporter, ReadOnlyDataSource ds) {
         return reporter.createSubReporter("importDataSource", "Import data source ${dataSource}", "dataSource", ds.getBaseName());
     }
@@ -413,6 +553,19 @@ public final class Importers {
         }
     }
 
+    /**
+     * Import all the networks of a directory, with all the importers, see
+     * {@link #importAll(Path, Importer, ImportAllOptions, Properties, Consumer, ImportAllListener, Reporter)}.
+     */
+    public static void loadNetworks(Path dir, ImportAllOptions options, ImportersLoader loader, ComputationManager computationManager, ImportConfig config, Properties parameters, Consumer<Network> consumer, ImportAllListener listener, Reporter reporter) throws IOException, InterruptedException, ExecutionException {
+        if (!Files.isDirectory(dir)) {
+            throw new PowsyblException("Directory " + dir + " does not exist or is not a regular directory");
+        }
+        for (Importer importer : Importer.list(loader, computationManager, config)) {
+            Importers.importAll(dir, importer, options, parameters, consumer, listener, reporter);
+        }
+    }
+
     public static void loadNetworks(Path dir, boolean parallel, ImportersLoader loader, ComputationManager computationManager, ImportConfig config, Properties parameters, Consumer<Network> consumer, Consumer<ReadOnlyDataSource> listener) throws IOException, InterruptedException, ExecutionException {
         loadNetworks(dir, parallel, loader, computationManager, config, parameters, consumer, listener, Reporter.NO_OP);
     }
@@ -10,6 +10,7 @@ import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.TestUtil;
 import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.reporter.Reporter;
 import com.powsybl.commons.reporter.ReporterModel;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.iidm.AbstractConvertersTest;
@@ -24,11 +25,11 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -175,6 +176,82 @@ public class ImportersTest extends AbstractConvertersTest {
         isLoadPresent.forEach(Assert::assertTrue);
     }
 
+    @Test
+    public void importAllWithOptions() throws InterruptedException, ExecutionException, IOException {
+        for (int i = 0; i < 10; i++) {
+            Files.write(fileSystem.getPath(WORK_DIR + "case" + i + ".tst"), new byte[i]);
+        }
+        AtomicInteger pendingNetworks = new AtomicInteger();
+        AtomicInteger maxPendingNetworks = new AtomicInteger();
+        Importer importer = new TestImporter() {
+            @Override
+            public Network importData(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, Properties parameters, Reporter reporter) {
+                if (dataSource.getBaseName().equals("bar")) {
+                    throw new PowsyblException("Invalid file");
+                }
+                maxPendingNetworks.accumulateAndGet(pendingNetworks.incrementAndGet(), Math::max);
+                Network network = super.importData(dataSource, networkFactory, parameters, reporter);
+                network.setProperty("baseName", dataSource.getBaseName());
+                return network;
+            }
+        };
+        List<String> failures = new ArrayList<>();
+        Map<String, ImportMetrics> metrics = new HashMap<>();
+        ImportAllListener listener = new ImportAllListener() {
+            @Override
+            public void onImportEnd(ReadOnlyDataSource dataSource, ImportMetrics importMetrics) {
+                metrics.put(dataSource.getBaseName(), importMetrics);
+            }
+
+            @Override
+            public void onImportFailure(ReadOnlyDataSource dataSource, Exception e) {
+                failures.add(dataSource.getBaseName());
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (boolean ordered : List.of(true, false)) {
+                List<String> baseNames = new ArrayList<>();
+                failures.clear();
+                metrics.clear();
+                maxPendingNetworks.set(0);
+                Thread thread = Thread.currentThread();
+                ImportAllOptions options = new ImportAllOptions()
+                        .setExecutor(executor)
+                        .setMaxPendingImports(2)
+                        .setOrdered(ordered);
+                Importers.importAll(fileSystem.getPath(WORK_DIR), importer, options, null, n -> {
+                    assertSame(thread, Thread.currentThread());
+                    baseNames.add(n.getProperty("baseName"));
+                    pendingNetworks.decrementAndGet();
+                }, listener, Reporter.NO_OP);
+
+                List<String> expected = List.of("case0", "case1", "case2", "case3", "case4", "case5", "case6", "case7", "case8", "case9", "foo");
+                if (ordered) {
+                    assertEquals(expected, baseNames);
+                } else {
+                    assertEquals(new HashSet<>(expected), new HashSet<>(baseNames));
+                }
+                assertTrue(maxPendingNetworks.get() <= 2);
+                assertEquals(List.of("bar"), failures);
+                assertEquals(11, metrics.size());
+                assertEquals(7, metrics.get("case7").getFileSize());
+                assertTrue(metrics.get("case7").getImportTime() >= 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // without executor, imports are run in the calling thread
+        List<String> baseNames = new ArrayList<>();
+        Importers.importAll(fileSystem.getPath(WORK_DIR), importer, new ImportAllOptions(), null, n -> baseNames.add(n.getProperty("baseName")),
+                listener, Reporter.NO_OP);
+        assertEquals(11, baseNames.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new ImportAllOptions().setMaxPendingImports(0));
+    }
+
     @Test
     public void createDataSource1() throws IOException {
         DataSource dataSource = Importers.createDataSource(fileSystem.getPath(WORK_DIR), "foo");
@@ -176,6 +176,9 @@ abstract class AbstractConnectable<I extends Connectable<I>> extends AbstractIde
         int iSide = terminals.indexOf(oldTerminal);
         terminals.set(iSide, terminalExt);
 
+        // the old terminal is not part of the network anymore
+        oldTerminal.remove();
+
         notifyUpdate("terminal" + (iSide + 1), oldConnectionInfo, terminalExt.getConnectionInfo());
     }
 }
@@ -6,10 +6,8 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 import java.util.*;
 
@@ -35,11 +33,11 @@ abstract class AbstractTapChanger<H extends TapChangerParent, C extends Abstract
 
     // attributes depending on the variant
 
-    protected final ArrayList<Integer> tapPosition;
+    protected final MultiVariantArrayList<Integer> tapPosition;
 
-    protected final TBooleanArrayList regulating;
+    protected final MultiVariantBooleanArrayList regulating;
 
-    protected final TDoubleArrayList targetDeadband;
+    protected final MultiVariantDoubleArrayList targetDeadband;
 
     protected AbstractTapChanger(Ref<? extends VariantManagerHolder> network, H parent,
                                  int lowTapPosition, List<S> steps, TerminalExt regulationTerminal,
@@ -51,9 +49,9 @@ abstract class AbstractTapChanger<H extends TapChangerParent, C extends Abstract
         steps.forEach(s -> s.setParent(this));
         this.regulationTerminal = regulationTerminal;
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.tapPosition = new ArrayList<>(variantArraySize);
-        this.regulating = new TBooleanArrayList(variantArraySize);
-        this.targetDeadband = new TDoubleArrayList(variantArraySize);
+        this.tapPosition = new MultiVariantArrayList<>(network, variantArraySize);
+        this.regulating = new MultiVariantBooleanArrayList(network, variantArraySize);
+        this.targetDeadband = new MultiVariantDoubleArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.tapPosition.add(tapPosition);
             this.regulating.add(regulating);
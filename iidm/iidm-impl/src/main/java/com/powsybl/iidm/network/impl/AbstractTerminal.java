@@ -11,18 +11,21 @@ import com.powsybl.iidm.network.IdentifiableType;
 import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.ValidationException;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
-abstract class AbstractTerminal implements TerminalExt {
+abstract class AbstractTerminal implements TerminalExt, AttributeColumns.Element {
+
+    static final int P_COLUMN = 0;
+    static final int Q_COLUMN = 1;
+    static final int COLUMN_COUNT = 2;
 
     protected static final String UNMODIFIABLE_REMOVED_EQUIPMENT = "Cannot modify removed equipment ";
     protected static final String CANNOT_ACCESS_BUS_REMOVED_EQUIPMENT = "Cannot access bus of removed equipment ";
 
-    protected final Ref<? extends VariantManagerHolder> network;
+    protected final Ref<NetworkImpl> network;
 
     protected AbstractConnectable connectable;
 
@@ -30,23 +33,38 @@ abstract class AbstractTerminal implements TerminalExt {
 
     protected int num = -1;
 
-    // attributes depending on the variant
-
-    protected final TDoubleArrayList p;
+    // number of the terminal in the terminal columns of the network, storing p and q, -1 until the terminal is
+    // attached to a voltage level and after its removal
+    private int columnNumber = -1;
 
-    protected final TDoubleArrayList q;
+    // p and q of a terminal which is not in the terminal columns
+    private final double[] detachedColumnValues = {Double.NaN, Double.NaN};
 
     protected boolean removed = false;
 
-    AbstractTerminal(Ref<? extends VariantManagerHolder> network) {
+    AbstractTerminal(Ref<NetworkImpl> network) {
         this.network = network;
-        int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        p = new TDoubleArrayList(variantArraySize);
-        q = new TDoubleArrayList(variantArraySize);
-        for (int i = 0; i < variantArraySize; i++) {
-            p.add(Double.NaN);
-            q.add(Double.NaN);
+    }
+
+    @Override
+    public void setColumnNumber(int columnNumber) {
+        this.columnNumber = columnNumber;
+    }
+
+    private double getColumnValue(int column, int variantIndex) {
+        if (columnNumber == -1) {
+            return detachedColumnValues[column];
+        }
+        return network.get().getTerminalColumns().get(column, variantIndex, columnNumber);
+    }
+
+    private double setColumnValue(int column, int variantIndex, double value) {
+        if (columnNumber == -1) {
+            double oldValue = detachedColumnValues[column];
+            detachedColumnValues[column] = value;
+            return oldValue;
         }
+        return network.get().getTerminalColumns().set(column, variantIndex, columnNumber, value);
     }
 
     @Override
@@ -70,6 +88,10 @@ abstract class AbstractTerminal implements TerminalExt {
     @Override
     public void setVoltageLevel(VoltageLevelExt voltageLevel) {
         this.voltageLevel = voltageLevel;
+        // the terminal gets its column number on its first successful attachment, and keeps it until its removal
+        if (voltageLevel != null && columnNumber == -1 && !removed) {
+            columnNumber = network.get().getTerminalColumns().add(this, detachedColumnValues);
+        }
     }
 
     @Override
@@ -82,7 +104,7 @@ abstract class AbstractTerminal implements TerminalExt {
         if (removed) {
             throw new PowsyblException("Cannot access p of removed equipment " + connectable.id);
         }
-        return p.get(network.get().getVariantIndex());
+        return getColumnValue(P_COLUMN, network.get().getVariantIndex());
     }
 
     @Override
@@ -94,9 +116,9 @@ abstract class AbstractTerminal implements TerminalExt {
             throw new ValidationException(connectable, "cannot set active power on a busbar section");
         }
         int variantIndex = network.get().getVariantIndex();
-        double oldValue = this.p.set(variantIndex, p);
+        double oldValue = setColumnValue(P_COLUMN, variantIndex, p);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
-        getConnectable().notifyUpdate(() -> "p" + (num != -1 ? num : ""), variantId, oldValue, p);
+        getConnectable().notifyUpdate(() -> getColumnAttribute(P_COLUMN), variantId, oldValue, p);
         return this;
     }
 
@@ -105,7 +127,7 @@ abstract class AbstractTerminal implements TerminalExt {
         if (removed) {
             throw new PowsyblException("Cannot access q of removed equipment " + connectable.id);
         }
-        return q.get(network.get().getVariantIndex());
+        return getColumnValue(Q_COLUMN, network.get().getVariantIndex());
     }
 
     @Override
@@ -117,9 +139,9 @@ abstract class AbstractTerminal implements TerminalExt {
             throw new ValidationException(connectable, "cannot set reactive power on a busbar section");
         }
         int variantIndex = network.get().getVariantIndex();
-        double oldValue = this.q.set(variantIndex, q);
+        double oldValue = setColumnValue(Q_COLUMN, variantIndex, q);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
-        getConnectable().notifyUpdate(() -> "q" + (num != -1 ? num : ""), variantId, oldValue, q);
+        getConnectable().notifyUpdate(() -> getColumnAttribute(Q_COLUMN), variantId, oldValue, q);
         return this;
     }
 
@@ -134,7 +156,7 @@ abstract class AbstractTerminal implements TerminalExt {
             return 0;
         }
         int variantIndex = network.get().getVariantIndex();
-        return Math.hypot(p.get(variantIndex), q.get(variantIndex))
+        return Math.hypot(getColumnValue(P_COLUMN, variantIndex), getColumnValue(Q_COLUMN, variantIndex))
                 / (Math.sqrt(3.) * getV() / 1000);
     }
 
@@ -154,20 +176,30 @@ abstract class AbstractTerminal implements TerminalExt {
         return voltageLevel.disconnect(this);
     }
 
+    private String getColumnAttribute(int column) {
+        return (column == P_COLUMN ? "p" : "q") + (num != -1 ? num : "");
+    }
+
     @Override
-    public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
-        p.ensureCapacity(p.size() + number);
-        q.ensureCapacity(q.size() + number);
-        for (int i = 0; i < number; i++) {
-            p.add(p.get(sourceIndex));
-            q.add(q.get(sourceIndex));
+    public void checkColumnValue(int column, int variantIndex, double value) {
+        if (connectable.getType() == IdentifiableType.BUSBAR_SECTION && Double.compare(value, getColumnValue(column, variantIndex)) != 0) {
+            throw new ValidationException(connectable, "cannot set " + (column == P_COLUMN ? "active" : "reactive") + " power on a busbar section");
         }
     }
 
+    @Override
+    public void notifyColumnUpdate(int column, String variantId, double oldValue, double newValue) {
+        getConnectable().notifyUpdate(() -> getColumnAttribute(column), variantId, oldValue, newValue);
+    }
+
+    @Override
+    public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
+        // p and q are managed by the terminal columns of the network
+    }
+
     @Override
     public void reduceVariantArraySize(int number) {
-        p.remove(p.size() - number, number);
-        q.remove(q.size() - number, number);
+        // p and q are managed by the terminal columns of the network
     }
 
     @Override
@@ -177,14 +209,15 @@ abstract class AbstractTerminal implements TerminalExt {
 
     @Override
     public void allocateVariantArrayElement(int[] indexes, int sourceIndex) {
-        for (int index : indexes) {
-            p.set(index, p.get(sourceIndex));
-            q.set(index, q.get(sourceIndex));
-        }
+        // p and q are managed by the terminal columns of the network
     }
 
     @Override
     public void remove() {
         removed = true;
+        if (columnNumber != -1) {
+            network.get().getTerminalColumns().remove(columnNumber);
+            columnNumber = -1;
+        }
     }
 }
@@ -0,0 +1,380 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.impl.util.Ref;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Variant dependent double attributes of all the network elements of a given type, stored column-wise: for each
+ * attribute and each variant, the values of all the elements are stored in one array, indexed by a number given to
+ * each element when it is added.
+ * <p>
+ * Copy-on-write variants (see {@link CopyOnWriteVariants}) share the arrays of their parent variant until they write
+ * one of their values; the whole array of the attribute is copied at that time.
+ * <p>
+ * Numbers of removed elements are reused by the next added elements, so that the arrays do not grow beyond the
+ * largest number of elements the network has had at the same time. A removed element must not read its values anymore.
+ *
+ * @param <T> the type of the elements
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class AttributeColumns<T extends AttributeColumns.Element> {
+
+    /**
+     * A network element with attributes stored in an {@link AttributeColumns}.
+     */
+    interface Element {
+
+        /**
+         * Called to give the element its new number when it is moved to another network.
+         */
+        void setColumnNumber(int number);
+
+        /**
+         * Check a value before it is written by {@link AttributeColumns#setVector(int, int, double[])}.
+         */
+        void checkColumnValue(int column, int variantIndex, double value);
+
+        /**
+         * Notify the network listeners of a value written by {@link AttributeColumns#setVector(int, int, double[])}.
+         */
+        void notifyColumnUpdate(int column, String variantId, double oldValue, double newValue);
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Column {
+
+        // by variant index, null for a deleted variant
+        private final List<double[]> values = new ArrayList<>();
+
+        // by copy-on-write variant slot
+        private TIntObjectHashMap<double[]> copyOnWriteValues;
+
+        private TIntIntHashMap copyOnWriteOwnership;
+
+        private IntConsumer copyOnWriteReleaser;
+
+        private double[] resolve(CopyOnWriteVariants copyOnWriteVariants, int variantIndex) {
+            int resolvedIndex = copyOnWriteVariants.resolve(copyOnWriteOwnership, variantIndex);
+            if (CopyOnWriteVariants.isCopyOnWriteIndex(resolvedIndex)) {
+                return copyOnWriteValues.get(CopyOnWriteVariants.getSlot(resolvedIndex));
+            }
+            return values.get(resolvedIndex);
+        }
+
+        private void setCopyOnWrite(CopyOnWriteVariants copyOnWriteVariants, int variantIndex, double[] array) {
+            if (copyOnWriteValues == null) {
+                copyOnWriteValues = new TIntObjectHashMap<>();
+                copyOnWriteOwnership = new TIntIntHashMap();
+                copyOnWriteReleaser = this::releaseCopyOnWrite;
+            }
+            copyOnWriteValues.put(CopyOnWriteVariants.getSlot(variantIndex), array);
+            copyOnWriteVariants.own(copyOnWriteOwnership, variantIndex, copyOnWriteReleaser);
+        }
+
+        private synchronized void releaseCopyOnWrite(int slot) {
+            copyOnWriteValues.remove(slot);
+            copyOnWriteOwnership.remove(slot);
+        }
+
+        /**
+         * Before the array of a variant is modified, give a copy of it to the copy-on-write variants still reading it.
+         */
+        private void pushDown(CopyOnWriteVariants copyOnWriteVariants, int variantIndex) {
+            int[] children = copyOnWriteVariants.getChildren(variantIndex);
+            if (children.length > 0) {
+                double[] array = resolve(copyOnWriteVariants, variantIndex);
+                for (int childIndex : children) {
+                    if (!copyOnWriteVariants.owns(copyOnWriteOwnership, childIndex)) {
+                        setCopyOnWrite(copyOnWriteVariants, childIndex, array.clone());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the array of a variant, ready to be modified.
+         */
+        private double[] getForUpdate(CopyOnWriteVariants copyOnWriteVariants, int variantIndex) {
+            pushDown(copyOnWriteVariants, variantIndex);
+            if (!CopyOnWriteVariants.isCopyOnWriteIndex(variantIndex)) {
+                return values.get(variantIndex);
+            }
+            if (copyOnWriteVariants.owns(copyOnWriteOwnership, variantIndex)) {
+                return copyOnWriteValues.get(CopyOnWriteVariants.getSlot(variantIndex));
+            }
+            double[] array = resolve(copyOnWriteVariants, variantIndex).clone();
+            setCopyOnWrite(copyOnWriteVariants, variantIndex, array);
+            return array;
+        }
+
+        private void forEachArray(ArrayUpdater updater) {
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    values.set(i, updater.update(values.get(i)));
+                }
+            }
+            if (copyOnWriteValues != null) {
+                copyOnWriteValues.transformValues(updater::update);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ArrayUpdater {
+
+        double[] update(double[] array);
+    }
+
+    private final Ref<? extends VariantManagerHolder> network;
+
+    private final Column[] columns;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    // numbers of removed elements, reused before growing the arrays
+    private final Deque<Integer> unusedNumbers = new ArrayDeque<>();
+
+    /**
+     * @param network     the network the elements belong to
+     * @param columnCount the number of attributes
+     */
+    AttributeColumns(Ref<? extends VariantManagerHolder> network, int columnCount) {
+        this.network = Objects.requireNonNull(network);
+        columns = new Column[columnCount];
+        int variantArraySize = network.get().getVariantManager().getVariantArraySize();
+        for (int c = 0; c < columnCount; c++) {
+            columns[c] = new Column();
+            for (int i = 0; i < variantArraySize; i++) {
+                columns[c].values.add(new double[INITIAL_CAPACITY]);
+            }
+        }
+    }
+
+    private CopyOnWriteVariants getCopyOnWriteVariants() {
+        return network.get().getVariantManager().getCopyOnWriteVariants();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            int newCapacity = Math.max(capacity, elements.length * 2);
+            elements = Arrays.copyOf(elements, newCapacity);
+            for (Column column : columns) {
+                column.forEachArray(array -> Arrays.copyOf(array, newCapacity));
+            }
+        }
+    }
+
+    /**
+     * Add an element, with the same values in all the variants.
+     *
+     * @return the number of the element
+     */
+    int add(T element, double... initialValues) {
+        Objects.requireNonNull(element);
+        if (initialValues.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, got " + initialValues.length);
+        }
+        int number;
+        if (unusedNumbers.isEmpty()) {
+            number = size;
+            ensureCapacity(number + 1);
+            size++;
+        } else {
+            number = unusedNumbers.pollLast();
+        }
+        elements[number] = element;
+        for (int c = 0; c < columns.length; c++) {
+            double value = initialValues[c];
+            columns[c].forEachArray(array -> {
+                array[number] = value;
+                return array;
+            });
+        }
+        return number;
+    }
+
+    /**
+     * Remove an element. Its number is given to the next added element.
+     */
+    void remove(int number) {
+        if (elements[number] == null) {
+            throw new IllegalStateException("Element " + number + " has already been removed");
+        }
+        elements[number] = null;
+        unusedNumbers.add(number);
+    }
+
+    double get(int column, int variantIndex, int number) {
+        Column c = columns[column];
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(variantIndex)) {
+            return c.values.get(variantIndex)[number];
+        }
+        synchronized (c) {
+            return c.resolve(getCopyOnWriteVariants(), variantIndex)[number];
+        }
+    }
+
+    /**
+     * @return the old value
+     */
+    double set(int column, int variantIndex, int number, double value) {
+        Column c = columns[column];
+        CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(variantIndex) && !copyOnWriteVariants.hasChildren(variantIndex)) {
+            double[] array = c.values.get(variantIndex);
+            double oldValue = array[number];
+            array[number] = value;
+            return oldValue;
+        }
+        synchronized (c) {
+            double[] array = c.getForUpdate(copyOnWriteVariants, variantIndex);
+            double oldValue = array[number];
+            array[number] = value;
+            return oldValue;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getElement(int number) {
+        return (T) elements[number];
+    }
+
+    /**
+     * Get the elements by number, with {@code null} for the numbers of removed elements.
+     */
+    List<T> getElements() {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(getElement(i));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Get a copy of the values of an attribute for all the elements, by number.
+     */
+    double[] getVector(int column, int variantIndex) {
+        Column c = columns[column];
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(variantIndex)) {
+            return Arrays.copyOf(c.values.get(variantIndex), size);
+        }
+        synchronized (c) {
+            return Arrays.copyOf(c.resolve(getCopyOnWriteVariants(), variantIndex), size);
+        }
+    }
+
+    /**
+     * Set the values of an attribute for all the elements, by number. Values of removed elements are ignored. Values
+     * are all checked before the first one is written, and listeners are notified of the modified values.
+     */
+    void setVector(int column, int variantIndex, double[] values) {
+        Objects.requireNonNull(values);
+        if (values.length != size) {
+            throw new IllegalArgumentException("Vector size " + values.length + " is different from the number of elements " + size);
+        }
+        for (int i = 0; i < size; i++) {
+            T element = getElement(i);
+            if (element != null) {
+                element.checkColumnValue(column, variantIndex, values[i]);
+            }
+        }
+        double[] oldValues;
+        Column c = columns[column];
+        synchronized (c) {
+            double[] array = c.getForUpdate(getCopyOnWriteVariants(), variantIndex);
+            oldValues = Arrays.copyOf(array, size);
+            for (int i = 0; i < size; i++) {
+                if (elements[i] != null) {
+                    array[i] = values[i];
+                }
+            }
+        }
+        String variantId = network.get().getVariantManager().getVariantId(variantIndex);
+        for (int i = 0; i < size; i++) {
+            T element = getElement(i);
+            if (element != null && Double.compare(oldValues[i], values[i]) != 0) {
+                element.notifyColumnUpdate(column, variantId, oldValues[i], values[i]);
+            }
+        }
+    }
+
+    void extendVariantArraySize(int number, int sourceIndex) {
+        CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+        for (Column c : columns) {
+            double[] source = c.resolve(copyOnWriteVariants, sourceIndex);
+            for (int i = 0; i < number; i++) {
+                c.values.add(source.clone());
+            }
+        }
+    }
+
+    void reduceVariantArraySize(int number) {
+        for (Column c : columns) {
+            c.values.subList(c.values.size() - number, c.values.size()).clear();
+        }
+    }
+
+    void deleteVariantArrayElement(int index) {
+        for (Column c : columns) {
+            c.values.set(index, null);
+        }
+    }
+
+    void allocateVariantArrayElement(int[] indexes, int sourceIndex) {
+        CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+        for (Column c : columns) {
+            for (int index : indexes) {
+                // overwritten variants may still be read by copy-on-write variants
+                c.pushDown(copyOnWriteVariants, index);
+                c.values.set(index, c.resolve(copyOnWriteVariants, sourceIndex).clone());
+            }
+        }
+    }
+
+    /**
+     * Move the elements of another network, which must have only one variant, to this one. Elements are given new
+     * numbers.
+     */
+    void merge(AttributeColumns<T> other) {
+        int offset = size;
+        ensureCapacity(size + other.size);
+        for (int i = 0; i < other.size; i++) {
+            T element = other.getElement(i);
+            if (element != null) {
+                int number = offset + i;
+                elements[number] = element;
+                for (int c = 0; c < columns.length; c++) {
+                    double value = other.columns[c].values.get(0)[i];
+                    columns[c].forEachArray(array -> {
+                        array[number] = value;
+                        return array;
+                    });
+                }
+                element.setColumnNumber(number);
+            }
+        }
+        for (int i = 0; i < other.size; i++) {
+            if (other.elements[i] == null) {
+                unusedNumbers.add(offset + i);
+            }
+        }
+        size += other.size;
+        other.elements = new Object[INITIAL_CAPACITY];
+        other.size = 0;
+        other.unusedNumbers.clear();
+    }
+}
@@ -8,7 +8,6 @@ package com.powsybl.iidm.network.impl;
 
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  * {@inheritDoc}
@@ -19,9 +18,9 @@ public class BatteryImpl extends AbstractConnectable<Battery> implements Battery
 
     private final ReactiveLimitsHolderImpl reactiveLimits;
 
-    private final TDoubleArrayList targetP;
+    private final MultiVariantDoubleArrayList targetP;
 
-    private final TDoubleArrayList targetQ;
+    private final MultiVariantDoubleArrayList targetQ;
 
     private double minP;
 
@@ -34,8 +33,8 @@ public class BatteryImpl extends AbstractConnectable<Battery> implements Battery
         this.reactiveLimits = new ReactiveLimitsHolderImpl(this, new MinMaxReactiveLimitsImpl(-Double.MAX_VALUE, Double.MAX_VALUE));
 
         int variantArraySize = ref.get().getVariantManager().getVariantArraySize();
-        this.targetP = new TDoubleArrayList(variantArraySize);
-        this.targetQ = new TDoubleArrayList(variantArraySize);
+        this.targetP = new MultiVariantDoubleArrayList(ref, variantArraySize);
+        this.targetQ = new MultiVariantDoubleArrayList(ref, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.targetP.add(targetP);
             this.targetQ.add(targetQ);
@@ -7,11 +7,9 @@
 package com.powsybl.iidm.network.impl;
 
 import com.powsybl.commons.PowsyblException;
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.impl.util.Ref;
 
-import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Set;
 
@@ -113,16 +111,16 @@ class BusTerminal extends AbstractTerminal {
 
     // attributes depending on the variant
 
-    private final TBooleanArrayList connected;
+    private final MultiVariantBooleanArrayList connected;
 
-    private final ArrayList<String> connectableBusId;
+    private final MultiVariantArrayList<String> connectableBusId;
 
-    BusTerminal(Ref<? extends VariantManagerHolder> network, String connectableBusId, boolean connected) {
+    BusTerminal(Ref<NetworkImpl> network, String connectableBusId, boolean connected) {
         super(network);
         Objects.requireNonNull(connectableBusId);
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.connected = new TBooleanArrayList(variantArraySize);
-        this.connectableBusId = new ArrayList<>(variantArraySize);
+        this.connected = new MultiVariantBooleanArrayList(network, variantArraySize);
+        this.connectableBusId = new MultiVariantArrayList<>(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.connected.add(connected);
             this.connectableBusId.add(connectableBusId);
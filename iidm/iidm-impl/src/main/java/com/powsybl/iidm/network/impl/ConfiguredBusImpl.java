@@ -8,8 +8,6 @@ package com.powsybl.iidm.network.impl;
 
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
-import gnu.trove.list.array.TIntArrayList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -24,31 +22,31 @@ class ConfiguredBusImpl extends AbstractBus implements ConfiguredBus {
 
     private final Ref<NetworkImpl> network;
 
-    private final ArrayList<List<BusTerminal>> terminals;
+    private final MultiVariantArrayList<List<BusTerminal>> terminals;
 
-    private final TDoubleArrayList v;
+    private final MultiVariantDoubleArrayList v;
 
-    private final TDoubleArrayList angle;
+    private final MultiVariantDoubleArrayList angle;
 
-    private final TDoubleArrayList fictitiousP0;
+    private final MultiVariantDoubleArrayList fictitiousP0;
 
-    private final TDoubleArrayList fictitiousQ0;
+    private final MultiVariantDoubleArrayList fictitiousQ0;
 
-    private final TIntArrayList connectedComponentNumber;
+    private final MultiVariantIntArrayList connectedComponentNumber;
 
-    private final TIntArrayList synchronousComponentNumber;
+    private final MultiVariantIntArrayList synchronousComponentNumber;
 
     ConfiguredBusImpl(String id, String name, boolean fictitious, VoltageLevelExt voltageLevel) {
         super(id, name, fictitious, voltageLevel);
         network = voltageLevel.getNetwork().getRef();
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        terminals = new ArrayList<>(variantArraySize);
-        v = new TDoubleArrayList(variantArraySize);
-        angle = new TDoubleArrayList(variantArraySize);
-        fictitiousP0 = new TDoubleArrayList(variantArraySize);
-        fictitiousQ0 = new TDoubleArrayList(variantArraySize);
-        connectedComponentNumber = new TIntArrayList(variantArraySize);
-        synchronousComponentNumber = new TIntArrayList(variantArraySize);
+        terminals = new MultiVariantArrayList<>(network, variantArraySize);
+        v = new MultiVariantDoubleArrayList(network, variantArraySize);
+        angle = new MultiVariantDoubleArrayList(network, variantArraySize);
+        fictitiousP0 = new MultiVariantDoubleArrayList(network, variantArraySize);
+        fictitiousQ0 = new MultiVariantDoubleArrayList(network, variantArraySize);
+        connectedComponentNumber = new MultiVariantIntArrayList(network, variantArraySize);
+        synchronousComponentNumber = new MultiVariantIntArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             terminals.add(new ArrayList<>());
             v.add(Double.NaN);
@@ -87,12 +85,12 @@ class ConfiguredBusImpl extends AbstractBus implements ConfiguredBus {
 
     @Override
     public void addTerminal(BusTerminal t) {
-        terminals.get(network.get().getVariantIndex()).add(t);
+        terminals.getForUpdate(network.get().getVariantIndex(), ArrayList::new).add(t);
     }
 
     @Override
     public void removeTerminal(BusTerminal t) {
-        if (!terminals.get(network.get().getVariantIndex()).remove(t)) {
+        if (!terminals.getForUpdate(network.get().getVariantIndex(), ArrayList::new).remove(t)) {
             throw new IllegalStateException("Terminal " + t + " not found");
         }
     }
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Bookkeeping of the copy-on-write variants of a network.
+ * <p>
+ * A copy-on-write variant does not allocate any element in the variant arrays of the network objects: its index is
+ * taken in a separate range starting at {@link #INDEX_OFFSET}, and the variant arrays only store, for this index, the
+ * values written in the variant. Reading a value that has not been written falls back to the parent variant.
+ * <p>
+ * Each copy-on-write slot has a generation number, incremented each time the slot is released or overwritten, so that
+ * values stored for a previous use of the slot are ignored. The variant arrays having written a value in a slot also
+ * register a callback to free it, called when the slot is released or overwritten, so that only the variant arrays
+ * actually written in the variant are visited.
+ *
+ * @see MultiVariantDoubleArrayList
+ * @see MultiVariantIntArrayList
+ * @see MultiVariantBooleanArrayList
+ * @see MultiVariantArrayList
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class CopyOnWriteVariants {
+
+    static final int INDEX_OFFSET = 1 << 20;
+
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private int[] parentIndexes = new int[0];
+
+    private int[] generations = new int[0];
+
+    private final Deque<Integer> unusedSlots = new ArrayDeque<>();
+
+    private final Map<Integer, int[]> childrenByIndex = new HashMap<>();
+
+    private final Map<Integer, List<IntConsumer>> releasersBySlot = new HashMap<>();
+
+    private int count = 0;
+
+    static boolean isCopyOnWriteIndex(int index) {
+        return index >= INDEX_OFFSET;
+    }
+
+    static int getSlot(int index) {
+        return index - INDEX_OFFSET;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Create a copy-on-write variant.
+     *
+     * @param parentIndex the index of the variant values are read from until they are written
+     * @return the index of the new variant
+     */
+    int create(int parentIndex) {
+        int slot;
+        if (unusedSlots.isEmpty()) {
+            slot = parentIndexes.length;
+            parentIndexes = Arrays.copyOf(parentIndexes, slot + 1);
+            generations = Arrays.copyOf(generations, slot + 1);
+        } else {
+            slot = unusedSlots.pollLast();
+        }
+        // generation 0 is never used, so that it can't match the default value of the ownership maps
+        generations[slot]++;
+        count++;
+        int index = INDEX_OFFSET + slot;
+        setParent(index, parentIndex);
+        return index;
+    }
+
+    /**
+     * Forget all the values written in a copy-on-write variant and make it read values from a new parent.
+     */
+    void overwrite(int index, int parentIndex) {
+        int slot = getSlot(index);
+        removeChild(parentIndexes[slot], index);
+        release(slot);
+        generations[slot]++;
+        setParent(index, parentIndex);
+    }
+
+    void remove(int index) {
+        int slot = getSlot(index);
+        removeChild(parentIndexes[slot], index);
+        release(slot);
+        generations[slot]++;
+        unusedSlots.add(slot);
+        count--;
+    }
+
+    /**
+     * Free the values written in a slot by calling the release callback of each variant array having written one.
+     */
+    private void release(int slot) {
+        List<IntConsumer> releasers;
+        synchronized (releasersBySlot) {
+            releasers = releasersBySlot.remove(slot);
+        }
+        if (releasers != null) {
+            releasers.forEach(releaser -> releaser.accept(slot));
+        }
+    }
+
+    private void setParent(int index, int parentIndex) {
+        parentIndexes[getSlot(index)] = parentIndex;
+        int[] children = childrenByIndex.getOrDefault(parentIndex, NO_CHILDREN);
+        int[] newChildren = Arrays.copyOf(children, children.length + 1);
+        newChildren[children.length] = index;
+        childrenByIndex.put(parentIndex, newChildren);
+    }
+
+    private void removeChild(int parentIndex, int index) {
+        int[] children = childrenByIndex.get(parentIndex);
+        int[] newChildren = Arrays.stream(children).filter(i -> i != index).toArray();
+        if (newChildren.length == 0) {
+            childrenByIndex.remove(parentIndex);
+        } else {
+            childrenByIndex.put(parentIndex, newChildren);
+        }
+    }
+
+    int getParentIndex(int index) {
+        return parentIndexes[getSlot(index)];
+    }
+
+    /**
+     * Get the copy-on-write variants reading their values from a variant.
+     */
+    int[] getChildren(int index) {
+        if (count == 0) {
+            return NO_CHILDREN;
+        }
+        return childrenByIndex.getOrDefault(index, NO_CHILDREN);
+    }
+
+    boolean hasChildren(int index) {
+        return count > 0 && childrenByIndex.containsKey(index);
+    }
+
+    /**
+     * Check if a value has been written in a copy-on-write variant.
+     *
+     * @param ownership the generation of the copy-on-write variants at the time they have written their value, by slot
+     * @param index a copy-on-write variant index
+     */
+    boolean owns(TIntIntHashMap ownership, int index) {
+        int slot = getSlot(index);
+        return ownership != null && ownership.get(slot) == generations[slot];
+    }
+
+    /**
+     * Record that a value has been written in a copy-on-write variant.
+     *
+     * @param releaser called with the slot of the variant to free the value when the variant is removed or overwritten
+     */
+    void own(TIntIntHashMap ownership, int index, IntConsumer releaser) {
+        int slot = getSlot(index);
+        int generation = generations[slot];
+        if (ownership.put(slot, generation) != generation) {
+            synchronized (releasersBySlot) {
+                releasersBySlot.computeIfAbsent(slot, s -> new ArrayList<>()).add(releaser);
+            }
+        }
+    }
+
+    /**
+     * Get the index of the variant storing the value to read for a variant: the variant itself if it is a regular
+     * variant or a copy-on-write variant that has written its value, its nearest such ancestor otherwise.
+     */
+    int resolve(TIntIntHashMap ownership, int index) {
+        int resolvedIndex = index;
+        while (isCopyOnWriteIndex(resolvedIndex) && !owns(ownership, resolvedIndex)) {
+            resolvedIndex = getParentIndex(resolvedIndex);
+        }
+        return resolvedIndex;
+    }
+}
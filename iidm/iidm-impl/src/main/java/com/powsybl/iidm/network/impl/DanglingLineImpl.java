@@ -6,12 +6,10 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.Boundary;
 import com.powsybl.iidm.network.impl.util.Ref;
 import com.powsybl.iidm.network.util.DanglingLineBoundaryImpl;
-import gnu.trove.list.array.TDoubleArrayList;
 
 import java.util.*;
 
@@ -32,23 +30,25 @@ class DanglingLineImpl extends AbstractConnectable<DanglingLine> implements Dang
 
         // attributes depending on the variant
 
-        private final TDoubleArrayList targetP;
+        private final MultiVariantDoubleArrayList targetP;
 
-        private final TDoubleArrayList targetQ;
+        private final MultiVariantDoubleArrayList targetQ;
 
-        private final TDoubleArrayList targetV;
+        private final MultiVariantDoubleArrayList targetV;
 
-        private final TBooleanArrayList voltageRegulationOn;
+        private final MultiVariantBooleanArrayList voltageRegulationOn;
 
         GenerationImpl(VariantManagerHolder network, double minP, double maxP, double targetP, double targetQ, double targetV, boolean voltageRegulationOn) {
             this.minP = Double.isNaN(minP) ? -Double.MAX_VALUE : minP;
             this.maxP = Double.isNaN(maxP) ? Double.MAX_VALUE : maxP;
 
             int variantArraySize = network.getVariantManager().getVariantArraySize();
-            this.targetP = new TDoubleArrayList(variantArraySize);
-            this.targetQ = new TDoubleArrayList(variantArraySize);
-            this.targetV = new TDoubleArrayList(variantArraySize);
-            this.voltageRegulationOn = new TBooleanArrayList(variantArraySize);
+            // the dangling line is only known once the generation is attached, and it may be merged into another network
+            Ref<VariantManagerHolder> danglingLineNetwork = () -> danglingLine.getNetwork();
+            this.targetP = new MultiVariantDoubleArrayList(danglingLineNetwork, variantArraySize);
+            this.targetQ = new MultiVariantDoubleArrayList(danglingLineNetwork, variantArraySize);
+            this.targetV = new MultiVariantDoubleArrayList(danglingLineNetwork, variantArraySize);
+            this.voltageRegulationOn = new MultiVariantBooleanArrayList(danglingLineNetwork, variantArraySize);
             for (int i = 0; i < variantArraySize; i++) {
                 this.targetP.add(targetP);
                 this.targetQ.add(targetQ);
@@ -246,9 +246,9 @@ class DanglingLineImpl extends AbstractConnectable<DanglingLine> implements Dang
     private final OperationalLimitsHolderImpl operationalLimitsHolder;
     // attributes depending on the variant
 
-    private final TDoubleArrayList p0;
+    private final MultiVariantDoubleArrayList p0;
 
-    private final TDoubleArrayList q0;
+    private final MultiVariantDoubleArrayList q0;
 
     private final DanglingLineBoundaryImpl boundary;
 
@@ -256,8 +256,8 @@ class DanglingLineImpl extends AbstractConnectable<DanglingLine> implements Dang
         super(network, id, name, fictitious);
         this.network = network;
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.p0 = new TDoubleArrayList(variantArraySize);
-        this.q0 = new TDoubleArrayList(variantArraySize);
+        this.p0 = new MultiVariantDoubleArrayList(network, variantArraySize);
+        this.q0 = new MultiVariantDoubleArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.p0.add(p0);
             this.q0.add(q0);
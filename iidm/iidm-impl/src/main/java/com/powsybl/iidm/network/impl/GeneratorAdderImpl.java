@@ -129,6 +129,7 @@ class GeneratorAdderImpl extends AbstractInjectionAdder<GeneratorAdderImpl> impl
         generator.addTerminal(terminal);
         voltageLevel.attach(terminal, false);
         network.getIndex().checkAndAdd(generator);
+        generator.attachColumns();
         network.getListeners().notifyCreation(generator);
         return generator;
     }
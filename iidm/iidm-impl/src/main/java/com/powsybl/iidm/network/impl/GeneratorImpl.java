@@ -6,17 +6,20 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
-class GeneratorImpl extends AbstractConnectable<Generator> implements Generator, ReactiveLimitsOwner {
+class GeneratorImpl extends AbstractConnectable<Generator> implements Generator, ReactiveLimitsOwner, AttributeColumns.Element {
 
-    private final Ref<? extends VariantManagerHolder> network;
+    static final int TARGET_P_COLUMN = 0;
+    static final int TARGET_Q_COLUMN = 1;
+    static final int TARGET_V_COLUMN = 2;
+    static final int COLUMN_COUNT = 3;
+
+    private final Ref<NetworkImpl> network;
 
     private EnergySource energySource;
 
@@ -32,13 +35,14 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     // attributes depending on the variant
 
-    private final TBooleanArrayList voltageRegulatorOn;
-
-    private final TDoubleArrayList targetP;
+    private final MultiVariantBooleanArrayList voltageRegulatorOn;
 
-    private final TDoubleArrayList targetQ;
+    // number of the generator in the generator columns of the network, storing targetP, targetQ and targetV
+    private int columnNumber = -1;
 
-    private final TDoubleArrayList targetV;
+    // targetP, targetQ and targetV when the generator is not in the generator columns: before it is added to the
+    // network, and after its removal, as its column number is then given to another generator
+    private double[] detachedColumnValues;
 
     GeneratorImpl(Ref<NetworkImpl> network,
                   String id, String name, boolean fictitious, EnergySource energySource,
@@ -55,16 +59,67 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         this.regulatingTerminal = regulatingTerminal;
         this.ratedS = ratedS;
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.voltageRegulatorOn = new TBooleanArrayList(variantArraySize);
-        this.targetP = new TDoubleArrayList(variantArraySize);
-        this.targetQ = new TDoubleArrayList(variantArraySize);
-        this.targetV = new TDoubleArrayList(variantArraySize);
+        this.voltageRegulatorOn = new MultiVariantBooleanArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.voltageRegulatorOn.add(voltageRegulatorOn);
-            this.targetP.add(targetP);
-            this.targetQ.add(targetQ);
-            this.targetV.add(targetV);
         }
+        this.detachedColumnValues = new double[] {targetP, targetQ, targetV};
+    }
+
+    /**
+     * Move the values to the generator columns of the network, once the generator has been added.
+     */
+    void attachColumns() {
+        columnNumber = network.get().getGeneratorColumns().add(this, detachedColumnValues);
+        detachedColumnValues = null;
+    }
+
+    @Override
+    public void setColumnNumber(int columnNumber) {
+        this.columnNumber = columnNumber;
+    }
+
+    private double getColumnValue(int column, int variantIndex) {
+        if (detachedColumnValues != null) {
+            return detachedColumnValues[column];
+        }
+        return network.get().getGeneratorColumns().get(column, variantIndex, columnNumber);
+    }
+
+    private double setColumnValue(int column, int variantIndex, double value) {
+        if (detachedColumnValues != null) {
+            double oldValue = detachedColumnValues[column];
+            detachedColumnValues[column] = value;
+            return oldValue;
+        }
+        return network.get().getGeneratorColumns().set(column, variantIndex, columnNumber, value);
+    }
+
+    @Override
+    public void checkColumnValue(int column, int variantIndex, double value) {
+        ValidationLevel minValidationLevel = getNetwork().getMinValidationLevel();
+        if (column == TARGET_P_COLUMN) {
+            ValidationUtil.checkActivePowerSetpoint(this, value, minValidationLevel);
+        } else if (column == TARGET_Q_COLUMN) {
+            ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex),
+                    getColumnValue(TARGET_V_COLUMN, variantIndex), value, minValidationLevel);
+        } else {
+            ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex),
+                    value, getColumnValue(TARGET_Q_COLUMN, variantIndex), minValidationLevel);
+        }
+    }
+
+    @Override
+    public void notifyColumnUpdate(int column, String variantId, double oldValue, double newValue) {
+        String attribute;
+        if (column == TARGET_P_COLUMN) {
+            attribute = "targetP";
+        } else if (column == TARGET_Q_COLUMN) {
+            attribute = "targetQ";
+        } else {
+            attribute = "targetV";
+        }
+        notifyUpdate(attribute, variantId, oldValue, newValue);
     }
 
     @Override
@@ -126,7 +181,7 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         NetworkImpl n = getNetwork();
         int variantIndex = network.get().getVariantIndex();
         ValidationUtil.checkVoltageControl(this,
-                voltageRegulatorOn, targetV.get(variantIndex), targetQ.get(variantIndex),
+                voltageRegulatorOn, getColumnValue(TARGET_V_COLUMN, variantIndex), getColumnValue(TARGET_Q_COLUMN, variantIndex),
                 n.getMinValidationLevel());
         boolean oldValue = this.voltageRegulatorOn.set(variantIndex, voltageRegulatorOn);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
@@ -151,7 +206,7 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     @Override
     public double getTargetP() {
-        return targetP.get(network.get().getVariantIndex());
+        return getColumnValue(TARGET_P_COLUMN, network.get().getVariantIndex());
     }
 
     @Override
@@ -159,7 +214,7 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         NetworkImpl n = getNetwork();
         ValidationUtil.checkActivePowerSetpoint(this, targetP, n.getMinValidationLevel());
         int variantIndex = network.get().getVariantIndex();
-        double oldValue = this.targetP.set(network.get().getVariantIndex(), targetP);
+        double oldValue = setColumnValue(TARGET_P_COLUMN, variantIndex, targetP);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
         n.invalidateValidationLevel();
         notifyUpdate("targetP", variantId, oldValue, targetP);
@@ -168,7 +223,7 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     @Override
     public double getTargetQ() {
-        return targetQ.get(network.get().getVariantIndex());
+        return getColumnValue(TARGET_Q_COLUMN, network.get().getVariantIndex());
     }
 
     @Override
@@ -176,8 +231,8 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         NetworkImpl n = getNetwork();
         int variantIndex = network.get().getVariantIndex();
         ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex),
-                targetV.get(variantIndex), targetQ, n.getMinValidationLevel());
-        double oldValue = this.targetQ.set(variantIndex, targetQ);
+                getColumnValue(TARGET_V_COLUMN, variantIndex), targetQ, n.getMinValidationLevel());
+        double oldValue = setColumnValue(TARGET_Q_COLUMN, variantIndex, targetQ);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
         n.invalidateValidationLevel();
         notifyUpdate("targetQ", variantId, oldValue, targetQ);
@@ -186,7 +241,7 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     @Override
     public double getTargetV() {
-        return this.targetV.get(network.get().getVariantIndex());
+        return getColumnValue(TARGET_V_COLUMN, network.get().getVariantIndex());
     }
 
     @Override
@@ -194,8 +249,8 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         NetworkImpl n = getNetwork();
         int variantIndex = network.get().getVariantIndex();
         ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex),
-                targetV, targetQ.get(variantIndex), n.getMinValidationLevel());
-        double oldValue = this.targetV.set(variantIndex, targetV);
+                targetV, getColumnValue(TARGET_Q_COLUMN, variantIndex), n.getMinValidationLevel());
+        double oldValue = setColumnValue(TARGET_V_COLUMN, variantIndex, targetV);
         String variantId = network.get().getVariantManager().getVariantId(variantIndex);
         n.invalidateValidationLevel();
         notifyUpdate("targetV", variantId, oldValue, targetV);
@@ -241,18 +296,24 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         return reactiveLimits.getReactiveLimits(type);
     }
 
+    @Override
+    public void remove(boolean removeDanglingSwitches) {
+        NetworkImpl n = getNetwork();
+        super.remove(removeDanglingSwitches);
+        int variantIndex = n.getVariantIndex();
+        double[] values = new double[] {getColumnValue(TARGET_P_COLUMN, variantIndex),
+            getColumnValue(TARGET_Q_COLUMN, variantIndex), getColumnValue(TARGET_V_COLUMN, variantIndex)};
+        n.getGeneratorColumns().remove(columnNumber);
+        columnNumber = -1;
+        detachedColumnValues = values;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
         voltageRegulatorOn.ensureCapacity(voltageRegulatorOn.size() + number);
-        targetP.ensureCapacity(targetP.size() + number);
-        targetQ.ensureCapacity(targetQ.size() + number);
-        targetV.ensureCapacity(targetV.size() + number);
         for (int i = 0; i < number; i++) {
             voltageRegulatorOn.add(voltageRegulatorOn.get(sourceIndex));
-            targetP.add(targetP.get(sourceIndex));
-            targetQ.add(targetQ.get(sourceIndex));
-            targetV.add(targetV.get(sourceIndex));
         }
     }
 
@@ -260,9 +321,6 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
     public void reduceVariantArraySize(int number) {
         super.reduceVariantArraySize(number);
         voltageRegulatorOn.remove(voltageRegulatorOn.size() - number, number);
-        targetP.remove(targetP.size() - number, number);
-        targetQ.remove(targetQ.size() - number, number);
-        targetV.remove(targetV.size() - number, number);
     }
 
     @Override
@@ -276,9 +334,6 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         super.allocateVariantArrayElement(indexes, sourceIndex);
         for (int index : indexes) {
             voltageRegulatorOn.set(index, voltageRegulatorOn.get(sourceIndex));
-            targetP.set(index, targetP.get(sourceIndex));
-            targetQ.set(index, targetQ.get(sourceIndex));
-            targetV.set(index, targetV.get(sourceIndex));
         }
     }
 
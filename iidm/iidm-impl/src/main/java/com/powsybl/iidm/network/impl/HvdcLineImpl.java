@@ -10,8 +10,6 @@ import com.powsybl.iidm.network.HvdcLine;
 import com.powsybl.iidm.network.ValidationLevel;
 import com.powsybl.iidm.network.ValidationUtil;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -29,9 +27,9 @@ class HvdcLineImpl extends AbstractIdentifiable<HvdcLine> implements HvdcLine {
 
     // attributes depending on the variant
 
-    private final TIntArrayList convertersMode;
+    private final MultiVariantIntArrayList convertersMode;
 
-    private final TDoubleArrayList activePowerSetpoint;
+    private final MultiVariantDoubleArrayList activePowerSetpoint;
 
     //
 
@@ -49,9 +47,9 @@ class HvdcLineImpl extends AbstractIdentifiable<HvdcLine> implements HvdcLine {
         this.nominalV = nominalV;
         this.maxP = maxP;
         int variantArraySize = networkRef.get().getVariantManager().getVariantArraySize();
-        this.convertersMode = new TIntArrayList(variantArraySize);
+        this.convertersMode = new MultiVariantIntArrayList(networkRef, variantArraySize);
         this.convertersMode.fill(0, variantArraySize, convertersMode != null ? convertersMode.ordinal() : -1);
-        this.activePowerSetpoint = new TDoubleArrayList(variantArraySize);
+        this.activePowerSetpoint = new MultiVariantDoubleArrayList(networkRef, variantArraySize);
         this.activePowerSetpoint.fill(0, variantArraySize, activePowerSetpoint);
         this.converterStation1 = attach(converterStation1);
         this.converterStation2 = attach(converterStation2);
@@ -10,7 +10,6 @@ import com.powsybl.iidm.network.Load;
 import com.powsybl.iidm.network.LoadType;
 import com.powsybl.iidm.network.ValidationUtil;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  *
@@ -24,9 +23,9 @@ class LoadImpl extends AbstractConnectable<Load> implements Load {
 
     // attributes depending on the variant
 
-    private final TDoubleArrayList p0;
+    private final MultiVariantDoubleArrayList p0;
 
-    private final TDoubleArrayList q0;
+    private final MultiVariantDoubleArrayList q0;
 
     LoadImpl(Ref<NetworkImpl> networkRef,
              String id, String name, boolean fictitious, LoadType loadType, double p0, double q0) {
@@ -34,8 +33,8 @@ class LoadImpl extends AbstractConnectable<Load> implements Load {
         this.network = networkRef;
         this.loadType = loadType;
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.p0 = new TDoubleArrayList(variantArraySize);
-        this.q0 = new TDoubleArrayList(variantArraySize);
+        this.p0 = new MultiVariantDoubleArrayList(network, variantArraySize);
+        this.q0 = new MultiVariantDoubleArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.p0.add(p0);
             this.q0.add(q0);
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.impl.util.Ref;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A variant array of objects supporting copy-on-write variants: regular variants are stored in the list, values
+ * written in copy-on-write variants are stored aside.
+ * <p>
+ * Elements are shared between a copy-on-write variant and its parent until the element is replaced with
+ * {@link #set(int, Object)}, so mutable elements must be modified in place only through {@link #getForUpdate}.
+ *
+ * @see CopyOnWriteVariants
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class MultiVariantArrayList<E> extends ArrayList<E> {
+
+    private final transient Ref<? extends VariantManagerHolder> variantManagerHolder;
+
+    private transient TIntObjectHashMap<E> copyOnWriteValues;
+
+    private transient TIntIntHashMap copyOnWriteOwnership;
+
+    private transient IntConsumer copyOnWriteReleaser;
+
+    public MultiVariantArrayList(Ref<? extends VariantManagerHolder> variantManagerHolder, int capacity) {
+        super(capacity);
+        this.variantManagerHolder = Objects.requireNonNull(variantManagerHolder);
+    }
+
+    public MultiVariantArrayList(Ref<? extends VariantManagerHolder> variantManagerHolder, Collection<? extends E> c) {
+        super(c);
+        this.variantManagerHolder = Objects.requireNonNull(variantManagerHolder);
+    }
+
+    private CopyOnWriteVariants getCopyOnWriteVariants() {
+        return variantManagerHolder.get().getVariantManager().getCopyOnWriteVariants();
+    }
+
+    private E get(CopyOnWriteVariants copyOnWriteVariants, int index) {
+        int resolvedIndex = copyOnWriteVariants.resolve(copyOnWriteOwnership, index);
+        if (CopyOnWriteVariants.isCopyOnWriteIndex(resolvedIndex)) {
+            return copyOnWriteValues.get(CopyOnWriteVariants.getSlot(resolvedIndex));
+        }
+        return super.get(resolvedIndex);
+    }
+
+    private void setCopyOnWrite(CopyOnWriteVariants copyOnWriteVariants, int index, E value) {
+        if (copyOnWriteValues == null) {
+            copyOnWriteValues = new TIntObjectHashMap<>();
+            copyOnWriteOwnership = new TIntIntHashMap();
+            copyOnWriteReleaser = this::releaseCopyOnWrite;
+        }
+        copyOnWriteValues.put(CopyOnWriteVariants.getSlot(index), value);
+        copyOnWriteVariants.own(copyOnWriteOwnership, index, copyOnWriteReleaser);
+    }
+
+    private synchronized void releaseCopyOnWrite(int slot) {
+        copyOnWriteValues.remove(slot);
+        copyOnWriteOwnership.remove(slot);
+    }
+
+    private void pushDown(CopyOnWriteVariants copyOnWriteVariants, int index, E oldValue, UnaryOperator<E> copier) {
+        for (int childIndex : copyOnWriteVariants.getChildren(index)) {
+            if (!copyOnWriteVariants.owns(copyOnWriteOwnership, childIndex)) {
+                setCopyOnWrite(copyOnWriteVariants, childIndex, copier.apply(oldValue));
+            }
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            return super.get(index);
+        }
+        synchronized (this) {
+            return get(getCopyOnWriteVariants(), index);
+        }
+    }
+
+    @Override
+    public E set(int index, E value) {
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            if (copyOnWriteVariants.hasChildren(index)) {
+                synchronized (this) {
+                    pushDown(copyOnWriteVariants, index, super.get(index), UnaryOperator.identity());
+                }
+            }
+            return super.set(index, value);
+        }
+        synchronized (this) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            E oldValue = get(copyOnWriteVariants, index);
+            pushDown(copyOnWriteVariants, index, oldValue, UnaryOperator.identity());
+            setCopyOnWrite(copyOnWriteVariants, index, value);
+            return oldValue;
+        }
+    }
+
+    /**
+     * Get an element to modify it in place. The element is copied with {@code copier} if it is shared with other
+     * variants: for a copy-on-write variant which did not write it yet, and for the copy-on-write variants still
+     * reading it from the requested variant.
+     */
+    E getForUpdate(int index, UnaryOperator<E> copier) {
+        Objects.requireNonNull(copier);
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            if (copyOnWriteVariants.hasChildren(index)) {
+                synchronized (this) {
+                    pushDown(copyOnWriteVariants, index, super.get(index), copier);
+                }
+            }
+            return super.get(index);
+        }
+        synchronized (this) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            if (copyOnWriteVariants.owns(copyOnWriteOwnership, index)) {
+                return copyOnWriteValues.get(CopyOnWriteVariants.getSlot(index));
+            }
+            E value = get(copyOnWriteVariants, index);
+            pushDown(copyOnWriteVariants, index, value, copier);
+            E copy = copier.apply(value);
+            setCopyOnWrite(copyOnWriteVariants, index, copy);
+            return copy;
+        }
+    }
+}
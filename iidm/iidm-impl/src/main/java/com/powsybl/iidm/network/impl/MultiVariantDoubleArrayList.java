@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.impl.util.Ref;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A variant array of doubles supporting copy-on-write variants: regular variants are stored in the list, values
+ * written in copy-on-write variants are stored aside.
+ *
+ * @see CopyOnWriteVariants
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class MultiVariantDoubleArrayList extends TDoubleArrayList {
+
+    private final Ref<? extends VariantManagerHolder> variantManagerHolder;
+
+    private TIntDoubleHashMap copyOnWriteValues;
+
+    private TIntIntHashMap copyOnWriteOwnership;
+
+    private IntConsumer copyOnWriteReleaser;
+
+    public MultiVariantDoubleArrayList(Ref<? extends VariantManagerHolder> variantManagerHolder, int capacity) {
+        super(capacity);
+        this.variantManagerHolder = Objects.requireNonNull(variantManagerHolder);
+    }
+
+    private CopyOnWriteVariants getCopyOnWriteVariants() {
+        return variantManagerHolder.get().getVariantManager().getCopyOnWriteVariants();
+    }
+
+    private double get(CopyOnWriteVariants copyOnWriteVariants, int index) {
+        int resolvedIndex = copyOnWriteVariants.resolve(copyOnWriteOwnership, index);
+        if (CopyOnWriteVariants.isCopyOnWriteIndex(resolvedIndex)) {
+            return copyOnWriteValues.get(CopyOnWriteVariants.getSlot(resolvedIndex));
+        }
+        return super.get(resolvedIndex);
+    }
+
+    private void setCopyOnWrite(CopyOnWriteVariants copyOnWriteVariants, int index, double value) {
+        if (copyOnWriteValues == null) {
+            copyOnWriteValues = new TIntDoubleHashMap();
+            copyOnWriteOwnership = new TIntIntHashMap();
+            copyOnWriteReleaser = this::releaseCopyOnWrite;
+        }
+        copyOnWriteValues.put(CopyOnWriteVariants.getSlot(index), value);
+        copyOnWriteVariants.own(copyOnWriteOwnership, index, copyOnWriteReleaser);
+    }
+
+    private synchronized void releaseCopyOnWrite(int slot) {
+        copyOnWriteValues.remove(slot);
+        copyOnWriteOwnership.remove(slot);
+    }
+
+    /**
+     * Before a value is modified, give a copy of the old value to the copy-on-write variants still reading it.
+     */
+    private void pushDown(CopyOnWriteVariants copyOnWriteVariants, int index, double oldValue) {
+        for (int childIndex : copyOnWriteVariants.getChildren(index)) {
+            if (!copyOnWriteVariants.owns(copyOnWriteOwnership, childIndex)) {
+                setCopyOnWrite(copyOnWriteVariants, childIndex, oldValue);
+            }
+        }
+    }
+
+    @Override
+    public double get(int index) {
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            return super.get(index);
+        }
+        synchronized (this) {
+            return get(getCopyOnWriteVariants(), index);
+        }
+    }
+
+    @Override
+    public double set(int index, double value) {
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            if (copyOnWriteVariants.hasChildren(index)) {
+                synchronized (this) {
+                    pushDown(copyOnWriteVariants, index, super.get(index));
+                }
+            }
+            return super.set(index, value);
+        }
+        synchronized (this) {
+            CopyOnWriteVariants copyOnWriteVariants = getCopyOnWriteVariants();
+            double oldValue = get(copyOnWriteVariants, index);
+            pushDown(copyOnWriteVariants, index, oldValue);
+            setCopyOnWrite(copyOnWriteVariants, index, value);
+            return oldValue;
+        }
+    }
+}
@@ -0,0 +1,904 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.commons.util.ServiceLoaderCache;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.util.Networks;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Deep copy of a network into a {@link NetworkImpl}, directly from the object graph of the source network: no
+ * serialization, no parsing. The source network can be of any implementation, it is only accessed through the IIDM
+ * API.
+ * <p>
+ * The structure of the network is first copied from the working variant of the source network. Then the variant
+ * dependent state (switch positions, bus-breaker connections, set points, tap positions, flows, voltages and
+ * multi-variant extensions) is copied, either from the working variant only or from every variant.
+ * <p>
+ * Extensions are copied by the {@link ExtensionCopier} found for their class, a network can only be copied if each of
+ * its extensions has one, see {@link #isCopySupported(Network)}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class NetworkCopier implements ExtensionCopier.Context {
+
+    private static final ServiceLoaderCache<ExtensionCopier> EXTENSION_COPIERS_LOADER = new ServiceLoaderCache<>(ExtensionCopier.class);
+
+    // copier by extension class, empty when the extension cannot be copied
+    private static final Map<Class<?>, Optional<ExtensionCopier>> EXTENSION_COPIERS = new ConcurrentHashMap<>();
+
+    private final Network source;
+
+    private final NetworkImpl target;
+
+    private NetworkCopier(Network source, NetworkImpl target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    private static Optional<ExtensionCopier> findExtensionCopier(Extension<?> extension) {
+        return EXTENSION_COPIERS.computeIfAbsent(extension.getClass(), extensionClass -> EXTENSION_COPIERS_LOADER.getServices().stream()
+                .filter(copier -> copier.getExtensionClass().isAssignableFrom(extensionClass))
+                .findFirst());
+    }
+
+    static boolean isCopySupported(Network network) {
+        Objects.requireNonNull(network);
+        return network.getIdentifiables().stream()
+                .flatMap(identifiable -> identifiable.getExtensions().stream())
+                .allMatch(extension -> findExtensionCopier(extension).isPresent());
+    }
+
+    static NetworkImpl copy(Network network, boolean workingVariantOnly) {
+        Objects.requireNonNull(network);
+        if (!isCopySupported(network)) {
+            throw new UnsupportedOperationException("Network '" + network.getId() + "' has extensions which cannot be copied in memory");
+        }
+        int identifiableCount = network.getIdentifiables().size();
+        NetworkImpl target = new NetworkImpl(network.getId(), network.getOptionalName().orElse(network.getId()), network.getSourceFormat(),
+                identifiableCount);
+        // set points are copied attribute by attribute, so intermediate states may not be valid
+        target.setMinimumAcceptableValidationLevel(ValidationLevel.EQUIPMENT);
+        new NetworkCopier(network, target).copy(workingVariantOnly);
+        target.runValidationChecks(false);
+        if (network.getValidationLevel() == ValidationLevel.STEADY_STATE_HYPOTHESIS) {
+            target.setMinimumAcceptableValidationLevel(ValidationLevel.STEADY_STATE_HYPOTHESIS);
+        }
+        return target;
+    }
+
+    private void copy(boolean workingVariantOnly) {
+        target.setCaseDate(source.getCaseDate());
+        target.setForecastDistance(source.getForecastDistance());
+        target.setFictitious(source.isFictitious());
+        copyPropertiesAndAliases(source, target);
+
+        source.getSubstations().forEach(this::copySubstation);
+        source.getVoltageLevelStream().forEach(this::copyVoltageLevel);
+        source.getTwoWindingsTransformers().forEach(this::copyTwoWindingsTransformer);
+        source.getThreeWindingsTransformers().forEach(this::copyThreeWindingsTransformer);
+        source.getLines().forEach(this::copyLine);
+        source.getHvdcLines().forEach(this::copyHvdcLine);
+
+        copyRegulatingTerminals();
+        copyExtensions();
+
+        if (workingVariantOnly) {
+            copyState();
+        } else {
+            copyVariants();
+        }
+    }
+
+    /**
+     * Copy the state of each variant of the source network to the variant of the same id of the copy. The variants
+     * of the copy are all plain clones of its initial variant, so that the copy behaves like the source network.
+     * <p>
+     * The variants of the source network are read through its working variant. When multi-thread access is allowed,
+     * the working variant is only switched for the current thread, and other threads are not affected. Otherwise the
+     * working variant is shared by all threads and the source network must not be used elsewhere during the copy.
+     * The working variant of the current thread is restored in both cases.
+     */
+    private void copyVariants() {
+        VariantManager sourceVariantManager = source.getVariantManager();
+        VariantManager targetVariantManager = target.getVariantManager();
+        String workingVariantId = sourceVariantManager.getWorkingVariantId();
+        List<String> otherVariantIds = new ArrayList<>();
+        for (String variantId : sourceVariantManager.getVariantIds()) {
+            if (!variantId.equals(VariantManagerConstants.INITIAL_VARIANT_ID)) {
+                otherVariantIds.add(variantId);
+            }
+        }
+        if (!otherVariantIds.isEmpty()) {
+            targetVariantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, otherVariantIds);
+        }
+        // the working variant, already copied to the initial variant of the copy, is copied first to its own variant
+        copyVariantState(workingVariantId);
+        try {
+            for (String variantId : sourceVariantManager.getVariantIds()) {
+                if (!variantId.equals(workingVariantId)) {
+                    sourceVariantManager.setWorkingVariant(variantId);
+                    copyVariantState(variantId);
+                }
+            }
+        } finally {
+            sourceVariantManager.setWorkingVariant(workingVariantId);
+        }
+        targetVariantManager.setWorkingVariant(workingVariantId);
+    }
+
+    private void copyVariantState(String variantId) {
+        target.getVariantManager().setWorkingVariant(variantId);
+        copyState();
+    }
+
+    private static <T extends IdentifiableAdder<?>> T copyIdentifiable(Identifiable<?> identifiable, T adder) {
+        adder.setId(identifiable.getId());
+        identifiable.getOptionalName().ifPresent(adder::setName);
+        adder.setFictitious(identifiable.isFictitious());
+        return adder;
+    }
+
+    private static void copyPropertiesAndAliases(Identifiable<?> from, Identifiable<?> to) {
+        if (from.hasProperty()) {
+            for (String name : from.getPropertyNames()) {
+                to.setProperty(name, from.getProperty(name));
+            }
+        }
+        if (from.hasAliases()) {
+            for (String alias : from.getAliases()) {
+                Optional<String> aliasType = from.getAliasType(alias);
+                if (aliasType.isPresent()) {
+                    to.addAlias(alias, aliasType.get());
+                } else {
+                    to.addAlias(alias);
+                }
+            }
+        }
+    }
+
+    private static void copyConnection(Terminal terminal, IntConsumer setNode, Consumer<String> setBus, Consumer<String> setConnectableBus) {
+        if (terminal.getVoltageLevel().getTopologyKind() == TopologyKind.NODE_BREAKER) {
+            setNode.accept(terminal.getNodeBreakerView().getNode());
+        } else {
+            Bus bus = terminal.getBusBreakerView().getBus();
+            setBus.accept(bus != null ? bus.getId() : null);
+            setConnectableBus.accept(terminal.getBusBreakerView().getConnectableBus().getId());
+        }
+    }
+
+    private static <A extends InjectionAdder<?>> A copyInjection(Injection<?> injection, A adder) {
+        copyIdentifiable(injection, adder);
+        copyConnection(injection.getTerminal(), adder::setNode, adder::setBus, adder::setConnectableBus);
+        return adder;
+    }
+
+    private static <A extends BranchAdder<?>> A copyBranch(Branch<?> branch, A adder) {
+        copyIdentifiable(branch, adder);
+        Terminal terminal1 = branch.getTerminal1();
+        Terminal terminal2 = branch.getTerminal2();
+        adder.setVoltageLevel1(terminal1.getVoltageLevel().getId());
+        adder.setVoltageLevel2(terminal2.getVoltageLevel().getId());
+        copyConnection(terminal1, adder::setNode1, adder::setBus1, adder::setConnectableBus1);
+        copyConnection(terminal2, adder::setNode2, adder::setBus2, adder::setConnectableBus2);
+        return adder;
+    }
+
+    private static void copyLimits(LoadingLimits limits, LoadingLimitsAdder<?, ?> adder) {
+        adder.setPermanentLimit(limits.getPermanentLimit());
+        for (LoadingLimits.TemporaryLimit temporaryLimit : limits.getTemporaryLimits()) {
+            adder.beginTemporaryLimit()
+                    .setName(temporaryLimit.getName())
+                    .setValue(temporaryLimit.getValue())
+                    .setAcceptableDuration(temporaryLimit.getAcceptableDuration())
+                    .setFictitious(temporaryLimit.isFictitious())
+                    .endTemporaryLimit();
+        }
+        adder.add();
+    }
+
+    private static void copyLimits(FlowsLimitsHolder from, FlowsLimitsHolder to) {
+        from.getCurrentLimits().ifPresent(limits -> copyLimits(limits, to.newCurrentLimits()));
+        from.getActivePowerLimits().ifPresent(limits -> copyLimits(limits, to.newActivePowerLimits()));
+        from.getApparentPowerLimits().ifPresent(limits -> copyLimits(limits, to.newApparentPowerLimits()));
+    }
+
+    private static void copyLimits(Branch<?> from, Branch<?> to) {
+        from.getCurrentLimits1().ifPresent(limits -> copyLimits(limits, to.newCurrentLimits1()));
+        from.getActivePowerLimits1().ifPresent(limits -> copyLimits(limits, to.newActivePowerLimits1()));
+        from.getApparentPowerLimits1().ifPresent(limits -> copyLimits(limits, to.newApparentPowerLimits1()));
+        from.getCurrentLimits2().ifPresent(limits -> copyLimits(limits, to.newCurrentLimits2()));
+        from.getActivePowerLimits2().ifPresent(limits -> copyLimits(limits, to.newActivePowerLimits2()));
+        from.getApparentPowerLimits2().ifPresent(limits -> copyLimits(limits, to.newApparentPowerLimits2()));
+    }
+
+    private static void copyReactiveLimits(ReactiveLimitsHolder from, ReactiveLimitsHolder to) {
+        ReactiveLimits reactiveLimits = from.getReactiveLimits();
+        if (reactiveLimits instanceof MinMaxReactiveLimits) {
+            MinMaxReactiveLimits minMaxLimits = (MinMaxReactiveLimits) reactiveLimits;
+            to.newMinMaxReactiveLimits()
+                    .setMinQ(minMaxLimits.getMinQ())
+                    .setMaxQ(minMaxLimits.getMaxQ())
+                    .add();
+        } else if (reactiveLimits instanceof ReactiveCapabilityCurve) {
+            ReactiveCapabilityCurveAdder adder = to.newReactiveCapabilityCurve();
+            for (ReactiveCapabilityCurve.Point point : ((ReactiveCapabilityCurve) reactiveLimits).getPoints()) {
+                adder.beginPoint()
+                        .setP(point.getP())
+                        .setMinQ(point.getMinQ())
+                        .setMaxQ(point.getMaxQ())
+                        .endPoint();
+            }
+            adder.add();
+        }
+    }
+
+    private static void copyTapChangers(Object from, Object to) {
+        RatioTapChanger rtc = ((RatioTapChangerHolder) from).getRatioTapChanger();
+        if (rtc != null) {
+            RatioTapChangerAdder adder = ((RatioTapChangerHolder) to).newRatioTapChanger()
+                    .setLowTapPosition(rtc.getLowTapPosition())
+                    .setTapPosition(rtc.getTapPosition())
+                    .setLoadTapChangingCapabilities(rtc.hasLoadTapChangingCapabilities())
+                    .setRegulating(rtc.isRegulating())
+                    .setTargetV(rtc.getTargetV())
+                    .setTargetDeadband(rtc.getTargetDeadband());
+            for (int position = rtc.getLowTapPosition(); position <= rtc.getHighTapPosition(); position++) {
+                RatioTapChangerStep step = rtc.getStep(position);
+                adder.beginStep()
+                        .setRho(step.getRho())
+                        .setR(step.getR())
+                        .setX(step.getX())
+                        .setG(step.getG())
+                        .setB(step.getB())
+                        .endStep();
+            }
+            adder.add();
+        }
+        PhaseTapChanger ptc = ((PhaseTapChangerHolder) from).getPhaseTapChanger();
+        if (ptc != null) {
+            PhaseTapChangerAdder adder = ((PhaseTapChangerHolder) to).newPhaseTapChanger()
+                    .setLowTapPosition(ptc.getLowTapPosition())
+                    .setTapPosition(ptc.getTapPosition())
+                    .setRegulationMode(ptc.getRegulationMode())
+                    .setRegulating(ptc.isRegulating())
+                    .setRegulationValue(ptc.getRegulationValue())
+                    .setTargetDeadband(ptc.getTargetDeadband());
+            for (int position = ptc.getLowTapPosition(); position <= ptc.getHighTapPosition(); position++) {
+                PhaseTapChangerStep step = ptc.getStep(position);
+                adder.beginStep()
+                        .setRho(step.getRho())
+                        .setAlpha(step.getAlpha())
+                        .setR(step.getR())
+                        .setX(step.getX())
+                        .setG(step.getG())
+                        .setB(step.getB())
+                        .endStep();
+            }
+            adder.add();
+        }
+    }
+
+    private void copySubstation(Substation substation) {
+        SubstationAdder adder = copyIdentifiable(substation, target.newSubstation())
+                .setTso(substation.getTso());
+        substation.getCountry().ifPresent(adder::setCountry);
+        if (!substation.getGeographicalTags().isEmpty()) {
+            adder.setGeographicalTags(substation.getGeographicalTags().toArray(new String[0]));
+        }
+        copyPropertiesAndAliases(substation, adder.add());
+    }
+
+    private void copyVoltageLevel(VoltageLevel vl) {
+        VoltageLevelAdder adder = vl.getSubstation().isPresent()
+                ? target.getSubstation(vl.getSubstation().get().getId()).newVoltageLevel()
+                : target.newVoltageLevel();
+        VoltageLevel newVl = copyIdentifiable(vl, adder)
+                .setNominalV(vl.getNominalV())
+                .setLowVoltageLimit(vl.getLowVoltageLimit())
+                .setHighVoltageLimit(vl.getHighVoltageLimit())
+                .setTopologyKind(vl.getTopologyKind())
+                .add();
+        copyPropertiesAndAliases(vl, newVl);
+
+        if (vl.getTopologyKind() == TopologyKind.NODE_BREAKER) {
+            copyNodeBreakerTopology(vl, newVl);
+        } else {
+            copyBusBreakerTopology(vl, newVl);
+        }
+
+        vl.getGenerators().forEach(g -> copyGenerator(g, newVl));
+        vl.getBatteries().forEach(b -> copyBattery(b, newVl));
+        vl.getLoads().forEach(l -> copyLoad(l, newVl));
+        vl.getShuntCompensators().forEach(sc -> copyShuntCompensator(sc, newVl));
+        vl.getStaticVarCompensators().forEach(svc -> copyStaticVarCompensator(svc, newVl));
+        vl.getVscConverterStations().forEach(vsc -> copyVscConverterStation(vsc, newVl));
+        vl.getLccConverterStations().forEach(lcc -> copyLccConverterStation(lcc, newVl));
+        vl.getDanglingLines().forEach(dl -> copyDanglingLine(dl, newVl));
+    }
+
+    private static void copyNodeBreakerTopology(VoltageLevel vl, VoltageLevel newVl) {
+        VoltageLevel.NodeBreakerView view = vl.getNodeBreakerView();
+        VoltageLevel.NodeBreakerView newView = newVl.getNodeBreakerView();
+        for (BusbarSection bbs : view.getBusbarSections()) {
+            BusbarSection newBbs = copyIdentifiable(bbs, newView.newBusbarSection())
+                    .setNode(bbs.getTerminal().getNodeBreakerView().getNode())
+                    .add();
+            copyPropertiesAndAliases(bbs, newBbs);
+        }
+        for (Switch sw : view.getSwitches()) {
+            Switch newSw = copyIdentifiable(sw, newView.newSwitch())
+                    .setKind(sw.getKind())
+                    .setOpen(sw.isOpen())
+                    .setRetained(sw.isRetained())
+                    .setNode1(view.getNode1(sw.getId()))
+                    .setNode2(view.getNode2(sw.getId()))
+                    .add();
+            copyPropertiesAndAliases(sw, newSw);
+        }
+        for (VoltageLevel.NodeBreakerView.InternalConnection ic : view.getInternalConnections()) {
+            newView.newInternalConnection()
+                    .setNode1(ic.getNode1())
+                    .setNode2(ic.getNode2())
+                    .add();
+        }
+    }
+
+    private static void copyBusBreakerTopology(VoltageLevel vl, VoltageLevel newVl) {
+        VoltageLevel.BusBreakerView view = vl.getBusBreakerView();
+        VoltageLevel.BusBreakerView newView = newVl.getBusBreakerView();
+        for (Bus bus : view.getBuses()) {
+            Bus newBus = copyIdentifiable(bus, newView.newBus()).add();
+            copyPropertiesAndAliases(bus, newBus);
+        }
+        for (Switch sw : view.getSwitches()) {
+            Switch newSw = copyIdentifiable(sw, newView.newSwitch())
+                    .setOpen(sw.isOpen())
+                    .setBus1(view.getBus1(sw.getId()).getId())
+                    .setBus2(view.getBus2(sw.getId()).getId())
+                    .add();
+            copyPropertiesAndAliases(sw, newSw);
+        }
+    }
+
+    private static void copyGenerator(Generator generator, VoltageLevel newVl) {
+        Generator newGenerator = copyInjection(generator, newVl.newGenerator())
+                .setEnergySource(generator.getEnergySource())
+                .setMinP(generator.getMinP())
+                .setMaxP(generator.getMaxP())
+                .setRatedS(generator.getRatedS())
+                .setTargetP(generator.getTargetP())
+                .setTargetQ(generator.getTargetQ())
+                .setTargetV(generator.getTargetV())
+                .setVoltageRegulatorOn(generator.isVoltageRegulatorOn())
+                .add();
+        copyReactiveLimits(generator, newGenerator);
+        copyPropertiesAndAliases(generator, newGenerator);
+    }
+
+    private static void copyBattery(Battery battery, VoltageLevel newVl) {
+        Battery newBattery = copyInjection(battery, newVl.newBattery())
+                .setTargetP(battery.getTargetP())
+                .setTargetQ(battery.getTargetQ())
+                .setMinP(battery.getMinP())
+                .setMaxP(battery.getMaxP())
+                .add();
+        copyReactiveLimits(battery, newBattery);
+        copyPropertiesAndAliases(battery, newBattery);
+    }
+
+    private static void copyLoad(Load load, VoltageLevel newVl) {
+        Load newLoad = copyInjection(load, newVl.newLoad())
+                .setLoadType(load.getLoadType())
+                .setP0(load.getP0())
+                .setQ0(load.getQ0())
+                .add();
+        copyPropertiesAndAliases(load, newLoad);
+    }
+
+    private static void copyShuntCompensator(ShuntCompensator sc, VoltageLevel newVl) {
+        ShuntCompensatorAdder adder = copyInjection(sc, newVl.newShuntCompensator())
+                .setSectionCount(sc.getSectionCount())
+                .setVoltageRegulatorOn(sc.isVoltageRegulatorOn())
+                .setTargetV(sc.getTargetV())
+                .setTargetDeadband(sc.getTargetDeadband());
+        if (sc.getModelType() == ShuntCompensatorModelType.LINEAR) {
+            ShuntCompensatorLinearModel model = sc.getModel(ShuntCompensatorLinearModel.class);
+            adder.newLinearModel()
+                    .setBPerSection(model.getBPerSection())
+                    .setGPerSection(model.getGPerSection())
+                    .setMaximumSectionCount(sc.getMaximumSectionCount())
+                    .add();
+        } else {
+            ShuntCompensatorNonLinearModelAdder modelAdder = adder.newNonLinearModel();
+            for (ShuntCompensatorNonLinearModel.Section section : sc.getModel(ShuntCompensatorNonLinearModel.class).getAllSections()) {
+                modelAdder.beginSection()
+                        .setB(section.getB())
+                        .setG(section.getG())
+                        .endSection();
+            }
+            modelAdder.add();
+        }
+        copyPropertiesAndAliases(sc, adder.add());
+    }
+
+    private static void copyStaticVarCompensator(StaticVarCompensator svc, VoltageLevel newVl) {
+        StaticVarCompensator newSvc = copyInjection(svc, newVl.newStaticVarCompensator())
+                .setBmin(svc.getBmin())
+                .setBmax(svc.getBmax())
+                .setVoltageSetpoint(svc.getVoltageSetpoint())
+                .setReactivePowerSetpoint(svc.getReactivePowerSetpoint())
+                .setRegulationMode(svc.getRegulationMode())
+                .add();
+        copyPropertiesAndAliases(svc, newSvc);
+    }
+
+    private static void copyVscConverterStation(VscConverterStation vsc, VoltageLevel newVl) {
+        VscConverterStation newVsc = copyInjection(vsc, newVl.newVscConverterStation())
+                .setLossFactor(vsc.getLossFactor())
+                .setVoltageRegulatorOn(vsc.isVoltageRegulatorOn())
+                .setVoltageSetpoint(vsc.getVoltageSetpoint())
+                .setReactivePowerSetpoint(vsc.getReactivePowerSetpoint())
+                .add();
+        copyReactiveLimits(vsc, newVsc);
+        copyPropertiesAndAliases(vsc, newVsc);
+    }
+
+    private static void copyLccConverterStation(LccConverterStation lcc, VoltageLevel newVl) {
+        LccConverterStation newLcc = copyInjection(lcc, newVl.newLccConverterStation())
+                .setLossFactor(lcc.getLossFactor())
+                .setPowerFactor(lcc.getPowerFactor())
+                .add();
+        copyPropertiesAndAliases(lcc, newLcc);
+    }
+
+    private static void copyDanglingLine(DanglingLine dl, VoltageLevel newVl) {
+        DanglingLineAdder adder = copyInjection(dl, newVl.newDanglingLine())
+                .setP0(dl.getP0())
+                .setQ0(dl.getQ0())
+                .setR(dl.getR())
+                .setX(dl.getX())
+                .setG(dl.getG())
+                .setB(dl.getB())
+                .setUcteXnodeCode(dl.getUcteXnodeCode());
+        DanglingLine.Generation generation = dl.getGeneration();
+        if (generation != null) {
+            adder.newGeneration()
+                    .setMinP(generation.getMinP())
+                    .setMaxP(generation.getMaxP())
+                    .setTargetP(generation.getTargetP())
+                    .setTargetQ(generation.getTargetQ())
+                    .setTargetV(generation.getTargetV())
+                    .setVoltageRegulationOn(generation.isVoltageRegulationOn())
+                    .add();
+        }
+        DanglingLine newDl = adder.add();
+        if (generation != null) {
+            copyReactiveLimits(generation, newDl.getGeneration());
+        }
+        copyLimits(dl, newDl);
+        copyPropertiesAndAliases(dl, newDl);
+    }
+
+    private void copyTwoWindingsTransformer(TwoWindingsTransformer twt) {
+        TwoWindingsTransformerAdder adder = twt.getSubstation().isPresent()
+                ? target.getSubstation(twt.getSubstation().get().getId()).newTwoWindingsTransformer()
+                : target.newTwoWindingsTransformer();
+        TwoWindingsTransformer newTwt = copyBranch(twt, adder)
+                .setR(twt.getR())
+                .setX(twt.getX())
+                .setG(twt.getG())
+                .setB(twt.getB())
+                .setRatedU1(twt.getRatedU1())
+                .setRatedU2(twt.getRatedU2())
+                .setRatedS(twt.getRatedS())
+                .add();
+        copyTapChangers(twt, newTwt);
+        copyLimits(twt, newTwt);
+        copyPropertiesAndAliases(twt, newTwt);
+    }
+
+    private static void copyLeg(ThreeWindingsTransformer.Leg leg, ThreeWindingsTransformerAdder.LegAdder adder) {
+        Terminal terminal = leg.getTerminal();
+        adder.setVoltageLevel(terminal.getVoltageLevel().getId())
+                .setR(leg.getR())
+                .setX(leg.getX())
+                .setG(leg.getG())
+                .setB(leg.getB())
+                .setRatedU(leg.getRatedU())
+                .setRatedS(leg.getRatedS());
+        copyConnection(terminal, adder::setNode, adder::setBus, adder::setConnectableBus);
+        adder.add();
+    }
+
+    private void copyThreeWindingsTransformer(ThreeWindingsTransformer twt) {
+        ThreeWindingsTransformerAdder adder = twt.getSubstation().isPresent()
+                ? target.getSubstation(twt.getSubstation().get().getId()).newThreeWindingsTransformer()
+                : target.newThreeWindingsTransformer();
+        copyIdentifiable(twt, adder)
+                .setRatedU0(twt.getRatedU0());
+        copyLeg(twt.getLeg1(), adder.newLeg1());
+        copyLeg(twt.getLeg2(), adder.newLeg2());
+        copyLeg(twt.getLeg3(), adder.newLeg3());
+        ThreeWindingsTransformer newTwt = adder.add();
+        for (int i = 0; i < 3; i++) {
+            ThreeWindingsTransformer.Leg leg = twt.getLegs().get(i);
+            ThreeWindingsTransformer.Leg newLeg = newTwt.getLegs().get(i);
+            copyTapChangers(leg, newLeg);
+            copyLimits(leg, newLeg);
+        }
+        copyPropertiesAndAliases(twt, newTwt);
+    }
+
+    private void copyLine(Line line) {
+        Line newLine;
+        if (line.isTieLine()) {
+            TieLine tieLine = (TieLine) line;
+            TieLineAdder adder = copyBranch(tieLine, target.newTieLine())
+                    .setUcteXnodeCode(tieLine.getUcteXnodeCode());
+            copyHalfLine(tieLine.getHalf1(), adder.newHalfLine1());
+            copyHalfLine(tieLine.getHalf2(), adder.newHalfLine2());
+            newLine = adder.add();
+        } else {
+            newLine = copyBranch(line, target.newLine())
+                    .setR(line.getR())
+                    .setX(line.getX())
+                    .setG1(line.getG1())
+                    .setB1(line.getB1())
+                    .setG2(line.getG2())
+                    .setB2(line.getB2())
+                    .add();
+        }
+        copyLimits(line, newLine);
+        copyPropertiesAndAliases(line, newLine);
+    }
+
+    private static void copyHalfLine(TieLine.HalfLine halfLine, TieLineAdder.HalfLineAdder adder) {
+        adder.setId(halfLine.getId())
+                .setName(halfLine.getName())
+                .setFictitious(halfLine.isFictitious())
+                .setR(halfLine.getR())
+                .setX(halfLine.getX())
+                .setG1(halfLine.getG1())
+                .setB1(halfLine.getB1())
+                .setG2(halfLine.getG2())
+                .setB2(halfLine.getB2())
+                .add();
+    }
+
+    private void copyHvdcLine(HvdcLine hvdcLine) {
+        HvdcLine newHvdcLine = copyIdentifiable(hvdcLine, target.newHvdcLine())
+                .setR(hvdcLine.getR())
+                .setNominalV(hvdcLine.getNominalV())
+                .setMaxP(hvdcLine.getMaxP())
+                .setConvertersMode(hvdcLine.getConvertersMode())
+                .setActivePowerSetpoint(hvdcLine.getActivePowerSetpoint())
+                .setConverterStationId1(hvdcLine.getConverterStation1().getId())
+                .setConverterStationId2(hvdcLine.getConverterStation2().getId())
+                .add();
+        copyPropertiesAndAliases(hvdcLine, newHvdcLine);
+    }
+
+    /**
+     * Get the terminal of the copy corresponding to a terminal of the source network.
+     */
+    @Override
+    public Terminal getTerminal(Terminal terminal) {
+        return getTerminal(terminal, target);
+    }
+
+    /**
+     * Get the terminal of a network corresponding to a terminal of the other network.
+     */
+    private static Terminal getTerminal(Terminal terminal, Network network) {
+        if (terminal == null) {
+            return null;
+        }
+        Connectable<?> connectable = terminal.getConnectable();
+        Identifiable<?> newConnectable = network.getIdentifiable(connectable.getId());
+        if (connectable instanceof Injection) {
+            return ((Injection<?>) newConnectable).getTerminal();
+        } else if (connectable instanceof Branch) {
+            return ((Branch<?>) newConnectable).getTerminal(((Branch<?>) connectable).getSide(terminal));
+        } else if (connectable instanceof ThreeWindingsTransformer) {
+            return ((ThreeWindingsTransformer) newConnectable).getTerminal(((ThreeWindingsTransformer) connectable).getSide(terminal));
+        }
+        throw new AssertionError("Unexpected connectable type: " + connectable.getClass());
+    }
+
+    /**
+     * Remote regulating terminals can only be set once all the connectables have been copied.
+     */
+    private void copyRegulatingTerminals() {
+        for (Generator generator : source.getGenerators()) {
+            if (generator.getRegulatingTerminal() != generator.getTerminal()) {
+                target.getGenerator(generator.getId()).setRegulatingTerminal(getTerminal(generator.getRegulatingTerminal()));
+            }
+        }
+        for (ShuntCompensator sc : source.getShuntCompensators()) {
+            if (sc.getRegulatingTerminal() != sc.getTerminal()) {
+                target.getShuntCompensator(sc.getId()).setRegulatingTerminal(getTerminal(sc.getRegulatingTerminal()));
+            }
+        }
+        for (StaticVarCompensator svc : source.getStaticVarCompensators()) {
+            if (svc.getRegulatingTerminal() != svc.getTerminal()) {
+                target.getStaticVarCompensator(svc.getId()).setRegulatingTerminal(getTerminal(svc.getRegulatingTerminal()));
+            }
+        }
+        for (VscConverterStation vsc : source.getVscConverterStations()) {
+            if (vsc.getRegulatingTerminal() != vsc.getTerminal()) {
+                target.getVscConverterStation(vsc.getId()).setRegulatingTerminal(getTerminal(vsc.getRegulatingTerminal()));
+            }
+        }
+        for (TwoWindingsTransformer twt : source.getTwoWindingsTransformers()) {
+            copyRegulationTerminals(twt, target.getTwoWindingsTransformer(twt.getId()));
+        }
+        for (ThreeWindingsTransformer twt : source.getThreeWindingsTransformers()) {
+            ThreeWindingsTransformer newTwt = target.getThreeWindingsTransformer(twt.getId());
+            for (int i = 0; i < 3; i++) {
+                copyRegulationTerminals(twt.getLegs().get(i), newTwt.getLegs().get(i));
+            }
+        }
+    }
+
+    private void copyRegulationTerminals(Object from, Object to) {
+        RatioTapChanger rtc = ((RatioTapChangerHolder) from).getRatioTapChanger();
+        if (rtc != null && rtc.getRegulationTerminal() != null) {
+            ((RatioTapChangerHolder) to).getRatioTapChanger().setRegulationTerminal(getTerminal(rtc.getRegulationTerminal()));
+        }
+        PhaseTapChanger ptc = ((PhaseTapChangerHolder) from).getPhaseTapChanger();
+        if (ptc != null && ptc.getRegulationTerminal() != null) {
+            ((PhaseTapChangerHolder) to).getPhaseTapChanger().setRegulationTerminal(getTerminal(ptc.getRegulationTerminal()));
+        }
+    }
+
+    private void copyExtensions() {
+        forEachExtension((extension, copier, newIdentifiable) -> copier.copy(extension, newIdentifiable, this));
+    }
+
+    private interface ExtensionAction {
+
+        void apply(Extension<?> extension, ExtensionCopier<Extension<?>> copier, Identifiable<?> newIdentifiable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEachExtension(ExtensionAction action) {
+        for (Identifiable<?> identifiable : source.getIdentifiables()) {
+            Collection<? extends Extension<?>> extensions = identifiable.getExtensions();
+            if (!extensions.isEmpty()) {
+                Identifiable<?> newIdentifiable = identifiable == source ? target : target.getIdentifiable(identifiable.getId());
+                for (Extension<?> extension : extensions) {
+                    // copiers have been checked to be available before the copy
+                    ExtensionCopier<Extension<?>> copier = findExtensionCopier(extension).orElseThrow(IllegalStateException::new);
+                    action.apply(extension, copier, newIdentifiable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the variant dependent attributes of the working variant of the source network to the working variant of
+     * the copy.
+     */
+    private void copyState() {
+        copyTopologyState();
+        copyBusState();
+
+        copyVector(VectorAttribute.GENERATOR_TARGET_P, generator -> source.getGenerator(generator.getId()));
+        copyVector(VectorAttribute.GENERATOR_TARGET_Q, generator -> source.getGenerator(generator.getId()));
+        copyVector(VectorAttribute.GENERATOR_TARGET_V, generator -> source.getGenerator(generator.getId()));
+        for (Generator generator : source.getGenerators()) {
+            target.getGenerator(generator.getId()).setVoltageRegulatorOn(generator.isVoltageRegulatorOn());
+        }
+        for (Battery battery : source.getBatteries()) {
+            target.getBattery(battery.getId())
+                    .setTargetP(battery.getTargetP())
+                    .setTargetQ(battery.getTargetQ());
+        }
+        for (Load load : source.getLoads()) {
+            target.getLoad(load.getId())
+                    .setP0(load.getP0())
+                    .setQ0(load.getQ0());
+        }
+        for (ShuntCompensator sc : source.getShuntCompensators()) {
+            target.getShuntCompensator(sc.getId())
+                    .setSectionCount(sc.getSectionCount())
+                    .setTargetV(sc.getTargetV())
+                    .setTargetDeadband(sc.getTargetDeadband())
+                    .setVoltageRegulatorOn(sc.isVoltageRegulatorOn());
+        }
+        for (StaticVarCompensator svc : source.getStaticVarCompensators()) {
+            target.getStaticVarCompensator(svc.getId())
+                    .setVoltageSetpoint(svc.getVoltageSetpoint())
+                    .setReactivePowerSetpoint(svc.getReactivePowerSetpoint())
+                    .setRegulationMode(svc.getRegulationMode());
+        }
+        for (VscConverterStation vsc : source.getVscConverterStations()) {
+            target.getVscConverterStation(vsc.getId())
+                    .setVoltageSetpoint(vsc.getVoltageSetpoint())
+                    .setReactivePowerSetpoint(vsc.getReactivePowerSetpoint())
+                    .setVoltageRegulatorOn(vsc.isVoltageRegulatorOn());
+        }
+        for (DanglingLine dl : source.getDanglingLines()) {
+            DanglingLine newDl = target.getDanglingLine(dl.getId())
+                    .setP0(dl.getP0())
+                    .setQ0(dl.getQ0());
+            DanglingLine.Generation generation = dl.getGeneration();
+            if (generation != null) {
+                newDl.getGeneration()
+                        .setTargetP(generation.getTargetP())
+                        .setTargetQ(generation.getTargetQ())
+                        .setTargetV(generation.getTargetV())
+                        .setVoltageRegulationOn(generation.isVoltageRegulationOn());
+            }
+        }
+        for (HvdcLine hvdcLine : source.getHvdcLines()) {
+            target.getHvdcLine(hvdcLine.getId())
+                    .setConvertersMode(hvdcLine.getConvertersMode())
+                    .setActivePowerSetpoint(hvdcLine.getActivePowerSetpoint());
+        }
+        for (TwoWindingsTransformer twt : source.getTwoWindingsTransformers()) {
+            copyTapChangersState(twt, target.getTwoWindingsTransformer(twt.getId()));
+        }
+        for (ThreeWindingsTransformer twt : source.getThreeWindingsTransformers()) {
+            ThreeWindingsTransformer newTwt = target.getThreeWindingsTransformer(twt.getId());
+            for (int i = 0; i < 3; i++) {
+                copyTapChangersState(twt.getLegs().get(i), newTwt.getLegs().get(i));
+            }
+        }
+
+        copyExtensionsState();
+    }
+
+    /**
+     * Switch positions, bus-breaker connections and flows.
+     */
+    private void copyTopologyState() {
+        for (VoltageLevel vl : source.getVoltageLevels()) {
+            VoltageLevel newVl = target.getVoltageLevel(vl.getId());
+            if (vl.getTopologyKind() == TopologyKind.NODE_BREAKER) {
+                for (Switch sw : vl.getNodeBreakerView().getSwitches()) {
+                    Switch newSw = newVl.getNodeBreakerView().getSwitch(sw.getId());
+                    newSw.setOpen(sw.isOpen());
+                    newSw.setRetained(sw.isRetained());
+                }
+                for (int node : vl.getNodeBreakerView().getNodes()) {
+                    double fictitiousP0 = vl.getNodeBreakerView().getFictitiousP0(node);
+                    double fictitiousQ0 = vl.getNodeBreakerView().getFictitiousQ0(node);
+                    if (fictitiousP0 != 0 || fictitiousQ0 != 0) {
+                        newVl.getNodeBreakerView()
+                                .setFictitiousP0(node, fictitiousP0)
+                                .setFictitiousQ0(node, fictitiousQ0);
+                    }
+                }
+            } else {
+                for (Switch sw : vl.getBusBreakerView().getSwitches()) {
+                    newVl.getBusBreakerView().getSwitch(sw.getId()).setOpen(sw.isOpen());
+                }
+            }
+        }
+        for (Connectable<?> connectable : source.getConnectables()) {
+            if (connectable instanceof BusbarSection) {
+                continue;
+            }
+            for (Terminal terminal : connectable.getTerminals()) {
+                if (terminal.getVoltageLevel().getTopologyKind() == TopologyKind.BUS_BREAKER) {
+                    copyBusBreakerConnection(terminal, getTerminal(terminal));
+                }
+            }
+        }
+        // busbar sections have no flow
+        copyVector(VectorAttribute.TERMINAL_P, terminal -> terminal.getConnectable() instanceof BusbarSection ? null : getTerminal(terminal, source));
+        copyVector(VectorAttribute.TERMINAL_Q, terminal -> terminal.getConnectable() instanceof BusbarSection ? null : getTerminal(terminal, source));
+    }
+
+    /**
+     * Copy an attribute of all the elements of the target network at once, in the working variant.
+     *
+     * @param sourceElementGetter gives the source element of a target element, or null to keep the target value
+     */
+    private <T> void copyVector(VectorAttribute<T> attribute, Function<T, T> sourceElementGetter) {
+        List<T> elements = target.getAttributeVectorElements(attribute);
+        double[] values = target.getAttributeVector(attribute);
+        for (int i = 0; i < values.length; i++) {
+            T element = elements.get(i);
+            T sourceElement = element != null ? sourceElementGetter.apply(element) : null;
+            if (sourceElement != null) {
+                values[i] = attribute.getValue(sourceElement);
+            }
+        }
+        target.setAttributeVector(attribute, values);
+    }
+
+    private static void copyBusBreakerConnection(Terminal terminal, Terminal newTerminal) {
+        String connectableBusId = terminal.getBusBreakerView().getConnectableBus().getId();
+        if (!connectableBusId.equals(newTerminal.getBusBreakerView().getConnectableBus().getId())) {
+            newTerminal.getBusBreakerView().setConnectableBus(connectableBusId);
+        }
+        boolean connected = terminal.getBusBreakerView().getBus() != null;
+        if (connected != newTerminal.isConnected()) {
+            if (connected) {
+                newTerminal.connect();
+            } else {
+                newTerminal.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Voltages of configured buses, and of calculated buses of node/breaker voltage levels, reached through the
+     * terminal of one of their nodes.
+     */
+    private void copyBusState() {
+        for (VoltageLevel vl : source.getVoltageLevels()) {
+            VoltageLevel newVl = target.getVoltageLevel(vl.getId());
+            if (vl.getTopologyKind() == TopologyKind.BUS_BREAKER) {
+                for (Bus bus : vl.getBusBreakerView().getBuses()) {
+                    newVl.getBusBreakerView().getBus(bus.getId())
+                            .setV(bus.getV())
+                            .setAngle(bus.getAngle());
+                }
+            } else {
+                Map<String, Set<Integer>> nodesByBus = null;
+                for (Bus bus : vl.getBusView().getBuses()) {
+                    if (!Double.isNaN(bus.getV()) || !Double.isNaN(bus.getAngle())) {
+                        if (nodesByBus == null) {
+                            nodesByBus = Networks.getNodesByBus(vl);
+                        }
+                        Bus newBus = getCalculatedBus(newVl, nodesByBus.get(bus.getId()));
+                        if (newBus != null) {
+                            newBus.setV(bus.getV()).setAngle(bus.getAngle());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Bus getCalculatedBus(VoltageLevel newVl, Set<Integer> nodes) {
+        for (int node : nodes) {
+            Terminal terminal = newVl.getNodeBreakerView().getTerminal(node);
+            if (terminal != null) {
+                Bus bus = terminal.getBusView().getBus();
+                if (bus != null) {
+                    return bus;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void copyTapChangersState(Object from, Object to) {
+        RatioTapChanger rtc = ((RatioTapChangerHolder) from).getRatioTapChanger();
+        if (rtc != null) {
+            ((RatioTapChangerHolder) to).getRatioTapChanger()
+                    .setTapPosition(rtc.getTapPosition())
+                    .setTargetV(rtc.getTargetV())
+                    .setTargetDeadband(rtc.getTargetDeadband())
+                    .setRegulating(rtc.isRegulating());
+        }
+        PhaseTapChanger ptc = ((PhaseTapChangerHolder) from).getPhaseTapChanger();
+        if (ptc != null) {
+            ((PhaseTapChangerHolder) to).getPhaseTapChanger()
+                    .setTapPosition(ptc.getTapPosition())
+                    .setRegulationValue(ptc.getRegulationValue())
+                    .setTargetDeadband(ptc.getTargetDeadband())
+                    .setRegulating(ptc.isRegulating());
+        }
+    }
+
+    private void copyExtensionsState() {
+        forEachExtension((extension, copier, newIdentifiable) -> copier.copyState(extension, newIdentifiable, this));
+    }
+}
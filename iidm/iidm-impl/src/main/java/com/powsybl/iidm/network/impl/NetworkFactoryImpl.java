@@ -18,4 +18,14 @@ public class NetworkFactoryImpl implements NetworkFactory {
     public Network createNetwork(String id, String sourceFormat) {
         return new NetworkImpl(id, id, sourceFormat);
     }
+
+    @Override
+    public boolean isCopySupported(Network network) {
+        return NetworkCopier.isCopySupported(network);
+    }
+
+    @Override
+    public Network copy(Network network, boolean workingVariantOnly) {
+        return NetworkCopier.copy(network, workingVariantOnly);
+    }
 }
@@ -46,12 +46,16 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
     private ValidationLevel validationLevel = ValidationLevel.STEADY_STATE_HYPOTHESIS;
     private ValidationLevel minValidationLevel = ValidationLevel.STEADY_STATE_HYPOTHESIS;
 
-    private final NetworkIndex index = new NetworkIndex();
+    private final NetworkIndex index;
 
     private final VariantManagerImpl variantManager;
 
     private final NetworkListenerList listeners = new NetworkListenerList();
 
+    private final AttributeColumns<AbstractTerminal> terminalColumns;
+
+    private final AttributeColumns<GeneratorImpl> generatorColumns;
+
     class BusBreakerViewImpl implements BusBreakerView {
 
         @Override
@@ -134,11 +138,21 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
     private final BusViewImpl busView = new BusViewImpl();
 
     NetworkImpl(String id, String name, String sourceFormat) {
+        this(id, name, sourceFormat, 0);
+    }
+
+    /**
+     * @param expectedIdentifiableCount expected number of identifiables, to pre-size the index
+     */
+    NetworkImpl(String id, String name, String sourceFormat, int expectedIdentifiableCount) {
         super(id, name);
         Objects.requireNonNull(sourceFormat, "source format is null");
         this.sourceFormat = sourceFormat;
+        index = new NetworkIndex(expectedIdentifiableCount);
         variantManager = new VariantManagerImpl(this);
         variants = new VariantArray<>(ref, VariantImpl::new);
+        terminalColumns = new AttributeColumns<>(ref, AbstractTerminal.COLUMN_COUNT);
+        generatorColumns = new AttributeColumns<>(ref, GeneratorImpl.COLUMN_COUNT);
         // add the network the object list as it is a multi variant object
         // and it needs to be notified when and extension or a reduction of
         // the variant array is requested
@@ -179,6 +193,14 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         return sourceFormat;
     }
 
+    AttributeColumns<AbstractTerminal> getTerminalColumns() {
+        return terminalColumns;
+    }
+
+    AttributeColumns<GeneratorImpl> getGeneratorColumns() {
+        return generatorColumns;
+    }
+
     RefChain<NetworkImpl> getRef() {
         return ref;
     }
@@ -688,6 +710,63 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         return Ints.checkedCast(getConnectableStream().count());
     }
 
+    private AttributeColumns<?> getAttributeColumns(VectorAttribute<?> attribute) {
+        if (attribute == VectorAttribute.TERMINAL_P || attribute == VectorAttribute.TERMINAL_Q) {
+            return terminalColumns;
+        } else if (attribute == VectorAttribute.GENERATOR_TARGET_P || attribute == VectorAttribute.GENERATOR_TARGET_Q
+                || attribute == VectorAttribute.GENERATOR_TARGET_V) {
+            return generatorColumns;
+        }
+        return null;
+    }
+
+    private static int getAttributeColumn(VectorAttribute<?> attribute) {
+        if (attribute == VectorAttribute.TERMINAL_P) {
+            return AbstractTerminal.P_COLUMN;
+        } else if (attribute == VectorAttribute.TERMINAL_Q) {
+            return AbstractTerminal.Q_COLUMN;
+        } else if (attribute == VectorAttribute.GENERATOR_TARGET_P) {
+            return GeneratorImpl.TARGET_P_COLUMN;
+        } else if (attribute == VectorAttribute.GENERATOR_TARGET_Q) {
+            return GeneratorImpl.TARGET_Q_COLUMN;
+        } else if (attribute == VectorAttribute.GENERATOR_TARGET_V) {
+            return GeneratorImpl.TARGET_V_COLUMN;
+        }
+        throw new IllegalStateException("Unexpected attribute " + attribute);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAttributeVectorElements(VectorAttribute<T> attribute) {
+        AttributeColumns<?> columns = getAttributeColumns(attribute);
+        if (columns == null) {
+            return Network.super.getAttributeVectorElements(attribute);
+        }
+        return (List<T>) columns.getElements();
+    }
+
+    @Override
+    public <T> double[] getAttributeVector(VectorAttribute<T> attribute) {
+        AttributeColumns<?> columns = getAttributeColumns(attribute);
+        if (columns == null) {
+            return Network.super.getAttributeVector(attribute);
+        }
+        return columns.getVector(getAttributeColumn(attribute), getVariantIndex());
+    }
+
+    @Override
+    public <T> void setAttributeVector(VectorAttribute<T> attribute, double[] values) {
+        AttributeColumns<?> columns = getAttributeColumns(attribute);
+        if (columns == null) {
+            Network.super.setAttributeVector(attribute, values);
+            return;
+        }
+        columns.setVector(getAttributeColumn(attribute), getVariantIndex(), values);
+        if (columns == generatorColumns) {
+            invalidateValidationLevel();
+        }
+    }
+
     @Override
     public BusBreakerViewImpl getBusBreakerView() {
         return busBreakerView;
@@ -820,6 +899,8 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
 
         variants.push(number, () -> variants.copy(sourceIndex));
+        terminalColumns.extendVariantArraySize(number, sourceIndex);
+        generatorColumns.extendVariantArraySize(number, sourceIndex);
     }
 
     @Override
@@ -827,6 +908,8 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         super.reduceVariantArraySize(number);
 
         variants.pop(number);
+        terminalColumns.reduceVariantArraySize(number);
+        generatorColumns.reduceVariantArraySize(number);
     }
 
     @Override
@@ -834,6 +917,8 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         super.deleteVariantArrayElement(index);
 
         variants.delete(index);
+        terminalColumns.deleteVariantArrayElement(index);
+        generatorColumns.deleteVariantArrayElement(index);
     }
 
     @Override
@@ -841,6 +926,8 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         super.allocateVariantArrayElement(indexes, sourceIndex);
 
         variants.allocate(indexes, () -> variants.copy(sourceIndex));
+        terminalColumns.allocateVariantArrayElement(indexes, sourceIndex);
+        generatorColumns.allocateVariantArrayElement(indexes, sourceIndex);
     }
 
     @Override
@@ -856,7 +943,8 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         // of the internal variant array because the network can have only
         // one variant but an internal array with a size greater that one and
         // some re-usable variants
-        if (variantManager.getVariantArraySize() != 1 || otherNetwork.variantManager.getVariantArraySize() != 1) {
+        if (variantManager.getVariantArraySize() != 1 || otherNetwork.variantManager.getVariantArraySize() != 1
+                || variantManager.getVariantCount() != 1 || otherNetwork.variantManager.getVariantCount() != 1) {
             throw new PowsyblException("Merging of multi-variants network is not supported");
         }
 
@@ -896,6 +984,10 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         // merge the indexes
         index.merge(otherNetwork.index);
 
+        // move the column-wise attributes of the other network objects
+        terminalColumns.merge(otherNetwork.terminalColumns);
+        generatorColumns.merge(otherNetwork.generatorColumns);
+
         // fix network back reference of the other network objects
         otherNetwork.ref.setRef(ref);
 
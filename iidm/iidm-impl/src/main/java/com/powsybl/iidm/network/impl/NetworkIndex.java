@@ -7,6 +7,7 @@
 package com.powsybl.iidm.network.impl;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.Identifiable;
@@ -21,11 +22,19 @@ import java.util.stream.Collectors;
  */
 class NetworkIndex {
 
-    private final Map<String, Identifiable<?>> objectsById = new HashMap<>();
+    private final Map<String, Identifiable<?>> objectsById;
     private final Map<String, String> idByAlias = new HashMap<>();
 
     private final Map<Class<? extends Identifiable>, Set<Identifiable<?>>> objectsByClass = new HashMap<>();
 
+    NetworkIndex() {
+        this(0);
+    }
+
+    NetworkIndex(int expectedSize) {
+        objectsById = Maps.newHashMapWithExpectedSize(expectedSize);
+    }
+
     static void checkId(String id) {
         if (id == null || id.isEmpty()) {
             throw new PowsyblException("Invalid id '" + id + "'");
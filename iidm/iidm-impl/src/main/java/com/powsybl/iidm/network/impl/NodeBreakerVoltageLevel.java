@@ -244,45 +244,67 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
         protected BusCache busCache;
 
         protected void updateCache() {
-            updateCache(Switch::isOpen);
+            updateCache(getTerminate());
         }
 
         protected BusChecker getBusChecker() {
             return CALCULATED_BUS_CHECKER;
         }
 
-        private void traverse(int n, boolean[] encountered, Predicate<SwitchImpl> terminate, Map<String, CalculatedBus> id2bus, CalculatedBus[] node2bus) {
-            if (!encountered[n]) {
-                final TIntArrayList nodes = new TIntArrayList(1);
-                nodes.add(n);
-                graph.traverse(n, (n1, e, n2) -> {
-                    SwitchImpl aSwitch = graph.getEdgeObject(e);
-                    if (aSwitch != null && terminate.apply(aSwitch)) {
-                        return TraverseResult.TERMINATE_PATH;
-                    }
+        protected Predicate<SwitchImpl> getTerminate() {
+            return Switch::isOpen;
+        }
 
-                    nodes.add(n2);
-                    return TraverseResult.CONTINUE;
-                }, encountered);
+        private TIntArrayList collectNodes(int n, boolean[] encountered, Predicate<SwitchImpl> terminate) {
+            final TIntArrayList nodes = new TIntArrayList(1);
+            nodes.add(n);
+            graph.traverse(n, (n1, e, n2) -> {
+                SwitchImpl aSwitch = graph.getEdgeObject(e);
+                if (aSwitch != null && terminate.apply(aSwitch)) {
+                    return TraverseResult.TERMINATE_PATH;
+                }
 
-                // check that the component is a bus
-                String busId = Identifiables.getUniqueId(NAMING_STRATEGY.getId(NodeBreakerVoltageLevel.this, nodes), getNetwork().getIndex()::contains);
-                CopyOnWriteArrayList<NodeTerminal> terminals = new CopyOnWriteArrayList<>();
-                for (int i = 0; i < nodes.size(); i++) {
-                    int n2 = nodes.getQuick(i);
-                    NodeTerminal terminal2 = graph.getVertexObject(n2);
-                    if (terminal2 != null) {
-                        terminals.add(terminal2);
-                    }
+                nodes.add(n2);
+                return TraverseResult.CONTINUE;
+            }, encountered);
+            return nodes;
+        }
+
+        /**
+         * Create the bus of a set of connected nodes, or return null if they do not form a bus.
+         */
+        private CalculatedBusImpl createBus(TIntArrayList nodes) {
+            // check that the component is a bus
+            String busId = Identifiables.getUniqueId(NAMING_STRATEGY.getId(NodeBreakerVoltageLevel.this, nodes), getNetwork().getIndex()::contains);
+            CopyOnWriteArrayList<NodeTerminal> terminals = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                int n2 = nodes.getQuick(i);
+                NodeTerminal terminal2 = graph.getVertexObject(n2);
+                if (terminal2 != null) {
+                    terminals.add(terminal2);
                 }
-                if (getBusChecker().isValid(graph, nodes, terminals)) {
-                    String busName = NAMING_STRATEGY.getName(NodeBreakerVoltageLevel.this, nodes);
-                    Function<Terminal, Bus> getBusFromTerminal = getBusChecker() == CALCULATED_BUS_CHECKER ? t -> t.getBusView().getBus() : t -> t.getBusBreakerView().getBus();
-                    CalculatedBusImpl bus = new CalculatedBusImpl(busId, busName, NodeBreakerVoltageLevel.this.fictitious, NodeBreakerVoltageLevel.this, nodes, terminals, getBusFromTerminal);
-                    id2bus.put(busId, bus);
-                    for (int i = 0; i < nodes.size(); i++) {
-                        node2bus[nodes.getQuick(i)] = bus;
-                    }
+            }
+            if (getBusChecker().isValid(graph, nodes, terminals)) {
+                String busName = NAMING_STRATEGY.getName(NodeBreakerVoltageLevel.this, nodes);
+                Function<Terminal, Bus> getBusFromTerminal = getBusChecker() == CALCULATED_BUS_CHECKER ? t -> t.getBusView().getBus() : t -> t.getBusBreakerView().getBus();
+                return new CalculatedBusImpl(busId, busName, NodeBreakerVoltageLevel.this.fictitious, NodeBreakerVoltageLevel.this, nodes, terminals, getBusFromTerminal);
+            }
+            return null;
+        }
+
+        private void addBus(CalculatedBusImpl bus, TIntArrayList nodes, Map<String, CalculatedBus> id2bus, CalculatedBus[] node2bus) {
+            id2bus.put(bus.getId(), bus);
+            for (int i = 0; i < nodes.size(); i++) {
+                node2bus[nodes.getQuick(i)] = bus;
+            }
+        }
+
+        private void traverse(int n, boolean[] encountered, Predicate<SwitchImpl> terminate, Map<String, CalculatedBus> id2bus, CalculatedBus[] node2bus) {
+            if (!encountered[n]) {
+                TIntArrayList nodes = collectNodes(n, encountered, terminate);
+                CalculatedBusImpl bus = createBus(nodes);
+                if (bus != null) {
+                    addBus(bus, nodes, id2bus, node2bus);
                 }
             }
         }
@@ -304,6 +326,84 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
             LOGGER.trace("Found buses {}", id2bus.values());
         }
 
+        /**
+         * Update the cache after the state of the switch of an edge has changed. Only the buses containing the nodes
+         * of the edge are computed again, the other ones are kept as they are. Buses which are the same as before the
+         * change are kept too.
+         *
+         * @return true if buses have been created or removed, false if the buses are the same as before the change
+         */
+        protected boolean updateCache(int e) {
+            if (busCache == null) {
+                return true;
+            }
+            if (busCache.node2bus.length < graph.getVertexCapacity()) {
+                invalidateCache();
+                return true;
+            }
+
+            // the nodes connected to the edge after the change were connected to it before too, so all the buses
+            // which may have changed are found among them
+            Predicate<SwitchImpl> terminate = getTerminate();
+            boolean[] encountered = new boolean[graph.getVertexCapacity()];
+            List<TIntArrayList> components = new ArrayList<>(2);
+            components.add(collectNodes(graph.getEdgeVertex1(e), encountered, terminate));
+            int v2 = graph.getEdgeVertex2(e);
+            if (!encountered[v2]) {
+                components.add(collectNodes(v2, encountered, terminate));
+            }
+
+            Map<CalculatedBus, Integer> oldBusSizes = new IdentityHashMap<>();
+            for (TIntArrayList nodes : components) {
+                for (int i = 0; i < nodes.size(); i++) {
+                    CalculatedBus oldBus = busCache.node2bus[nodes.getQuick(i)];
+                    if (oldBus != null) {
+                        oldBusSizes.merge(oldBus, 1, Integer::sum);
+                    }
+                }
+            }
+            if (isUnchanged(components, oldBusSizes)) {
+                return false;
+            }
+
+            LOGGER.trace("Update buses {} of voltage level {}", oldBusSizes.keySet(), NodeBreakerVoltageLevel.this.id);
+            for (CalculatedBus oldBus : oldBusSizes.keySet()) {
+                busCache.id2bus.remove(oldBus.getId());
+                oldBus.invalidate();
+            }
+            for (TIntArrayList nodes : components) {
+                for (int i = 0; i < nodes.size(); i++) {
+                    busCache.node2bus[nodes.getQuick(i)] = null;
+                }
+                CalculatedBusImpl bus = createBus(nodes);
+                if (bus != null) {
+                    addBus(bus, nodes, busCache.id2bus, busCache.node2bus);
+                }
+            }
+            return true;
+        }
+
+        private boolean isUnchanged(List<TIntArrayList> components, Map<CalculatedBus, Integer> oldBusSizes) {
+            int reusedBusCount = 0;
+            for (TIntArrayList nodes : components) {
+                CalculatedBus oldBus = busCache.node2bus[nodes.getQuick(0)];
+                if (oldBus != null) {
+                    if (oldBusSizes.get(oldBus) != nodes.size()) {
+                        return false;
+                    }
+                    for (int i = 1; i < nodes.size(); i++) {
+                        if (busCache.node2bus[nodes.getQuick(i)] != oldBus) {
+                            return false;
+                        }
+                    }
+                    reusedBusCount++;
+                } else if (createBus(nodes) != null) {
+                    return false;
+                }
+            }
+            return reusedBusCount == oldBusSizes.size();
+        }
+
         protected void invalidateCache() {
             // detach buses
             if (busCache != null) {
@@ -372,8 +472,8 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
     class CalculatedBusBreakerTopology extends CalculatedBusTopology {
 
         @Override
-        protected void updateCache() {
-            updateCache(sw -> sw.isOpen() || sw.isRetained());
+        protected Predicate<SwitchImpl> getTerminate() {
+            return sw -> sw.isOpen() || sw.isRetained();
         }
 
         @Override
@@ -584,6 +684,24 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
         getNetwork().getSynchronousComponentsManager().invalidate();
     }
 
+    @Override
+    public void invalidateCache(SwitchImpl aSwitch) {
+        Integer edge = getEdge(aSwitch.getId(), false);
+        if (edge == null) {
+            invalidateCache();
+            return;
+        }
+        if (variants.get().calculatedBusBreakerTopology.updateCache(edge)) {
+            getNetwork().getBusBreakerView().invalidateCache();
+        }
+        // connected and synchronous components are stored by bus, so they are still valid if buses have not changed
+        if (variants.get().calculatedBusTopology.updateCache(edge)) {
+            getNetwork().getBusView().invalidateCache();
+            getNetwork().getConnectedComponentsManager().invalidate();
+            getNetwork().getSynchronousComponentsManager().invalidate();
+        }
+    }
+
     private Integer getEdge(String switchId, boolean throwException) {
         Integer edge = switches.get(switchId);
         if (throwException && edge == null) {
@@ -642,7 +760,7 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
             TDoubleArrayList p0ByVariant = fictitiousP0ByNode.get(node);
             if (p0ByVariant == null) {
                 int variantArraySize = getNetwork().getVariantManager().getVariantArraySize();
-                p0ByVariant = new TDoubleArrayList(variantArraySize);
+                p0ByVariant = new MultiVariantDoubleArrayList(getNetwork().getRef(), variantArraySize);
                 for (int i = 0; i < variantArraySize; i++) {
                     p0ByVariant.add(0.0);
                 }
@@ -681,7 +799,7 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
             TDoubleArrayList q0ByVariant = fictitiousQ0ByNode.get(node);
             if (q0ByVariant == null) {
                 int variantArraySize = getNetwork().getVariantManager().getVariantArraySize();
-                q0ByVariant = new TDoubleArrayList(variantArraySize);
+                q0ByVariant = new MultiVariantDoubleArrayList(getNetwork().getRef(), variantArraySize);
                 for (int i = 0; i < variantArraySize; i++) {
                     q0ByVariant.add(0.0);
                 }
@@ -10,8 +10,6 @@ import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.ValidationException;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
-import gnu.trove.list.array.TIntArrayList;
 
 import java.util.Set;
 
@@ -26,13 +24,13 @@ class NodeTerminal extends AbstractTerminal {
 
     // attributes depending on the variant
 
-    protected final TDoubleArrayList v;
+    protected final MultiVariantDoubleArrayList v;
 
-    protected final TDoubleArrayList angle;
+    protected final MultiVariantDoubleArrayList angle;
 
-    protected final TIntArrayList connectedComponentNumber;
+    protected final MultiVariantIntArrayList connectedComponentNumber;
 
-    protected final TIntArrayList synchronousComponentNumber;
+    protected final MultiVariantIntArrayList synchronousComponentNumber;
 
     private final NodeBreakerView nodeBreakerView = new NodeBreakerView() {
 
@@ -111,14 +109,14 @@ class NodeTerminal extends AbstractTerminal {
 
     };
 
-    NodeTerminal(Ref<? extends VariantManagerHolder> network, int node) {
+    NodeTerminal(Ref<NetworkImpl> network, int node) {
         super(network);
         this.node = node;
         int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        v = new TDoubleArrayList(variantArraySize);
-        angle = new TDoubleArrayList(variantArraySize);
-        connectedComponentNumber = new TIntArrayList(variantArraySize);
-        synchronousComponentNumber = new TIntArrayList(variantArraySize);
+        v = new MultiVariantDoubleArrayList(network, variantArraySize);
+        angle = new MultiVariantDoubleArrayList(network, variantArraySize);
+        connectedComponentNumber = new MultiVariantIntArrayList(network, variantArraySize);
+        synchronousComponentNumber = new MultiVariantIntArrayList(network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             v.add(Double.NaN);
             angle.add(Double.NaN);
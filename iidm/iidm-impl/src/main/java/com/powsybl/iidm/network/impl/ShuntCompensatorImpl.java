@@ -6,10 +6,8 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 import java.util.*;
 
@@ -30,16 +28,16 @@ class ShuntCompensatorImpl extends AbstractConnectable<ShuntCompensator> impleme
     // attributes depending on the variant
 
     /* the current number of section switched on */
-    private final ArrayList<Integer> sectionCount;
+    private final MultiVariantArrayList<Integer> sectionCount;
 
     /* the regulating status */
-    private final TBooleanArrayList voltageRegulatorOn;
+    private final MultiVariantBooleanArrayList voltageRegulatorOn;
 
     /* the target voltage value */
-    private final TDoubleArrayList targetV;
+    private final MultiVariantDoubleArrayList targetV;
 
     /* the target deadband */
-    private final TDoubleArrayList targetDeadband;
+    private final MultiVariantDoubleArrayList targetDeadband;
 
     ShuntCompensatorImpl(Ref<NetworkImpl> network,
                          String id, String name, boolean fictitious, ShuntCompensatorModelExt model,
@@ -49,10 +47,10 @@ class ShuntCompensatorImpl extends AbstractConnectable<ShuntCompensator> impleme
         this.network = network;
         this.regulatingTerminal = regulatingTerminal;
         int variantArraySize = this.network.get().getVariantManager().getVariantArraySize();
-        this.sectionCount = new ArrayList<>(variantArraySize);
-        this.voltageRegulatorOn = new TBooleanArrayList(variantArraySize);
-        this.targetV = new TDoubleArrayList(variantArraySize);
-        this.targetDeadband = new TDoubleArrayList(variantArraySize);
+        this.sectionCount = new MultiVariantArrayList<>(this.network, variantArraySize);
+        this.voltageRegulatorOn = new MultiVariantBooleanArrayList(this.network, variantArraySize);
+        this.targetV = new MultiVariantDoubleArrayList(this.network, variantArraySize);
+        this.targetDeadband = new MultiVariantDoubleArrayList(this.network, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.sectionCount.add(sectionCount);
             this.voltageRegulatorOn.add(voltageRegulatorOn);
@@ -10,8 +10,6 @@ import com.powsybl.iidm.network.StaticVarCompensator;
 import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.ValidationUtil;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
-import gnu.trove.list.array.TIntArrayList;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -28,11 +26,11 @@ class StaticVarCompensatorImpl extends AbstractConnectable<StaticVarCompensator>
 
     // attributes depending on the variant
 
-    private final TDoubleArrayList voltageSetpoint;
+    private final MultiVariantDoubleArrayList voltageSetpoint;
 
-    private final TDoubleArrayList reactivePowerSetpoint;
+    private final MultiVariantDoubleArrayList reactivePowerSetpoint;
 
-    private final TIntArrayList regulationMode;
+    private final MultiVariantIntArrayList regulationMode;
 
     StaticVarCompensatorImpl(String id, String name, boolean fictitious, double bMin, double bMax, double voltageSetpoint, double reactivePowerSetpoint,
                              RegulationMode regulationMode, TerminalExt regulatingTerminal, Ref<NetworkImpl> ref) {
@@ -40,9 +38,9 @@ class StaticVarCompensatorImpl extends AbstractConnectable<StaticVarCompensator>
         this.bMin = bMin;
         this.bMax = bMax;
         int variantArraySize = ref.get().getVariantManager().getVariantArraySize();
-        this.voltageSetpoint = new TDoubleArrayList(variantArraySize);
-        this.reactivePowerSetpoint = new TDoubleArrayList(variantArraySize);
-        this.regulationMode = new TIntArrayList(variantArraySize);
+        this.voltageSetpoint = new MultiVariantDoubleArrayList(ref, variantArraySize);
+        this.reactivePowerSetpoint = new MultiVariantDoubleArrayList(ref, variantArraySize);
+        this.regulationMode = new MultiVariantIntArrayList(ref, variantArraySize);
         this.regulatingTerminal = regulatingTerminal;
         for (int i = 0; i < variantArraySize; i++) {
             this.voltageSetpoint.add(voltageSetpoint);
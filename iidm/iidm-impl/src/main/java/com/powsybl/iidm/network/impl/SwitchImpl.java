@@ -6,7 +6,6 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 
 /**
@@ -19,9 +18,9 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
 
     private final SwitchKind kind;
 
-    private final TBooleanArrayList open;
+    private final MultiVariantBooleanArrayList open;
 
-    private final TBooleanArrayList retained;
+    private final MultiVariantBooleanArrayList retained;
 
     SwitchImpl(VoltageLevelExt voltageLevel,
                String id, String name, boolean fictitious, SwitchKind kind, final boolean open, boolean retained) {
@@ -29,8 +28,8 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
         this.voltageLevel = voltageLevel;
         this.kind = kind;
         int variantArraySize = voltageLevel.getNetwork().getVariantManager().getVariantArraySize();
-        this.open = new TBooleanArrayList(variantArraySize);
-        this.retained = new TBooleanArrayList(variantArraySize);
+        this.open = new MultiVariantBooleanArrayList(voltageLevel.getNetwork().getRef(), variantArraySize);
+        this.retained = new MultiVariantBooleanArrayList(voltageLevel.getNetwork().getRef(), variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.open.add(open);
             this.retained.add(retained);
@@ -66,7 +65,7 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
             this.open.set(index, open);
             String variantId = network.getVariantManager().getVariantId(index);
             network.getListeners().notifyUpdate(this, "open", variantId, oldValue, open);
-            voltageLevel.invalidateCache();
+            voltageLevel.invalidateCache(this);
         }
     }
 
@@ -87,7 +86,7 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
             this.retained.set(index, retained);
             String variantId = network.getVariantManager().getVariantId(index);
             network.getListeners().notifyUpdate(this, "retained", variantId, oldValue, retained);
-            voltageLevel.invalidateCache();
+            voltageLevel.invalidateCache(this);
         }
     }
 
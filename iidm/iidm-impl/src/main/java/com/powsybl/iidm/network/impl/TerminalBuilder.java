@@ -16,7 +16,7 @@ import com.powsybl.iidm.network.ValidationException;
  */
 class TerminalBuilder {
 
-    private final Ref<? extends VariantManagerHolder> network;
+    private final Ref<NetworkImpl> network;
 
     private final Validable validable;
 
@@ -26,7 +26,7 @@ class TerminalBuilder {
 
     private String connectableBus;
 
-    TerminalBuilder(Ref<? extends VariantManagerHolder> network, Validable validable) {
+    TerminalBuilder(Ref<NetworkImpl> network, Validable validable) {
         this.network = network;
         this.validable = validable;
     }
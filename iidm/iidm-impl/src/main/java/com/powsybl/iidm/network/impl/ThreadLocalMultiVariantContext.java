@@ -9,17 +9,26 @@ package com.powsybl.iidm.network.impl;
 import com.powsybl.commons.PowsyblException;
 
 /**
+ * The variant index of each thread is stored in a mutable holder, so that reading it is a single thread local lookup,
+ * without unboxing, and setting it does not allocate once the thread has a holder.
  *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class ThreadLocalMultiVariantContext implements VariantContext {
 
-    private final ThreadLocal<Integer> index = ThreadLocal.withInitial(() -> null);
+    private static final int UNSET = -1;
+
+    private static final class IndexHolder {
+
+        private int index = UNSET;
+    }
+
+    private final ThreadLocal<IndexHolder> index = ThreadLocal.withInitial(IndexHolder::new);
 
     @Override
     public int getVariantIndex() {
-        Integer i = index.get();
-        if (i == null) {
+        int i = index.get().index;
+        if (i == UNSET) {
             throw new PowsyblException("Variant index not set for current thread " + Thread.currentThread().getName());
         }
         return i;
@@ -27,7 +36,7 @@ public class ThreadLocalMultiVariantContext implements VariantContext {
 
     @Override
     public void setVariantIndex(int index) {
-        this.index.set(index);
+        this.index.get().index = index;
     }
 
     public void reset() {
@@ -36,15 +45,15 @@ public class ThreadLocalMultiVariantContext implements VariantContext {
 
     @Override
     public void resetIfVariantIndexIs(int index) {
-        Integer i = this.index.get();
-        if (i != null && i == index) {
-            this.index.remove();
+        IndexHolder holder = this.index.get();
+        if (holder.index == index) {
+            holder.index = UNSET;
         }
     }
 
     @Override
     public boolean isIndexSet() {
-        return this.index.get() != null;
+        return this.index.get().index != UNSET;
     }
 
 }
@@ -7,12 +7,19 @@
 package com.powsybl.iidm.network.impl;
 
 import com.powsybl.iidm.network.impl.util.Ref;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
  * To easily manage an array of variant.
+ * <p>
+ * Reading a variant does not take any lock: the array is only modified by variant management operations, which
+ * replace it by a modified copy.
+ * <p>
+ * Variants of copy-on-write variants are created with the variant factory on first access.
  *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
@@ -20,52 +27,93 @@ class VariantArray<S extends Variant> {
 
     private final Ref<? extends VariantManagerHolder> variantManagerHolder;
 
-    private final List<S> variants;
+    private volatile Object[] variants;
+
+    private final VariantFactory<S> variantFactory;
+
+    private TIntObjectHashMap<S> copyOnWriteVariants;
+
+    private TIntIntHashMap copyOnWriteOwnership;
+
+    private IntConsumer copyOnWriteReleaser;
 
     VariantArray(Ref<? extends VariantManagerHolder> variantManagerHolder, VariantFactory<S> variantFactory) {
         this.variantManagerHolder = variantManagerHolder;
+        this.variantFactory = variantFactory;
         VariantManagerImpl variantManager = variantManagerHolder.get().getVariantManager();
-        variants = Collections.synchronizedList(new ArrayList<S>(variantManager.getVariantArraySize()));
-        for (int i = 0; i < variantManager.getVariantArraySize(); i++) {
-            variants.add(null);
-        }
+        Object[] newVariants = new Object[variantManager.getVariantArraySize()];
         for (int i : variantManager.getVariantIndexes()) {
-            variants.set(i, variantFactory.newVariant());
+            if (!CopyOnWriteVariants.isCopyOnWriteIndex(i)) {
+                newVariants[i] = variantFactory.newVariant();
+            }
         }
+        variants = newVariants;
     }
 
     S get() {
-        return variants.get(variantManagerHolder.get().getVariantManager().getVariantContext().getVariantIndex());
+        return get(variantManagerHolder.get().getVariantManager().getVariantContext().getVariantIndex());
+    }
+
+    @SuppressWarnings("unchecked")
+    private S get(int index) {
+        if (!CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            return (S) variants[index];
+        }
+        synchronized (this) {
+            CopyOnWriteVariants cowVariants = variantManagerHolder.get().getVariantManager().getCopyOnWriteVariants();
+            int slot = CopyOnWriteVariants.getSlot(index);
+            if (cowVariants.owns(copyOnWriteOwnership, index)) {
+                return copyOnWriteVariants.get(slot);
+            }
+            if (copyOnWriteVariants == null) {
+                copyOnWriteVariants = new TIntObjectHashMap<>();
+                copyOnWriteOwnership = new TIntIntHashMap();
+                copyOnWriteReleaser = this::releaseCopyOnWrite;
+            }
+            S variant = variantFactory.newVariant();
+            copyOnWriteVariants.put(slot, variant);
+            cowVariants.own(copyOnWriteOwnership, index, copyOnWriteReleaser);
+            return variant;
+        }
+    }
+
+    private synchronized void releaseCopyOnWrite(int slot) {
+        copyOnWriteVariants.remove(slot);
+        copyOnWriteOwnership.remove(slot);
     }
 
     void push(int number, VariantFactory<S> variantFactory) {
-        for (int i = 0; i < number; i++) {
-            variants.add(variantFactory.newVariant());
+        Object[] newVariants = Arrays.copyOf(variants, variants.length + number);
+        for (int i = variants.length; i < newVariants.length; i++) {
+            newVariants[i] = variantFactory.newVariant();
         }
+        variants = newVariants;
     }
 
     void push(VariantFactory<S> variantFactory) {
-        variants.add(variantFactory.newVariant());
+        push(1, variantFactory);
     }
 
     void pop(int number) {
-        for (int i = 0; i < number; i++) {
-            variants.remove(variants.size() - 1);
-        }
+        variants = Arrays.copyOf(variants, variants.length - number);
     }
 
     void delete(int index) {
-        variants.set(index, null);
+        Object[] newVariants = variants.clone();
+        newVariants[index] = null;
+        variants = newVariants;
     }
 
     void allocate(int[] indexes, VariantFactory<S> variantFactory) {
+        Object[] newVariants = variants.clone();
         for (int index : indexes) {
-            variants.set(index, variantFactory.newVariant());
+            newVariants[index] = variantFactory.newVariant();
         }
+        variants = newVariants;
     }
 
     S copy(int index) {
-        return variants.get(index).copy();
+        return get(index).copy();
     }
 
 }
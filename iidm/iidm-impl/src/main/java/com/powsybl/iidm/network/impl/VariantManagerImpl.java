@@ -17,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  *
@@ -38,6 +39,8 @@ public class VariantManagerImpl implements VariantManager {
 
     private final Deque<Integer> unusedIndexes = new ArrayDeque<>();
 
+    private final CopyOnWriteVariants copyOnWriteVariants = new CopyOnWriteVariants();
+
     private final NetworkImpl network;
 
     VariantManagerImpl(NetworkImpl network) {
@@ -53,6 +56,10 @@ public class VariantManagerImpl implements VariantManager {
         return variantContext;
     }
 
+    CopyOnWriteVariants getCopyOnWriteVariants() {
+        return copyOnWriteVariants;
+    }
+
     @Override
     public Collection<String> getVariantIds() {
         return Collections.unmodifiableSet(id2index.keySet());
@@ -133,7 +140,14 @@ public class VariantManagerImpl implements VariantManager {
         for (String targetVariantId : targetVariantIds) {
             if (id2index.containsKey(targetVariantId)) {
                 if (mayOverwrite) {
-                    overwritten.add(id2index.get(targetVariantId));
+                    int targetIndex = id2index.get(targetVariantId);
+                    if (CopyOnWriteVariants.isCopyOnWriteIndex(targetIndex)) {
+                        // a copy-on-write variant stays a copy-on-write variant
+                        overwriteCopyOnWriteVariant(targetVariantId, targetIndex, sourceIndex);
+                    } else {
+                        checkNoCopyOnWriteChildren(targetVariantId, targetIndex);
+                        overwritten.add(targetIndex);
+                    }
 
                     network.getListeners().notifyVariantOverwritten(sourceVariantId, targetVariantId);
                 } else {
@@ -166,6 +180,52 @@ public class VariantManagerImpl implements VariantManager {
         }
     }
 
+    @Override
+    public void cloneVariantCopyOnWrite(String sourceVariantId, List<String> targetVariantIds, boolean mayOverwrite) {
+        if (targetVariantIds.isEmpty()) {
+            throw new IllegalArgumentException("Empty target variant id list");
+        }
+        LOGGER.debug("Creating copy-on-write variants {}", targetVariantIds);
+        int sourceIndex = getVariantIndex(sourceVariantId);
+        List<Integer> overwritten = new ArrayList<>();
+        for (String targetVariantId : targetVariantIds) {
+            Integer targetIndex = id2index.get(targetVariantId);
+            if (targetIndex != null) {
+                if (!mayOverwrite) {
+                    throw new PowsyblException("Target variant '" + targetVariantId + "' already exists");
+                }
+                if (CopyOnWriteVariants.isCopyOnWriteIndex(targetIndex)) {
+                    overwriteCopyOnWriteVariant(targetVariantId, targetIndex, sourceIndex);
+                } else {
+                    // a regular variant stays a regular variant
+                    checkNoCopyOnWriteChildren(targetVariantId, targetIndex);
+                    overwritten.add(targetIndex);
+                }
+                network.getListeners().notifyVariantOverwritten(sourceVariantId, targetVariantId);
+            } else {
+                id2index.put(targetVariantId, copyOnWriteVariants.create(sourceIndex));
+
+                network.getListeners().notifyVariantCreated(sourceVariantId, targetVariantId);
+            }
+        }
+        allocateVariantArrayElements(sourceIndex, Collections.emptyList(), overwritten);
+    }
+
+    private void checkNoCopyOnWriteChildren(String variantId, int index) {
+        if (copyOnWriteVariants.hasChildren(index)) {
+            throw new PowsyblException("Variant '" + variantId + "' is the source of copy-on-write variants "
+                    + Arrays.stream(copyOnWriteVariants.getChildren(index)).mapToObj(this::getVariantId).collect(Collectors.toList()));
+        }
+    }
+
+    private void overwriteCopyOnWriteVariant(String variantId, int index, int sourceIndex) {
+        checkNoCopyOnWriteChildren(variantId, index);
+        // as the variant has no children, the source cannot depend on it, except if it is the variant itself
+        if (index != sourceIndex) {
+            copyOnWriteVariants.overwrite(index, sourceIndex);
+        }
+    }
+
     private void allocateVariantArrayElements(Integer sourceIndex, List<Integer> recycled, List<Integer> overwritten) {
         if (!recycled.isEmpty()) {
             int[] indexes = Ints.toArray(recycled);
@@ -193,9 +253,13 @@ public class VariantManagerImpl implements VariantManager {
             throw new PowsyblException("Removing initial variant is forbidden");
         }
         int index = getVariantIndex(variantId);
+        checkNoCopyOnWriteChildren(variantId, index);
         id2index.remove(variantId);
         LOGGER.debug("Removing variant '{}'", variantId);
-        if (index == variantArraySize - 1) {
+        if (CopyOnWriteVariants.isCopyOnWriteIndex(index)) {
+            // values written in the variant are ignored from now on, no need to visit the network objects
+            copyOnWriteVariants.remove(index);
+        } else if (index == variantArraySize - 1) {
             // remove consecutive unsused index starting from the end
             int number = 0; // number of elements to remove
             Set<Integer> removed = new HashSet<>();
@@ -53,4 +53,11 @@ interface VoltageLevelExt extends VoltageLevel, MultiVariantObject {
     boolean disconnect(TerminalExt terminal);
 
     void invalidateCache();
+
+    /**
+     * Invalidate the cached data depending on the state of a switch, after it has changed.
+     */
+    default void invalidateCache(SwitchImpl aSwitch) {
+        invalidateCache();
+    }
 }
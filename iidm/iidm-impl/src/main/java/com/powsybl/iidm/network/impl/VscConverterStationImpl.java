@@ -6,10 +6,8 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -21,11 +19,11 @@ class VscConverterStationImpl extends AbstractHvdcConverterStation<VscConverterS
 
     private final ReactiveLimitsHolderImpl reactiveLimits;
 
-    private final TBooleanArrayList voltageRegulatorOn;
+    private final MultiVariantBooleanArrayList voltageRegulatorOn;
 
-    private final TDoubleArrayList reactivePowerSetpoint;
+    private final MultiVariantDoubleArrayList reactivePowerSetpoint;
 
-    private final TDoubleArrayList voltageSetpoint;
+    private final MultiVariantDoubleArrayList voltageSetpoint;
 
     private TerminalExt regulatingTerminal;
 
@@ -33,9 +31,9 @@ class VscConverterStationImpl extends AbstractHvdcConverterStation<VscConverterS
                             boolean voltageRegulatorOn, double reactivePowerSetpoint, double voltageSetpoint, TerminalExt regulatingTerminal) {
         super(ref, id, name, fictitious, lossFactor);
         int variantArraySize = ref.get().getVariantManager().getVariantArraySize();
-        this.voltageRegulatorOn = new TBooleanArrayList(variantArraySize);
-        this.reactivePowerSetpoint = new TDoubleArrayList(variantArraySize);
-        this.voltageSetpoint = new TDoubleArrayList(variantArraySize);
+        this.voltageRegulatorOn = new MultiVariantBooleanArrayList(ref, variantArraySize);
+        this.reactivePowerSetpoint = new MultiVariantDoubleArrayList(ref, variantArraySize);
+        this.voltageSetpoint = new MultiVariantDoubleArrayList(ref, variantArraySize);
         this.voltageRegulatorOn.fill(0, variantArraySize, voltageRegulatorOn);
         this.reactivePowerSetpoint.fill(0, variantArraySize, reactivePowerSetpoint);
         this.voltageSetpoint.fill(0, variantArraySize, voltageSetpoint);
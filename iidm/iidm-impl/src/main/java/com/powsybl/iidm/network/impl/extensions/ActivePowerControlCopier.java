@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.ActivePowerControl;
+import com.powsybl.iidm.network.extensions.ActivePowerControlAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class ActivePowerControlCopier implements ExtensionCopier<ActivePowerControl<?>> {
+
+    @Override
+    public Class<ActivePowerControl> getExtensionClass() {
+        return ActivePowerControl.class;
+    }
+
+    @Override
+    public void copy(ActivePowerControl<?> extension, Identifiable<?> identifiable, Context context) {
+        ((ActivePowerControlAdder<?>) ((Identifiable) identifiable).newExtension(ActivePowerControlAdder.class))
+                .withParticipate(extension.isParticipate())
+                .withDroop(extension.getDroop())
+                .add();
+    }
+
+    @Override
+    public void copyState(ActivePowerControl<?> extension, Identifiable<?> identifiable, Context context) {
+        ActivePowerControl<?> copy = (ActivePowerControl<?>) ((Identifiable) identifiable).getExtension(ActivePowerControl.class);
+        copy.setParticipate(extension.isParticipate());
+        copy.setDroop(extension.getDroop());
+    }
+}
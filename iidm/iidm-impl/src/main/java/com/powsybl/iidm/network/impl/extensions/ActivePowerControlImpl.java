@@ -6,11 +6,11 @@
  */
 package com.powsybl.iidm.network.impl.extensions;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.Injection;
 import com.powsybl.iidm.network.extensions.ActivePowerControl;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-import gnu.trove.list.array.TFloatArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantBooleanArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantFloatArrayList;
 
 /**
  * @author Ghiles Abdellah <ghiles.abdellah at rte-france.com>
@@ -18,15 +18,15 @@ import gnu.trove.list.array.TFloatArrayList;
 public class ActivePowerControlImpl<T extends Injection<T>> extends AbstractMultiVariantIdentifiableExtension<T>
         implements ActivePowerControl<T> {
 
-    private TBooleanArrayList participate;
+    private MultiVariantBooleanArrayList participate;
 
-    private TFloatArrayList droop;
+    private MultiVariantFloatArrayList droop;
 
     public ActivePowerControlImpl(T component, boolean participate, float droop) {
         super(component);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.participate = new TBooleanArrayList(variantArraySize);
-        this.droop = new TFloatArrayList(variantArraySize);
+        this.participate = new MultiVariantBooleanArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.droop = new MultiVariantFloatArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.participate.add(participate);
             this.droop.add(droop);
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.BusbarSectionPosition;
+import com.powsybl.iidm.network.extensions.BusbarSectionPositionAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class BusbarSectionPositionCopier implements ExtensionCopier<BusbarSectionPosition> {
+
+    @Override
+    public Class<BusbarSectionPosition> getExtensionClass() {
+        return BusbarSectionPosition.class;
+    }
+
+    @Override
+    public void copy(BusbarSectionPosition extension, Identifiable<?> identifiable, Context context) {
+        ((BusbarSectionPositionAdder) ((Identifiable) identifiable).newExtension(BusbarSectionPositionAdder.class))
+                .withBusbarIndex(extension.getBusbarIndex())
+                .withSectionIndex(extension.getSectionIndex())
+                .add();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.ConnectablePosition;
+import com.powsybl.iidm.network.extensions.ConnectablePositionAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class ConnectablePositionCopier implements ExtensionCopier<ConnectablePosition<?>> {
+
+    @Override
+    public Class<ConnectablePosition> getExtensionClass() {
+        return ConnectablePosition.class;
+    }
+
+    @Override
+    public void copy(ConnectablePosition<?> extension, Identifiable<?> identifiable, Context context) {
+        ConnectablePositionAdder<?> adder = (ConnectablePositionAdder<?>) ((Identifiable) identifiable).newExtension(ConnectablePositionAdder.class);
+        copyFeeder(extension.getFeeder(), adder.newFeeder());
+        copyFeeder(extension.getFeeder1(), adder.newFeeder1());
+        copyFeeder(extension.getFeeder2(), adder.newFeeder2());
+        copyFeeder(extension.getFeeder3(), adder.newFeeder3());
+        adder.add();
+    }
+
+    private static void copyFeeder(ConnectablePosition.Feeder feeder, ConnectablePositionAdder.FeederAdder<?> adder) {
+        if (feeder != null) {
+            adder.withName(feeder.getName())
+                    .withDirection(feeder.getDirection());
+            feeder.getOrder().ifPresent(adder::withOrder);
+            adder.add();
+        }
+    }
+}
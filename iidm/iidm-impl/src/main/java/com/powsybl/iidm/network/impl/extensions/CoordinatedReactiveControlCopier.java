@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.CoordinatedReactiveControl;
+import com.powsybl.iidm.network.extensions.CoordinatedReactiveControlAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class CoordinatedReactiveControlCopier implements ExtensionCopier<CoordinatedReactiveControl> {
+
+    @Override
+    public Class<CoordinatedReactiveControl> getExtensionClass() {
+        return CoordinatedReactiveControl.class;
+    }
+
+    @Override
+    public void copy(CoordinatedReactiveControl extension, Identifiable<?> identifiable, Context context) {
+        ((CoordinatedReactiveControlAdder) ((Identifiable) identifiable).newExtension(CoordinatedReactiveControlAdder.class))
+                .withQPercent(extension.getQPercent())
+                .add();
+    }
+
+    @Override
+    public void copyState(CoordinatedReactiveControl extension, Identifiable<?> identifiable, Context context) {
+        ((Generator) identifiable).getExtension(CoordinatedReactiveControl.class).setQPercent(extension.getQPercent());
+    }
+}
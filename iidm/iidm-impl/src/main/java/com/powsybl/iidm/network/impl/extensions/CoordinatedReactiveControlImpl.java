@@ -10,7 +10,7 @@ import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.Generator;
 import com.powsybl.iidm.network.extensions.CoordinatedReactiveControl;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-import gnu.trove.list.array.TDoubleArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantDoubleArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,12 +20,12 @@ import org.slf4j.LoggerFactory;
 public class CoordinatedReactiveControlImpl extends AbstractMultiVariantIdentifiableExtension<Generator> implements CoordinatedReactiveControl {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CoordinatedReactiveControlImpl.class);
-    private TDoubleArrayList qPercent;
+    private MultiVariantDoubleArrayList qPercent;
 
     public CoordinatedReactiveControlImpl(Generator generator, double qPercent) {
         super(generator);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.qPercent = new TDoubleArrayList(variantArraySize);
+        this.qPercent = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.qPercent.add(checkQPercent(generator, qPercent));
         }
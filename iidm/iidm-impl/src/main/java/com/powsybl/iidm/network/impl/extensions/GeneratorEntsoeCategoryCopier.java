@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.GeneratorEntsoeCategory;
+import com.powsybl.iidm.network.extensions.GeneratorEntsoeCategoryAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class GeneratorEntsoeCategoryCopier implements ExtensionCopier<GeneratorEntsoeCategory> {
+
+    @Override
+    public Class<GeneratorEntsoeCategory> getExtensionClass() {
+        return GeneratorEntsoeCategory.class;
+    }
+
+    @Override
+    public void copy(GeneratorEntsoeCategory extension, Identifiable<?> identifiable, Context context) {
+        ((GeneratorEntsoeCategoryAdder) ((Identifiable) identifiable).newExtension(GeneratorEntsoeCategoryAdder.class))
+                .withCode(extension.getCode())
+                .add();
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.GeneratorShortCircuit;
+import com.powsybl.iidm.network.extensions.GeneratorShortCircuitAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class GeneratorShortCircuitCopier implements ExtensionCopier<GeneratorShortCircuit> {
+
+    @Override
+    public Class<GeneratorShortCircuit> getExtensionClass() {
+        return GeneratorShortCircuit.class;
+    }
+
+    @Override
+    public void copy(GeneratorShortCircuit extension, Identifiable<?> identifiable, Context context) {
+        ((GeneratorShortCircuitAdder) ((Identifiable) identifiable).newExtension(GeneratorShortCircuitAdder.class))
+                .withDirectSubtransX(extension.getDirectSubtransX())
+                .withDirectTransX(extension.getDirectTransX())
+                .withStepUpTransformerX(extension.getStepUpTransformerX())
+                .add();
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.GeneratorStartup;
+import com.powsybl.iidm.network.extensions.GeneratorStartupAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class GeneratorStartupCopier implements ExtensionCopier<GeneratorStartup> {
+
+    @Override
+    public Class<GeneratorStartup> getExtensionClass() {
+        return GeneratorStartup.class;
+    }
+
+    @Override
+    public void copy(GeneratorStartup extension, Identifiable<?> identifiable, Context context) {
+        ((GeneratorStartupAdder) ((Identifiable) identifiable).newExtension(GeneratorStartupAdder.class))
+                .withPlannedActivePowerSetpoint(extension.getPlannedActivePowerSetpoint())
+                .withStartupCost(extension.getStartupCost())
+                .withMarginalCost(extension.getMarginalCost())
+                .withPlannedOutageRate(extension.getPlannedOutageRate())
+                .withForcedOutageRate(extension.getForcedOutageRate())
+                .add();
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.HvdcLine;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.HvdcAngleDroopActivePowerControl;
+import com.powsybl.iidm.network.extensions.HvdcAngleDroopActivePowerControlAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class HvdcAngleDroopActivePowerControlCopier implements ExtensionCopier<HvdcAngleDroopActivePowerControl> {
+
+    @Override
+    public Class<HvdcAngleDroopActivePowerControl> getExtensionClass() {
+        return HvdcAngleDroopActivePowerControl.class;
+    }
+
+    @Override
+    public void copy(HvdcAngleDroopActivePowerControl extension, Identifiable<?> identifiable, Context context) {
+        ((HvdcAngleDroopActivePowerControlAdder) ((Identifiable) identifiable).newExtension(HvdcAngleDroopActivePowerControlAdder.class))
+                .withP0(extension.getP0())
+                .withDroop(extension.getDroop())
+                .withEnabled(extension.isEnabled())
+                .add();
+    }
+
+    @Override
+    public void copyState(HvdcAngleDroopActivePowerControl extension, Identifiable<?> identifiable, Context context) {
+        ((HvdcLine) identifiable).getExtension(HvdcAngleDroopActivePowerControl.class)
+                .setP0(extension.getP0())
+                .setDroop(extension.getDroop())
+                .setEnabled(extension.isEnabled());
+    }
+}
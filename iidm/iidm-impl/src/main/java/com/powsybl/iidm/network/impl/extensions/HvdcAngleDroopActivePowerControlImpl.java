@@ -8,11 +8,11 @@
 
 package com.powsybl.iidm.network.impl.extensions;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.HvdcLine;
 import com.powsybl.iidm.network.extensions.HvdcAngleDroopActivePowerControl;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-import gnu.trove.list.array.TFloatArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantBooleanArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantFloatArrayList;
 
 import java.util.Objects;
 
@@ -28,25 +28,25 @@ public class HvdcAngleDroopActivePowerControlImpl extends AbstractMultiVariantId
     /**
      * Active power offset in MW
      */
-    private TFloatArrayList p0;
+    private MultiVariantFloatArrayList p0;
 
     /**
      * Droop in MW/degree
      */
-    private TFloatArrayList droop;
+    private MultiVariantFloatArrayList droop;
 
     /**
      * Enables or disables this active power control mode.
      * If this active power control mode is disabled, use the setpoint mode by default.
      */
-    private TBooleanArrayList enabled;
+    private MultiVariantBooleanArrayList enabled;
 
     public HvdcAngleDroopActivePowerControlImpl(HvdcLine hvdcLine, float p0, float droop, boolean enabled) {
         super(hvdcLine);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.p0 = new TFloatArrayList(variantArraySize);
-        this.droop = new TFloatArrayList(variantArraySize);
-        this.enabled = new TBooleanArrayList(variantArraySize);
+        this.p0 = new MultiVariantFloatArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.droop = new MultiVariantFloatArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.enabled = new MultiVariantBooleanArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.p0.add(checkP0(p0));
             this.droop.add(checkDroop(droop));
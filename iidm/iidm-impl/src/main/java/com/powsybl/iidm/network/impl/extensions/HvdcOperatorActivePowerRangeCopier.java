@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.HvdcLine;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.HvdcOperatorActivePowerRange;
+import com.powsybl.iidm.network.extensions.HvdcOperatorActivePowerRangeAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class HvdcOperatorActivePowerRangeCopier implements ExtensionCopier<HvdcOperatorActivePowerRange> {
+
+    @Override
+    public Class<HvdcOperatorActivePowerRange> getExtensionClass() {
+        return HvdcOperatorActivePowerRange.class;
+    }
+
+    @Override
+    public void copy(HvdcOperatorActivePowerRange extension, Identifiable<?> identifiable, Context context) {
+        ((HvdcOperatorActivePowerRangeAdder) ((Identifiable) identifiable).newExtension(HvdcOperatorActivePowerRangeAdder.class))
+                .withOprFromCS1toCS2(extension.getOprFromCS1toCS2())
+                .withOprFromCS2toCS1(extension.getOprFromCS2toCS1())
+                .add();
+    }
+
+    @Override
+    public void copyState(HvdcOperatorActivePowerRange extension, Identifiable<?> identifiable, Context context) {
+        ((HvdcLine) identifiable).getExtension(HvdcOperatorActivePowerRange.class)
+                .setOprFromCS1toCS2(extension.getOprFromCS1toCS2())
+                .setOprFromCS2toCS1(extension.getOprFromCS2toCS1());
+    }
+}
@@ -12,7 +12,7 @@ import com.powsybl.iidm.network.HvdcConverterStation;
 import com.powsybl.iidm.network.HvdcLine;
 import com.powsybl.iidm.network.extensions.HvdcOperatorActivePowerRange;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-import gnu.trove.list.array.TFloatArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantFloatArrayList;
 
 import java.util.Objects;
 
@@ -25,18 +25,18 @@ public class HvdcOperatorActivePowerRangeImpl extends AbstractMultiVariantIdenti
     /**
      * Operator active power range from the converter station 1 to the converter station 2 in MW.
      */
-    private TFloatArrayList oprFromCS1toCS2;
+    private MultiVariantFloatArrayList oprFromCS1toCS2;
 
     /**
      * Operator active power range from the converter station 2 to the converter station 1 in MW.
      */
-    private TFloatArrayList oprFromCS2toCS1;
+    private MultiVariantFloatArrayList oprFromCS2toCS1;
 
     public HvdcOperatorActivePowerRangeImpl(HvdcLine hvdcLine, float oprFromCS1toCS2, float oprFromCS2toCS1) {
         super(hvdcLine);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.oprFromCS1toCS2 = new TFloatArrayList(variantArraySize);
-        this.oprFromCS2toCS1 = new TFloatArrayList(variantArraySize);
+        this.oprFromCS1toCS2 = new MultiVariantFloatArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.oprFromCS2toCS1 = new MultiVariantFloatArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.oprFromCS1toCS2.add(checkOPR(oprFromCS1toCS2, hvdcLine.getConverterStation1(), hvdcLine.getConverterStation2()));
             this.oprFromCS2toCS1.add(checkOPR(oprFromCS2toCS1, hvdcLine.getConverterStation2(), hvdcLine.getConverterStation1()));
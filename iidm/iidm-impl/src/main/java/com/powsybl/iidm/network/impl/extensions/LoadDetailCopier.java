@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.LoadDetail;
+import com.powsybl.iidm.network.extensions.LoadDetailAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class LoadDetailCopier implements ExtensionCopier<LoadDetail> {
+
+    @Override
+    public Class<LoadDetail> getExtensionClass() {
+        return LoadDetail.class;
+    }
+
+    @Override
+    public void copy(LoadDetail extension, Identifiable<?> identifiable, Context context) {
+        ((LoadDetailAdder) ((Identifiable) identifiable).newExtension(LoadDetailAdder.class))
+                .withFixedActivePower(extension.getFixedActivePower())
+                .withFixedReactivePower(extension.getFixedReactivePower())
+                .withVariableActivePower(extension.getVariableActivePower())
+                .withVariableReactivePower(extension.getVariableReactivePower())
+                .add();
+    }
+
+    @Override
+    public void copyState(LoadDetail extension, Identifiable<?> identifiable, Context context) {
+        ((Load) identifiable).getExtension(LoadDetail.class)
+                .setFixedActivePower(extension.getFixedActivePower())
+                .setFixedReactivePower(extension.getFixedReactivePower())
+                .setVariableActivePower(extension.getVariableActivePower())
+                .setVariableReactivePower(extension.getVariableReactivePower());
+    }
+}
@@ -9,30 +9,29 @@ package com.powsybl.iidm.network.impl.extensions;
 import com.powsybl.iidm.network.Load;
 import com.powsybl.iidm.network.extensions.LoadDetail;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-
-import gnu.trove.list.array.TDoubleArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantDoubleArrayList;
 
 /**
  * @author Miora Ralambotiana <miora.ralambotiana at rte-france.com>
  */
 public class LoadDetailImpl extends AbstractMultiVariantIdentifiableExtension<Load> implements LoadDetail {
 
-    private final TDoubleArrayList fixedActivePower;
+    private final MultiVariantDoubleArrayList fixedActivePower;
 
-    private final TDoubleArrayList fixedReactivePower;
+    private final MultiVariantDoubleArrayList fixedReactivePower;
 
-    private final TDoubleArrayList variableActivePower;
+    private final MultiVariantDoubleArrayList variableActivePower;
 
-    private final TDoubleArrayList variableReactivePower;
+    private final MultiVariantDoubleArrayList variableReactivePower;
 
     public LoadDetailImpl(Load load, double fixedActivePower, double fixedReactivePower,
                 double variableActivePower, double variableReactivePower) {
         super(load);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.fixedActivePower = new TDoubleArrayList(variantArraySize);
-        this.fixedReactivePower = new TDoubleArrayList(variantArraySize);
-        this.variableActivePower = new TDoubleArrayList(variantArraySize);
-        this.variableReactivePower = new TDoubleArrayList(variantArraySize);
+        this.fixedActivePower = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.fixedReactivePower = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.variableActivePower = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
+        this.variableReactivePower = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.fixedActivePower.add(checkPower(fixedActivePower, "Invalid fixedActivePower"));
             this.fixedReactivePower.add(checkPower(fixedReactivePower, "Invalid fixedReactivePower"));
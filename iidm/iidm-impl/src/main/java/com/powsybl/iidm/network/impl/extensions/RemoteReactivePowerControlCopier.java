@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.RemoteReactivePowerControl;
+import com.powsybl.iidm.network.extensions.RemoteReactivePowerControlAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class RemoteReactivePowerControlCopier implements ExtensionCopier<RemoteReactivePowerControl> {
+
+    @Override
+    public Class<RemoteReactivePowerControl> getExtensionClass() {
+        return RemoteReactivePowerControl.class;
+    }
+
+    @Override
+    public void copy(RemoteReactivePowerControl extension, Identifiable<?> identifiable, Context context) {
+        ((RemoteReactivePowerControlAdder) ((Identifiable) identifiable).newExtension(RemoteReactivePowerControlAdder.class))
+                .withTargetQ(extension.getTargetQ())
+                .withRegulatingTerminal(context.getTerminal(extension.getRegulatingTerminal()))
+                .withEnabled(extension.isEnabled())
+                .add();
+    }
+
+    @Override
+    public void copyState(RemoteReactivePowerControl extension, Identifiable<?> identifiable, Context context) {
+        ((Generator) identifiable).getExtension(RemoteReactivePowerControl.class)
+                .setTargetQ(extension.getTargetQ())
+                .setEnabled(extension.isEnabled());
+    }
+}
@@ -6,30 +6,30 @@
  */
 package com.powsybl.iidm.network.impl.extensions;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.Generator;
 import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.extensions.RemoteReactivePowerControl;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
-import gnu.trove.list.array.TDoubleArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantBooleanArrayList;
+import com.powsybl.iidm.network.impl.MultiVariantDoubleArrayList;
 
 /**
  * @author Bertrand Rix <bertrand.rix at artelys.com>
  */
 public class RemoteReactivePowerControlImpl extends AbstractMultiVariantIdentifiableExtension<Generator> implements RemoteReactivePowerControl {
 
-    private TDoubleArrayList targetQ;
+    private MultiVariantDoubleArrayList targetQ;
 
     private final Terminal regulatingTerminal;
 
-    private TBooleanArrayList enabled;
+    private MultiVariantBooleanArrayList enabled;
 
     public RemoteReactivePowerControlImpl(Generator generator, double targetQ, Terminal regulatingTerminal, boolean enabled) {
         super(generator);
         int variantArraySize = getVariantManagerHolder().getVariantManager().getVariantArraySize();
-        this.targetQ = new TDoubleArrayList();
+        this.targetQ = new MultiVariantDoubleArrayList(this::getVariantManagerHolder, variantArraySize);
         this.regulatingTerminal = regulatingTerminal;
-        this.enabled = new TBooleanArrayList(variantArraySize);
+        this.enabled = new MultiVariantBooleanArrayList(this::getVariantManagerHolder, variantArraySize);
         for (int i = 0; i < variantArraySize; i++) {
             this.targetQ.add(targetQ);
             this.enabled.add(enabled);
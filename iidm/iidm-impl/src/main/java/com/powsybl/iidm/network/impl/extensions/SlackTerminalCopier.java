@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.extensions.SlackTerminal;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class SlackTerminalCopier implements ExtensionCopier<SlackTerminal> {
+
+    @Override
+    public Class<SlackTerminal> getExtensionClass() {
+        return SlackTerminal.class;
+    }
+
+    @Override
+    public void copy(SlackTerminal extension, Identifiable<?> identifiable, Context context) {
+        // the terminal is the only attribute and is variant dependent, see copyState
+    }
+
+    @Override
+    public void copyState(SlackTerminal extension, Identifiable<?> identifiable, Context context) {
+        SlackTerminal.reset((VoltageLevel) identifiable, context.getTerminal(extension.getTerminal()));
+    }
+}
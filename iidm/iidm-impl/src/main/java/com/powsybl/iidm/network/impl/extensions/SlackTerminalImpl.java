@@ -11,8 +11,8 @@ import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.iidm.network.extensions.SlackTerminal;
 import com.powsybl.iidm.network.impl.AbstractMultiVariantIdentifiableExtension;
+import com.powsybl.iidm.network.impl.MultiVariantArrayList;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Objects;
 
@@ -21,11 +21,11 @@ import java.util.Objects;
  */
 public class SlackTerminalImpl extends AbstractMultiVariantIdentifiableExtension<VoltageLevel> implements SlackTerminal {
 
-    private final ArrayList<Terminal> terminals;
+    private final MultiVariantArrayList<Terminal> terminals;
 
     SlackTerminalImpl(VoltageLevel voltageLevel, Terminal terminal) {
         super(voltageLevel);
-        this.terminals = new ArrayList<>(
+        this.terminals = new MultiVariantArrayList<>(this::getVariantManagerHolder,
             Collections.nCopies(getVariantManagerHolder().getVariantManager().getVariantArraySize(), null));
         this.setTerminal(terminal);
     }
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.ThreeWindingsTransformerPhaseAngleClock;
+import com.powsybl.iidm.network.extensions.ThreeWindingsTransformerPhaseAngleClockAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class ThreeWindingsTransformerPhaseAngleClockCopier implements ExtensionCopier<ThreeWindingsTransformerPhaseAngleClock> {
+
+    @Override
+    public Class<ThreeWindingsTransformerPhaseAngleClock> getExtensionClass() {
+        return ThreeWindingsTransformerPhaseAngleClock.class;
+    }
+
+    @Override
+    public void copy(ThreeWindingsTransformerPhaseAngleClock extension, Identifiable<?> identifiable, Context context) {
+        ((ThreeWindingsTransformerPhaseAngleClockAdder) ((Identifiable) identifiable).newExtension(ThreeWindingsTransformerPhaseAngleClockAdder.class))
+                .withPhaseAngleClockLeg2(extension.getPhaseAngleClockLeg2())
+                .withPhaseAngleClockLeg3(extension.getPhaseAngleClockLeg3())
+                .add();
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl.extensions;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.ExtensionCopier;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.extensions.TwoWindingsTransformerPhaseAngleClock;
+import com.powsybl.iidm.network.extensions.TwoWindingsTransformerPhaseAngleClockAdder;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(ExtensionCopier.class)
+public class TwoWindingsTransformerPhaseAngleClockCopier implements ExtensionCopier<TwoWindingsTransformerPhaseAngleClock> {
+
+    @Override
+    public Class<TwoWindingsTransformerPhaseAngleClock> getExtensionClass() {
+        return TwoWindingsTransformerPhaseAngleClock.class;
+    }
+
+    @Override
+    public void copy(TwoWindingsTransformerPhaseAngleClock extension, Identifiable<?> identifiable, Context context) {
+        ((TwoWindingsTransformerPhaseAngleClockAdder) ((Identifiable) identifiable).newExtension(TwoWindingsTransformerPhaseAngleClockAdder.class))
+                .withPhaseAngleClock(extension.getPhaseAngleClock())
+                .add();
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class CopyOnWriteVariantTest {
+
+    private Network network;
+
+    private VariantManager variantManager;
+
+    private Generator generator;
+
+    @Before
+    public void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        variantManager = network.getVariantManager();
+        generator = network.getGenerator("GEN");
+    }
+
+    @Test
+    public void testReadFallbackAndWriteIsolation() {
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow");
+        assertTrue(variantManager.getVariantIds().contains("cow"));
+
+        variantManager.setWorkingVariant("cow");
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+        assertEquals(24.5, generator.getTargetV(), 0.0);
+
+        generator.setTargetP(500.0);
+        assertEquals(500.0, generator.getTargetP(), 0.0);
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+
+        // modifying the source keeps the value seen by the copy-on-write variant
+        generator.setTargetV(25.0);
+        variantManager.setWorkingVariant("cow");
+        assertEquals(24.5, generator.getTargetV(), 0.0);
+        assertEquals(500.0, generator.getTargetP(), 0.0);
+    }
+
+    @Test
+    public void testChainedVariants() {
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow1");
+        variantManager.setWorkingVariant("cow1");
+        generator.setTargetP(500.0);
+        variantManager.cloneVariantCopyOnWrite("cow1", Arrays.asList("cow2", "cow3"), false);
+
+        variantManager.setWorkingVariant("cow2");
+        assertEquals(500.0, generator.getTargetP(), 0.0);
+        generator.setTargetP(400.0);
+
+        variantManager.setWorkingVariant("cow1");
+        generator.setTargetP(300.0);
+        variantManager.setWorkingVariant("cow2");
+        assertEquals(400.0, generator.getTargetP(), 0.0);
+        variantManager.setWorkingVariant("cow3");
+        assertEquals(500.0, generator.getTargetP(), 0.0);
+
+        // a variant cannot be removed while copy-on-write variants read from it
+        PowsyblException e = assertThrows(PowsyblException.class, () -> variantManager.removeVariant("cow1"));
+        assertTrue(e.getMessage().contains("cow2"));
+        variantManager.removeVariant("cow2");
+        variantManager.removeVariant("cow3");
+        variantManager.removeVariant("cow1");
+        assertEquals(List.of(VariantManagerConstants.INITIAL_VARIANT_ID), List.copyOf(variantManager.getVariantIds()));
+    }
+
+    @Test
+    public void testRemoveAndReuse() {
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow");
+        variantManager.setWorkingVariant("cow");
+        generator.setTargetP(500.0);
+        variantManager.removeVariant("cow");
+
+        // the slot is reused, values written in the removed variant must not be visible
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow");
+        variantManager.setWorkingVariant("cow");
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+    }
+
+    @Test
+    public void testOverwrite() {
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "regular");
+        variantManager.setWorkingVariant("regular");
+        generator.setTargetP(400.0);
+
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow");
+        variantManager.setWorkingVariant("cow");
+        generator.setTargetP(500.0);
+
+        assertThrows(PowsyblException.class, () -> variantManager.cloneVariantCopyOnWrite("regular", List.of("cow"), false));
+
+        // overwriting a copy-on-write variant forgets its own values
+        variantManager.cloneVariant("regular", "cow", true);
+        assertEquals(400.0, generator.getTargetP(), 0.0);
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, List.of("cow"), true);
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+
+        // overwriting a regular variant with a copy-on-write clone copies the values
+        variantManager.cloneVariantCopyOnWrite("cow", List.of("regular"), true);
+        variantManager.setWorkingVariant("regular");
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+
+        // a copy-on-write variant cannot be overwritten while other copy-on-write variants read from it
+        variantManager.cloneVariantCopyOnWrite("cow", "cow2");
+        assertThrows(PowsyblException.class, () -> variantManager.cloneVariant("regular", List.of("cow"), true));
+
+        // neither can a regular variant
+        PowsyblException e = assertThrows(PowsyblException.class,
+            () -> variantManager.cloneVariant("regular", List.of(VariantManagerConstants.INITIAL_VARIANT_ID), true));
+        assertTrue(e.getMessage().contains("cow"));
+        assertThrows(PowsyblException.class,
+            () -> variantManager.cloneVariantCopyOnWrite("regular", List.of(VariantManagerConstants.INITIAL_VARIANT_ID), true));
+        variantManager.setWorkingVariant("cow2");
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+    }
+
+    @Test
+    public void testReleaseWrittenValues() {
+        CopyOnWriteVariants copyOnWriteVariants = new CopyOnWriteVariants();
+        TIntIntHashMap ownership = new TIntIntHashMap();
+        TIntArrayList released = new TIntArrayList();
+        int index = copyOnWriteVariants.create(0);
+        copyOnWriteVariants.own(ownership, index, released::add);
+        copyOnWriteVariants.own(ownership, index, released::add);
+        assertTrue(copyOnWriteVariants.owns(ownership, index));
+
+        // values are freed once, whatever the number of writes
+        copyOnWriteVariants.overwrite(index, 1);
+        assertEquals(new TIntArrayList(new int[] {CopyOnWriteVariants.getSlot(index)}), released);
+        assertFalse(copyOnWriteVariants.owns(ownership, index));
+
+        copyOnWriteVariants.own(ownership, index, released::add);
+        copyOnWriteVariants.remove(index);
+        assertEquals(2, released.size());
+        copyOnWriteVariants.remove(copyOnWriteVariants.create(0));
+        assertEquals(2, released.size());
+    }
+
+    @Test
+    public void testTopology() {
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, "cow");
+        variantManager.setWorkingVariant("cow");
+        Load load = network.getLoad("LOAD");
+        Bus bus = load.getTerminal().getBusBreakerView().getBus();
+        assertEquals("NLOAD", bus.getId());
+        assertEquals(1, bus.getLoadStream().count());
+
+        load.getTerminal().disconnect();
+        assertFalse(load.getTerminal().isConnected());
+        assertEquals(0, bus.getLoadStream().count());
+
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertTrue(load.getTerminal().isConnected());
+        assertEquals(1, bus.getLoadStream().count());
+        assertEquals(1, load.getTerminal().getBusView().getBus().getLoadStream().count());
+    }
+
+    @Test
+    public void testMultiThreadAccess() throws InterruptedException {
+        variantManager.allowVariantMultiThreadAccess(true);
+        variantManager.cloneVariantCopyOnWrite(VariantManagerConstants.INITIAL_VARIANT_ID, Arrays.asList("cow1", "cow2"), false);
+        Thread[] threads = new Thread[2];
+        double[] results = new double[2];
+        for (int i = 0; i < threads.length; i++) {
+            int n = i;
+            threads[i] = new Thread(() -> {
+                variantManager.setWorkingVariant("cow" + (n + 1));
+                generator.setTargetP(100.0 * (n + 1));
+                results[n] = generator.getTargetP();
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100.0, results[0], 0.0);
+        assertEquals(200.0, results[1], 0.0);
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(607.0, generator.getTargetP(), 0.0);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.extensions.ActivePowerControl;
+import com.powsybl.iidm.network.extensions.ActivePowerControlAdder;
+import com.powsybl.iidm.network.extensions.SlackTerminal;
+import com.powsybl.iidm.network.test.BusbarSectionExt;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class NetworkCopierTest {
+
+    private static final String VARIANT = "v";
+
+    private static Network createEurostagWithVariant() {
+        Network network = EurostagTutorialExample1Factory.createWithLFResults();
+        Generator generator = network.getGenerator("GEN");
+        generator.newExtension(ActivePowerControlAdder.class)
+                .withParticipate(true)
+                .withDroop(4)
+                .add();
+        SlackTerminal.reset(network.getVoltageLevel("VLGEN"), generator.getTerminal());
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT);
+        network.getVariantManager().setWorkingVariant(VARIANT);
+        network.getLoad("LOAD").setP0(700);
+        generator.setTargetP(710);
+        generator.getExtension(ActivePowerControl.class).setParticipate(false);
+        network.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+        network.getBusBreakerView().getBus("NHV1").setV(390);
+        return network;
+    }
+
+    @Test
+    public void testAllVariants() {
+        Network network = createEurostagWithVariant();
+        Network copy = new NetworkFactoryImpl().copy(network, false);
+
+        assertNotSame(network, copy);
+        assertEquals(Set.of(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT), Set.copyOf(copy.getVariantManager().getVariantIds()));
+        assertEquals(VARIANT, network.getVariantManager().getWorkingVariantId());
+        assertEquals(VARIANT, copy.getVariantManager().getWorkingVariantId());
+        assertEquals(700, copy.getLoad("LOAD").getP0(), 0);
+        assertEquals(710, copy.getGenerator("GEN").getTargetP(), 0);
+        assertFalse(copy.getGenerator("GEN").getExtension(ActivePowerControl.class).isParticipate());
+        assertEquals(4, copy.getGenerator("GEN").getExtension(ActivePowerControl.class).getDroop(), 0);
+        assertFalse(copy.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+        assertEquals(390, copy.getBusBreakerView().getBus("NHV1").getV(), 0);
+        assertSame(copy.getGenerator("GEN").getTerminal(), copy.getVoltageLevel("VLGEN").getExtension(SlackTerminal.class).getTerminal());
+
+        copy.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(network.getLoad("LOAD").getP0(), copy.getLoad("LOAD").getP0(), 0);
+        assertEquals(network.getGenerator("GEN").getTargetP(), copy.getGenerator("GEN").getTargetP(), 0);
+        assertTrue(copy.getGenerator("GEN").getExtension(ActivePowerControl.class).isParticipate());
+        assertTrue(copy.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+        assertEquals(network.getBusBreakerView().getBus("NHV1").getV(), copy.getBusBreakerView().getBus("NHV1").getV(), 0);
+        assertEquals(network.getLine("NHV1_NHV2_1").getTerminal1().getP(), copy.getLine("NHV1_NHV2_1").getTerminal1().getP(), 0);
+
+        // the copy is independent from the source network
+        copy.getLoad("LOAD").setP0(1);
+        assertNotEquals(1, network.getLoad("LOAD").getP0(), 0);
+    }
+
+    @Test
+    public void testWorkingVariantOnly() {
+        Network network = createEurostagWithVariant();
+        Network copy = new NetworkFactoryImpl().copy(network, true);
+
+        assertEquals(List.of(VariantManagerConstants.INITIAL_VARIANT_ID), List.copyOf(copy.getVariantManager().getVariantIds()));
+        assertEquals(700, copy.getLoad("LOAD").getP0(), 0);
+        assertEquals(710, copy.getGenerator("GEN").getTargetP(), 0);
+        assertFalse(copy.getGenerator("GEN").getExtension(ActivePowerControl.class).isParticipate());
+        assertFalse(copy.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+        assertEquals(ValidationLevel.STEADY_STATE_HYPOTHESIS, copy.getValidationLevel());
+    }
+
+    @Test
+    public void testNodeBreaker() {
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        network.getSwitch("S1VL2_LD2_BREAKER").setOpen(true);
+        network.getBusView().getBuses().forEach(bus -> bus.setV(bus.getVoltageLevel().getNominalV()).setAngle(1));
+        Network copy = new NetworkFactoryImpl().copy(network, true);
+
+        assertEquals(network.getIdentifiables().size(), copy.getIdentifiables().size());
+        assertTrue(copy.getSwitch("S1VL2_LD2_BREAKER").isOpen());
+        assertFalse(copy.getLoad("LD2").getTerminal().isConnected());
+        assertEquals(network.getBusView().getBusStream().count(), copy.getBusView().getBusStream().count());
+        copy.getBusView().getBuses().forEach(bus -> {
+            assertEquals(bus.getVoltageLevel().getNominalV(), bus.getV(), 0);
+            assertEquals(1, bus.getAngle(), 0);
+        });
+        TwoWindingsTransformer twt = copy.getTwoWindingsTransformer("TWT");
+        assertEquals(network.getTwoWindingsTransformer("TWT").getPhaseTapChanger().getTapPosition(), twt.getPhaseTapChanger().getTapPosition());
+        assertSame(twt.getTerminal1(), twt.getPhaseTapChanger().getRegulationTerminal());
+    }
+
+    @Test
+    public void testAllVariantsWithMultiThreadAccess() {
+        Network network = createEurostagWithVariant();
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+        Network copy = new NetworkFactoryImpl().copy(network, false);
+
+        assertEquals(VARIANT, network.getVariantManager().getWorkingVariantId());
+        assertEquals(700, copy.getLoad("LOAD").getP0(), 0);
+        copy.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertTrue(copy.getGenerator("GEN").getExtension(ActivePowerControl.class).isParticipate());
+    }
+
+    @Test
+    public void testUnsupportedExtension() {
+        Network network = EurostagTutorialExample1Factory.create();
+        Network nodeBreakerNetwork = FourSubstationsNodeBreakerFactory.create();
+        BusbarSection bbs = nodeBreakerNetwork.getBusbarSection("S1VL1_BBS");
+        bbs.addExtension(BusbarSectionExt.class, new BusbarSectionExt(bbs));
+        NetworkFactoryImpl factory = new NetworkFactoryImpl();
+        assertFalse(factory.isCopySupported(nodeBreakerNetwork));
+        UnsupportedOperationException e = assertThrows(UnsupportedOperationException.class, () -> factory.copy(nodeBreakerNetwork, true));
+        assertEquals("Network 'fourSubstations' has extensions which cannot be copied in memory", e.getMessage());
+        assertTrue(factory.isCopySupported(network));
+        assertNotNull(factory.copy(network, true));
+    }
+}
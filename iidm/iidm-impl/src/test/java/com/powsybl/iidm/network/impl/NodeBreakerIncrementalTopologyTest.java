@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.FictitiousSwitchFactory;
+import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class NodeBreakerIncrementalTopologyTest {
+
+    private static Map<String, Set<String>> getBuses(VoltageLevel vl, Function<VoltageLevel, Iterable<Bus>> busesGetter) {
+        Map<String, Set<String>> buses = new TreeMap<>();
+        for (Bus bus : busesGetter.apply(vl)) {
+            buses.put(bus.getId(), bus.getConnectedTerminalStream()
+                    .map(t -> t.getConnectable().getId())
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return buses;
+    }
+
+    private static Map<String, Integer> getComponentSizes(Network network) {
+        return network.getBusView().getBusStream()
+                .collect(Collectors.toMap(Identifiable::getId, b -> b.getConnectedComponent().getSize()));
+    }
+
+    private static void checkSameAsFullComputation(Network network) {
+        List<Map<String, Set<String>>> busViews = new ArrayList<>();
+        List<Map<String, Set<String>>> busBreakerViews = new ArrayList<>();
+        for (VoltageLevel vl : network.getVoltageLevels()) {
+            busViews.add(getBuses(vl, v -> v.getBusView().getBuses()));
+            busBreakerViews.add(getBuses(vl, v -> v.getBusBreakerView().getBuses()));
+        }
+        Map<String, Integer> componentSizes = getComponentSizes(network);
+
+        network.getVoltageLevelStream().forEach(vl -> ((VoltageLevelExt) vl).invalidateCache());
+        int i = 0;
+        for (VoltageLevel vl : network.getVoltageLevels()) {
+            assertEquals(busViews.get(i), getBuses(vl, v -> v.getBusView().getBuses()));
+            assertEquals(busBreakerViews.get(i), getBuses(vl, v -> v.getBusBreakerView().getBuses()));
+            i++;
+        }
+        assertEquals(componentSizes, getComponentSizes(network));
+    }
+
+    @Test
+    public void testUnaffectedBusesAreKept() {
+        Network network = FictitiousSwitchFactory.create();
+        VoltageLevel vl = network.getVoltageLevel("N");
+        Bus bus = network.getLoad("CE").getTerminal().getBusView().getBus();
+        Component component = bus.getConnectedComponent();
+
+        // closing then opening the breaker of a disconnected feeder does not change the other buses
+        Switch aSwitch = network.getSwitch("BR");
+        assertTrue(network.getSwitch("Z").isOpen());
+        assertTrue(network.getSwitch("AT").isOpen());
+        aSwitch.setOpen(false);
+        assertSame(bus, network.getLoad("CE").getTerminal().getBusView().getBus());
+        assertSame(component, bus.getConnectedComponent());
+        aSwitch.setOpen(true);
+        assertSame(bus, vl.getBusView().getBus(bus.getId()));
+        assertSame(component, bus.getConnectedComponent());
+        checkSameAsFullComputation(network);
+    }
+
+    @Test
+    public void testRandomSwitchChanges() {
+        Network network = FourSubstationsNodeBreakerFactory.create();
+        List<Switch> switches = network.getSwitchStream().collect(Collectors.toList());
+        Random random = new Random(0);
+        checkSameAsFullComputation(network);
+        for (int i = 0; i < 200; i++) {
+            Switch aSwitch = switches.get(random.nextInt(switches.size()));
+            if (random.nextInt(4) == 0) {
+                aSwitch.setRetained(!aSwitch.isRetained());
+            } else {
+                aSwitch.setOpen(!aSwitch.isOpen());
+            }
+            if (i % 10 == 0) {
+                checkSameAsFullComputation(network);
+            }
+        }
+        checkSameAsFullComputation(network);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of variant dependent getters and setters when each thread works on its own variant, as post-contingency
+ * computations of a security analysis do.
+ * <p>
+ * Run it with {@code java -cp <test classpath> com.powsybl.iidm.network.impl.VariantAccessBenchmark [threads]}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariantAccessBenchmark {
+
+    private static final int MAX_THREADS = 64;
+
+    private Network network;
+
+    private List<String> variantIds;
+
+    private final AtomicInteger nextVariant = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private Generator generator;
+
+        private Terminal terminal;
+
+        private double value;
+
+        @Setup
+        public void setUp(VariantAccessBenchmark benchmark) {
+            String variantId = benchmark.variantIds.get(benchmark.nextVariant.getAndIncrement() % MAX_THREADS);
+            benchmark.network.getVariantManager().setWorkingVariant(variantId);
+            generator = benchmark.network.getGenerator("GEN");
+            terminal = benchmark.network.getLoad("LOAD").getTerminal();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        variantIds = IntStream.range(0, MAX_THREADS).mapToObj(i -> "v" + i).collect(Collectors.toList());
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, variantIds);
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+    }
+
+    @Benchmark
+    public void getSetTargetP(ThreadState state, Blackhole blackhole) {
+        state.value += 1;
+        state.generator.setTargetP(state.value);
+        blackhole.consume(state.generator.getTargetP());
+    }
+
+    @Benchmark
+    public void getTerminalFlows(ThreadState state, Blackhole blackhole) {
+        blackhole.consume(state.terminal.getP());
+        blackhole.consume(state.terminal.getQ());
+    }
+
+    @Benchmark
+    public void getBus(ThreadState state, Blackhole blackhole) {
+        blackhole.consume(state.terminal.getBusView().getBus());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        new Runner(new OptionsBuilder()
+                .include(VariantAccessBenchmark.class.getSimpleName())
+                .threads(Math.min(threads, MAX_THREADS))
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.tck;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public abstract class AbstractVectorAttributeTest {
+
+    private Network network;
+
+    @Before
+    public void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+    }
+
+    private static Network createOtherNetwork() {
+        Network network = Network.create("other", "test");
+        VoltageLevel vl = network.newSubstation()
+                .setId("S")
+                .add()
+                .newVoltageLevel()
+                .setId("VL")
+                .setNominalV(400.0)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B")
+                .add();
+        vl.newGenerator()
+                .setId("G")
+                .setBus("B")
+                .setMinP(0.0)
+                .setMaxP(100.0)
+                .setTargetP(50.0)
+                .setTargetV(400.0)
+                .setVoltageRegulatorOn(true)
+                .add()
+                .getTerminal()
+                .setP(-50.0);
+        return network;
+    }
+
+    @Test
+    public void testGeneratorVectors() {
+        List<Generator> generators = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P);
+        assertEquals(network.getGeneratorCount(), generators.stream().filter(g -> g != null).count());
+        int i = generators.indexOf(network.getGenerator("GEN"));
+        assertTrue(i >= 0);
+
+        double[] targetP = network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P);
+        assertEquals(generators.size(), targetP.length);
+        assertEquals(607.0, targetP[i], 0.0);
+        assertEquals(24.5, network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_V)[i], 0.0);
+
+        targetP[i] = 500.0;
+        network.setAttributeVector(VectorAttribute.GENERATOR_TARGET_P, targetP);
+        assertEquals(500.0, network.getGenerator("GEN").getTargetP(), 0.0);
+
+        // values are checked before being written
+        targetP[i] = Double.NaN;
+        assertThrows(ValidationException.class, () -> network.setAttributeVector(VectorAttribute.GENERATOR_TARGET_P, targetP));
+        assertEquals(500.0, network.getGenerator("GEN").getTargetP(), 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> network.setAttributeVector(VectorAttribute.GENERATOR_TARGET_P, new double[targetP.length + 1]));
+    }
+
+    @Test
+    public void testTerminalVectors() {
+        Terminal terminal = network.getLine("NHV1_NHV2_1").getTerminal2();
+        terminal.setP(300.0);
+        List<Terminal> terminals = network.getAttributeVectorElements(VectorAttribute.TERMINAL_P);
+        int i = terminals.indexOf(terminal);
+        assertTrue(i >= 0);
+        assertEquals(network.getConnectableStream().mapToLong(c -> c.getTerminals().size()).sum(),
+                terminals.stream().filter(t -> t != null).count());
+
+        double[] p = network.getAttributeVector(VectorAttribute.TERMINAL_P);
+        assertEquals(300.0, p[i], 0.0);
+        double[] q = network.getAttributeVector(VectorAttribute.TERMINAL_Q);
+        q[i] = 10.0;
+        network.setAttributeVector(VectorAttribute.TERMINAL_Q, q);
+        assertEquals(10.0, terminal.getQ(), 0.0);
+    }
+
+    @Test
+    public void testVariants() {
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v");
+        variantManager.setWorkingVariant("v");
+        List<Generator> generators = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P);
+        int i = generators.indexOf(network.getGenerator("GEN"));
+        double[] targetP = network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P);
+        targetP[i] = 500.0;
+        network.setAttributeVector(VectorAttribute.GENERATOR_TARGET_P, targetP);
+        assertEquals(500.0, network.getGenerator("GEN").getTargetP(), 0.0);
+
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(607.0, network.getGenerator("GEN").getTargetP(), 0.0);
+        assertEquals(607.0, network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P)[i], 0.0);
+    }
+
+    @Test
+    public void testRemoveAndMerge() {
+        Load load = network.getLoad("LOAD");
+        List<Terminal> terminals = network.getAttributeVectorElements(VectorAttribute.TERMINAL_P);
+        int i = terminals.indexOf(load.getTerminal());
+        load.remove();
+        List<Terminal> terminalsAfterRemoval = network.getAttributeVectorElements(VectorAttribute.TERMINAL_P);
+        assertFalse(terminalsAfterRemoval.contains(load.getTerminal()));
+
+        // values of removed elements are ignored
+        double[] p = network.getAttributeVector(VectorAttribute.TERMINAL_P);
+        p[i] = 1.0;
+        network.setAttributeVector(VectorAttribute.TERMINAL_P, p);
+
+        network.merge(createOtherNetwork());
+        Generator g = network.getGenerator("G");
+        assertEquals(50.0, g.getTargetP(), 0.0);
+        assertEquals(-50.0, g.getTerminal().getP(), 0.0);
+        List<Generator> generators = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P);
+        assertEquals(50.0, network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P)[generators.indexOf(g)], 0.0);
+        assertEquals(607.0, network.getGenerator("GEN").getTargetP(), 0.0);
+    }
+
+    @Test
+    public void testRemoveAndAdd() {
+        int generatorCount = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P).size();
+        int terminalCount = network.getAttributeVectorElements(VectorAttribute.TERMINAL_P).size();
+        Generator removed = network.getGenerator("GEN");
+        removed.remove();
+        Generator added = network.getVoltageLevel("VLGEN").newGenerator()
+                .setId("GEN3")
+                .setBus("NGEN")
+                .setMinP(0.0)
+                .setMaxP(1000.0)
+                .setTargetP(100.0)
+                .setTargetV(24.5)
+                .setVoltageRegulatorOn(true)
+                .add();
+
+        // vectors do not grow when an element replaces a removed one
+        List<Generator> generators = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P);
+        assertTrue(generators.size() <= generatorCount);
+        assertTrue(network.getAttributeVectorElements(VectorAttribute.TERMINAL_P).size() <= terminalCount);
+        assertFalse(generators.contains(removed));
+        assertEquals(100.0, network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P)[generators.indexOf(added)], 0.0);
+
+        // the removed element keeps its last values
+        assertEquals(607.0, removed.getTargetP(), 0.0);
+        assertEquals(100.0, added.getTargetP(), 0.0);
+    }
+
+    @Test
+    public void testFailedAdd() {
+        List<Generator> generators = network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P);
+        List<Terminal> terminals = network.getAttributeVectorElements(VectorAttribute.TERMINAL_P);
+        GeneratorAdder adder = network.getVoltageLevel("VLGEN").newGenerator()
+                .setId("GEN3")
+                .setBus("UNKNOWN")
+                .setMinP(0.0)
+                .setMaxP(1000.0)
+                .setTargetP(100.0)
+                .setTargetV(24.5)
+                .setVoltageRegulatorOn(true);
+        assertThrows(PowsyblException.class, adder::add);
+
+        // no slot is taken by an element which has not been added
+        assertEquals(generators, network.getAttributeVectorElements(VectorAttribute.GENERATOR_TARGET_P));
+        assertEquals(terminals, network.getAttributeVectorElements(VectorAttribute.TERMINAL_P));
+        double[] targetP = network.getAttributeVector(VectorAttribute.GENERATOR_TARGET_P);
+        network.setAttributeVector(VectorAttribute.GENERATOR_TARGET_P, targetP);
+        network.setAttributeVector(VectorAttribute.TERMINAL_P, network.getAttributeVector(VectorAttribute.TERMINAL_P));
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class of the {@link XMLStreamReader} implementations which do not parse XML text: subclasses only have to
+ * implement {@link #next()}, setting the event type, the element name, the attributes or the text of each event.
+ * Only the subset of the API needed by the network serializers is supported: attribute namespaces and prefixes are
+ * not kept, and namespaces declarations are only available through {@link #getNamespaceURI(String)}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+abstract class AbstractXmlStreamReader implements XMLStreamReader {
+
+    protected final Map<String, String> namespaceUriByPrefix = new HashMap<>();
+
+    protected int eventType = START_DOCUMENT;
+
+    protected String localName;
+
+    protected String namespaceURI;
+
+    protected String text;
+
+    protected int attributeCount = 0;
+
+    protected String[] attributeNames = new String[16];
+
+    protected String[] attributeValues = new String[16];
+
+    /**
+     * Add an attribute to the current element, the value may be null if {@link #getAttributeValue(int)} is
+     * overridden to compute it.
+     *
+     * @return the index of the attribute
+     */
+    protected int addAttribute(String name, String value) {
+        if (attributeCount == attributeNames.length) {
+            attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+            attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+        }
+        attributeNames[attributeCount] = name;
+        attributeValues[attributeCount] = value;
+        return attributeCount++;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while (event == CHARACTERS && isWhiteSpace()) {
+            event = next();
+        }
+        if (event != START_ELEMENT && event != END_ELEMENT) {
+            throw new XMLStreamException("Expected start or end tag");
+        }
+        return event;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return eventType != END_DOCUMENT;
+    }
+
+    @Override
+    public int getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (eventType != START_ELEMENT) {
+            throw new XMLStreamException("Current event is not a start element");
+        }
+        StringBuilder builder = new StringBuilder();
+        int event;
+        while ((event = next()) != END_ELEMENT) {
+            if (event == CHARACTERS) {
+                builder.append(text);
+            } else {
+                throw new XMLStreamException("Unexpected event " + event + " in element text");
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+        if (type != eventType
+                || namespaceURI != null && !namespaceURI.equals(getNamespaceURI())
+                || localName != null && !localName.equals(getLocalName())) {
+            throw new XMLStreamException("Requirement not satisfied");
+        }
+    }
+
+    @Override
+    public String getLocalName() {
+        if (!hasName()) {
+            throw new IllegalStateException("Current event is not an element");
+        }
+        return localName;
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return hasName() ? namespaceURI : null;
+    }
+
+    @Override
+    public String getNamespaceURI(String prefix) {
+        return namespaceUriByPrefix.get(prefix);
+    }
+
+    @Override
+    public QName getName() {
+        return new QName(getNamespaceURI(), getLocalName());
+    }
+
+    @Override
+    public boolean hasName() {
+        return eventType == START_ELEMENT || eventType == END_ELEMENT;
+    }
+
+    @Override
+    public String getPrefix() {
+        return null;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return eventType == START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return eventType == END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return eventType == CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        return eventType == CHARACTERS && text.isBlank();
+    }
+
+    @Override
+    public String getAttributeValue(String namespaceURI, String localName) {
+        for (int i = 0; i < attributeCount; i++) {
+            if (attributeNames[i].equals(localName)) {
+                return getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override
+    public QName getAttributeName(int index) {
+        return new QName(getAttributeLocalName(index));
+    }
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        return null;
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+        checkAttributeIndex(index);
+        return attributeNames[index];
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        return null;
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        checkAttributeIndex(index);
+        return attributeValues[index];
+    }
+
+    @Override
+    public boolean isAttributeSpecified(int index) {
+        checkAttributeIndex(index);
+        return true;
+    }
+
+    protected void checkAttributeIndex(int index) {
+        if (index < 0 || index >= attributeCount) {
+            throw new IndexOutOfBoundsException("Invalid attribute index " + index);
+        }
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        return 0;
+    }
+
+    @Override
+    public String getNamespacePrefix(int index) {
+        throw new IndexOutOfBoundsException("Invalid namespace index " + index);
+    }
+
+    @Override
+    public String getNamespaceURI(int index) {
+        throw new IndexOutOfBoundsException("Invalid namespace index " + index);
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return null;
+    }
+
+    @Override
+    public String getText() {
+        if (eventType != CHARACTERS) {
+            throw new IllegalStateException("Current event is not characters");
+        }
+        return text;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return getText().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+        String t = getText();
+        int count = Math.min(length, t.length() - sourceStart);
+        t.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public boolean hasText() {
+        return eventType == CHARACTERS;
+    }
+
+    @Override
+    public String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public Location getLocation() {
+        return null;
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return null;
+    }
+
+    @Override
+    public String getPIData() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        // nothing to release by default
+    }
+}
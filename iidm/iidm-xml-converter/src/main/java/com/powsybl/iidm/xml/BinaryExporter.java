@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.config.PlatformConfig;
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.iidm.export.Exporter;
+import com.powsybl.iidm.network.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import static com.powsybl.iidm.xml.IidmXmlConstants.CURRENT_IIDM_XML_VERSION;
+
+/**
+ * Binary export of an IIDM model, see {@link BinaryXmlStreamWriter} for the file format. Parameters are the same
+ * as the ones of the {@link XMLExporter}, the indentation excepted.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(Exporter.class)
+public class BinaryExporter extends XMLExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryExporter.class);
+
+    static final String EXTENSION = "biidm";
+
+    public BinaryExporter() {
+        this(PlatformConfig.defaultConfig());
+    }
+
+    public BinaryExporter(PlatformConfig platformConfig) {
+        super(platformConfig);
+    }
+
+    @Override
+    public String getFormat() {
+        return "BIIDM";
+    }
+
+    @Override
+    public String getComment() {
+        return "IIDM binary v" + CURRENT_IIDM_XML_VERSION.toString(".") + " exporter";
+    }
+
+    @Override
+    public void export(Network network, Properties parameters, DataSource dataSource) {
+        if (network == null) {
+            throw new IllegalArgumentException("network is null");
+        }
+        ExportOptions options = createExportOptions(parameters);
+        try {
+            long startTime = System.currentTimeMillis();
+            NetworkXml.writeBinary(network, options, dataSource, EXTENSION);
+            LOGGER.debug("BIIDM export done in {} ms", System.currentTimeMillis() - startTime);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.google.auto.service.AutoService;
+import com.google.common.io.ByteStreams;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.config.PlatformConfig;
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.iidm.import_.Importer;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+
+import static com.powsybl.iidm.xml.BinaryExporter.EXTENSION;
+import static com.powsybl.iidm.xml.IidmXmlConstants.CURRENT_IIDM_XML_VERSION;
+import static com.powsybl.iidm.xml.XMLImporter.SUFFIX_MAPPING;
+
+/**
+ * Import of an IIDM model written by the {@link BinaryExporter}. Parameters are the same as the ones of the
+ * {@link XMLImporter}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@AutoService(Importer.class)
+public class BinaryImporter extends XMLImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryImporter.class);
+
+    public BinaryImporter() {
+        this(PlatformConfig.defaultConfig());
+    }
+
+    public BinaryImporter(PlatformConfig platformConfig) {
+        super(platformConfig);
+    }
+
+    @Override
+    public String getFormat() {
+        return "BIIDM";
+    }
+
+    @Override
+    public String getComment() {
+        return "IIDM binary v " + CURRENT_IIDM_XML_VERSION.toString(".") + " importer";
+    }
+
+    @Override
+    public boolean exists(ReadOnlyDataSource dataSource) {
+        try {
+            if (dataSource.exists(null, EXTENSION)) {
+                try (InputStream is = dataSource.newInputStream(null, EXTENSION)) {
+                    byte[] magic = is.readNBytes(BinaryXmlStreamWriter.MAGIC.length);
+                    return Arrays.equals(BinaryXmlStreamWriter.MAGIC, magic);
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void copy(ReadOnlyDataSource fromDataSource, DataSource toDataSource) {
+        if (!exists(fromDataSource)) {
+            throw new PowsyblException("From data source is not importable");
+        }
+        try {
+            try (InputStream is = fromDataSource.newInputStream(null, EXTENSION);
+                 OutputStream os = toDataSource.newOutputStream(null, EXTENSION, false)) {
+                ByteStreams.copy(is, os);
+            }
+            // and also anonymization file if exists
+            if (fromDataSource.exists(SUFFIX_MAPPING, "csv")) {
+                try (InputStream is = fromDataSource.newInputStream(SUFFIX_MAPPING, "csv");
+                     OutputStream os = toDataSource.newOutputStream(SUFFIX_MAPPING, "csv", false)) {
+                    ByteStreams.copy(is, os);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Network importData(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, Properties parameters) {
+        Objects.requireNonNull(dataSource);
+        ImportOptions options = createImportOptions(parameters);
+        long startTime = System.currentTimeMillis();
+        try {
+            if (!dataSource.exists(null, EXTENSION)) {
+                throw new PowsyblException("File " + dataSource.getBaseName() + "." + EXTENSION + " not found");
+            }
+            Network network = NetworkXml.readBinary(dataSource, networkFactory, options, EXTENSION);
+            LOGGER.debug("BIIDM import done in {} ms", System.currentTimeMillis() - startTime);
+            return network;
+        } catch (IOException e) {
+            throw new PowsyblException(e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.xml.DoubleAttributeReader;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.powsybl.iidm.xml.BinaryXmlStreamWriter.*;
+
+/**
+ * A {@link javax.xml.stream.XMLStreamReader} reading the events written by {@link BinaryXmlStreamWriter}, streamed
+ * from the input. Strings are added to the dictionary as they are met, and double attributes may be read without
+ * text conversion through {@link DoubleAttributeReader}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class BinaryXmlStreamReader extends AbstractXmlStreamReader implements DoubleAttributeReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int NO_TAG = -1;
+
+    private final InputStream is;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int bufferPosition = 0;
+
+    private int bufferLimit = 0;
+
+    /* strings by index, index 0 announcing a new string */
+    private String[] strings = new String[1024];
+
+    private int stringCount = 1;
+
+    /* tag read after the attributes of the current element, to be processed by the next event */
+    private int pendingTag = NO_TAG;
+
+    private boolean emptyElement = false;
+
+    private String[] localNames = new String[16];
+
+    private String[] namespaceURIs = new String[16];
+
+    private int depth = 0;
+
+    private int[] attributeTags = new int[16];
+
+    private long[] attributeBits = new long[16];
+
+    BinaryXmlStreamReader(InputStream is) {
+        this.is = Objects.requireNonNull(is);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            for (int i = 0; i < magic.length; i++) {
+                magic[i] = (byte) readByte();
+            }
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new PowsyblException("Not a binary IIDM file");
+            }
+            int version = readInt();
+            if (version != FORMAT_VERSION) {
+                throw new PowsyblException("Unsupported binary IIDM format version " + version);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void fill() throws IOException {
+        bufferPosition = 0;
+        bufferLimit = 0;
+        int n = is.read(buffer);
+        if (n <= 0) {
+            throw new EOFException();
+        }
+        bufferLimit = n;
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPosition == bufferLimit) {
+            fill();
+        }
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    private int readInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value |= readByte() << (8 * i);
+        }
+        return value;
+    }
+
+    private long readLong() throws IOException {
+        if (bufferLimit - bufferPosition >= Long.BYTES) {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value |= (buffer[bufferPosition++] & 0xFFL) << (8 * i);
+            }
+            return value;
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value |= ((long) readByte()) << (8 * i);
+        }
+        return value;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private void readBytes(byte[] bytes) throws IOException {
+        int read = 0;
+        while (read < bytes.length) {
+            if (bufferPosition == bufferLimit) {
+                fill();
+            }
+            int count = Math.min(bufferLimit - bufferPosition, bytes.length - read);
+            System.arraycopy(buffer, bufferPosition, bytes, read, count);
+            bufferPosition += count;
+            read += count;
+        }
+    }
+
+    private String readString() throws IOException {
+        int index = readVarInt();
+        if (index == NEW_STRING) {
+            byte[] bytes = new byte[readVarInt()];
+            readBytes(bytes);
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings, stringCount * 2);
+            }
+            String s = new String(bytes, StandardCharsets.UTF_8);
+            strings[stringCount++] = s;
+            return s;
+        }
+        if (index < 0 || index >= stringCount) {
+            throw new PowsyblException("Invalid binary IIDM string index " + index);
+        }
+        return strings[index];
+    }
+
+    private void pushElement() {
+        if (depth == localNames.length) {
+            localNames = Arrays.copyOf(localNames, depth * 2);
+            namespaceURIs = Arrays.copyOf(namespaceURIs, depth * 2);
+        }
+        localNames[depth] = localName;
+        namespaceURIs[depth] = namespaceURI;
+        depth++;
+    }
+
+    private void addAttribute(int tag, String name, String value, long bits) {
+        int index = addAttribute(name, value);
+        if (index == attributeTags.length) {
+            attributeTags = Arrays.copyOf(attributeTags, index * 2);
+            attributeBits = Arrays.copyOf(attributeBits, index * 2);
+        }
+        attributeTags[index] = tag;
+        attributeBits[index] = bits;
+    }
+
+    /**
+     * Read namespaces and attributes following an element start, until the tag of the next event.
+     */
+    private void readAttributes() throws IOException {
+        attributeCount = 0;
+        while (true) {
+            int tag = readByte();
+            switch (tag) {
+                case NAMESPACE_TAG:
+                    String prefix = readString();
+                    namespaceUriByPrefix.put(prefix, readString());
+                    break;
+                case STRING_ATTRIBUTE_TAG:
+                    String name = readString();
+                    addAttribute(tag, name, readString(), 0);
+                    break;
+                case INT_ATTRIBUTE_TAG:
+                    addAttribute(tag, readString(), null, readVarInt());
+                    break;
+                case DOUBLE_ATTRIBUTE_TAG:
+                    addAttribute(tag, readString(), null, readLong());
+                    break;
+                default:
+                    pendingTag = tag;
+                    return;
+            }
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (eventType == END_DOCUMENT) {
+            throw new IllegalStateException("End of document reached");
+        }
+        try {
+            if (emptyElement) {
+                emptyElement = false;
+                return endElement();
+            }
+            int tag = pendingTag != NO_TAG ? pendingTag : readByte();
+            pendingTag = NO_TAG;
+            switch (tag) {
+                case START_ELEMENT_TAG:
+                case EMPTY_ELEMENT_TAG:
+                    namespaceURI = readString();
+                    localName = readString();
+                    pushElement();
+                    readAttributes();
+                    emptyElement = tag == EMPTY_ELEMENT_TAG;
+                    eventType = START_ELEMENT;
+                    break;
+                case END_ELEMENT_TAG:
+                    return endElement();
+                case CHARACTERS_TAG:
+                    text = readString();
+                    eventType = CHARACTERS;
+                    break;
+                case END_DOCUMENT_TAG:
+                    eventType = END_DOCUMENT;
+                    break;
+                default:
+                    throw new XMLStreamException("Unexpected binary IIDM tag " + tag);
+            }
+            return eventType;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int endElement() throws XMLStreamException {
+        if (depth == 0) {
+            throw new XMLStreamException("No element to end");
+        }
+        depth--;
+        localName = localNames[depth];
+        namespaceURI = namespaceURIs[depth];
+        attributeCount = 0;
+        eventType = END_ELEMENT;
+        return eventType;
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        checkAttributeIndex(index);
+        String value = attributeValues[index];
+        if (value == null) {
+            // numbers are converted back to text only when they are requested
+            long bits = attributeBits[index];
+            if (attributeTags[index] == INT_ATTRIBUTE_TAG) {
+                int i = (int) bits;
+                value = Integer.toString((i >>> 1) ^ -(i & 1));
+            } else {
+                value = Double.toString(Double.longBitsToDouble(bits));
+            }
+            attributeValues[index] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public double getDoubleAttributeValue(String localName, double defaultValue) {
+        for (int i = 0; i < attributeCount; i++) {
+            if (attributeNames[i].equals(localName)) {
+                if (attributeTags[i] == DOUBLE_ATTRIBUTE_TAG) {
+                    return Double.longBitsToDouble(attributeBits[i]);
+                }
+                return Double.parseDouble(getAttributeValue(i));
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,421 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.powsybl.commons.xml.DoubleAttributeWriter;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A {@link XMLStreamWriter} writing the events in a compact binary format instead of XML text, so that all the
+ * network and extension serializers can be reused as is.
+ * <p>
+ * Every string (element and attribute names, namespaces, ids, ...) is written in full the first time it is used, and
+ * then referenced by its index: index 0 announces a new string, the following ones refer to the strings already
+ * written. Integers are written as variable length integers and doubles as raw 8 bytes, either given as numbers through
+ * {@link DoubleAttributeWriter} or given as text which can be recovered exactly on reading.
+ * <p>
+ * The file is made of a header (magic number, format version) followed by the events, which are written to the output
+ * through a fixed size buffer as they come, so that the size of the document is not limited by the memory.
+ * Attributes namespaces and prefixes are not kept.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class BinaryXmlStreamWriter implements XMLStreamWriter, DoubleAttributeWriter {
+
+    static final byte[] MAGIC = "BIIDM".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 2;
+
+    static final int NEW_STRING = 0;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    static final int END_DOCUMENT_TAG = 0;
+    static final int START_ELEMENT_TAG = 1;
+    static final int EMPTY_ELEMENT_TAG = 2;
+    static final int END_ELEMENT_TAG = 3;
+    static final int STRING_ATTRIBUTE_TAG = 4;
+    static final int INT_ATTRIBUTE_TAG = 5;
+    static final int DOUBLE_ATTRIBUTE_TAG = 6;
+    static final int CHARACTERS_TAG = 7;
+    static final int NAMESPACE_TAG = 8;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+    private final Bytes events;
+
+    private final Map<String, String> namespaceUriByPrefix = new HashMap<>();
+
+    private int depth = 0;
+
+    private boolean written = false;
+
+    /**
+     * Little endian buffered output, unlike {@link java.io.BufferedOutputStream} methods are not synchronized.
+     */
+    private static final class Bytes {
+
+        private final OutputStream os;
+
+        private final byte[] bytes = new byte[BUFFER_SIZE];
+
+        private int size = 0;
+
+        private Bytes(OutputStream os) {
+            this.os = os;
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > bytes.length) {
+                flush();
+            }
+        }
+
+        void flush() {
+            try {
+                os.write(bytes, 0, size);
+                size = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            for (int i = 0; i < Integer.BYTES; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void writeBytes(byte[] b) {
+            if (b.length > bytes.length) {
+                flush();
+                try {
+                    os.write(b);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            ensureCapacity(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+    }
+
+    BinaryXmlStreamWriter(OutputStream os) {
+        events = new Bytes(Objects.requireNonNull(os));
+        events.writeBytes(MAGIC);
+        events.writeInt(FORMAT_VERSION);
+    }
+
+    private void writeString(String s) {
+        String value = s != null ? s : "";
+        Integer index = stringIndexes.get(value);
+        if (index != null) {
+            events.writeVarInt(index);
+        } else {
+            stringIndexes.put(value, stringIndexes.size() + 1);
+            events.writeVarInt(NEW_STRING);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            events.writeVarInt(bytes.length);
+            events.writeBytes(bytes);
+        }
+    }
+
+    private void checkNotWritten() throws XMLStreamException {
+        if (written) {
+            throw new XMLStreamException("Document already written");
+        }
+    }
+
+    private void writeElement(int tag, String namespaceURI, String localName) throws XMLStreamException {
+        checkNotWritten();
+        events.writeByte(tag);
+        writeString(namespaceURI);
+        writeString(localName);
+    }
+
+    private static boolean isNumeric(String value) {
+        int length = value.length();
+        if (length == 0 || length > 32) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c == '-' || c == '.' || c == 'E')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInteger(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        if (value.length() == start || value.length() - start > 9) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        checkNotWritten();
+        if (isNumeric(value)) {
+            if (isInteger(value)) {
+                int i = Integer.parseInt(value);
+                // exclude leading zeros and "-0"
+                if (Integer.toString(i).equals(value)) {
+                    events.writeByte(INT_ATTRIBUTE_TAG);
+                    writeString(localName);
+                    events.writeVarInt((i << 1) ^ (i >> 31));
+                    return;
+                }
+            } else {
+                try {
+                    double d = Double.parseDouble(value);
+                    if (Double.toString(d).equals(value)) {
+                        writeDoubleAttribute(localName, d);
+                        return;
+                    }
+                } catch (NumberFormatException e) {
+                    // written as a string
+                }
+            }
+        }
+        events.writeByte(STRING_ATTRIBUTE_TAG);
+        writeString(localName);
+        writeString(value);
+    }
+
+    @Override
+    public void writeDoubleAttribute(String localName, double value) throws XMLStreamException {
+        checkNotWritten();
+        events.writeByte(DOUBLE_ATTRIBUTE_TAG);
+        writeString(localName);
+        events.writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        writeStartElement(null, localName);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        writeElement(START_ELEMENT_TAG, namespaceURI, localName);
+        depth++;
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        writeStartElement(namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        writeElement(EMPTY_ELEMENT_TAG, namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        writeEmptyElement(namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        writeEmptyElement(null, localName);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        checkNotWritten();
+        if (depth == 0) {
+            throw new XMLStreamException("No element to end");
+        }
+        events.writeByte(END_ELEMENT_TAG);
+        depth--;
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        checkNotWritten();
+        events.writeByte(NAMESPACE_TAG);
+        writeString(prefix);
+        writeString(namespaceURI);
+        namespaceUriByPrefix.put(prefix, namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        writeNamespace("", namespaceURI);
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        checkNotWritten();
+        events.writeByte(CHARACTERS_TAG);
+        writeString(text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public void writeComment(String data) {
+        // comments are not kept
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) {
+        // processing instructions are not kept
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) {
+        // processing instructions are not kept
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        writeCharacters(data);
+    }
+
+    @Override
+    public void writeDTD(String dtd) {
+        // DTD is not kept
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        throw new XMLStreamException("Entity references are not supported");
+    }
+
+    @Override
+    public void writeStartDocument() {
+        // nothing to write
+    }
+
+    @Override
+    public void writeStartDocument(String version) {
+        // nothing to write
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) {
+        // nothing to write
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        if (written) {
+            return;
+        }
+        while (depth > 0) {
+            writeEndElement();
+        }
+        events.writeByte(END_DOCUMENT_TAG);
+        written = true;
+        flush();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        writeEndDocument();
+    }
+
+    @Override
+    public void flush() {
+        events.flush();
+        try {
+            events.os.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getPrefix(String uri) {
+        return namespaceUriByPrefix.entrySet().stream()
+                .filter(e -> e.getValue().equals(uri))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) {
+        // prefixes are declared with writeNamespace
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) {
+        // prefixes are declared with writeNamespace
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        throw new XMLStreamException("Namespace context is not supported");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+}
@@ -62,6 +62,12 @@ public class ExportOptions extends AbstractOptions<ExportOptions> {
      */
     private boolean sorted = false;
 
+    /**
+     * Render substations concurrently before writing them in order. The output is the same as a sequential export,
+     * this option is ignored when the network is anonymized.
+     */
+    private boolean parallel = false;
+
     public ExportOptions() {
     }
 
@@ -233,4 +239,13 @@ public class ExportOptions extends AbstractOptions<ExportOptions> {
         this.sorted = sorted;
         return this;
     }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public ExportOptions setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
 }
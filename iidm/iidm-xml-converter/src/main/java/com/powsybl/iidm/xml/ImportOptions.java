@@ -18,6 +18,11 @@ public class ImportOptions extends AbstractOptions<ImportOptions> {
 
     private boolean throwExceptionIfExtensionNotFound = false;
 
+    /**
+     * Parse the XML input in a background thread, pipelined with the creation of the network.
+     */
+    private boolean parallel = false;
+
     public ImportOptions() {
     }
 
@@ -50,4 +55,13 @@ public class ImportOptions extends AbstractOptions<ImportOptions> {
     public boolean isThrowExceptionIfExtensionNotFound() {
         return throwExceptionIfExtensionNotFound;
     }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public ImportOptions setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
 }
@@ -39,6 +39,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
@@ -63,6 +65,7 @@ public final class NetworkXml {
     private static final String SOURCE_FORMAT = "sourceFormat";
     private static final String ID = "id";
     private static final String MINIMUM_VALIDATION_LEVEL = "minimumValidationLevel";
+    private static final int MAX_PENDING_SUBSTATIONS_PER_THREAD = 4;
 
     // cache to improve performance
     private static final Supplier<XMLInputFactory> XML_INPUT_FACTORY_SUPPLIER = Suppliers.memoize(XMLInputFactory::newInstance);
@@ -251,9 +254,8 @@ public final class NetworkXml {
         writer.writeAttribute(SOURCE_FORMAT, n.getSourceFormat());
     }
 
-    private static XMLStreamWriter initializeWriter(Network n, OutputStream os, ExportOptions options) throws XMLStreamException {
+    private static XMLStreamWriter initializeWriter(Network n, XMLStreamWriter writer, ExportOptions options) throws XMLStreamException {
         IidmXmlVersion version = options.getVersion() == null ? CURRENT_IIDM_XML_VERSION : IidmXmlVersion.of(options.getVersion(), ".");
-        XMLStreamWriter writer = XmlUtil.initializeWriter(options.isIndent(), INDENT, os, options.getCharset());
         String namespaceUri = version.getNamespaceURI(n.getValidationLevel() == ValidationLevel.STEADY_STATE_HYPOTHESIS);
         writer.setPrefix(IIDM_PREFIX, namespaceUri);
         IidmXmlUtil.assertMinimumVersionIfNotDefault(n.getValidationLevel() != ValidationLevel.STEADY_STATE_HYPOTHESIS, NETWORK_ROOT_ELEMENT_NAME, MINIMUM_VALIDATION_LEVEL, IidmXmlUtil.ErrorMessage.NOT_SUPPORTED, IidmXmlVersion.V_1_7, version);
@@ -299,11 +301,65 @@ public final class NetworkXml {
     }
 
     private static void writeSubstations(Network n, NetworkXmlWriterContext context) throws XMLStreamException {
-        for (Substation s : IidmXmlUtil.sorted(n.getSubstations(), context.getOptions())) {
-            SubstationXml.INSTANCE.write(s, n, context);
+        Iterable<Substation> substations = IidmXmlUtil.sorted(n.getSubstations(), context.getOptions());
+        if (context.getOptions().isParallel() && !context.getOptions().isAnonymized()) {
+            // anonymization depends on the order ids are written so it cannot be done in parallel
+            writeSubstationsInParallel(substations, n, context);
+        } else {
+            for (Substation s : substations) {
+                SubstationXml.INSTANCE.write(s, n, context);
+            }
+        }
+    }
+
+    /**
+     * Substations are rendered concurrently into recording writers, then replayed in order to the actual writer so
+     * that the output is exactly the same as a sequential export. The number of substations rendered in advance is
+     * bounded to limit the memory used by recordings.
+     */
+    private static void writeSubstationsInParallel(Iterable<Substation> substations, Network n, NetworkXmlWriterContext context) throws XMLStreamException {
+        VariantManager variantManager = n.getVariantManager();
+        String workingVariantId = variantManager.getWorkingVariantId();
+        boolean variantMultiThreadAccess = variantManager.isVariantMultiThreadAccessAllowed();
+        int maxPendingSubstations = MAX_PENDING_SUBSTATIONS_PER_THREAD * ForkJoinPool.commonPool().getParallelism();
+        Deque<CompletableFuture<NetworkXmlWriterContext>> pending = new ArrayDeque<>();
+        for (Substation s : substations) {
+            if (pending.size() == maxPendingSubstations) {
+                replaySubstation(pending.poll(), context);
+            }
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                if (variantMultiThreadAccess) {
+                    variantManager.setWorkingVariant(workingVariantId);
+                }
+                NetworkXmlWriterContext substationContext = new NetworkXmlWriterContext(context.getAnonymizer(), new RecordingXmlStreamWriter(),
+                        context.getOptions(), context.getFilter(), context.getVersion(), context.isValid());
+                try {
+                    SubstationXml.INSTANCE.write(s, n, substationContext);
+                } catch (XMLStreamException e) {
+                    throw new UncheckedXmlStreamException(e);
+                }
+                return substationContext;
+            }));
+        }
+        while (!pending.isEmpty()) {
+            replaySubstation(pending.poll(), context);
         }
     }
 
+    private static void replaySubstation(CompletableFuture<NetworkXmlWriterContext> future, NetworkXmlWriterContext context) throws XMLStreamException {
+        NetworkXmlWriterContext substationContext;
+        try {
+            substationContext = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        ((RecordingXmlStreamWriter) substationContext.getWriter()).replay(context.getWriter());
+        substationContext.getExportedEquipments().forEach(context::addExportedEquipment);
+    }
+
     private static void writeTransformers(BusFilter filter, Network n, NetworkXmlWriterContext context) throws XMLStreamException {
         for (TwoWindingsTransformer twt : IidmXmlUtil.sorted(n.getTwoWindingsTransformers(), context.getOptions())) {
             if (twt.getSubstation().isEmpty() && filter.test(twt)) {
@@ -345,7 +401,23 @@ public final class NetworkXml {
 
     public static Anonymizer write(Network n, ExportOptions options, OutputStream os) {
         try {
-            NetworkXmlWriterContext context = writeBaseNetwork(n, initializeWriter(n, os, options), options);
+            return write(n, options, XmlUtil.initializeWriter(options.isIndent(), INDENT, os, options.getCharset()));
+        } catch (XMLStreamException e) {
+            throw new UncheckedXmlStreamException(e);
+        }
+    }
+
+    /**
+     * Write the network in the compact binary format, see {@link BinaryXmlStreamWriter}. The indentation and the
+     * charset of the options are ignored.
+     */
+    public static Anonymizer writeBinary(Network n, ExportOptions options, OutputStream os) {
+        return write(n, options, new BinaryXmlStreamWriter(os));
+    }
+
+    private static Anonymizer write(Network n, ExportOptions options, XMLStreamWriter writer) {
+        try {
+            NetworkXmlWriterContext context = writeBaseNetwork(n, initializeWriter(n, writer, options), options);
             // write extensions
             writeExtensions(n, context, options);
             context.getWriter().writeEndElement();
@@ -374,10 +446,18 @@ public final class NetworkXml {
     }
 
     public static Anonymizer write(Network network, ExportOptions options, DataSource dataSource, String dataSourceExt) throws IOException {
+        return write(network, options, dataSource, dataSourceExt, false);
+    }
+
+    public static Anonymizer writeBinary(Network network, ExportOptions options, DataSource dataSource, String dataSourceExt) throws IOException {
+        return write(network, options, dataSource, dataSourceExt, true);
+    }
+
+    private static Anonymizer write(Network network, ExportOptions options, DataSource dataSource, String dataSourceExt, boolean binary) throws IOException {
         try (OutputStream osb = dataSource.newOutputStream("", dataSourceExt, false);
              BufferedOutputStream bosb = new BufferedOutputStream(osb)) {
 
-            Anonymizer anonymizer = write(network, options, bosb);
+            Anonymizer anonymizer = binary ? writeBinary(network, options, bosb) : write(network, options, bosb);
             if (options.isAnonymized()) {
                 try (BufferedWriter writer2 = new BufferedWriter(new OutputStreamWriter(dataSource.newOutputStream("_mapping", "csv", false), StandardCharsets.UTF_8))) {
                     anonymizer.write(writer2);
@@ -408,6 +488,34 @@ public final class NetworkXml {
     public static Network read(InputStream is, ImportOptions config, Anonymizer anonymizer, NetworkFactory networkFactory) {
         try {
             XMLStreamReader reader = XML_INPUT_FACTORY_SUPPLIER.get().createXMLStreamReader(is);
+            Network network;
+            if (config.isParallel()) {
+                PipelinedXmlStreamReader pipelinedReader = new PipelinedXmlStreamReader(reader);
+                try {
+                    network = read(pipelinedReader, config, anonymizer, networkFactory);
+                } finally {
+                    // stop the parsing thread, even if the reading failed
+                    pipelinedReader.close();
+                }
+            } else {
+                network = read(reader, config, anonymizer, networkFactory);
+            }
+            XmlUtil.gcXmlInputFactory(XML_INPUT_FACTORY_SUPPLIER.get());
+            return network;
+        } catch (XMLStreamException e) {
+            throw new UncheckedXmlStreamException(e);
+        }
+    }
+
+    /**
+     * Read a network written in the compact binary format, see {@link BinaryXmlStreamReader}.
+     */
+    public static Network readBinary(InputStream is, ImportOptions config, Anonymizer anonymizer, NetworkFactory networkFactory) {
+        return read(new BinaryXmlStreamReader(is), config, anonymizer, networkFactory);
+    }
+
+    private static Network read(XMLStreamReader reader, ImportOptions config, Anonymizer anonymizer, NetworkFactory networkFactory) {
+        try {
             int state = reader.next();
             while (state == XMLStreamConstants.COMMENT) {
                 state = reader.next();
@@ -502,7 +610,6 @@ public final class NetworkXml {
 
             context.getEndTasks().forEach(Runnable::run);
             reader.close();
-            XmlUtil.gcXmlInputFactory(XML_INPUT_FACTORY_SUPPLIER.get());
             return network;
         } catch (XMLStreamException e) {
             throw new UncheckedXmlStreamException(e);
@@ -521,6 +628,14 @@ public final class NetworkXml {
     }
 
     public static Network read(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, ImportOptions options, String dataSourceExt) throws IOException {
+        return read(dataSource, networkFactory, options, dataSourceExt, false);
+    }
+
+    public static Network readBinary(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, ImportOptions options, String dataSourceExt) throws IOException {
+        return read(dataSource, networkFactory, options, dataSourceExt, true);
+    }
+
+    private static Network read(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, ImportOptions options, String dataSourceExt, boolean binary) throws IOException {
         Objects.requireNonNull(dataSource);
         Network network;
         Anonymizer anonymizer = null;
@@ -533,7 +648,7 @@ public final class NetworkXml {
         }
         //Read the base file with the extensions declared in the extensions list
         try (InputStream isb = dataSource.newInputStream(null, dataSourceExt)) {
-            network = NetworkXml.read(isb, options, anonymizer, networkFactory);
+            network = binary ? readBinary(isb, options, anonymizer, networkFactory) : read(isb, options, anonymizer, networkFactory);
         }
         return network;
     }
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.powsybl.commons.exceptions.UncheckedXmlStreamException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link XMLStreamReader} parsing the XML input in a background thread, so that parsing is pipelined with the
+ * processing of the events, i.e. the creation of the network equipments. Events are handed over by batches through a
+ * bounded queue. Comments and processing instructions are dropped.
+ * <p>
+ * This reader has to be closed, even if the processing fails, to stop the parsing thread.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class PipelinedXmlStreamReader extends AbstractXmlStreamReader {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    /**
+     * A batch of events stored in columns, attributes of all the events are stored in a single array of name value
+     * pairs.
+     */
+    private static final class Batch {
+
+        private final int[] types = new int[BATCH_SIZE];
+        private final String[] localNames = new String[BATCH_SIZE];
+        private final String[] namespaceURIs = new String[BATCH_SIZE];
+        private final String[] texts = new String[BATCH_SIZE];
+        private final int[] attributeEnds = new int[BATCH_SIZE];
+        private String[] attributes = new String[BATCH_SIZE * 4];
+        private final Map<String, String> namespaces = new HashMap<>();
+        private int size = 0;
+        private int attributesSize = 0;
+        private Exception error;
+
+        private boolean isFull() {
+            return size == BATCH_SIZE;
+        }
+
+        private void add(XMLStreamReader reader) {
+            int type = reader.getEventType();
+            types[size] = type;
+            if (type == START_ELEMENT || type == END_ELEMENT) {
+                localNames[size] = reader.getLocalName();
+                namespaceURIs[size] = reader.getNamespaceURI();
+            }
+            if (type == START_ELEMENT) {
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    namespaces.put(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+                }
+                int count = reader.getAttributeCount();
+                if (attributesSize + 2 * count > attributes.length) {
+                    attributes = Arrays.copyOf(attributes, Math.max(attributes.length * 2, attributesSize + 2 * count));
+                }
+                for (int i = 0; i < count; i++) {
+                    attributes[attributesSize++] = reader.getAttributeLocalName(i);
+                    attributes[attributesSize++] = reader.getAttributeValue(i);
+                }
+            } else if (type == CHARACTERS || type == CDATA || type == SPACE) {
+                texts[size] = reader.getText();
+            }
+            attributeEnds[size] = attributesSize;
+            size++;
+        }
+    }
+
+    private final XMLStreamReader reader;
+
+    private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread parsingThread;
+
+    private volatile boolean closed = false;
+
+    private Batch batch;
+
+    private int position = 0;
+
+    PipelinedXmlStreamReader(XMLStreamReader reader) {
+        this.reader = Objects.requireNonNull(reader);
+        parsingThread = new Thread(this::parse, "IIDM XML parser");
+        parsingThread.setDaemon(true);
+        parsingThread.start();
+    }
+
+    private static boolean isKept(int type) {
+        return type == START_ELEMENT || type == END_ELEMENT || type == CHARACTERS || type == CDATA || type == SPACE
+                || type == END_DOCUMENT;
+    }
+
+    private void parse() {
+        Batch b = new Batch();
+        try {
+            int type;
+            do {
+                type = reader.next();
+                if (isKept(type)) {
+                    b.add(reader);
+                    if (b.isFull()) {
+                        hand(b);
+                        b = new Batch();
+                    }
+                }
+            } while (type != END_DOCUMENT && !closed);
+        } catch (XMLStreamException | RuntimeException e) {
+            b.error = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            hand(b);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void hand(Batch b) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(b, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void nextBatch() throws XMLStreamException {
+        try {
+            batch = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedXmlStreamException(new XMLStreamException(e));
+        }
+        position = 0;
+        namespaceUriByPrefix.putAll(batch.namespaces);
+        if (batch.size == 0 && batch.error != null) {
+            throwError(batch.error);
+        }
+    }
+
+    private static void throwError(Exception error) throws XMLStreamException {
+        if (error instanceof XMLStreamException) {
+            throw (XMLStreamException) error;
+        }
+        throw (RuntimeException) error;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (eventType == END_DOCUMENT) {
+            throw new IllegalStateException("End of document reached");
+        }
+        if (batch == null || position == batch.size) {
+            if (batch != null && batch.error != null) {
+                throwError(batch.error);
+            }
+            nextBatch();
+        }
+        int i = position++;
+        eventType = batch.types[i];
+        localName = batch.localNames[i];
+        namespaceURI = batch.namespaceURIs[i];
+        text = batch.texts[i];
+        attributeCount = 0;
+        if (eventType == START_ELEMENT) {
+            for (int a = i == 0 ? 0 : batch.attributeEnds[i - 1]; a < batch.attributeEnds[i]; a += 2) {
+                addAttribute(batch.attributes[a], batch.attributes[a + 1]);
+            }
+        } else if (eventType == CDATA || eventType == SPACE) {
+            eventType = CHARACTERS;
+        }
+        return eventType;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        if (!closed) {
+            closed = true;
+            parsingThread.interrupt();
+            queue.clear();
+            try {
+                parsingThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reader.close();
+        }
+    }
+}
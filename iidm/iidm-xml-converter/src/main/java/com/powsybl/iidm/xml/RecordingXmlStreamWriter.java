@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.Arrays;
+
+/**
+ * A {@link XMLStreamWriter} recording the calls made to write an XML fragment, so that the fragment can be rendered
+ * by a thread and then replayed in order by another one to the actual writer, giving exactly the same output as if
+ * it had been directly written.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class RecordingXmlStreamWriter implements XMLStreamWriter {
+
+    private enum Operation {
+        START_ELEMENT,
+        START_ELEMENT_NS,
+        START_ELEMENT_PREFIX_NS,
+        EMPTY_ELEMENT,
+        EMPTY_ELEMENT_NS,
+        EMPTY_ELEMENT_PREFIX_NS,
+        END_ELEMENT,
+        ATTRIBUTE,
+        ATTRIBUTE_NS,
+        ATTRIBUTE_PREFIX_NS,
+        NAMESPACE,
+        DEFAULT_NAMESPACE,
+        CHARACTERS,
+        CDATA,
+        COMMENT,
+        PROCESSING_INSTRUCTION,
+        PROCESSING_INSTRUCTION_DATA,
+        ENTITY_REF,
+        DTD,
+        SET_PREFIX,
+        SET_DEFAULT_NAMESPACE;
+
+        private static final Operation[] VALUES = values();
+    }
+
+    private byte[] operations = new byte[256];
+
+    private int operationCount = 0;
+
+    private String[] arguments = new String[512];
+
+    private int argumentCount = 0;
+
+    private void record(Operation operation, String... args) {
+        if (operationCount == operations.length) {
+            operations = Arrays.copyOf(operations, operationCount * 2);
+        }
+        operations[operationCount++] = (byte) operation.ordinal();
+        if (argumentCount + args.length > arguments.length) {
+            arguments = Arrays.copyOf(arguments, Math.max(arguments.length * 2, argumentCount + args.length));
+        }
+        System.arraycopy(args, 0, arguments, argumentCount, args.length);
+        argumentCount += args.length;
+    }
+
+    /**
+     * Replay the recorded calls to the given writer.
+     */
+    void replay(XMLStreamWriter writer) throws XMLStreamException {
+        int a = 0;
+        for (int i = 0; i < operationCount; i++) {
+            switch (Operation.VALUES[operations[i]]) {
+                case START_ELEMENT:
+                    writer.writeStartElement(arguments[a++]);
+                    break;
+                case START_ELEMENT_NS:
+                    writer.writeStartElement(arguments[a++], arguments[a++]);
+                    break;
+                case START_ELEMENT_PREFIX_NS:
+                    writer.writeStartElement(arguments[a++], arguments[a++], arguments[a++]);
+                    break;
+                case EMPTY_ELEMENT:
+                    writer.writeEmptyElement(arguments[a++]);
+                    break;
+                case EMPTY_ELEMENT_NS:
+                    writer.writeEmptyElement(arguments[a++], arguments[a++]);
+                    break;
+                case EMPTY_ELEMENT_PREFIX_NS:
+                    writer.writeEmptyElement(arguments[a++], arguments[a++], arguments[a++]);
+                    break;
+                case END_ELEMENT:
+                    writer.writeEndElement();
+                    break;
+                case ATTRIBUTE:
+                    writer.writeAttribute(arguments[a++], arguments[a++]);
+                    break;
+                case ATTRIBUTE_NS:
+                    writer.writeAttribute(arguments[a++], arguments[a++], arguments[a++]);
+                    break;
+                case ATTRIBUTE_PREFIX_NS:
+                    writer.writeAttribute(arguments[a++], arguments[a++], arguments[a++], arguments[a++]);
+                    break;
+                case NAMESPACE:
+                    writer.writeNamespace(arguments[a++], arguments[a++]);
+                    break;
+                case DEFAULT_NAMESPACE:
+                    writer.writeDefaultNamespace(arguments[a++]);
+                    break;
+                case CHARACTERS:
+                    writer.writeCharacters(arguments[a++]);
+                    break;
+                case CDATA:
+                    writer.writeCData(arguments[a++]);
+                    break;
+                case COMMENT:
+                    writer.writeComment(arguments[a++]);
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(arguments[a++]);
+                    break;
+                case PROCESSING_INSTRUCTION_DATA:
+                    writer.writeProcessingInstruction(arguments[a++], arguments[a++]);
+                    break;
+                case ENTITY_REF:
+                    writer.writeEntityRef(arguments[a++]);
+                    break;
+                case DTD:
+                    writer.writeDTD(arguments[a++]);
+                    break;
+                case SET_PREFIX:
+                    writer.setPrefix(arguments[a++], arguments[a++]);
+                    break;
+                case SET_DEFAULT_NAMESPACE:
+                    writer.setDefaultNamespace(arguments[a++]);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected operation " + operations[i]);
+            }
+        }
+    }
+
+    @Override
+    public void writeStartElement(String localName) {
+        record(Operation.START_ELEMENT, localName);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) {
+        record(Operation.START_ELEMENT_NS, namespaceURI, localName);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) {
+        record(Operation.START_ELEMENT_PREFIX_NS, prefix, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) {
+        record(Operation.EMPTY_ELEMENT_NS, namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) {
+        record(Operation.EMPTY_ELEMENT_PREFIX_NS, prefix, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) {
+        record(Operation.EMPTY_ELEMENT, localName);
+    }
+
+    @Override
+    public void writeEndElement() {
+        record(Operation.END_ELEMENT);
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) {
+        record(Operation.ATTRIBUTE, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) {
+        record(Operation.ATTRIBUTE_PREFIX_NS, prefix, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) {
+        record(Operation.ATTRIBUTE_NS, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) {
+        record(Operation.NAMESPACE, prefix, namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) {
+        record(Operation.DEFAULT_NAMESPACE, namespaceURI);
+    }
+
+    @Override
+    public void writeComment(String data) {
+        record(Operation.COMMENT, data);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) {
+        record(Operation.PROCESSING_INSTRUCTION, target);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) {
+        record(Operation.PROCESSING_INSTRUCTION_DATA, target, data);
+    }
+
+    @Override
+    public void writeCData(String data) {
+        record(Operation.CDATA, data);
+    }
+
+    @Override
+    public void writeDTD(String dtd) {
+        record(Operation.DTD, dtd);
+    }
+
+    @Override
+    public void writeEntityRef(String name) {
+        record(Operation.ENTITY_REF, name);
+    }
+
+    @Override
+    public void writeCharacters(String text) {
+        record(Operation.CHARACTERS, text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) {
+        record(Operation.SET_PREFIX, prefix, uri);
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) {
+        record(Operation.SET_DEFAULT_NAMESPACE, uri);
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        throw new XMLStreamException("Document start cannot be written in a fragment");
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        writeStartDocument();
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        writeStartDocument();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        throw new XMLStreamException("Document end cannot be written in a fragment");
+    }
+
+    @Override
+    public String getPrefix(String uri) {
+        // prefixes are only known by the actual writer
+        return null;
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        throw new XMLStreamException("Namespace context is not supported");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+}
@@ -189,7 +189,7 @@ public class XMLExporter implements Exporter {
         });
     }
 
-    private ExportOptions createExportOptions(Properties parameters) {
+    ExportOptions createExportOptions(Properties parameters) {
         ExportOptions options = new ExportOptions()
                 .setIndent(Parameter.readBoolean(getFormat(), parameters, INDENT_PARAMETER, defaultValueConfig))
                 .setWithBranchSV(Parameter.readBoolean(getFormat(), parameters, WITH_BRANCH_STATE_VARIABLES_PARAMETER, defaultValueConfig))
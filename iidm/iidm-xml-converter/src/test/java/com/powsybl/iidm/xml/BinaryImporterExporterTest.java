@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.xml;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.datasource.MemDataSource;
+import com.powsybl.commons.xml.XmlUtil;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
+import org.junit.Test;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static com.powsybl.iidm.xml.IidmXmlConstants.CURRENT_IIDM_XML_VERSION;
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class BinaryImporterExporterTest extends AbstractXmlConverterTest {
+
+    private static final String[] FILES = {
+        "eurostag-tutorial1-lf.xml",
+        "eurostag-tutorial-example1-properties.xml",
+        "fictitiousSwitchRef.xml",
+        "multiple-extensions.xml",
+        "nonLinearShuntRoundTripRef.xml",
+        "reactiveLimitsRoundTripRef.xml",
+        "threeWindingsTransformerRoundTripRef.xml",
+        "tielineWithAliases.xml",
+        "activePowerControlRoundTripRef.xml",
+    };
+
+    private static byte[] toXml(Network network) {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        NetworkXml.write(network, new ExportOptions().setIndent(false), os);
+        return os.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        BinaryExporter exporter = new BinaryExporter();
+        BinaryImporter importer = new BinaryImporter();
+        for (String file : FILES) {
+            Network network = NetworkXml.read(getVersionedNetworkAsStream(file, CURRENT_IIDM_XML_VERSION));
+            MemDataSource dataSource = new MemDataSource();
+            exporter.export(network, new Properties(), dataSource);
+            assertTrue(importer.exists(dataSource));
+            assertTrue(dataSource.getData(null, "biidm").length < toXml(network).length);
+
+            Network network2 = importer.importData(dataSource, NetworkFactory.findDefault(), new Properties());
+            try (InputStream is = new ByteArrayInputStream(toXml(network2))) {
+                compareXml(getVersionedNetworkAsStream(file, CURRENT_IIDM_XML_VERSION), is);
+            }
+        }
+    }
+
+    @Test
+    public void testAnonymized() throws IOException {
+        Network network = NetworkXml.read(getVersionedNetworkAsStream("eurostag-tutorial1-lf.xml", CURRENT_IIDM_XML_VERSION));
+        Properties parameters = new Properties();
+        parameters.setProperty(XMLExporter.ANONYMISED, "true");
+        MemDataSource dataSource = new MemDataSource();
+        new BinaryExporter().export(network, parameters, dataSource);
+        assertTrue(dataSource.exists("_mapping", "csv"));
+
+        MemDataSource dataSource2 = new MemDataSource();
+        BinaryImporter importer = new BinaryImporter();
+        importer.copy(dataSource, dataSource2);
+        Network network2 = importer.importData(dataSource2, NetworkFactory.findDefault(), null);
+        assertNotNull(network2.getGenerator("GEN"));
+    }
+
+    @Test
+    public void testFormatErrors() throws IOException {
+        BinaryImporter importer = new BinaryImporter();
+        assertEquals("BIIDM", importer.getFormat());
+        assertEquals("BIIDM", new BinaryExporter().getFormat());
+        MemDataSource dataSource = new MemDataSource();
+        assertFalse(importer.exists(dataSource));
+        PowsyblException e = assertThrows(PowsyblException.class, () -> importer.copy(dataSource, new MemDataSource()));
+        assertEquals("From data source is not importable", e.getMessage());
+
+        dataSource.putData(".biidm", "<network/>".getBytes());
+        assertFalse(importer.exists(dataSource));
+        try (InputStream is = new ByteArrayInputStream(dataSource.getData(null, "biidm"))) {
+            e = assertThrows(PowsyblException.class, () -> new BinaryXmlStreamReader(is));
+            assertEquals("Not a binary IIDM file", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreamEvents() throws XMLStreamException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.writeStartElement("ns", "root");
+        writer.writeNamespace("p", "ns2");
+        writer.writeAttribute("i", "-12");
+        writer.writeAttribute("d", "0.1");
+        writer.writeAttribute("leadingZero", "007");
+        writer.writeAttribute("f", Float.toString(0.1f * 3));
+        writer.writeAttribute("s", "abc");
+        XmlUtil.writeDouble("x", 1.0 / 3, writer);
+        writer.writeEmptyElement("ns2", "empty");
+        writer.writeStartElement("ns", "text");
+        writer.writeCharacters("hello ");
+        writer.writeCharacters("world");
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(XMLStreamReader.START_ELEMENT, reader.next());
+        assertEquals("root", reader.getLocalName());
+        assertEquals("ns", reader.getNamespaceURI());
+        assertEquals("ns2", reader.getNamespaceURI("p"));
+        assertEquals(6, reader.getAttributeCount());
+        assertEquals("-12", reader.getAttributeValue(null, "i"));
+        assertEquals("0.1", reader.getAttributeValue(null, "d"));
+        assertEquals("007", reader.getAttributeValue(null, "leadingZero"));
+        assertEquals(Float.toString(0.1f * 3), reader.getAttributeValue(null, "f"));
+        assertEquals("abc", reader.getAttributeValue(null, "s"));
+        assertNull(reader.getAttributeValue(null, "unknown"));
+        assertEquals(1.0 / 3, XmlUtil.readDoubleAttribute(reader, "x"), 0);
+        assertEquals(Double.toString(1.0 / 3), reader.getAttributeValue(null, "x"));
+        assertEquals(-12, XmlUtil.readDoubleAttribute(reader, "i"), 0);
+        assertEquals(0.1, XmlUtil.readOptionalDoubleAttribute(reader, "d"), 0);
+        assertTrue(Double.isNaN(XmlUtil.readOptionalDoubleAttribute(reader, "unknown")));
+        assertEquals(XMLStreamReader.START_ELEMENT, reader.next());
+        assertEquals("empty", reader.getLocalName());
+        assertEquals(0, reader.getAttributeCount());
+        assertEquals(XMLStreamReader.END_ELEMENT, reader.next());
+        assertEquals("empty", reader.getLocalName());
+        assertEquals(XMLStreamReader.START_ELEMENT, reader.next());
+        assertEquals("hello world", reader.getElementText());
+        assertEquals("text", reader.getLocalName());
+        assertEquals(XMLStreamReader.END_ELEMENT, reader.next());
+        assertEquals("root", reader.getLocalName());
+        assertEquals(XMLStreamReader.END_DOCUMENT, reader.next());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testIncrementalWrite() throws XMLStreamException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.writeStartElement("root");
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            writer.writeEmptyElement("e");
+            writer.writeAttribute("id", "e" + i);
+        }
+        // events are written before the end of the document
+        assertTrue(os.size() > 0);
+        writer.writeEndDocument();
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(XMLStreamReader.START_ELEMENT, reader.next());
+        for (int i = 0; i < count; i++) {
+            assertEquals(XMLStreamReader.START_ELEMENT, reader.next());
+            assertEquals("e" + i, reader.getAttributeValue(null, "id"));
+            assertEquals(XMLStreamReader.END_ELEMENT, reader.next());
+        }
+        assertEquals(XMLStreamReader.END_ELEMENT, reader.next());
+        assertEquals(XMLStreamReader.END_DOCUMENT, reader.next());
+    }
+}
@@ -8,15 +8,16 @@ package com.powsybl.iidm.xml;
 
 import com.google.auto.service.AutoService;
 import com.powsybl.commons.exceptions.UncheckedSaxException;
+import com.powsybl.commons.exceptions.UncheckedXmlStreamException;
 import com.powsybl.commons.extensions.AbstractExtensionXmlSerializer;
 import com.powsybl.commons.extensions.ExtensionXmlSerializer;
 import com.powsybl.commons.xml.XmlReaderContext;
 import com.powsybl.commons.xml.XmlWriterContext;
 import com.powsybl.iidm.network.*;
-import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
-import com.powsybl.iidm.network.test.BusbarSectionExt;
-import com.powsybl.iidm.network.test.ScadaNetworkFactory;
-import com.powsybl.iidm.network.test.NetworkTest1Factory;
+import com.powsybl.iidm.network.extensions.ActivePowerControlAdder;
+import com.powsybl.iidm.network.extensions.LoadDetailAdder;
+import com.powsybl.iidm.network.extensions.SlackTerminal;
+import com.powsybl.iidm.network.test.*;
 import org.joda.time.DateTime;
 import org.junit.Test;
 
@@ -28,6 +29,8 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.powsybl.iidm.xml.IidmXmlConstants.CURRENT_IIDM_XML_VERSION;
 import static org.junit.Assert.*;
@@ -75,6 +78,81 @@ public class NetworkXmlTest extends AbstractXmlConverterTest {
         assertArrayEquals(Files.readAllBytes(file1), Files.readAllBytes(file2));
     }
 
+    private static String toSortedXml(Network network) throws IOException {
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            NetworkXml.write(network, new ExportOptions().setSorted(true), os);
+            return os.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testInMemoryCopy() throws IOException {
+        Network eurostag = EurostagTutorialExample1Factory.createWithLFResults();
+        eurostag.getGenerator("GEN").newExtension(ActivePowerControlAdder.class).withParticipate(true).withDroop(4).add();
+        eurostag.getLoad("LOAD").newExtension(LoadDetailAdder.class).withFixedActivePower(100).withVariableActivePower(500).add();
+        SlackTerminal.reset(eurostag.getVoltageLevel("VLGEN"), eurostag.getGenerator("GEN").getTerminal());
+        eurostag.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+        List<Network> networks = List.of(eurostag,
+                EurostagTutorialExample1Factory.createWithTieLine(),
+                FourSubstationsNodeBreakerFactory.create(),
+                ThreeWindingsTransformerNetworkFactory.create(),
+                BatteryNetworkFactory.create(),
+                DanglingLineNetworkFactory.createWithGeneration(),
+                HvdcTestNetwork.createLcc(),
+                HvdcTestNetwork.createVsc(),
+                ShuntTestCaseFactory.createNonLinear(),
+                SvcTestCaseFactory.createWithRemoteRegulatingTerminal(),
+                PhaseShifterTestCaseFactory.createWithTargetDeadband(),
+                ReactiveLimitsTestNetworkFactory.create(),
+                NetworkTest1Factory.create());
+        for (Network network : networks) {
+            Network copy = NetworkFactory.findDefault().copy(network, true);
+            assertNotSame(network, copy);
+            assertEquals(toSortedXml(network), toSortedXml(copy));
+        }
+    }
+
+    @Test
+    public void testParallelWriteAndRead() {
+        for (Network network : createParallelTestNetworks()) {
+            for (boolean sorted : new boolean[] {false, true}) {
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                NetworkXml.write(network, new ExportOptions().setSorted(sorted), os);
+                ByteArrayOutputStream parallelOs = new ByteArrayOutputStream();
+                NetworkXml.write(network, new ExportOptions().setSorted(sorted).setParallel(true), parallelOs);
+                assertArrayEquals(os.toByteArray(), parallelOs.toByteArray());
+
+                Network network2 = NetworkXml.read(new ByteArrayInputStream(os.toByteArray()), new ImportOptions().setParallel(true), null);
+                ByteArrayOutputStream os2 = new ByteArrayOutputStream();
+                NetworkXml.write(network2, new ExportOptions().setSorted(sorted), os2);
+                assertArrayEquals(os.toByteArray(), os2.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelReadError() {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        NetworkXml.write(FourSubstationsNodeBreakerFactory.create(), os);
+        byte[] truncated = Arrays.copyOf(os.toByteArray(), os.size() / 2);
+        ImportOptions options = new ImportOptions().setParallel(true);
+        ByteArrayInputStream is = new ByteArrayInputStream(truncated);
+        assertThrows(UncheckedXmlStreamException.class, () -> NetworkXml.read(is, options, null));
+    }
+
+    private static List<Network> createParallelTestNetworks() {
+        Network eurostag = EurostagTutorialExample1Factory.createWithLFResults();
+        eurostag.getLoad("LOAD").newExtension(LoadDetailAdder.class).withFixedActivePower(100).withVariableActivePower(500).add();
+        return List.of(eurostag,
+                EurostagTutorialExample1Factory.createWithTieLine(),
+                FourSubstationsNodeBreakerFactory.create(),
+                ThreeWindingsTransformerNetworkFactory.create(),
+                DanglingLineNetworkFactory.createWithGeneration(),
+                HvdcTestNetwork.createLcc(),
+                HvdcTestNetwork.createVsc(),
+                NetworkTest1Factory.create());
+    }
+
     @AutoService(ExtensionXmlSerializer.class)
     public static class BusbarSectionExtXmlSerializer extends AbstractExtensionXmlSerializer<BusbarSection, BusbarSectionExt> {
 
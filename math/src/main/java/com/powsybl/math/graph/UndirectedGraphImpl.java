@@ -16,8 +16,6 @@ import gnu.trove.set.hash.TIntHashSet;
 import java.io.PrintStream;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -35,6 +33,8 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
 
     private static final int NEIGHBORS_CAPACITY = 2;
 
+    private static final int WORKSPACE_CAPACITY = 16;
+
     private static final class Vertex<E> {
 
         private E object;
@@ -89,16 +89,82 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
 
     }
 
+    /**
+     * Adjacency of the graph in compressed sparse row format: the edges adjacent to vertex v are
+     * {@code edges[offsets[v]]} to {@code edges[offsets[v + 1] - 1]}, and {@code neighbors} gives the vertex at the
+     * other side of each of these edges. An adjacency is never modified once built, so it can be read by several
+     * threads without locking.
+     */
+    private static final class Adjacency {
+
+        private final int[] offsets;
+
+        private final int[] edges;
+
+        private final int[] neighbors;
+
+        private Adjacency(int[] offsets, int[] edges, int[] neighbors) {
+            this.offsets = offsets;
+            this.edges = edges;
+            this.neighbors = neighbors;
+        }
+
+        private int getDegree(int v) {
+            return offsets[v + 1] - offsets[v];
+        }
+    }
+
+    /**
+     * Working arrays of a traversal, reused by the traversals of a thread to avoid allocating them at each call.
+     */
+    private static final class TraversalWorkspace {
+
+        private boolean inUse = false;
+
+        private int[] vertexStack = new int[WORKSPACE_CAPACITY];
+
+        private int[] positionStack = new int[WORKSPACE_CAPACITY];
+
+        /* all false outside of traversals */
+        private boolean[] encountered = new boolean[WORKSPACE_CAPACITY];
+
+        /* vertices to reset in encountered at the end of the traversal */
+        private int[] visited = new int[WORKSPACE_CAPACITY];
+
+        private int visitedCount = 0;
+
+        private void ensureCapacity(int vertexCount) {
+            if (vertexStack.length < vertexCount) {
+                int capacity = Math.max(vertexCount, vertexStack.length * 2);
+                vertexStack = new int[capacity];
+                positionStack = new int[capacity];
+                encountered = new boolean[capacity];
+                visited = new int[capacity];
+            }
+        }
+
+        private void visit(int v) {
+            visited[visitedCount++] = v;
+        }
+
+        private void resetEncountered() {
+            for (int i = 0; i < visitedCount; i++) {
+                encountered[visited[i]] = false;
+            }
+            visitedCount = 0;
+        }
+    }
+
+    private static final ThreadLocal<TraversalWorkspace> WORKSPACES = ThreadLocal.withInitial(TraversalWorkspace::new);
+
     /* vertices */
     private final List<Vertex<V>> vertices = new ArrayList<>(VERTICES_CAPACITY);
 
     /* edges */
     private final List<Edge<E>> edges = new ArrayList<>(EDGES_CAPACITY);
 
-    /* cached adjacency list */
-    private TIntArrayList[] adjacencyListCache;
-
-    private final Lock adjacencyListCacheLock = new ReentrantLock();
+    /* cached adjacency */
+    private volatile Adjacency adjacencyCache;
 
     private final TIntHashSet availableVertices = new TIntHashSet();
 
@@ -359,9 +425,8 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
     @Override
     public IntStream getEdgeConnectedToVertexStream(int v) {
         checkVertex(v);
-        TIntArrayList[] adjacencyList = getAdjacencyList();
-        TIntArrayList adjacentEdges = adjacencyList[v];
-        return IntStream.range(0, adjacentEdges.size()).map(adjacentEdges::getQuick);
+        Adjacency adjacency = getAdjacency();
+        return Arrays.stream(adjacency.edges, adjacency.offsets[v], adjacency.offsets[v + 1]);
     }
 
     @Override
@@ -393,55 +458,131 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
         checkVertex(v1);
         checkVertex(v2);
         List<E> edgeObjects = new ArrayList<>(1);
-        TIntArrayList[] adjacencyList = getAdjacencyList();
-        TIntArrayList adjacentEdges = adjacencyList[v1];
-        for (int i = 0; i < adjacentEdges.size(); i++) {
-            int e = adjacentEdges.getQuick(i);
-            Edge<E> edge = edges.get(e);
-            if ((edge.getV1() == v1 && edge.getV2() == v2)
-                    || (edge.getV1() == v2 && edge.getV2() == v1)) {
-                edgeObjects.add(edge.getObject());
+        Adjacency adjacency = getAdjacency();
+        for (int i = adjacency.offsets[v1]; i < adjacency.offsets[v1 + 1]; i++) {
+            if (adjacency.neighbors[i] == v2) {
+                edgeObjects.add(edges.get(adjacency.edges[i]).getObject());
             }
         }
         return edgeObjects;
     }
 
     /**
-     * Create the adjacency list of this graph.
+     * Get the adjacency of this graph, building it if the graph has been modified since the last call. Several threads
+     * may build it at the same time, they all get an equivalent adjacency.
+     */
+    private Adjacency getAdjacency() {
+        Adjacency adjacency = adjacencyCache;
+        if (adjacency == null) {
+            adjacency = buildAdjacency();
+            adjacencyCache = adjacency;
+        }
+        return adjacency;
+    }
+
+    private Adjacency buildAdjacency() {
+        int vertexCount = vertices.size();
+        int[] offsets = new int[vertexCount + 1];
+        for (Edge<E> edge : edges) {
+            if (edge != null) {
+                offsets[edge.getV1() + 1]++;
+                offsets[edge.getV2() + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] adjacentEdges = new int[offsets[vertexCount]];
+        int[] neighbors = new int[offsets[vertexCount]];
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < edges.size(); e++) {
+            Edge<E> edge = edges.get(e);
+            if (edge != null) {
+                int v1 = edge.getV1();
+                int v2 = edge.getV2();
+                adjacentEdges[next[v1]] = e;
+                neighbors[next[v1]++] = v2;
+                adjacentEdges[next[v2]] = e;
+                neighbors[next[v2]++] = v1;
+            }
+        }
+        return new Adjacency(offsets, adjacentEdges, neighbors);
+    }
+
+    /**
+     * Create a modifiable adjacency list of this graph.
      * @return the adjacency list as a {@link TIntArrayList} of {@link TIntArrayList}.
      */
-    private TIntArrayList[] getAdjacencyList() {
-        adjacencyListCacheLock.lock();
-        try {
-            if (adjacencyListCache == null) {
-                adjacencyListCache = new TIntArrayList[vertices.size()];
-                for (int v = 0; v < vertices.size(); v++) {
-                    Vertex<V> vertex = vertices.get(v);
-                    if (vertex != null) {
-                        adjacencyListCache[v] = new TIntArrayList(NEIGHBORS_CAPACITY);
-                    }
-                }
-                for (int e = 0; e < edges.size(); e++) {
-                    Edge<E> edge = edges.get(e);
-                    if (edge != null) {
-                        int v1 = edge.getV1();
-                        int v2 = edge.getV2();
-                        adjacencyListCache[v1].add(e);
-                        adjacencyListCache[v2].add(e);
-                    }
-                }
+    private TIntArrayList[] createAdjacencyList() {
+        Adjacency adjacency = getAdjacency();
+        TIntArrayList[] adjacencyList = new TIntArrayList[vertices.size()];
+        for (int v = 0; v < vertices.size(); v++) {
+            if (vertices.get(v) != null) {
+                adjacencyList[v] = new TIntArrayList(Math.max(adjacency.getDegree(v), NEIGHBORS_CAPACITY));
+                adjacencyList[v].add(adjacency.edges, adjacency.offsets[v], adjacency.getDegree(v));
             }
-            return adjacencyListCache;
-        } finally {
-            adjacencyListCacheLock.unlock();
         }
+        return adjacencyList;
     }
 
     /**
      * Invalidate the adjacency list.
      */
     private void invalidateAdjacencyList() {
-        adjacencyListCache = null;
+        adjacencyCache = null;
+    }
+
+    private static TraversalWorkspace acquireWorkspace(int vertexCount) {
+        TraversalWorkspace workspace = WORKSPACES.get();
+        if (workspace.inUse) {
+            // nested traversal started from a traverser
+            workspace = new TraversalWorkspace();
+        }
+        workspace.inUse = true;
+        workspace.ensureCapacity(vertexCount);
+        return workspace;
+    }
+
+    private static void releaseWorkspace(TraversalWorkspace workspace) {
+        workspace.resetEncountered();
+        workspace.inUse = false;
+    }
+
+    /**
+     * Depth-first traversal, using an explicit stack instead of recursion. Vertices are visited in the same order as a
+     * recursive traversal.
+     */
+    private boolean traverse(int v, Traverser traverser, boolean[] encountered, Adjacency adjacency, TraversalWorkspace workspace) {
+        int[] vertexStack = workspace.vertexStack;
+        int[] positionStack = workspace.positionStack;
+        encountered[v] = true;
+        workspace.visit(v);
+        vertexStack[0] = v;
+        positionStack[0] = adjacency.offsets[v];
+        int depth = 1;
+        while (depth > 0) {
+            int top = depth - 1;
+            int i = positionStack[top];
+            if (i == adjacency.offsets[vertexStack[top] + 1]) {
+                depth--;
+                continue;
+            }
+            positionStack[top] = i + 1;
+            int neighbor = adjacency.neighbors[i];
+            if (!encountered[neighbor]) {
+                TraverseResult traverserResult = traverser.traverse(vertexStack[top], adjacency.edges[i], neighbor);
+                if (traverserResult == TraverseResult.CONTINUE) {
+                    encountered[neighbor] = true;
+                    workspace.visit(neighbor);
+                    vertexStack[depth] = neighbor;
+                    positionStack[depth] = adjacency.offsets[neighbor];
+                    depth++;
+                } else if (traverserResult == TraverseResult.TERMINATE_TRAVERSER) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     @Override
@@ -454,152 +595,114 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
             throw new PowsyblException("Encountered array is too small");
         }
 
-        TIntArrayList[] adjacencyList = getAdjacencyList();
-        TIntArrayList adjacentEdges = adjacencyList[v];
-        encountered[v] = true;
-        boolean keepGoing = true;
-        for (int i = 0; i < adjacentEdges.size(); i++) {
-            int e = adjacentEdges.getQuick(i);
-            Edge<E> edge = edges.get(e);
-            int v1 = edge.getV1();
-            int v2 = edge.getV2();
-            if (!encountered[v1]) {
-                TraverseResult traverserResult = traverser.traverse(v2, e, v1);
-                if (traverserResult == TraverseResult.CONTINUE) {
-                    encountered[v1] = true;
-                    keepGoing = traverse(v1, traverser, encountered);
-                } else if (traverserResult == TraverseResult.TERMINATE_TRAVERSER) {
-                    keepGoing = false;
-                }
-            } else if (!encountered[v2]) {
-                TraverseResult traverserResult = traverser.traverse(v1, e, v2);
-                if (traverserResult == TraverseResult.CONTINUE) {
-                    encountered[v2] = true;
-                    keepGoing = traverse(v2, traverser, encountered);
-                } else if (traverserResult == TraverseResult.TERMINATE_TRAVERSER) {
-                    keepGoing = false;
-                }
-            }
-            if (!keepGoing) {
-                break;
-            }
+        TraversalWorkspace workspace = acquireWorkspace(vertices.size());
+        try {
+            return traverse(v, traverser, encountered, getAdjacency(), workspace);
+        } finally {
+            releaseWorkspace(workspace);
         }
-
-        return keepGoing;
     }
 
     @Override
     public boolean traverse(int v, Traverser traverser) {
-        boolean[] encountered = new boolean[vertices.size()];
-        Arrays.fill(encountered, false);
-        return traverse(v, traverser, encountered);
+        return traverse(new int[] {v}, traverser);
     }
 
     @Override
     public boolean traverse(int[] startingVertices, Traverser traverser) {
-        boolean[] encountered = new boolean[vertices.size()];
-        Arrays.fill(encountered, false);
-        for (int startingVertex : startingVertices) {
-            if (!encountered[startingVertex]) {
-                if (!traverse(startingVertex, traverser, encountered)) {
+        Objects.requireNonNull(traverser);
+        Adjacency adjacency = getAdjacency();
+        TraversalWorkspace workspace = acquireWorkspace(vertices.size());
+        try {
+            boolean[] encountered = workspace.encountered;
+            for (int startingVertex : startingVertices) {
+                checkVertex(startingVertex);
+                if (!encountered[startingVertex] && !traverse(startingVertex, traverser, encountered, adjacency, workspace)) {
                     return false;
                 }
             }
+            return true;
+        } finally {
+            releaseWorkspace(workspace);
         }
-        return true;
     }
 
     /**
      * {@inheritDoc}.
      *
      * This method allocates a {@link List} of {@link TIntArrayList} to store the paths, a {@link BitSet} to store the encountered vertices
-     * and calls {@link #findAllPaths(int, Function, Function, TIntArrayList, BitSet, List)}.
+     * and calls {@link #findAllPaths(int, Function, Function, Adjacency, TIntArrayList, BitSet, List)}.
      */
     @Override
     public List<TIntArrayList> findAllPaths(int from, Function<V, Boolean> pathComplete, Function<E, Boolean> pathCancelled) {
         Objects.requireNonNull(pathComplete);
         List<TIntArrayList> paths = new ArrayList<>();
         BitSet encountered = new BitSet(vertices.size());
-        TIntArrayList path = new TIntArrayList(1);
-        findAllPaths(from, pathComplete, pathCancelled, path, encountered, paths);
+        TIntArrayList path = new TIntArrayList();
+        findAllPaths(from, pathComplete, pathCancelled, getAdjacency(), path, encountered, paths);
         // sort paths by size
         paths.sort((o1, o2) -> o1.size() - o2.size());
         return paths;
     }
 
     /**
-     * This method is called by {@link #findAllPaths(int, Function, Function, TIntArrayList, BitSet, List)} each time a vertex is traversed.
-     * The path is added to the paths list if it's complete, otherwise this method calls the {@link #findAllPaths(int, Function, Function, TIntArrayList, BitSet, List)}
-     * to continue the recursion.
+     * This method is called by {@link #findAllPaths(int, Function, Function, Adjacency, TIntArrayList, BitSet, List)} each time a vertex is traversed.
+     * A copy of the path is added to the paths list if it's complete, otherwise this method calls the {@link #findAllPaths(int, Function, Function, Adjacency, TIntArrayList, BitSet, List)}
+     * to continue the recursion. The path is restored before returning, so that the same list is used by all the recursion.
      *
      * @param e the index of the current edge.
      * @param v1or2 the index of the current vertex.
      * @param pathComplete a function that returns true when the target vertex is found.
      * @param pathCancelled pathCanceled a function that returns true when the edge must not be traversed.
+     * @param adjacency the adjacency of the graph.
      * @param path a list that contains the traversed edges.
      * @param encountered a BitSet that contains the traversed vertex.
      * @param paths a list that contains the complete paths.
      * @return true if the path is complete, false otherwise.
      */
     private boolean findAllPaths(int e, int v1or2, Function<V, Boolean> pathComplete, Function<E, Boolean> pathCancelled,
-                                 TIntArrayList path, BitSet encountered, List<TIntArrayList> paths) {
+                                 Adjacency adjacency, TIntArrayList path, BitSet encountered, List<TIntArrayList> paths) {
         if (encountered.get(v1or2)) {
             return false;
         }
         Vertex<V> obj1or2 = vertices.get(v1or2);
         path.add(e);
-        if (pathComplete.apply(obj1or2.getObject())) {
-            paths.add(path);
-            return true;
+        boolean complete = pathComplete.apply(obj1or2.getObject());
+        if (complete) {
+            paths.add(new TIntArrayList(path));
         } else {
-            findAllPaths(v1or2, pathComplete, pathCancelled, path, encountered, paths);
-            return false;
+            findAllPaths(v1or2, pathComplete, pathCancelled, adjacency, path, encountered, paths);
         }
+        path.removeAt(path.size() - 1);
+        return complete;
     }
 
     /**
-     * This method is called by {@link #findAllPaths(int, Function, Function)} or {@link #findAllPaths(int, int, Function, Function, TIntArrayList, BitSet, List)}.
-     * For each adjacent edges for which the pathCanceled returns {@literal false}, traverse the other vertex calling {@link #findAllPaths(int, int, Function, Function, TIntArrayList, BitSet, List)}.
+     * This method is called by {@link #findAllPaths(int, Function, Function)} or {@link #findAllPaths(int, int, Function, Function, Adjacency, TIntArrayList, BitSet, List)}.
+     * For each adjacent edges for which the pathCanceled returns {@literal false}, traverse the other vertex calling {@link #findAllPaths(int, int, Function, Function, Adjacency, TIntArrayList, BitSet, List)}.
+     * The vertex is marked as encountered only while its adjacent edges are traversed, so that the paths going through
+     * the different edges do not need their own copy of the encountered vertices.
      *
      * @param v the current vertex
      * @param pathComplete a function that returns true when the target vertex is found.
      * @param pathCancelled a function that returns true when the edge must not be traversed.
+     * @param adjacency the adjacency of the graph.
      * @param path a list that contains the traversed edges.
      * @param encountered a BitSet that contains the traversed vertex.
      * @param paths a list that contains the complete paths.
      */
     private void findAllPaths(int v, Function<V, Boolean> pathComplete, Function<E, Boolean> pathCancelled,
-                              TIntArrayList path, BitSet encountered, List<TIntArrayList> paths) {
+                              Adjacency adjacency, TIntArrayList path, BitSet encountered, List<TIntArrayList> paths) {
         checkVertex(v);
         encountered.set(v, true);
-        TIntArrayList[] adjacencyList = getAdjacencyList();
-        TIntArrayList adjacentEdges = adjacencyList[v];
-        for (int i = 0; i < adjacentEdges.size(); i++) {
-            int e = adjacentEdges.getQuick(i);
-            Edge<E> edge = edges.get(e);
-            if (pathCancelled != null && pathCancelled.apply(edge.getObject())) {
+        for (int i = adjacency.offsets[v]; i < adjacency.offsets[v + 1]; i++) {
+            int e = adjacency.edges[i];
+            if (pathCancelled != null && pathCancelled.apply(edges.get(e).getObject())) {
                 continue;
             }
-            int v1 = edge.getV1();
-            int v2 = edge.getV2();
-            TIntArrayList path2;
-            BitSet encountered2;
-            if (i < adjacentEdges.size() - 1) {
-                path2 = new TIntArrayList(path);
-                encountered2 = new BitSet(vertices.size());
-                encountered2.or(encountered);
-            } else {
-                path2 = path;
-                encountered2 = encountered;
-            }
-            if (v == v2) {
-                findAllPaths(e, v1, pathComplete, pathCancelled, path2, encountered2, paths);
-            } else if (v == v1) {
-                findAllPaths(e, v2, pathComplete, pathCancelled, path2, encountered2, paths);
-            } else {
-                throw new AssertionError();
-            }
+            findAllPaths(e, adjacency.neighbors[i], pathComplete, pathCancelled, adjacency, path, encountered, paths);
         }
+        encountered.set(v, false);
     }
 
     @Override
@@ -746,9 +849,10 @@ public class UndirectedGraphImpl<V, E> implements UndirectedGraph<V, E> {
 
     @Override
     public void removeIsolatedVertices(boolean andAlsoDanglingEdges) {
-        TIntArrayList[] adjacencyList = getAdjacencyList();
+        TIntArrayList[] adjacencyList = createAdjacencyList();
         for (int v = 0; v < vertices.size(); v++) {
             removeIsolatedVertices(andAlsoDanglingEdges, v, adjacencyList);
         }
+        invalidateAdjacencyList();
     }
 }
@@ -0,0 +1,605 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import com.google.common.base.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure Java sparse LU decomposition, following the left looking algorithm of Gilbert and Peierls used by KLU.
+ * <p>
+ * The decomposition is split in three steps:
+ * <ul>
+ *     <li>a symbolic analysis, done once, computing a fill reducing ordering of the columns
+ *     (see {@link MinimumDegreeOrdering}),</li>
+ *     <li>a numeric factorization P A Q = L U, choosing row pivots with a threshold partial pivoting that prefers
+ *     the diagonal,</li>
+ *     <li>a refactorization, used by {@link #update(boolean)}, computing new values for the same structure of L and
+ *     U and the same pivots. It is much faster than a factorization, and falls back to it if pivots have become too
+ *     small.</li>
+ * </ul>
+ * Dense right hand sides are solved by blocks of columns, which may be spread over a fork join pool with
+ * {@link #solve(DenseMatrix, ForkJoinPool)}. Single vector solves are not thread safe.
+ *
+ * @see JavaSparseMatrix
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class JavaSparseLUDecomposition implements LUDecomposition {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaSparseLUDecomposition.class);
+
+    static final double DEFAULT_RGROWTH_THRESHOLD = 1e-10;
+
+    /**
+     * A diagonal pivot is chosen if its absolute value is at least this fraction of the largest candidate.
+     */
+    private static final double PIVOT_TOLERANCE = 1e-3;
+
+    /**
+     * Number of right hand side columns solved together by dense matrix solves.
+     */
+    private static final int BLOCK_SIZE = 16;
+
+    private final JavaSparseMatrix matrix;
+
+    private final int n;
+
+    private final int valueCount;
+
+    /* column of the matrix eliminated at each step */
+    private final int[] q;
+
+    /* step at which each row of the matrix is eliminated */
+    private final int[] pinv;
+
+    /* rows of the matrix are divided by their largest absolute value before factorization */
+    private final double[] rowScale;
+
+    /* L by column, unit diagonal stored first, row indices are steps */
+    private int[] lp;
+    private int[] li;
+    private double[] lx;
+
+    /* U by column, entries in topological order and diagonal stored last, row indices are steps */
+    private int[] up;
+    private int[] ui;
+    private double[] ux;
+
+    /* work arrays */
+    private final double[] x;
+    private final int[] xi;
+    private final int[] stack;
+    private final int[] positionStack;
+    private final boolean[] marked;
+
+    /* work arrays of the dense matrix solves, one per thread solving blocks of columns */
+    private final Queue<double[]> blockWorkArrays = new ConcurrentLinkedQueue<>();
+
+    JavaSparseLUDecomposition(JavaSparseMatrix matrix) {
+        this.matrix = Objects.requireNonNull(matrix);
+        if (matrix.getRowCount() != matrix.getColumnCount()) {
+            throw new MatrixException("matrix is not square");
+        }
+        n = matrix.getRowCount();
+        valueCount = matrix.getValueCount();
+        x = new double[n];
+        xi = new int[n];
+        stack = new int[n];
+        positionStack = new int[n];
+        marked = new boolean[n];
+        pinv = new int[n];
+        rowScale = new double[n];
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        q = MinimumDegreeOrdering.compute(n, matrix.getColumnStart(), matrix.getRowIndices());
+        factorize(matrix.getColumnStart(), matrix.getRowIndices(), matrix.getValues());
+        stopwatch.stop();
+        LOGGER.debug("Sparse LU decomposition done in {} us (L non zeros: {}, U non zeros: {})",
+                stopwatch.elapsed(TimeUnit.MICROSECONDS), lp[n], up[n]);
+    }
+
+    private static int[] grow(int[] array, int minCapacity) {
+        return array.length >= minCapacity ? array : Arrays.copyOf(array, Math.max(minCapacity, 2 * array.length));
+    }
+
+    private static double[] grow(double[] array, int minCapacity) {
+        return array.length >= minCapacity ? array : Arrays.copyOf(array, Math.max(minCapacity, 2 * array.length));
+    }
+
+    /**
+     * Find the rows of column k of L U which are not zero, i.e. the rows reachable in the graph of L from the non zero
+     * rows of column col of the matrix. They are stored in {@code xi[top..n-1]} in topological order.
+     *
+     * @return top
+     */
+    private int reach(int col, int[] columnStart, int[] rowIndices) {
+        int top = n;
+        for (int p = columnStart[col]; p < columnStart[col + 1]; p++) {
+            int i = rowIndices[p];
+            if (!marked[i]) {
+                top = depthFirstSearch(i, top);
+            }
+        }
+        for (int p = top; p < n; p++) {
+            marked[xi[p]] = false;
+        }
+        return top;
+    }
+
+    private int depthFirstSearch(int start, int top) {
+        int newTop = top;
+        int head = 0;
+        stack[0] = start;
+        while (head >= 0) {
+            int j = stack[head];
+            int jStep = pinv[j];
+            if (!marked[j]) {
+                marked[j] = true;
+                // first entry of the column of L is the pivot itself
+                positionStack[head] = jStep < 0 ? 0 : lp[jStep] + 1;
+            }
+            boolean done = true;
+            int end = jStep < 0 ? 0 : lp[jStep + 1];
+            for (int p = positionStack[head]; p < end; p++) {
+                int i = li[p];
+                if (!marked[i]) {
+                    positionStack[head] = p + 1;
+                    stack[++head] = i;
+                    done = false;
+                    break;
+                }
+            }
+            if (done) {
+                head--;
+                xi[--newTop] = j;
+            }
+        }
+        return newTop;
+    }
+
+    private void computeRowScale(int[] columnStart, int[] rowIndices, double[] values) {
+        Arrays.fill(rowScale, 0);
+        for (int p = 0; p < columnStart[n]; p++) {
+            rowScale[rowIndices[p]] = Math.max(rowScale[rowIndices[p]], Math.abs(values[p]));
+        }
+        for (int i = 0; i < n; i++) {
+            if (rowScale[i] == 0) {
+                rowScale[i] = 1;
+            }
+        }
+    }
+
+    /**
+     * Numeric factorization with partial pivoting. During the factorization, row indices of L are rows of the matrix,
+     * they are replaced by steps at the end.
+     */
+    private void factorize(int[] columnStart, int[] rowIndices, double[] values) {
+        int nnz = columnStart[n];
+        lp = new int[n + 1];
+        li = new int[4 * nnz + n];
+        lx = new double[4 * nnz + n];
+        up = new int[n + 1];
+        ui = new int[4 * nnz + n];
+        ux = new double[4 * nnz + n];
+        Arrays.fill(pinv, -1);
+        computeRowScale(columnStart, rowIndices, values);
+        int lnz = 0;
+        int unz = 0;
+        for (int k = 0; k < n; k++) {
+            int col = q[k];
+            li = grow(li, lnz + n);
+            lx = grow(lx, lnz + n);
+            ui = grow(ui, unz + n);
+            ux = grow(ux, unz + n);
+
+            // solve L x = A(:, col)
+            int top = reach(col, columnStart, rowIndices);
+            for (int p = columnStart[col]; p < columnStart[col + 1]; p++) {
+                x[rowIndices[p]] += values[p] / rowScale[rowIndices[p]];
+            }
+            for (int p = top; p < n; p++) {
+                int j = xi[p];
+                int jStep = pinv[j];
+                if (jStep >= 0) {
+                    double xj = x[j];
+                    for (int t = lp[jStep] + 1; t < lp[jStep + 1]; t++) {
+                        x[li[t]] -= lx[t] * xj;
+                    }
+                }
+            }
+
+            // choose the pivot among rows which are not yet eliminated
+            int pivotRow = -1;
+            double maxAbs = -1;
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    double abs = Math.abs(x[i]);
+                    if (abs > maxAbs) {
+                        maxAbs = abs;
+                        pivotRow = i;
+                    }
+                } else {
+                    ui[unz] = pinv[i];
+                    ux[unz++] = x[i];
+                }
+            }
+            if (pivotRow == -1 || maxAbs <= 0 || Double.isNaN(maxAbs)) {
+                Arrays.fill(x, 0);
+                throw new MatrixException("Matrix is singular");
+            }
+            if (pinv[col] < 0 && Math.abs(x[col]) >= maxAbs * PIVOT_TOLERANCE) {
+                pivotRow = col;
+            }
+            double pivot = x[pivotRow];
+            ui[unz] = k;
+            ux[unz++] = pivot;
+            pinv[pivotRow] = k;
+            li[lnz] = pivotRow;
+            lx[lnz++] = 1;
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    li[lnz] = i;
+                    lx[lnz++] = x[i] / pivot;
+                }
+                x[i] = 0;
+            }
+            lp[k + 1] = lnz;
+            up[k + 1] = unz;
+        }
+        for (int p = 0; p < lnz; p++) {
+            li[p] = pinv[li[p]];
+        }
+    }
+
+    /**
+     * Numeric factorization with the structure and the pivots of the last factorization.
+     *
+     * @return the reciprocal pivot growth, or 0 if a pivot is zero
+     */
+    private double refactorize(int[] columnStart, int[] rowIndices, double[] values) {
+        double rgrowth = Double.MAX_VALUE;
+        computeRowScale(columnStart, rowIndices, values);
+        for (int k = 0; k < n; k++) {
+            int col = q[k];
+            double maxAbsA = 0;
+            for (int p = columnStart[col]; p < columnStart[col + 1]; p++) {
+                double value = values[p] / rowScale[rowIndices[p]];
+                x[pinv[rowIndices[p]]] += value;
+                maxAbsA = Math.max(maxAbsA, Math.abs(value));
+            }
+            double maxAbsU = 0;
+            int diagonal = up[k + 1] - 1;
+            for (int t = up[k]; t < diagonal; t++) {
+                int j = ui[t];
+                double xj = x[j];
+                x[j] = 0;
+                ux[t] = xj;
+                maxAbsU = Math.max(maxAbsU, Math.abs(xj));
+                for (int s = lp[j] + 1; s < lp[j + 1]; s++) {
+                    x[li[s]] -= lx[s] * xj;
+                }
+            }
+            double pivot = x[k];
+            x[k] = 0;
+            ux[diagonal] = pivot;
+            maxAbsU = Math.max(maxAbsU, Math.abs(pivot));
+            for (int s = lp[k] + 1; s < lp[k + 1]; s++) {
+                lx[s] = x[li[s]] / pivot;
+                x[li[s]] = 0;
+            }
+            if (pivot == 0 || !Double.isFinite(pivot)) {
+                Arrays.fill(x, 0);
+                return 0;
+            }
+            if (maxAbsU > 0) {
+                rgrowth = Math.min(rgrowth, maxAbsA / maxAbsU);
+            }
+        }
+        return rgrowth;
+    }
+
+    /**
+     * Check no elements have been added since first decomposition
+     */
+    private void checkMatrixStructure() {
+        if (matrix.getValueCount() != valueCount) {
+            throw new MatrixException("Elements have been added to the sparse matrix since initial decomposition");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The structure of the matrix is not supposed to have changed, only non zero values. If incremental update is
+     * allowed, the pivots of the previous decomposition are kept unless the reciprocal pivot growth gets lower than
+     * the threshold of the matrix.
+     */
+    @Override
+    public void update(boolean allowIncrementalUpdate) {
+        checkMatrixStructure();
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        int[] columnStart = matrix.getColumnStart();
+        int[] rowIndices = matrix.getRowIndices();
+        double[] values = matrix.getValues();
+        double rgrowth = allowIncrementalUpdate ? refactorize(columnStart, rowIndices, values) : 0;
+        boolean refactorized = allowIncrementalUpdate && rgrowth >= matrix.getRgrowthThreshold() && rgrowth > 0;
+        if (!refactorized) {
+            factorize(columnStart, rowIndices, values);
+        }
+        stopwatch.stop();
+        LOGGER.debug("Sparse LU decomposition updated (refactorized: {}, rgrowth is {}, threshold is {}) in {} us",
+                refactorized, rgrowth, matrix.getRgrowthThreshold(), stopwatch.elapsed(TimeUnit.MICROSECONDS));
+    }
+
+    private void checkSize(int size) {
+        if (size != n) {
+            throw new MatrixException("Incorrect right hand side size " + size + ", expected " + n);
+        }
+    }
+
+    /**
+     * Solve A x = b, using the work array y. As the scaled matrix S A is factorized, S A x = S b is solved.
+     */
+    private void solve(double[] b, double[] y) {
+        for (int i = 0; i < n; i++) {
+            y[pinv[i]] = b[i] / rowScale[i];
+        }
+        for (int k = 0; k < n; k++) {
+            double yk = y[k];
+            if (yk != 0) {
+                for (int s = lp[k] + 1; s < lp[k + 1]; s++) {
+                    y[li[s]] -= lx[s] * yk;
+                }
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            int diagonal = up[k + 1] - 1;
+            double yk = y[k] / ux[diagonal];
+            y[k] = yk;
+            if (yk != 0) {
+                for (int t = up[k]; t < diagonal; t++) {
+                    y[ui[t]] -= ux[t] * yk;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            b[q[k]] = y[k];
+        }
+    }
+
+    /**
+     * Solve A<sup>T</sup> x = b, using the work array w. As the scaled matrix S A is factorized,
+     * (S A)<sup>T</sup> z = b is solved and x = S z.
+     */
+    private void solveTransposed(double[] b, double[] w) {
+        for (int k = 0; k < n; k++) {
+            w[k] = b[q[k]];
+        }
+        for (int k = 0; k < n; k++) {
+            int diagonal = up[k + 1] - 1;
+            double s = w[k];
+            for (int t = up[k]; t < diagonal; t++) {
+                s -= ux[t] * w[ui[t]];
+            }
+            w[k] = s / ux[diagonal];
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            double s = w[k];
+            for (int t = lp[k] + 1; t < lp[k + 1]; t++) {
+                s -= lx[t] * w[li[t]];
+            }
+            w[k] = s;
+        }
+        for (int i = 0; i < n; i++) {
+            b[i] = w[pinv[i]] / rowScale[i];
+        }
+    }
+
+    @Override
+    public void solve(double[] b) {
+        checkSize(b.length);
+        solve(b, x);
+        Arrays.fill(x, 0);
+    }
+
+    @Override
+    public void solveTransposed(double[] b) {
+        checkSize(b.length);
+        solveTransposed(b, x);
+        Arrays.fill(x, 0);
+    }
+
+    /**
+     * Solve a block of columns of b, stored interleaved in the work array y, so that each entry of L and U is read
+     * once for the whole block.
+     */
+    private void solveBlock(DoubleBuffer b, int firstColumn, int width, double[] y) {
+        for (int c = 0; c < width; c++) {
+            int base = (firstColumn + c) * n;
+            for (int i = 0; i < n; i++) {
+                y[pinv[i] * width + c] = b.get(base + i) / rowScale[i];
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int kw = k * width;
+            for (int s = lp[k] + 1; s < lp[k + 1]; s++) {
+                int iw = li[s] * width;
+                double l = lx[s];
+                for (int c = 0; c < width; c++) {
+                    y[iw + c] -= l * y[kw + c];
+                }
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            int kw = k * width;
+            int diagonal = up[k + 1] - 1;
+            double d = ux[diagonal];
+            for (int c = 0; c < width; c++) {
+                y[kw + c] /= d;
+            }
+            for (int t = up[k]; t < diagonal; t++) {
+                int iw = ui[t] * width;
+                double u = ux[t];
+                for (int c = 0; c < width; c++) {
+                    y[iw + c] -= u * y[kw + c];
+                }
+            }
+        }
+        for (int c = 0; c < width; c++) {
+            int base = (firstColumn + c) * n;
+            for (int k = 0; k < n; k++) {
+                b.put(base + q[k], y[k * width + c]);
+            }
+        }
+    }
+
+    /**
+     * Transposed version of {@link #solveBlock(DoubleBuffer, int, int, double[])}.
+     */
+    private void solveTransposedBlock(DoubleBuffer b, int firstColumn, int width, double[] y) {
+        for (int c = 0; c < width; c++) {
+            int base = (firstColumn + c) * n;
+            for (int k = 0; k < n; k++) {
+                y[k * width + c] = b.get(base + q[k]);
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int kw = k * width;
+            int diagonal = up[k + 1] - 1;
+            for (int t = up[k]; t < diagonal; t++) {
+                int iw = ui[t] * width;
+                double u = ux[t];
+                for (int c = 0; c < width; c++) {
+                    y[kw + c] -= u * y[iw + c];
+                }
+            }
+            double d = ux[diagonal];
+            for (int c = 0; c < width; c++) {
+                y[kw + c] /= d;
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            int kw = k * width;
+            for (int s = lp[k] + 1; s < lp[k + 1]; s++) {
+                int iw = li[s] * width;
+                double l = lx[s];
+                for (int c = 0; c < width; c++) {
+                    y[kw + c] -= l * y[iw + c];
+                }
+            }
+        }
+        for (int c = 0; c < width; c++) {
+            int base = (firstColumn + c) * n;
+            for (int i = 0; i < n; i++) {
+                b.put(base + i, y[pinv[i] * width + c] / rowScale[i]);
+            }
+        }
+    }
+
+    private void solveBlocks(DoubleBuffer b, int columnCount, int firstBlock, int lastBlock, boolean transposed) {
+        double[] y = blockWorkArrays.poll();
+        if (y == null) {
+            y = new double[n * BLOCK_SIZE];
+        }
+        for (int block = firstBlock; block < lastBlock; block++) {
+            int firstColumn = block * BLOCK_SIZE;
+            int width = Math.min(BLOCK_SIZE, columnCount - firstColumn);
+            if (transposed) {
+                solveTransposedBlock(b, firstColumn, width, y);
+            } else {
+                solveBlock(b, firstColumn, width, y);
+            }
+        }
+        blockWorkArrays.offer(y);
+    }
+
+    private static int getBlockCount(int columnCount) {
+        return (columnCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    private void solve(DenseMatrix b, boolean transposed) {
+        checkSize(b.getRowCount());
+        int columnCount = b.getColumnCount();
+        solveBlocks(b.getBuffer().asDoubleBuffer(), columnCount, 0, getBlockCount(columnCount), transposed);
+    }
+
+    private void solve(DenseMatrix b, ForkJoinPool pool, boolean transposed) {
+        checkSize(b.getRowCount());
+        Objects.requireNonNull(pool);
+        int columnCount = b.getColumnCount();
+        pool.invoke(new SolveBlocksTask(b.getBuffer().asDoubleBuffer(), columnCount, 0, getBlockCount(columnCount), transposed));
+    }
+
+    /**
+     * Solve a range of blocks of columns, splitting it in two halves until there is only one block left.
+     */
+    private final class SolveBlocksTask extends RecursiveAction {
+
+        private final transient DoubleBuffer b;
+        private final int columnCount;
+        private final int firstBlock;
+        private final int lastBlock;
+        private final boolean transposed;
+
+        private SolveBlocksTask(DoubleBuffer b, int columnCount, int firstBlock, int lastBlock, boolean transposed) {
+            this.b = b;
+            this.columnCount = columnCount;
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+            this.transposed = transposed;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastBlock - firstBlock <= 1) {
+                solveBlocks(b, columnCount, firstBlock, lastBlock, transposed);
+            } else {
+                int middle = (firstBlock + lastBlock) >>> 1;
+                invokeAll(new SolveBlocksTask(b, columnCount, firstBlock, middle, transposed),
+                          new SolveBlocksTask(b, columnCount, middle, lastBlock, transposed));
+            }
+        }
+    }
+
+    @Override
+    public void solve(DenseMatrix b) {
+        solve(b, false);
+    }
+
+    @Override
+    public void solveTransposed(DenseMatrix b) {
+        solve(b, true);
+    }
+
+    @Override
+    public void solve(DenseMatrix b, ForkJoinPool pool) {
+        solve(b, pool, false);
+    }
+
+    @Override
+    public void solveTransposed(DenseMatrix b, ForkJoinPool pool) {
+        solve(b, pool, true);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -0,0 +1,430 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import com.powsybl.commons.util.trove.TDoubleArrayListHack;
+import com.powsybl.commons.util.trove.TIntArrayListHack;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sparse matrix implementation in <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_column_(CSC_or_CCS)">CSC</a>
+ * format, with a pure Java LU decomposition, to be used where the native library of {@link SparseMatrix} is not
+ * available.
+ * <p>
+ * Like for {@link SparseMatrix}, columns must be filled in ascending order but values inside a column may be filled in
+ * any order.
+ *
+ * @see JavaSparseLUDecomposition
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class JavaSparseMatrix extends AbstractMatrix {
+
+    /**
+     * Row count.
+     */
+    private final int rowCount;
+
+    /**
+     * Column count.
+     */
+    private final int columnCount;
+
+    /**
+     * Column start index in {@link #values} array, only relevant up to {@link #currentColumn}.
+     */
+    private final int[] columnStart;
+
+    /**
+     * Row index for each of the {@link #values}.
+     */
+    private final TIntArrayListHack rowIndices;
+
+    /**
+     * Non zero values.
+     */
+    private final TDoubleArrayListHack values;
+
+    private double rgrowthThreshold = JavaSparseLUDecomposition.DEFAULT_RGROWTH_THRESHOLD;
+
+    private int currentColumn = -1; // just for matrix filling
+
+    /**
+     * Create an empty sparse matrix.
+     *
+     * @param rowCount row count
+     * @param columnCount column count
+     * @param estimatedNonZeroValueCount estimated number of non zero values (used for internal pre-allocation)
+     */
+    JavaSparseMatrix(int rowCount, int columnCount, int estimatedNonZeroValueCount) {
+        if (rowCount < 0) {
+            throw new MatrixException("row count has to be positive");
+        }
+        if (columnCount < 0) {
+            throw new MatrixException("column count has to be positive");
+        }
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        columnStart = new int[columnCount + 1];
+        rowIndices = new TIntArrayListHack(Math.max(estimatedNonZeroValueCount, 1));
+        values = new TDoubleArrayListHack(Math.max(estimatedNonZeroValueCount, 1));
+    }
+
+    public double getRgrowthThreshold() {
+        return rgrowthThreshold;
+    }
+
+    public void setRgrowthThreshold(double rgrowthThreshold) {
+        this.rgrowthThreshold = rgrowthThreshold;
+    }
+
+    private int getColumnStart(int j) {
+        return j <= currentColumn ? columnStart[j] : values.size();
+    }
+
+    private int getColumnEnd(int j) {
+        return j < currentColumn ? columnStart[j + 1] : values.size();
+    }
+
+    /**
+     * Get column start index vector, with a last element at the end for value count.
+     *
+     * @return column start index vector
+     */
+    int[] getColumnStart() {
+        int[] start = new int[columnCount + 1];
+        for (int j = 0; j <= columnCount; j++) {
+            start[j] = getColumnStart(j);
+        }
+        return start;
+    }
+
+    /**
+     * Get row index vector.
+     *
+     * @return row index vector
+     */
+    int[] getRowIndices() {
+        return rowIndices.getData();
+    }
+
+    /**
+     * Get non zero value vector.
+     *
+     * @return non zero value vector
+     */
+    double[] getValues() {
+        return values.getData();
+    }
+
+    int getValueCount() {
+        return values.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    private void startColumn(int j) {
+        if (j > currentColumn) {
+            for (int k = currentColumn + 1; k <= j; k++) {
+                columnStart[k] = values.size();
+            }
+            currentColumn = j;
+        } else if (j < currentColumn) {
+            throw new MatrixException("Columns have to be filled in the right order");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MatrixException if values are filled in wrong order.
+     */
+    @Override
+    public void set(int i, int j, double value) {
+        checkBounds(i, j);
+        startColumn(j);
+        values.add(value);
+        rowIndices.add(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MatrixException if values are filled in wrong order.
+     */
+    @Override
+    public void add(int i, int j, double value) {
+        checkBounds(i, j);
+        startColumn(j);
+        if (values.size() > columnStart[j] && i == rowIndices.get(rowIndices.size() - 1)) {
+            int vi = values.size() - 1;
+            values.setQuick(vi, values.getQuick(vi) + value);
+        } else {
+            values.add(value);
+            rowIndices.add(i);
+        }
+    }
+
+    @Override
+    public Element addAndGetElement(int i, int j, double value) {
+        int index = addAndGetIndex(i, j, value);
+        return new Element() {
+            @Override
+            public void set(double value) {
+                values.setQuick(index, value);
+            }
+
+            @Override
+            public void add(double value) {
+                values.setQuick(index, values.getQuick(index) + value);
+            }
+        };
+    }
+
+    @Override
+    public int addAndGetIndex(int i, int j, double value) {
+        add(i, j, value);
+        return values.size() - 1;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= values.size()) {
+            throw new MatrixException("Element index out of bound [0, " + (values.size() - 1) + "]");
+        }
+    }
+
+    @Override
+    public void setAtIndex(int index, double value) {
+        checkElementIndex(index);
+        setQuickAtIndex(index, value);
+    }
+
+    @Override
+    public void setQuickAtIndex(int index, double value) {
+        values.setQuick(index, value);
+    }
+
+    @Override
+    public void addAtIndex(int index, double value) {
+        checkElementIndex(index);
+        addQuickAtIndex(index, value);
+    }
+
+    @Override
+    public void addQuickAtIndex(int index, double value) {
+        values.setQuick(index, values.getQuick(index) + value);
+    }
+
+    @Override
+    public void reset() {
+        values.fill(0d);
+    }
+
+    @Override
+    public LUDecomposition decomposeLU() {
+        return new JavaSparseLUDecomposition(this);
+    }
+
+    private JavaSparseMatrix createResult(int resultRowCount, int resultColumnCount, int estimatedNonZeroValueCount) {
+        JavaSparseMatrix result = new JavaSparseMatrix(resultRowCount, resultColumnCount, estimatedNonZeroValueCount);
+        result.setRgrowthThreshold(rgrowthThreshold);
+        return result;
+    }
+
+    public JavaSparseMatrix times(JavaSparseMatrix other, double scalar) {
+        Objects.requireNonNull(other);
+        if (other.rowCount != columnCount) {
+            throw new MatrixException("Invalid matrices inner dimension");
+        }
+        JavaSparseMatrix result = createResult(rowCount, other.columnCount, values.size() + other.values.size());
+        // column j of the result is the combination of the columns of this matrix by the values of column j of other
+        double[] work = new double[rowCount];
+        int[] mark = new int[rowCount];
+        Arrays.fill(mark, -1);
+        int[] pattern = new int[rowCount];
+        for (int j = 0; j < other.columnCount; j++) {
+            int patternSize = 0;
+            for (int p = other.getColumnStart(j); p < other.getColumnEnd(j); p++) {
+                int k = other.rowIndices.getQuick(p);
+                double b = other.values.getQuick(p);
+                for (int p2 = getColumnStart(k); p2 < getColumnEnd(k); p2++) {
+                    int i = rowIndices.getQuick(p2);
+                    if (mark[i] != j) {
+                        mark[i] = j;
+                        pattern[patternSize++] = i;
+                        work[i] = 0;
+                    }
+                    work[i] += values.getQuick(p2) * b;
+                }
+            }
+            for (int p = 0; p < patternSize; p++) {
+                int i = pattern[p];
+                result.set(i, j, work[i] * scalar);
+            }
+        }
+        return result;
+    }
+
+    public JavaSparseMatrix times(JavaSparseMatrix other) {
+        return times(other, 1d);
+    }
+
+    @Override
+    public Matrix times(Matrix other, double scalar) {
+        return times((JavaSparseMatrix) Objects.requireNonNull(other).to(new JavaSparseMatrixFactory()), scalar);
+    }
+
+    public JavaSparseMatrix add(JavaSparseMatrix other, double alpha, double beta) {
+        Objects.requireNonNull(other);
+        if (other.rowCount != rowCount || other.columnCount != columnCount) {
+            throw new MatrixException("Incompatible matrices dimensions");
+        }
+        JavaSparseMatrix result = createResult(rowCount, columnCount, values.size() + other.values.size());
+        double[] work = new double[rowCount];
+        int[] mark = new int[rowCount];
+        Arrays.fill(mark, -1);
+        int[] pattern = new int[rowCount];
+        for (int j = 0; j < columnCount; j++) {
+            int patternSize = addColumn(j, alpha, work, mark, pattern, 0);
+            patternSize = other.addColumn(j, beta, work, mark, pattern, patternSize);
+            for (int p = 0; p < patternSize; p++) {
+                int i = pattern[p];
+                result.set(i, j, work[i]);
+            }
+        }
+        return result;
+    }
+
+    private int addColumn(int j, double scalar, double[] work, int[] mark, int[] pattern, int patternSize) {
+        int size = patternSize;
+        for (int p = getColumnStart(j); p < getColumnEnd(j); p++) {
+            int i = rowIndices.getQuick(p);
+            if (mark[i] != j) {
+                mark[i] = j;
+                pattern[size++] = i;
+                work[i] = 0;
+            }
+            work[i] += scalar * values.getQuick(p);
+        }
+        return size;
+    }
+
+    @Override
+    public Matrix add(Matrix other, double alpha, double beta) {
+        return add((JavaSparseMatrix) Objects.requireNonNull(other).to(new JavaSparseMatrixFactory()), alpha, beta);
+    }
+
+    @Override
+    public void iterateNonZeroValue(ElementHandler handler) {
+        for (int j = 0; j < columnCount; j++) {
+            iterateNonZeroValueOfColumn(j, handler);
+        }
+    }
+
+    @Override
+    public void iterateNonZeroValueOfColumn(int j, ElementHandler handler) {
+        for (int v = getColumnStart(j); v < getColumnEnd(j); v++) {
+            handler.onElement(rowIndices.getQuick(v), j, values.getQuick(v));
+        }
+    }
+
+    @Override
+    public DenseMatrix toDense() {
+        return (DenseMatrix) to(new DenseMatrixFactory());
+    }
+
+    @Override
+    public SparseMatrix toSparse() {
+        return (SparseMatrix) to(new SparseMatrixFactory(rgrowthThreshold));
+    }
+
+    @Override
+    public Matrix to(MatrixFactory factory) {
+        Objects.requireNonNull(factory);
+        if (factory instanceof JavaSparseMatrixFactory) {
+            return this;
+        }
+        return copy(factory);
+    }
+
+    @Override
+    protected int getEstimatedNonZeroValueCount() {
+        return values.size();
+    }
+
+    @Override
+    public JavaSparseMatrix transpose() {
+        int[] transposedColumnStart = new int[rowCount + 1];
+        for (int p = 0; p < values.size(); p++) {
+            transposedColumnStart[rowIndices.getQuick(p) + 1]++;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            transposedColumnStart[i + 1] += transposedColumnStart[i];
+        }
+        int[] next = Arrays.copyOf(transposedColumnStart, rowCount);
+        int[] transposedRowIndices = new int[values.size()];
+        double[] transposedValues = new double[values.size()];
+        for (int j = 0; j < columnCount; j++) {
+            for (int p = getColumnStart(j); p < getColumnEnd(j); p++) {
+                int q = next[rowIndices.getQuick(p)]++;
+                transposedRowIndices[q] = j;
+                transposedValues[q] = values.getQuick(p);
+            }
+        }
+        JavaSparseMatrix transposed = createResult(columnCount, rowCount, values.size());
+        for (int i = 0; i < rowCount; i++) {
+            for (int q = transposedColumnStart[i]; q < transposedColumnStart[i + 1]; q++) {
+                transposed.set(transposedRowIndices[q], i, transposedValues[q]);
+            }
+        }
+        return transposed;
+    }
+
+    @Override
+    public void print(PrintStream out) {
+        print(out, null, null);
+    }
+
+    @Override
+    public void print(PrintStream out, List<String> rowNames, List<String> columnNames) {
+        out.println("rowCount=" + rowCount);
+        out.println("columnCount=" + columnCount);
+        out.println("columnStart=" + Arrays.toString(getColumnStart()));
+        out.println("rowIndices=" + rowIndices);
+        out.println("values=" + values);
+    }
+
+    @Override
+    public int hashCode() {
+        return rowCount + columnCount + Arrays.hashCode(getColumnStart()) + rowIndices.hashCode() + values.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof JavaSparseMatrix) {
+            JavaSparseMatrix other = (JavaSparseMatrix) obj;
+            return rowCount == other.rowCount &&
+                    columnCount == other.columnCount &&
+                    Arrays.equals(getColumnStart(), other.getColumnStart()) &&
+                    rowIndices.equals(other.rowIndices) &&
+                    values.equals(other.values);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+/**
+ * Pure Java sparse matrix factory.
+ *
+ * @see JavaSparseMatrix
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class JavaSparseMatrixFactory implements MatrixFactory {
+
+    private final double rgrowthThreshold;
+
+    public JavaSparseMatrixFactory() {
+        this(JavaSparseLUDecomposition.DEFAULT_RGROWTH_THRESHOLD);
+    }
+
+    public JavaSparseMatrixFactory(double rgrowthThreshold) {
+        this.rgrowthThreshold = rgrowthThreshold;
+    }
+
+    @Override
+    public JavaSparseMatrix create(int rowCount, int columnCount, int estimatedNonZeroValueCount) {
+        JavaSparseMatrix m = new JavaSparseMatrix(rowCount, columnCount, estimatedNonZeroValueCount);
+        m.setRgrowthThreshold(rgrowthThreshold);
+        return m;
+    }
+}
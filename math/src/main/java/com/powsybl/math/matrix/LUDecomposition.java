@@ -6,6 +6,8 @@
  */
 package com.powsybl.math.matrix;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * LU decomposition utility class. As some decomposition implementation may allocate resources that need to be released
  * a try-with-resource block has to be used to ensure correct resource management.
@@ -64,6 +66,33 @@ public interface LUDecomposition extends AutoCloseable {
      */
     void solveTransposed(DenseMatrix b);
 
+    /**
+     * Solve A * x = b where b is a dense matrix with many columns, using the given pool to solve blocks of columns in
+     * parallel. The solution is written in b, and implementations reuse their work buffers from one call to the
+     * other, so that repeated batches do not allocate memory proportional to the matrix size.
+     * <p>
+     * The default implementation, used by decompositions which cannot be shared between threads, solves all the
+     * columns in the calling thread.
+     *
+     * @param b a matrix
+     * @param pool the pool used to solve the blocks of columns
+     */
+    default void solve(DenseMatrix b, ForkJoinPool pool) {
+        solve(b);
+    }
+
+    /**
+     * Solve AT * x = b where b is a dense matrix with many columns, using the given pool to solve blocks of columns
+     * in parallel.
+     *
+     * @param b a matrix
+     * @param pool the pool used to solve the blocks of columns
+     * @see #solve(DenseMatrix, ForkJoinPool)
+     */
+    default void solveTransposed(DenseMatrix b, ForkJoinPool pool) {
+        solveTransposed(b);
+    }
+
     /**
      * {@inheritDoc}
      */
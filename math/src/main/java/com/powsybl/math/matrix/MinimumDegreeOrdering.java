@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Fill reducing ordering of a square sparse matrix: an approximate <a href="https://en.wikipedia.org/wiki/Minimum_degree_algorithm">minimum degree</a>
+ * ordering of the graph of A + A<sup>T</sup>. It works well for matrices with a nearly symmetric structure, such as
+ * power flow jacobians.
+ * <p>
+ * As in AMD, the elimination graph is not built explicitly: it is represented by a quotient graph in which each
+ * eliminated variable becomes an element, i.e. the clique of its neighbors at elimination time. Degrees are
+ * approximated by an upper bound computed from the sizes of the elements.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class MinimumDegreeOrdering {
+
+    private final int n;
+
+    /* variables adjacent to each variable, not including the ones reachable through an element */
+    private final TIntArrayList[] variables;
+
+    /* elements adjacent to each variable */
+    private final TIntArrayList[] elements;
+
+    /* variables of each element, null if the element is not yet created or has been absorbed */
+    private final int[][] elementVariables;
+
+    private final int[] degree;
+
+    /* vertices are kept in one doubly linked list by degree */
+    private final int[] head;
+    private final int[] next;
+    private final int[] previous;
+
+    private final boolean[] eliminated;
+
+    /* mark of the variables of the current pivot element */
+    private final int[] mark;
+
+    /* for each element, its size minus its number of variables in the current pivot element */
+    private final int[] externalSize;
+
+    private final int[] externalSizeMark;
+
+    private MinimumDegreeOrdering(int n, int[] columnStart, int[] rowIndices) {
+        this.n = n;
+        variables = new TIntArrayList[n];
+        elements = new TIntArrayList[n];
+        elementVariables = new int[n][];
+        degree = new int[n];
+        head = new int[n];
+        next = new int[n];
+        previous = new int[n];
+        eliminated = new boolean[n];
+        mark = new int[n];
+        externalSize = new int[n];
+        externalSizeMark = new int[n];
+        Arrays.fill(head, -1);
+        Arrays.fill(mark, -1);
+        Arrays.fill(externalSizeMark, -1);
+
+        for (int v = 0; v < n; v++) {
+            variables[v] = new TIntArrayList(4);
+            elements[v] = new TIntArrayList(2);
+        }
+        for (int j = 0; j < n; j++) {
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int i = rowIndices[p];
+                if (i != j) {
+                    variables[i].add(j);
+                    variables[j].add(i);
+                }
+            }
+        }
+        // remove duplicates
+        for (int v = 0; v < n; v++) {
+            TIntArrayList list = variables[v];
+            int size = 0;
+            for (int k = 0; k < list.size(); k++) {
+                int u = list.getQuick(k);
+                if (mark[u] != v) {
+                    mark[u] = v;
+                    list.setQuick(size++, u);
+                }
+            }
+            list.remove(size, list.size() - size);
+            degree[v] = size;
+            insert(v);
+        }
+        Arrays.fill(mark, -1);
+    }
+
+    /**
+     * Compute the elimination order of the columns of a matrix in CSC format.
+     *
+     * @return the columns in elimination order
+     */
+    static int[] compute(int n, int[] columnStart, int[] rowIndices) {
+        return new MinimumDegreeOrdering(n, columnStart, rowIndices).compute();
+    }
+
+    private int[] compute() {
+        int[] order = new int[n];
+        int minDegree = 0;
+        for (int k = 0; k < n; k++) {
+            while (head[minDegree] == -1) {
+                minDegree++;
+            }
+            int p = head[minDegree];
+            remove(p);
+            order[k] = p;
+            eliminated[p] = true;
+
+            int[] pivotElement = createElement(p);
+            for (int i : pivotElement) {
+                remove(i);
+            }
+            computeExternalSizes(p, pivotElement);
+            for (int i : pivotElement) {
+                updateVariable(i, p, pivotElement, n - k - 1);
+                insert(i);
+                minDegree = Math.min(minDegree, degree[i]);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Create the element of pivot p: its variables are the non eliminated neighbors of p, directly or through its
+     * elements, which are absorbed.
+     */
+    private int[] createElement(int p) {
+        TIntArrayList pivotElement = new TIntArrayList(degree[p]);
+        TIntArrayList pVariables = variables[p];
+        for (int k = 0; k < pVariables.size(); k++) {
+            addToElement(pVariables.getQuick(k), p, pivotElement);
+        }
+        TIntArrayList pElements = elements[p];
+        for (int k = 0; k < pElements.size(); k++) {
+            int e = pElements.getQuick(k);
+            for (int i : elementVariables[e]) {
+                addToElement(i, p, pivotElement);
+            }
+            elementVariables[e] = null;
+        }
+        variables[p] = null;
+        elements[p] = null;
+        int[] result = pivotElement.toArray();
+        elementVariables[p] = result;
+        return result;
+    }
+
+    private void addToElement(int i, int p, TIntArrayList pivotElement) {
+        if (!eliminated[i] && mark[i] != p) {
+            mark[i] = p;
+            pivotElement.add(i);
+        }
+    }
+
+    /**
+     * For each element adjacent to a variable of the pivot element, compute its number of variables which are not in
+     * the pivot element.
+     */
+    private void computeExternalSizes(int p, int[] pivotElement) {
+        for (int i : pivotElement) {
+            TIntArrayList iElements = elements[i];
+            for (int k = 0; k < iElements.size(); k++) {
+                int e = iElements.getQuick(k);
+                int[] eVariables = elementVariables[e];
+                if (eVariables != null) {
+                    if (externalSizeMark[e] != p) {
+                        externalSizeMark[e] = p;
+                        externalSize[e] = eVariables.length;
+                    }
+                    externalSize[e]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Prune the adjacency of a variable of the pivot element and compute its approximate degree.
+     */
+    private void updateVariable(int i, int p, int[] pivotElement, int maxDegree) {
+        // variables of the pivot element are now reachable through it
+        TIntArrayList iVariables = variables[i];
+        int size = 0;
+        for (int k = 0; k < iVariables.size(); k++) {
+            int u = iVariables.getQuick(k);
+            if (!eliminated[u] && mark[u] != p) {
+                iVariables.setQuick(size++, u);
+            }
+        }
+        iVariables.remove(size, iVariables.size() - size);
+        int d = size + pivotElement.length - 1;
+
+        // remove absorbed elements
+        TIntArrayList iElements = elements[i];
+        int elementCount = 0;
+        for (int k = 0; k < iElements.size(); k++) {
+            int e = iElements.getQuick(k);
+            if (elementVariables[e] != null) {
+                iElements.setQuick(elementCount++, e);
+                d += externalSize[e];
+            }
+        }
+        iElements.remove(elementCount, iElements.size() - elementCount);
+        iElements.add(p);
+
+        degree[i] = Math.min(d, maxDegree);
+    }
+
+    private void insert(int v) {
+        int d = degree[v];
+        next[v] = head[d];
+        previous[v] = -1;
+        if (head[d] != -1) {
+            previous[head[d]] = v;
+        }
+        head[d] = v;
+    }
+
+    private void remove(int v) {
+        if (previous[v] != -1) {
+            next[previous[v]] = next[v];
+        } else {
+            head[degree[v]] = next[v];
+        }
+        if (next[v] != -1) {
+            previous[next[v]] = previous[v];
+        }
+    }
+}
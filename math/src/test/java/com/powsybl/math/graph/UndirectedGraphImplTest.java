@@ -496,6 +496,43 @@ public class UndirectedGraphImplTest {
         assertArrayEquals(new boolean[] {false, true, false, false, true, true}, encountered);
     }
 
+    @Test
+    public void testTraverseOrderAndNestedTraversal() {
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex();
+        }
+        graph.addEdge(0, 1, null); // 0
+        graph.addEdge(1, 2, null); // 1
+        graph.addEdge(0, 3, null); // 2
+        graph.addEdge(3, 2, null); // 3
+        graph.addEdge(4, 5, null); // 4
+
+        // depth first: the path going through vertex 1 is fully traversed before going to vertex 3
+        TIntArrayList traversedEdges = new TIntArrayList();
+        TIntArrayList nestedTraversedVertices = new TIntArrayList();
+        assertTrue(graph.traverse(0, (v1, e, v2) -> {
+            traversedEdges.add(e);
+            if (v2 == 3) {
+                // traversal started from a traverser, on another part of the graph
+                graph.traverse(4, (n1, e2, n2) -> {
+                    nestedTraversedVertices.add(n2);
+                    return TraverseResult.CONTINUE;
+                });
+            }
+            return TraverseResult.CONTINUE;
+        }));
+        assertEquals(new TIntArrayList(new int[] {0, 1, 3}), traversedEdges);
+        assertEquals(new TIntArrayList(new int[] {5}), nestedTraversedVertices);
+
+        // traversals without encountered array start from a clean state
+        TIntArrayList traversedVertices = new TIntArrayList();
+        assertTrue(graph.traverse(new int[] {3, 4}, (v1, e, v2) -> {
+            traversedVertices.add(v2);
+            return TraverseResult.CONTINUE;
+        }));
+        assertEquals(new TIntArrayList(new int[] {0, 1, 2, 5}), traversedVertices);
+    }
+
     @Test
     public void testGetVertexObjectStream() {
         graph.addVertex();
@@ -16,6 +16,8 @@ import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -28,6 +30,13 @@ public abstract class AbstractMatrixTest {
 
     protected abstract MatrixFactory getMatrixFactory();
 
+    /**
+     * Tolerance on the solutions of decomposed systems, which depend on the elimination order of the implementation.
+     */
+    protected double getEpsilon() {
+        return EPSILON;
+    }
+
     protected abstract MatrixFactory getOtherMatrixFactory();
 
     protected Matrix createA(MatrixFactory matrixFactory) {
@@ -258,7 +267,63 @@ public abstract class AbstractMatrixTest {
             decomposition.update();
             double[] x3 = {8, 45, -3, 3, 19};
             decomposition.solve(x3);
-            assertArrayEquals(new double[]{-0.010526315789474902, 2.673684210526316, 0.6, 0.7368421052631579, 7.105263157894737}, x3, EPSILON);
+            assertArrayEquals(new double[]{-0.010526315789474902, 2.673684210526316, 0.6, 0.7368421052631579, 7.105263157894737}, x3, getEpsilon());
+        }
+    }
+
+    private static void assertSameSolution(DenseMatrix expected, DenseMatrix actual, double epsilon) {
+        for (int j = 0; j < expected.getColumnCount(); j++) {
+            for (int i = 0; i < expected.getRowCount(); i++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSolve() {
+        Matrix matrix = JacobianMatrices.create(getMatrixFactory(), 20, 0);
+        int n = matrix.getRowCount();
+        // not a multiple of the block size of any implementation
+        int columnCount = 37;
+        Random random = new Random(0);
+        DenseMatrix b = new DenseMatrix(n, columnCount);
+        for (int j = 0; j < columnCount; j++) {
+            for (int i = 0; i < n; i++) {
+                b.set(i, j, random.nextDouble());
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (LUDecomposition decomposition = matrix.decomposeLU()) {
+            for (boolean transposed : new boolean[] {false, true}) {
+                DenseMatrix expected = new DenseMatrix(n, columnCount);
+                for (int j = 0; j < columnCount; j++) {
+                    double[] column = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        column[i] = b.get(i, j);
+                    }
+                    if (transposed) {
+                        decomposition.solveTransposed(column);
+                    } else {
+                        decomposition.solve(column);
+                    }
+                    for (int i = 0; i < n; i++) {
+                        expected.set(i, j, column[i]);
+                    }
+                }
+
+                // buffers are reused from one batch to the other
+                for (int k = 0; k < 2; k++) {
+                    DenseMatrix x = b.copy(new DenseMatrixFactory()).toDense();
+                    if (transposed) {
+                        decomposition.solveTransposed(x, pool);
+                    } else {
+                        decomposition.solve(x, pool);
+                    }
+                    assertSameSolution(expected, x, EPSILON);
+                }
+            }
+        } finally {
+            pool.shutdown();
         }
     }
 
@@ -301,7 +366,7 @@ public abstract class AbstractMatrixTest {
         try (LUDecomposition decomposition = matrix.decomposeLU()) {
             double[] x = {8, 45, -3, 3, 19};
             decomposition.solveTransposed(x);
-            assertArrayEquals(new double[]{1, 2, 3, 4, 5}, x, EPSILON);
+            assertArrayEquals(new double[]{1, 2, 3, 4, 5}, x, getEpsilon());
 
             DenseMatrix x2 = new DenseMatrix(5, 2);
             x2.set(0, 0, 8);
@@ -316,16 +381,16 @@ public abstract class AbstractMatrixTest {
             x2.set(4, 1, 19);
 
             decomposition.solveTransposed(x2);
-            assertEquals(1, x2.get(0, 0), EPSILON);
-            assertEquals(2, x2.get(1, 0), EPSILON);
-            assertEquals(3, x2.get(2, 0), EPSILON);
-            assertEquals(4, x2.get(3, 0), EPSILON);
-            assertEquals(5, x2.get(4, 0), EPSILON);
-            assertEquals(1, x2.get(0, 1), EPSILON);
-            assertEquals(2, x2.get(1, 1), EPSILON);
-            assertEquals(3, x2.get(2, 1), EPSILON);
-            assertEquals(4, x2.get(3, 1), EPSILON);
-            assertEquals(5, x2.get(4, 1), EPSILON);
+            assertEquals(1, x2.get(0, 0), getEpsilon());
+            assertEquals(2, x2.get(1, 0), getEpsilon());
+            assertEquals(3, x2.get(2, 0), getEpsilon());
+            assertEquals(4, x2.get(3, 0), getEpsilon());
+            assertEquals(5, x2.get(4, 0), getEpsilon());
+            assertEquals(1, x2.get(0, 1), getEpsilon());
+            assertEquals(2, x2.get(1, 1), getEpsilon());
+            assertEquals(3, x2.get(2, 1), getEpsilon());
+            assertEquals(4, x2.get(3, 1), getEpsilon());
+            assertEquals(5, x2.get(4, 1), getEpsilon());
         }
     }
 
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Random matrices with the structure of power flow jacobians: two variables and two equations by bus, and 2x2 blocks
+ * for each couple of connected buses. Buses are connected in a ring plus random branches.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class JacobianMatrices {
+
+    private JacobianMatrices() {
+    }
+
+    static Matrix create(MatrixFactory matrixFactory, int busCount, long seed) {
+        Random random = new Random(seed);
+        List<TreeSet<Integer>> neighbors = new ArrayList<>(busCount);
+        for (int b = 0; b < busCount; b++) {
+            TreeSet<Integer> set = new TreeSet<>();
+            set.add(b);
+            neighbors.add(set);
+        }
+        for (int b = 0; b < busCount; b++) {
+            connect(neighbors, b, (b + 1) % busCount);
+            if (random.nextInt(3) == 0) {
+                connect(neighbors, b, random.nextInt(busCount));
+            }
+        }
+        int nonZeroCount = neighbors.stream().mapToInt(s -> 4 * s.size()).sum();
+        Matrix matrix = matrixFactory.create(2 * busCount, 2 * busCount, nonZeroCount);
+        for (int j = 0; j < 2 * busCount; j++) {
+            int bus = j / 2;
+            for (int other : neighbors.get(bus)) {
+                for (int i = 2 * other; i < 2 * other + 2; i++) {
+                    double value = random.nextDouble() * 2 - 1;
+                    matrix.set(i, j, i == j ? value + 4 * neighbors.get(bus).size() : value);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private static void connect(List<TreeSet<Integer>> neighbors, int bus1, int bus2) {
+        neighbors.get(bus1).add(bus2);
+        neighbors.get(bus2).add(bus1);
+    }
+}
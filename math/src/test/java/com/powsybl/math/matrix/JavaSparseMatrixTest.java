@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class JavaSparseMatrixTest extends AbstractMatrixTest {
+
+    private final MatrixFactory matrixFactory = new JavaSparseMatrixFactory();
+
+    private final MatrixFactory otherMatrixFactory = new DenseMatrixFactory();
+
+    @Override
+    protected MatrixFactory getMatrixFactory() {
+        return matrixFactory;
+    }
+
+    @Override
+    public MatrixFactory getOtherMatrixFactory() {
+        return otherMatrixFactory;
+    }
+
+    @Override
+    protected double getEpsilon() {
+        // elimination order is not the same as the native implementation
+        return 1e-14;
+    }
+
+    @Test
+    public void testJavaSparsePrint() throws IOException {
+        Matrix a = createA(matrixFactory);
+        String expected = String.join(System.lineSeparator(),
+                "rowCount=3",
+                "columnCount=2",
+                "columnStart=[0, 2, 3]",
+                "rowIndices={0, 2, 1}",
+                "values={1.0, 2.0, 3.0}")
+                + System.lineSeparator();
+        assertEquals(expected, print(a));
+    }
+
+    @Test
+    public void testWrongColumnOrder() {
+        Matrix a = matrixFactory.create(2, 2, 2);
+        a.set(0, 1, 1d);
+        assertThrows(MatrixException.class, () -> a.set(1, 0, 1d));
+        assertThrows(MatrixException.class, () -> a.add(1, 0, 1d));
+    }
+
+    @Test
+    public void testRedecompose() {
+        Matrix matrix = getMatrixFactory().create(2, 2, 2);
+        matrix.set(0, 0, 3);
+        matrix.set(1, 0, 4);
+        matrix.set(0, 1, 1);
+
+        try (LUDecomposition decomposition = matrix.decomposeLU()) {
+            // fine
+            decomposition.update();
+
+            // error as an element has been added
+            matrix.set(1, 1, 2);
+            assertThrows(MatrixException.class, decomposition::update);
+        }
+    }
+
+    private static double[] randomVector(int size, Random random) {
+        double[] b = new double[size];
+        for (int i = 0; i < size; i++) {
+            b[i] = random.nextDouble();
+        }
+        return b;
+    }
+
+    private static void assertSameSolution(LUDecomposition expected, LUDecomposition actual, int size, Random random) {
+        double[] b = randomVector(size, random);
+        double[] x1 = b.clone();
+        double[] x2 = b.clone();
+        expected.solve(x1);
+        actual.solve(x2);
+        assertArrayEquals(x1, x2, 1e-10);
+
+        double[] x3 = b.clone();
+        double[] x4 = b.clone();
+        expected.solveTransposed(x3);
+        actual.solveTransposed(x4);
+        assertArrayEquals(x3, x4, 1e-10);
+    }
+
+    @Test
+    public void testJacobianLikeMatrix() {
+        Matrix matrix = JacobianMatrices.create(matrixFactory, 200, 0);
+        DenseMatrix dense = matrix.toDense();
+        Random random = new Random(1);
+        try (LUDecomposition decomposition = matrix.decomposeLU();
+             LUDecomposition denseDecomposition = dense.decomposeLU()) {
+            assertSameSolution(denseDecomposition, decomposition, matrix.getRowCount(), random);
+
+            // refactorization with new values and same structure
+            for (int index = 0; index < ((JavaSparseMatrix) matrix).getValueCount(); index++) {
+                double value = ((JavaSparseMatrix) matrix).getValues()[index];
+                matrix.setQuickAtIndex(index, value * (1 + random.nextDouble() / 10));
+            }
+            dense = matrix.toDense();
+            try (LUDecomposition denseDecomposition2 = dense.decomposeLU()) {
+                decomposition.update();
+                assertSameSolution(denseDecomposition2, decomposition, matrix.getRowCount(), random);
+                decomposition.update(false);
+                assertSameSolution(denseDecomposition2, decomposition, matrix.getRowCount(), random);
+            }
+        }
+    }
+
+    @Test
+    public void testPivoting() {
+        // 0 1
+        // 1 1
+        Matrix matrix = matrixFactory.create(2, 2, 3);
+        matrix.set(1, 0, 1);
+        Matrix.Element e = matrix.addAndGetElement(0, 1, 1);
+        Matrix.Element diagonal = matrix.addAndGetElement(1, 1, 1);
+        try (LUDecomposition decomposition = matrix.decomposeLU()) {
+            double[] b = {2, 3};
+            decomposition.solve(b);
+            assertArrayEquals(new double[] {1, 2}, b, EPSILON);
+
+            // pivots of first decomposition can still be used
+            e.set(2);
+            diagonal.set(0);
+            decomposition.update();
+            double[] b2 = {4, 1};
+            decomposition.solve(b2);
+            assertArrayEquals(new double[] {1, 2}, b2, EPSILON);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparison of the LU decompositions of the different matrix implementations on matrices with the structure of
+ * power flow jacobians (see {@link JacobianMatrices}). Batch solves use as many right hand sides as a sensitivity
+ * computation on a few hundred monitored branches.
+ * <p>
+ * Run it with {@code java -cp <test classpath> com.powsybl.math.matrix.LUDecompositionBenchmark}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LUDecompositionBenchmark {
+
+    private static final int RHS_COUNT = 500;
+
+    @Param({"java", "native", "dense"})
+    private String factory;
+
+    @Param({"100", "1000"})
+    private int busCount;
+
+    private Matrix matrix;
+
+    private LUDecomposition decomposition;
+
+    private double[] b;
+
+    private DenseMatrix rhs;
+
+    private static MatrixFactory createMatrixFactory(String name) {
+        switch (name) {
+            case "java":
+                return new JavaSparseMatrixFactory();
+            case "native":
+                return new SparseMatrixFactory();
+            case "dense":
+                return new DenseMatrixFactory();
+            default:
+                throw new IllegalArgumentException("Unknown matrix factory " + name);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        matrix = JacobianMatrices.create(createMatrixFactory(factory), busCount, 0);
+        decomposition = matrix.decomposeLU();
+        b = new double[matrix.getRowCount()];
+        rhs = new DenseMatrix(matrix.getRowCount(), RHS_COUNT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        decomposition.close();
+    }
+
+    @Benchmark
+    public void decompose() {
+        matrix.decomposeLU().close();
+    }
+
+    @Benchmark
+    public void update() {
+        decomposition.update();
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        Arrays.fill(b, 1);
+        decomposition.solve(b);
+        blackhole.consume(b);
+    }
+
+    private void fillRhs() {
+        for (int j = 0; j < RHS_COUNT; j++) {
+            rhs.set(j % rhs.getRowCount(), j, 1);
+        }
+    }
+
+    @Benchmark
+    public void solveBatch(Blackhole blackhole) {
+        fillRhs();
+        decomposition.solve(rhs);
+        blackhole.consume(rhs);
+    }
+
+    @Benchmark
+    public void solveBatchParallel(Blackhole blackhole) {
+        fillRhs();
+        decomposition.solve(rhs, ForkJoinPool.commonPool());
+        blackhole.consume(rhs);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LUDecompositionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -63,6 +63,27 @@ public final class SecurityAnalysis {
                                                                   List<Action> actions,
                                                                   List<StateMonitor> monitors,
                                                                   Reporter reporter) {
+            return runAsync(network, workingStateId, contingenciesProvider, parameters, computationManager, filter, detector, interceptors, operatorStrategies, actions, monitors, reporter, null);
+        }
+
+        /**
+         * Run the security analysis, writing its result to {@code resultWriter} if it is not {@code null}, see
+         * {@link SecurityAnalysisProvider#run(Network, String, LimitViolationDetector, LimitViolationFilter, ComputationManager,
+         * SecurityAnalysisParameters, ContingenciesProvider, List, List, List, List, Reporter, SecurityAnalysisResultWriter)}.
+         */
+        public CompletableFuture<SecurityAnalysisReport> runAsync(Network network,
+                                                                  String workingStateId,
+                                                                  ContingenciesProvider contingenciesProvider,
+                                                                  SecurityAnalysisParameters parameters,
+                                                                  ComputationManager computationManager,
+                                                                  LimitViolationFilter filter,
+                                                                  LimitViolationDetector detector,
+                                                                  List<SecurityAnalysisInterceptor> interceptors,
+                                                                  List<OperatorStrategy> operatorStrategies,
+                                                                  List<Action> actions,
+                                                                  List<StateMonitor> monitors,
+                                                                  Reporter reporter,
+                                                                  SecurityAnalysisResultWriter resultWriter) {
             Objects.requireNonNull(network, "Network should not be null");
             Objects.requireNonNull(workingStateId, "WorkingVariantId should not be null");
             Objects.requireNonNull(detector, "LimitViolation detector should not be null");
@@ -72,7 +93,7 @@ public final class SecurityAnalysis {
             Objects.requireNonNull(parameters, "Security analysis parameters should not be null");
             Objects.requireNonNull(interceptors, "Interceptor list should not be null");
             Objects.requireNonNull(reporter, "Reporter should not be null");
-            return provider.run(network, workingStateId, detector, filter, computationManager, parameters, contingenciesProvider, interceptors, operatorStrategies, actions, monitors, reporter);
+            return provider.run(network, workingStateId, detector, filter, computationManager, parameters, contingenciesProvider, interceptors, operatorStrategies, actions, monitors, reporter, resultWriter);
         }
 
         public CompletableFuture<SecurityAnalysisReport>  runAsync(Network network, ContingenciesProvider contingenciesProvider, SecurityAnalysisParameters parameters, ComputationManager computationManager, LimitViolationFilter filter) {
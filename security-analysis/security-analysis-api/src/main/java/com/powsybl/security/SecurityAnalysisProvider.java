@@ -94,6 +94,41 @@ public interface SecurityAnalysisProvider extends Versionable, PlatformConfigNam
                                                   List<StateMonitor> monitors,
                                                   Reporter reporter);
 
+    /**
+     * Run an asynchronous single security analysis job, writing its result to a {@link SecurityAnalysisResultWriter}.
+     * <p>
+     * Implementations able to do so should write each post-contingency result to the writer as soon as it is
+     * computed, and not keep it in the returned result. By default, the complete result is written to the writer once
+     * the analysis is done.
+     *
+     * @param resultWriter if not {@code null}, receives the result of the security analysis
+     * @see #run(Network, String, LimitViolationDetector, LimitViolationFilter, ComputationManager, SecurityAnalysisParameters,
+     *      ContingenciesProvider, List, List, List, List, Reporter)
+     */
+    default CompletableFuture<SecurityAnalysisReport> run(Network network,
+                                                          String workingVariantId,
+                                                          LimitViolationDetector detector,
+                                                          LimitViolationFilter filter,
+                                                          ComputationManager computationManager,
+                                                          SecurityAnalysisParameters parameters,
+                                                          ContingenciesProvider contingenciesProvider,
+                                                          List<SecurityAnalysisInterceptor> interceptors,
+                                                          List<OperatorStrategy> operatorStrategies,
+                                                          List<Action> actions,
+                                                          List<StateMonitor> monitors,
+                                                          Reporter reporter,
+                                                          SecurityAnalysisResultWriter resultWriter) {
+        CompletableFuture<SecurityAnalysisReport> report = run(network, workingVariantId, detector, filter, computationManager, parameters,
+                contingenciesProvider, interceptors, operatorStrategies, actions, monitors, reporter);
+        if (resultWriter == null) {
+            return report;
+        }
+        return report.thenApply(r -> {
+            resultWriter.write(r.getResult());
+            return r;
+        });
+    }
+
     /**
      * The serializer for implementation-specific parameters, or {@link Optional#empty()} if the implementation
      * does not have any specific parameters, or does not support JSON serialization.
@@ -21,6 +21,12 @@ import java.util.*;
  * <p>
  * Encapsulates filtering of limit violations with a provided {@link LimitViolationFilter},
  * as well as notifications to {@link SecurityAnalysisInterceptor}s.
+ * <p>
+ * If a {@link SecurityAnalysisResultWriter} is given, post-contingency results are written to it as soon as they are
+ * ended instead of being kept in memory, and the built result is written to it too. Interceptors still receive each
+ * post-contingency result, but the result given to
+ * {@link SecurityAnalysisInterceptor#onSecurityAnalysisResult(SecurityAnalysisResult, SecurityAnalysisResultContext)}
+ * has none.
  *
  * @author Sylvain Leclerc <sylvain.leclerc at rte-france.com>
  */
@@ -29,6 +35,7 @@ public class SecurityAnalysisResultBuilder {
     private final LimitViolationFilter filter;
     private final SecurityAnalysisResultContext context;
     private final List<SecurityAnalysisInterceptor> interceptors;
+    private final SecurityAnalysisResultWriter writer;
 
     // Below are volatile objects used for building the actual complete result
     private PreContingencyResult preContingencyResult;
@@ -37,9 +44,19 @@ public class SecurityAnalysisResultBuilder {
 
     public SecurityAnalysisResultBuilder(LimitViolationFilter filter, SecurityAnalysisResultContext context,
                                          Collection<SecurityAnalysisInterceptor> interceptors) {
+        this(filter, context, interceptors, null);
+    }
+
+    /**
+     * @param writer if not {@code null}, receives the post-contingency results, which are then not part of the built
+     *               result, and the built result.
+     */
+    public SecurityAnalysisResultBuilder(LimitViolationFilter filter, SecurityAnalysisResultContext context,
+                                         Collection<SecurityAnalysisInterceptor> interceptors, SecurityAnalysisResultWriter writer) {
         this.filter = Objects.requireNonNull(filter);
         this.context = Objects.requireNonNull(context);
         this.interceptors = ImmutableList.copyOf(interceptors);
+        this.writer = writer;
         this.preContingencyResult = new PreContingencyResult();
     }
 
@@ -48,7 +65,12 @@ public class SecurityAnalysisResultBuilder {
     }
 
     private void addPostContingencyResult(PostContingencyResult result) {
-        postContingencyResults.add(Objects.requireNonNull(result));
+        Objects.requireNonNull(result);
+        if (writer != null) {
+            writer.writePostContingencyResult(result);
+        } else {
+            postContingencyResults.add(result);
+        }
     }
 
     /**
@@ -113,6 +135,7 @@ public class SecurityAnalysisResultBuilder {
 
     /**
      * Finalizes the result.
+     * If a writer has been given, the result does not contain the post-contingency results.
      *
      * @return the N situation result builder
      */
@@ -124,6 +147,9 @@ public class SecurityAnalysisResultBuilder {
         SecurityAnalysisResult res = new SecurityAnalysisResult(preContingencyResult, postContingencyResults, operatorStrategyResults);
         res.setNetworkMetadata(new NetworkMetadata(context.getNetwork()));
         interceptors.forEach(i -> i.onSecurityAnalysisResult(res, context));
+        if (writer != null) {
+            writer.writeResult(res);
+        }
 
         return res;
     }
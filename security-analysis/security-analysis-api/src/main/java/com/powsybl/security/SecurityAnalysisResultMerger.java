@@ -6,6 +6,9 @@
  */
 package com.powsybl.security;
 
+import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
+
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,6 +39,36 @@ public final class SecurityAnalysisResultMerger {
         return merge(results.toArray(new SecurityAnalysisResult[results.size()]));
     }
 
+    /**
+     * Merge results read from JSON files to a writer, post-contingency results being streamed from the files to the
+     * writer one by one. Each file is read twice: once to check that no pre-contingency computation has failed, then
+     * to write the post-contingency results. The written result is the one {@link #merge(Collection)} returns.
+     */
+    public static void merge(List<Path> resultFiles, SecurityAnalysisResultWriter writer) {
+        Objects.requireNonNull(resultFiles);
+        Objects.requireNonNull(writer);
+        if (resultFiles.isEmpty()) {
+            throw new IllegalArgumentException("No result to merge");
+        }
+        SecurityAnalysisResult firstResult = null;
+        for (Path resultFile : resultFiles) {
+            SecurityAnalysisResult result = SecurityAnalysisResultDeserializer.read(resultFile, postContingencyResult -> { });
+            //If one of the subtasks has failed, write a failed result
+            if (!result.getPreContingencyLimitViolationsResult().isComputationOk()) {
+                writer.writeResult(FAILED_SECURITY_ANALYSIS_RESULT);
+                return;
+            }
+            if (firstResult == null) {
+                firstResult = result;
+            }
+        }
+        for (Path resultFile : resultFiles) {
+            SecurityAnalysisResultDeserializer.read(resultFile, writer::writePostContingencyResult);
+        }
+        writer.writeResult(new SecurityAnalysisResult(firstResult.getPreContingencyLimitViolationsResult(), Collections.emptyList())
+                .setNetworkMetadata(firstResult.getNetworkMetadata()));
+    }
+
     private SecurityAnalysisResultMerger() {
     }
 }
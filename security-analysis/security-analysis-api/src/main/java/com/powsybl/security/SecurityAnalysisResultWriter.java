@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security;
+
+import com.powsybl.security.results.PostContingencyResult;
+
+/**
+ * Receives a security analysis result piece by piece, so that post-contingency results can be written as soon as
+ * they are computed instead of being kept in memory until the end of the analysis.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public interface SecurityAnalysisResultWriter {
+
+    /**
+     * Write the result of one contingency. May be called concurrently.
+     */
+    void writePostContingencyResult(PostContingencyResult result);
+
+    /**
+     * Write the other parts of the result: network metadata, pre-contingency result, operator strategy results and
+     * extensions. Called once, after all the post-contingency results. The post-contingency results of the given
+     * result, if any, are not written.
+     */
+    void writeResult(SecurityAnalysisResult result);
+
+    /**
+     * Write a complete result, for analyses which could not stream their post-contingency results.
+     */
+    default void write(SecurityAnalysisResult result) {
+        result.getPostContingencyResults().forEach(this::writePostContingencyResult);
+        writeResult(result);
+    }
+}
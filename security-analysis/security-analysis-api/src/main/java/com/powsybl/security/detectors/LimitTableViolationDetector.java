@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.detectors;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.security.LimitViolation;
+import com.powsybl.security.LimitViolationType;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link DefaultLimitViolationDetector} which checks a whole network against a limit table compiled once per
+ * network, instead of looking up the limits of each branch and voltage level on each check.
+ * <p>
+ * The table holds, in flat arrays, the permanent and temporary current limits of each branch side and the voltage
+ * limits of each voltage level. Checking the network only reads the currents of the terminals and the voltages of the
+ * buses, then compares them to the table, {@link LimitViolation}s being created for breaches only. The comparison may
+ * be split in chunks running in parallel: it does not access the network, so the working variant does not matter.
+ * Violations are given in the same order and with the same values as {@link DefaultLimitViolationDetector}.
+ * <p>
+ * The table is compiled on the first check of a network, and again when another network is checked or when a
+ * {@link NetworkListener} registered on the network has seen a branch or a voltage level being created, removed or
+ * updated, limits included, since the compilation. The table is compiled under a lock, so that a detector shared by
+ * several threads registers one listener only. The listener is removed from the network when the table is replaced,
+ * or when the detector is {@linkplain #close() closed}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class LimitTableViolationDetector extends DefaultLimitViolationDetector implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final float limitReduction;
+
+    private final boolean checkTemporaryLimits;
+
+    private final boolean checkPermanentLimits;
+
+    private final boolean parallel;
+
+    private final int chunkSize;
+
+    private final Object tableLock = new Object();
+
+    private volatile LimitTable table;
+
+    public LimitTableViolationDetector(float limitReduction, Collection<LoadingLimitType> currentLimitTypes, boolean parallel) {
+        this(limitReduction, currentLimitTypes, parallel, DEFAULT_CHUNK_SIZE);
+    }
+
+    LimitTableViolationDetector(float limitReduction, Collection<LoadingLimitType> currentLimitTypes, boolean parallel, int chunkSize) {
+        super(limitReduction, currentLimitTypes);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Bad chunk size " + chunkSize);
+        }
+        this.limitReduction = limitReduction;
+        this.checkTemporaryLimits = currentLimitTypes.contains(LoadingLimitType.TATL);
+        this.checkPermanentLimits = currentLimitTypes.contains(LoadingLimitType.PATL);
+        this.parallel = parallel;
+        this.chunkSize = chunkSize;
+    }
+
+    public LimitTableViolationDetector(float limitReduction, Collection<LoadingLimitType> currentLimitTypes) {
+        this(limitReduction, currentLimitTypes, false);
+    }
+
+    public LimitTableViolationDetector() {
+        this(1.0f, EnumSet.allOf(LoadingLimitType.class));
+    }
+
+    private LimitTable getTable(Network network) {
+        LimitTable t = table;
+        if (t != null && t.isCompiledFor(network)) {
+            return t;
+        }
+        synchronized (tableLock) {
+            t = table;
+            if (t == null || !t.isCompiledFor(network)) {
+                if (t != null) {
+                    t.release();
+                }
+                t = new LimitTable(network, limitReduction);
+                table = t;
+            }
+            return t;
+        }
+    }
+
+    /**
+     * Removes the listener of the compiled table from its network. The detector may still be used afterwards, the
+     * table being compiled again on the next check.
+     */
+    @Override
+    public void close() {
+        synchronized (tableLock) {
+            if (table != null) {
+                table.release();
+                table = null;
+            }
+        }
+    }
+
+    @Override
+    public void checkAll(Network network, Consumer<LimitViolation> consumer) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(consumer);
+        LimitTable t = getTable(network);
+
+        double[] currents = new double[t.sideCount];
+        for (int b = 0; b < t.branches.length; b++) {
+            currents[2 * b] = t.branches[b].getTerminal1().getI();
+            currents[2 * b + 1] = t.branches[b].getTerminal2().getI();
+        }
+        scan(currents.length, (start, end, c) -> checkCurrents(t, currents, start, end, c), consumer);
+
+        int busCount = 0;
+        double[] voltages = new double[t.voltageLevels.length];
+        int[] busVoltageLevels = new int[t.voltageLevels.length];
+        for (int vl = 0; vl < t.voltageLevels.length; vl++) {
+            for (Bus bus : t.voltageLevels[vl].getBusView().getBuses()) {
+                if (busCount == voltages.length) {
+                    voltages = Arrays.copyOf(voltages, busCount * 2);
+                    busVoltageLevels = Arrays.copyOf(busVoltageLevels, busCount * 2);
+                }
+                voltages[busCount] = bus.getV();
+                busVoltageLevels[busCount] = vl;
+                busCount++;
+            }
+        }
+        double[] v = voltages;
+        int[] vls = busVoltageLevels;
+        scan(busCount, (start, end, c) -> checkVoltages(t, v, vls, start, end, c), consumer);
+    }
+
+    @FunctionalInterface
+    private interface RangeChecker {
+        void check(int start, int end, Consumer<LimitViolation> consumer);
+    }
+
+    private void scan(int size, RangeChecker checker, Consumer<LimitViolation> consumer) {
+        if (!parallel || size <= chunkSize) {
+            checker.check(0, size, consumer);
+            return;
+        }
+        // violations of each chunk are collected then given to the consumer in order
+        int chunkCount = (size + chunkSize - 1) / chunkSize;
+        List<List<LimitViolation>> violations = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(chunk -> {
+                    List<LimitViolation> chunkViolations = new ArrayList<>();
+                    checker.check(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize), chunkViolations::add);
+                    return chunkViolations;
+                })
+                .collect(Collectors.toList());
+        violations.forEach(chunkViolations -> chunkViolations.forEach(consumer));
+    }
+
+    private void checkCurrents(LimitTable t, double[] currents, int start, int end, Consumer<LimitViolation> consumer) {
+        double[] thresholds = t.thresholds;
+        for (int k = start; k < end; k++) {
+            // false for NaN currents and for sides without limits
+            if (currents[k] >= thresholds[k]) {
+                checkCurrent(t, k, currents[k], consumer);
+            }
+        }
+    }
+
+    /**
+     * Same logic as {@link DefaultLimitViolationDetector#checkLimitViolation}, on the table.
+     */
+    private void checkCurrent(LimitTable t, int k, double i, Consumer<LimitViolation> consumer) {
+        Branch<?> branch = t.branches[k / 2];
+        Branch.Side side = k % 2 == 0 ? Branch.Side.ONE : Branch.Side.TWO;
+        double permanentLimit = t.permanentLimits[k];
+        if (checkTemporaryLimits) {
+            String previousLimitName = null;
+            double previousLimit = permanentLimit;
+            for (int l = t.temporaryLimitOffsets[k]; l < t.temporaryLimitOffsets[k + 1]; l++) {
+                if (i >= previousLimit * limitReduction && i < t.temporaryLimitValues[l] * limitReduction) {
+                    consumer.accept(new LimitViolation(branch.getId(), t.branchNames[k / 2], LimitViolationType.CURRENT,
+                            previousLimitName, t.temporaryLimitDurations[l], previousLimit, limitReduction, i, side));
+                    return;
+                }
+                previousLimitName = t.temporaryLimitNames[l];
+                previousLimit = t.temporaryLimitValues[l];
+            }
+        }
+        if (checkPermanentLimits && i >= permanentLimit) {
+            consumer.accept(new LimitViolation(branch.getId(), t.branchNames[k / 2], LimitViolationType.CURRENT,
+                    null, Integer.MAX_VALUE, permanentLimit, 1.0f, i, side));
+        }
+    }
+
+    private void checkVoltages(LimitTable t, double[] voltages, int[] busVoltageLevels, int start, int end, Consumer<LimitViolation> consumer) {
+        for (int k = start; k < end; k++) {
+            double v = voltages[k];
+            int vl = busVoltageLevels[k];
+            // false for NaN voltages and limits
+            if (v <= t.lowVoltageLimits[vl]) {
+                consumer.accept(new LimitViolation(t.voltageLevels[vl].getId(), t.voltageLevelNames[vl], LimitViolationType.LOW_VOLTAGE,
+                        t.lowVoltageLimits[vl], limitReduction, v));
+            }
+            if (v >= t.highVoltageLimits[vl]) {
+                consumer.accept(new LimitViolation(t.voltageLevels[vl].getId(), t.voltageLevelNames[vl], LimitViolationType.HIGH_VOLTAGE,
+                        t.highVoltageLimits[vl], limitReduction, v));
+            }
+        }
+    }
+
+    /**
+     * Invalidates a limit table when a branch or a voltage level of its network is created, removed or updated. Variant
+     * dependent updates, such as flows and voltages, do not change the table.
+     */
+    private static final class LimitTableInvalidator extends DefaultNetworkListener {
+
+        private volatile boolean valid = true;
+
+        private void invalidate(Identifiable<?> identifiable) {
+            if (identifiable instanceof Branch || identifiable instanceof VoltageLevel) {
+                valid = false;
+            }
+        }
+
+        @Override
+        public void onCreation(Identifiable identifiable) {
+            invalidate(identifiable);
+        }
+
+        @Override
+        public void beforeRemoval(Identifiable identifiable) {
+            invalidate(identifiable);
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+            invalidate(identifiable);
+        }
+    }
+
+    /**
+     * Current limits of all the branch sides, side one of branch b at index 2b and side two at index 2b + 1, and
+     * voltage limits of all the voltage levels.
+     */
+    private static final class LimitTable {
+
+        private final Network network;
+
+        private final LimitTableInvalidator invalidator = new LimitTableInvalidator();
+
+        private final Branch<?>[] branches;
+
+        private final String[] branchNames;
+
+        private final int sideCount;
+
+        private final double[] permanentLimits;
+
+        /**
+         * The lowest current for which a violation may be detected, NaN if there is no limit.
+         */
+        private final double[] thresholds;
+
+        private final int[] temporaryLimitOffsets;
+
+        private final double[] temporaryLimitValues;
+
+        private final int[] temporaryLimitDurations;
+
+        private final String[] temporaryLimitNames;
+
+        private final VoltageLevel[] voltageLevels;
+
+        private final String[] voltageLevelNames;
+
+        private final double[] lowVoltageLimits;
+
+        private final double[] highVoltageLimits;
+
+        private LimitTable(Network network, float limitReduction) {
+            this.network = network;
+            // registered first, so that changes made during the compilation are not missed
+            network.addListener(invalidator);
+            branches = network.getBranchStream().toArray(Branch<?>[]::new);
+            branchNames = new String[branches.length];
+            sideCount = 2 * branches.length;
+            permanentLimits = new double[sideCount];
+            thresholds = new double[sideCount];
+            temporaryLimitOffsets = new int[sideCount + 1];
+            List<LoadingLimits.TemporaryLimit> temporaryLimits = new ArrayList<>();
+            for (int b = 0; b < branches.length; b++) {
+                branchNames[b] = branches[b].getOptionalName().orElse(null);
+                for (Branch.Side side : Branch.Side.values()) {
+                    int k = 2 * b + side.ordinal();
+                    CurrentLimits limits = branches[b].getCurrentLimits(side).orElse(null);
+                    if (limits != null && !Double.isNaN(limits.getPermanentLimit())) {
+                        permanentLimits[k] = limits.getPermanentLimit();
+                        thresholds[k] = Math.min(permanentLimits[k] * limitReduction, permanentLimits[k]);
+                        temporaryLimits.addAll(limits.getTemporaryLimits());
+                    } else {
+                        permanentLimits[k] = Double.NaN;
+                        thresholds[k] = Double.NaN;
+                    }
+                    temporaryLimitOffsets[k + 1] = temporaryLimits.size();
+                }
+            }
+            temporaryLimitValues = new double[temporaryLimits.size()];
+            temporaryLimitDurations = new int[temporaryLimits.size()];
+            temporaryLimitNames = new String[temporaryLimits.size()];
+            for (int l = 0; l < temporaryLimits.size(); l++) {
+                temporaryLimitValues[l] = temporaryLimits.get(l).getValue();
+                temporaryLimitDurations[l] = temporaryLimits.get(l).getAcceptableDuration();
+                temporaryLimitNames[l] = temporaryLimits.get(l).getName();
+            }
+
+            voltageLevels = network.getVoltageLevelStream().toArray(VoltageLevel[]::new);
+            voltageLevelNames = new String[voltageLevels.length];
+            lowVoltageLimits = new double[voltageLevels.length];
+            highVoltageLimits = new double[voltageLevels.length];
+            for (int vl = 0; vl < voltageLevels.length; vl++) {
+                voltageLevelNames[vl] = voltageLevels[vl].getOptionalName().orElse(null);
+                lowVoltageLimits[vl] = voltageLevels[vl].getLowVoltageLimit();
+                highVoltageLimits[vl] = voltageLevels[vl].getHighVoltageLimit();
+            }
+        }
+
+        private boolean isCompiledFor(Network other) {
+            return network == other && invalidator.valid;
+        }
+
+        private void release() {
+            network.removeListener(invalidator);
+        }
+    }
+}
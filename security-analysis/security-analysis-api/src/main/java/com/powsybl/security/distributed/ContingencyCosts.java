@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.distributed;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.contingency.Contingency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Cost estimates of the contingencies of a security analysis, typically the computation time in seconds measured
+ * during a previous run, used to split contingencies into batches of similar cost.
+ * <p>
+ * Contingencies without estimate are given the mean cost of the known contingencies, or 1 if none is known.
+ * Estimates may be persisted from one run to the other with {@link #write(Path)} and {@link #read(Path)}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class ContingencyCosts {
+
+    private static final double DEFAULT_COST = 1;
+
+    private final Map<String, Double> costs = new HashMap<>();
+
+    private double totalCost = 0;
+
+    /**
+     * Read cost estimates from a JSON file, an empty instance being returned if the file does not exist.
+     */
+    public static ContingencyCosts read(Path file) {
+        Objects.requireNonNull(file);
+        ContingencyCosts costs = new ContingencyCosts();
+        if (Files.exists(file)) {
+            JsonUtil.parseJson(file, parser -> {
+                try {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        throw new PowsyblException("Invalid contingency costs file: " + file);
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String contingencyId = parser.getCurrentName();
+                        parser.nextToken();
+                        costs.setCost(contingencyId, parser.getDoubleValue());
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return costs;
+    }
+
+    public synchronized void write(Path file) {
+        Objects.requireNonNull(file);
+        Map<String, Double> sortedCosts = new TreeMap<>(costs);
+        JsonUtil.writeJson(file, generator -> {
+            try {
+                generator.writeStartObject();
+                for (Map.Entry<String, Double> e : sortedCosts.entrySet()) {
+                    generator.writeNumberField(e.getKey(), e.getValue());
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public synchronized ContingencyCosts setCost(String contingencyId, double cost) {
+        Objects.requireNonNull(contingencyId);
+        if (Double.isNaN(cost) || cost < 0) {
+            throw new IllegalArgumentException("Invalid cost for contingency '" + contingencyId + "': " + cost);
+        }
+        Double previousCost = costs.put(contingencyId, cost);
+        totalCost += cost - (previousCost != null ? previousCost : 0);
+        return this;
+    }
+
+    public synchronized OptionalDouble getKnownCost(String contingencyId) {
+        Double cost = costs.get(Objects.requireNonNull(contingencyId));
+        return cost != null ? OptionalDouble.of(cost) : OptionalDouble.empty();
+    }
+
+    public synchronized double getCost(String contingencyId) {
+        Double cost = costs.get(Objects.requireNonNull(contingencyId));
+        if (cost != null) {
+            return cost;
+        }
+        return costs.isEmpty() ? DEFAULT_COST : totalCost / costs.size();
+    }
+
+    /**
+     * Update the estimates from the cost measured for a batch of contingencies: the measured cost is shared between
+     * the contingencies in proportion to their current estimates.
+     */
+    public synchronized void update(Collection<String> contingencyIds, double measuredCost) {
+        Objects.requireNonNull(contingencyIds);
+        if (contingencyIds.isEmpty()) {
+            return;
+        }
+        Map<String, Double> estimates = new LinkedHashMap<>();
+        double estimatedCost = 0;
+        for (String contingencyId : contingencyIds) {
+            double cost = getCost(contingencyId);
+            estimates.put(contingencyId, cost);
+            estimatedCost += cost;
+        }
+        for (Map.Entry<String, Double> e : estimates.entrySet()) {
+            double share = estimatedCost > 0 ? e.getValue() / estimatedCost : 1.0 / estimates.size();
+            setCost(e.getKey(), measuredCost * share);
+        }
+    }
+
+    /**
+     * Update the estimates from the costs measured for batches of contingencies. Each measure includes a fixed overhead,
+     * such as the start of the process and the loading of the network, which is not charged to the contingencies: it is
+     * estimated as the intercept of the linear regression of the measured costs on the current estimates of the batches.
+     * Batches whose cost was not measured are given a {@code NaN} cost and ignored.
+     *
+     * @return the estimated overhead of a batch, 0 if it cannot be estimated
+     */
+    public synchronized double updateBatches(List<? extends Collection<String>> batches, double[] measuredCosts) {
+        Objects.requireNonNull(batches);
+        if (measuredCosts.length != batches.size()) {
+            throw new IllegalArgumentException("Expected " + batches.size() + " measured costs, got " + measuredCosts.length);
+        }
+        double[] estimatedCosts = new double[batches.size()];
+        for (int b = 0; b < batches.size(); b++) {
+            for (String contingencyId : batches.get(b)) {
+                estimatedCosts[b] += getCost(contingencyId);
+            }
+        }
+        double overhead = estimateOverhead(estimatedCosts, measuredCosts);
+        for (int b = 0; b < batches.size(); b++) {
+            if (!Double.isNaN(measuredCosts[b])) {
+                update(batches.get(b), Math.max(0, measuredCosts[b] - overhead));
+            }
+        }
+        return overhead;
+    }
+
+    private static double estimateOverhead(double[] estimatedCosts, double[] measuredCosts) {
+        int n = 0;
+        double estimatedSum = 0;
+        double measuredSum = 0;
+        double measuredMin = Double.MAX_VALUE;
+        for (int b = 0; b < measuredCosts.length; b++) {
+            if (!Double.isNaN(measuredCosts[b])) {
+                n++;
+                estimatedSum += estimatedCosts[b];
+                measuredSum += measuredCosts[b];
+                measuredMin = Math.min(measuredMin, measuredCosts[b]);
+            }
+        }
+        if (n < 2) {
+            return 0;
+        }
+        double estimatedMean = estimatedSum / n;
+        double measuredMean = measuredSum / n;
+        double covariance = 0;
+        double variance = 0;
+        for (int b = 0; b < measuredCosts.length; b++) {
+            if (!Double.isNaN(measuredCosts[b])) {
+                covariance += (estimatedCosts[b] - estimatedMean) * (measuredCosts[b] - measuredMean);
+                variance += (estimatedCosts[b] - estimatedMean) * (estimatedCosts[b] - estimatedMean);
+            }
+        }
+        if (variance <= 0 || covariance <= 0) {
+            // all batches have the same estimate, or the measures do not follow the estimates
+            return 0;
+        }
+        double intercept = measuredMean - covariance / variance * estimatedMean;
+        return Math.max(0, Math.min(intercept, measuredMin));
+    }
+
+    /**
+     * Split contingencies into batches of similar total cost, using the longest processing time first rule: the most
+     * costly contingencies are assigned first, each one to the batch with the lowest cost so far.
+     * <p>
+     * Batches are returned by decreasing cost, so that the most costly ones are started first, and the contingencies
+     * of a batch keep their relative order in the input list. Empty batches are not returned.
+     */
+    public List<List<Contingency>> split(List<Contingency> contingencies, int batchCount) {
+        Objects.requireNonNull(contingencies);
+        if (batchCount < 1) {
+            throw new IllegalArgumentException("Invalid batch count: " + batchCount);
+        }
+        int n = contingencies.size();
+        double[] contingencyCosts = new double[n];
+        for (int i = 0; i < n; i++) {
+            contingencyCosts[i] = getCost(contingencies.get(i).getId());
+        }
+        Integer[] order = new Integer[n];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> contingencyCosts[i]).reversed());
+
+        int count = Math.min(batchCount, n);
+        double[] batchCosts = new double[count];
+        List<List<Integer>> batches = new ArrayList<>(count);
+        PriorityQueue<Integer> lowestCostFirst = new PriorityQueue<>(Comparator.comparingDouble((Integer b) -> batchCosts[b])
+                .thenComparingInt(b -> b));
+        for (int b = 0; b < count; b++) {
+            batches.add(new ArrayList<>());
+            lowestCostFirst.add(b);
+        }
+        for (int i : order) {
+            int b = lowestCostFirst.poll();
+            batches.get(b).add(i);
+            batchCosts[b] += contingencyCosts[i];
+            lowestCostFirst.add(b);
+        }
+
+        Integer[] batchOrder = new Integer[count];
+        Arrays.setAll(batchOrder, b -> b);
+        Arrays.sort(batchOrder, Comparator.comparingDouble((Integer b) -> batchCosts[b]).reversed());
+        List<List<Contingency>> result = new ArrayList<>(count);
+        for (int b : batchOrder) {
+            List<Integer> batch = batches.get(b);
+            Collections.sort(batch);
+            List<Contingency> batchContingencies = new ArrayList<>(batch.size());
+            batch.forEach(i -> batchContingencies.add(contingencies.get(i)));
+            result.add(batchContingencies);
+        }
+        return result;
+    }
+}
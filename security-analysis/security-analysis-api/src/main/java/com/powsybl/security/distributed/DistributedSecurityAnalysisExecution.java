@@ -9,11 +9,14 @@ package com.powsybl.security.distributed;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.computation.ExecutionEnvironment;
 import com.powsybl.computation.ExecutionHandler;
+import com.powsybl.contingency.Contingency;
 import com.powsybl.security.SecurityAnalysisReport;
 import com.powsybl.security.execution.SecurityAnalysisExecution;
 import com.powsybl.security.execution.SecurityAnalysisExecutionInput;
+import com.powsybl.security.execution.SecurityAnalysisInputBuildStrategy;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -24,27 +27,68 @@ import static java.util.Objects.requireNonNull;
  * will consist to a separate call to {@literal itools security-analysis} through the specified
  * {@link ComputationManager}.
  *
+ * <p>If an input build strategy is given, contingencies are resolved once and split into more batches than subtasks,
+ * of similar estimated cost, so that computation resources which complete their batches early get new ones
+ * instead of waiting for the slowest subtask. Costs are updated with the measured duration of each batch.
+ * Otherwise, each subtask resolves all the contingencies and computes a static partition of them.
+ *
  * @author Sylvain Leclerc <sylvain.leclerc at rte-france.com>
  */
 public class DistributedSecurityAnalysisExecution implements SecurityAnalysisExecution {
 
+    private static final int BATCHES_PER_SUBTASK = 4;
+
     private final ExternalSecurityAnalysisConfig config;
     private final int subtaskCount;
+    private final SecurityAnalysisInputBuildStrategy inputBuildStrategy;
+    private final ContingencyCosts contingencyCosts;
 
+    /**
+     * Creates an execution where each subtask computes a static partition of the contingencies.
+     */
     public DistributedSecurityAnalysisExecution(ExternalSecurityAnalysisConfig config, int subtaskCount) {
         this.config = requireNonNull(config);
         checkArgument(subtaskCount > 0, "Sub-tasks count must be positive.");
         this.subtaskCount = checkSubtaskCount(subtaskCount);
+        this.inputBuildStrategy = null;
+        this.contingencyCosts = null;
+    }
+
+    /**
+     * @param inputBuildStrategy used to resolve contingencies, when they are not already given by the execution input.
+     * @param contingencyCosts   cost estimates used to split contingencies into batches, updated during the execution.
+     *                           If {@code null}, all contingencies are given the same cost.
+     */
+    public DistributedSecurityAnalysisExecution(ExternalSecurityAnalysisConfig config, int subtaskCount,
+                                                SecurityAnalysisInputBuildStrategy inputBuildStrategy, ContingencyCosts contingencyCosts) {
+        this.config = requireNonNull(config);
+        this.subtaskCount = checkSubtaskCount(subtaskCount);
+        this.inputBuildStrategy = requireNonNull(inputBuildStrategy);
+        this.contingencyCosts = contingencyCosts != null ? contingencyCosts : new ContingencyCosts();
     }
 
     @Override
     public CompletableFuture<SecurityAnalysisReport> execute(ComputationManager computationManager,
                                                              SecurityAnalysisExecutionInput data) {
         ExecutionEnvironment itoolsEnv = new ExecutionEnvironment(Collections.emptyMap(), "security_analysis_task_", config.isDebug());
-        ExecutionHandler<SecurityAnalysisReport> executionHandler = SecurityAnalysisExecutionHandlers.distributed(data, subtaskCount);
+        ExecutionHandler<SecurityAnalysisReport> executionHandler;
+        if (inputBuildStrategy != null) {
+            executionHandler = SecurityAnalysisExecutionHandlers.distributed(data, splitContingencies(data), contingencyCosts);
+        } else {
+            executionHandler = SecurityAnalysisExecutionHandlers.distributed(data, subtaskCount);
+        }
         return computationManager.execute(itoolsEnv, executionHandler);
     }
 
+    private List<List<Contingency>> splitContingencies(SecurityAnalysisExecutionInput data) {
+        List<Contingency> contingencies = data.getContingencies()
+                .orElseGet(() -> inputBuildStrategy.buildFrom(data)
+                        .getContingenciesProvider()
+                        .getContingencies(data.getNetworkVariant().getVariant()));
+        List<List<Contingency>> batches = contingencyCosts.split(contingencies, subtaskCount * BATCHES_PER_SUBTASK);
+        return batches.isEmpty() ? List.of(List.of()) : batches;
+    }
+
     private static int checkSubtaskCount(int count) {
         checkArgument(count > 0, "Sub-tasks count must be positive.");
         return count;
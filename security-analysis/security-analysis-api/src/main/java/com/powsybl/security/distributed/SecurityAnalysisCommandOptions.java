@@ -41,7 +41,7 @@ public class SecurityAnalysisCommandOptions {
     private String itoolsCommand;
     private String id;
     private Path caseFile;
-    private Path contingenciesFile;
+    private Function<Integer, Path> contingenciesFile;
     private Path parametersFile;
     private Integer taskCount;
     private Function<Integer, Path> outputFile;
@@ -81,6 +81,12 @@ public class SecurityAnalysisCommandOptions {
     }
 
     public SecurityAnalysisCommandOptions contingenciesFile(Path contingenciesFile) {
+        requireNonNull(contingenciesFile);
+        this.contingenciesFile = i -> contingenciesFile;
+        return this;
+    }
+
+    public SecurityAnalysisCommandOptions contingenciesFile(Function<Integer, Path> contingenciesFile) {
         this.contingenciesFile = requireNonNull(contingenciesFile);
         return this;
     }
@@ -6,8 +6,13 @@
  */
 package com.powsybl.security.distributed;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.ByteSource;
+import com.powsybl.commons.json.JsonUtil;
 import com.powsybl.computation.*;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.DefaultContingencyList;
+import com.powsybl.contingency.json.ContingencyJsonModule;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.xml.NetworkXml;
 import com.powsybl.security.SecurityAnalysisParameters;
@@ -30,6 +35,8 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
@@ -49,6 +56,8 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
 
     private static final String NETWORK_FILE = "network.xiidm";
     private static final String CONTINGENCIES_FILE = "contingencies.groovy";
+    private static final String CONTINGENCY_LIST_FILE = "contingencies.json";
+    private static final String CONTINGENCIES_BATCH_FILE_FMT = "contingencies_%d.json";
     private static final String PARAMETERS_FILE = "parameters.json";
 
     private final ResultReader<R> reader;
@@ -58,6 +67,11 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
 
     private final SecurityAnalysisExecutionInput input;
 
+    private final List<List<Contingency>> contingencyBatches;
+    private final ContingencyCosts contingencyCosts;
+    private final AtomicLongArray executionStartTimes;
+    private final AtomicLongArray executionDurations;
+
     /**
      * Defines the result type, and how is should be read from the working directory after the command execution.
      * It is typically provided as a lambda.
@@ -106,6 +120,39 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
         checkArgument(executionCount > 0, "Execution count must be positive.");
         this.executionCount = executionCount;
         this.input = requireNonNull(input);
+        this.contingencyBatches = null;
+        this.contingencyCosts = null;
+        this.executionStartTimes = null;
+        this.executionDurations = null;
+    }
+
+    /**
+     * Creates a new security analysis execution handler, with one execution for each batch of contingencies.
+     * Contingencies are not read from the input source but written as a JSON contingency list for each batch.
+     *
+     * @param reader             Defines how results should be read from working directory.
+     * @param optionsCustomizer  If not {@code null}, defines additional command options.
+     * @param exceptionHandler   Used to translate exceptions to a {@link ComputationException}.
+     * @param contingencyBatches The contingencies of each execution.
+     * @param contingencyCosts   If not {@code null}, updated with the duration of each execution, once all are completed.
+     * @param input              The execution input data.
+     */
+    public SecurityAnalysisExecutionHandler(ResultReader<R> reader,
+                                            OptionsCustomizer optionsCustomizer,
+                                            ExceptionHandler exceptionHandler,
+                                            List<List<Contingency>> contingencyBatches,
+                                            ContingencyCosts contingencyCosts,
+                                            SecurityAnalysisExecutionInput input) {
+        this.reader = requireNonNull(reader);
+        this.optionsCustomizer = optionsCustomizer;
+        this.exceptionHandler = exceptionHandler;
+        checkArgument(!contingencyBatches.isEmpty(), "At least one batch of contingencies is expected.");
+        this.executionCount = contingencyBatches.size();
+        this.input = requireNonNull(input);
+        this.contingencyBatches = List.copyOf(contingencyBatches);
+        this.contingencyCosts = contingencyCosts;
+        this.executionStartTimes = new AtomicLongArray(executionCount);
+        this.executionDurations = new AtomicLongArray(executionCount);
     }
 
     /**
@@ -122,11 +169,52 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
         return Collections.singletonList(execution);
     }
 
+    @Override
+    public void onExecutionStart(CommandExecution execution, int executionIndex) {
+        if (executionStartTimes != null) {
+            executionStartTimes.set(executionIndex, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the duration of the execution, if its start is known.
+     */
+    @Override
+    public void onExecutionCompletion(CommandExecution execution, int executionIndex) {
+        if (executionStartTimes != null) {
+            long startTime = executionStartTimes.get(executionIndex);
+            if (startTime != 0) {
+                executionDurations.set(executionIndex, Math.max(1, System.nanoTime() - startTime));
+            }
+        }
+    }
+
+    /**
+     * Updates the contingency costs with the durations of the executions. The duration of an execution also includes
+     * the start of the command and the loading of the network, which is estimated over all executions and not charged
+     * to the contingencies.
+     */
+    private void updateContingencyCosts() {
+        double[] durations = new double[executionCount];
+        for (int i = 0; i < executionCount; i++) {
+            long duration = executionDurations.get(i);
+            durations[i] = duration != 0 ? duration / 1e9 : Double.NaN;
+        }
+        List<List<String>> contingencyIds = contingencyBatches.stream()
+                .map(batch -> batch.stream().map(Contingency::getId).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        double overhead = contingencyCosts.updateBatches(contingencyIds, durations);
+        LOGGER.debug("Contingency costs updated, estimated overhead of an execution: {} s", overhead);
+    }
+
     /**
      * Reads result from the working directory, as defined by the specified reader.
      */
     @Override
     public R after(Path workingDir, ExecutionReport report) throws IOException {
+        if (contingencyCosts != null) {
+            updateContingencyCosts();
+        }
         try {
             super.after(workingDir, report);
             R result = reader.read(workingDir);
@@ -149,12 +237,20 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
 
         addCaseFile(options, workingDir, input.getNetworkVariant());
         addParametersFile(options, workingDir, input.getParameters());
-        input.getContingenciesSource().ifPresent(
-            source -> addContingenciesFile(options, workingDir, source)
-        );
+        if (contingencyBatches != null) {
+            addContingencyBatchFiles(options, workingDir, contingencyBatches);
+        } else {
+            if (input.getContingencies().isPresent()) {
+                addContingencyListFile(options, workingDir, input.getContingencies().get());
+            } else {
+                input.getContingenciesSource().ifPresent(
+                    source -> addContingenciesFile(options, workingDir, source)
+                );
+            }
 
-        if (executionCount > 1) {
-            options.task(taskNumber -> new Partition(taskNumber + 1, executionCount));
+            if (executionCount > 1) {
+                options.task(taskNumber -> new Partition(taskNumber + 1, executionCount));
+            }
         }
 
         if (optionsCustomizer != null) {
@@ -178,6 +274,10 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
         return workingDir.resolve(CONTINGENCIES_FILE);
     }
 
+    private static Path getContingencyBatchPath(Path workingDir, int batchIndex) {
+        return workingDir.resolve(String.format(CONTINGENCIES_BATCH_FILE_FMT, batchIndex));
+    }
+
     /**
      * Add case file option, and write network to working directory.
      */
@@ -198,6 +298,31 @@ public class SecurityAnalysisExecutionHandler<R> extends AbstractExecutionHandle
         copySourceToPath(source, dest);
     }
 
+    /**
+     * Add contingencies file option, and write the contingencies of each batch as a JSON contingency list to the working directory.
+     */
+    private static void addContingencyBatchFiles(SecurityAnalysisCommandOptions options, Path workingDir, List<List<Contingency>> batches) {
+        options.contingenciesFile(i -> getContingencyBatchPath(workingDir, i));
+        for (int i = 0; i < batches.size(); i++) {
+            writeContingencyList(getContingencyBatchPath(workingDir, i), "batch " + i, batches.get(i));
+        }
+    }
+
+    /**
+     * Add contingencies file option, and write the contingencies as a JSON contingency list to the working directory.
+     */
+    private static void addContingencyListFile(SecurityAnalysisCommandOptions options, Path workingDir, List<Contingency> contingencies) {
+        Path dest = workingDir.resolve(CONTINGENCY_LIST_FILE);
+        options.contingenciesFile(dest);
+        writeContingencyList(dest, "contingencies", contingencies);
+    }
+
+    private static void writeContingencyList(Path dest, String name, List<Contingency> contingencies) {
+        LOGGER.debug("Writing {} contingencies to file {}", contingencies.size(), dest);
+        ObjectMapper objectMapper = JsonUtil.createObjectMapper().registerModule(new ContingencyJsonModule());
+        JsonUtil.writeJson(dest, new DefaultContingencyList(name, contingencies), objectMapper);
+    }
+
     /**
      * Add parameters file option, and write it as JSON to working directory.
      */
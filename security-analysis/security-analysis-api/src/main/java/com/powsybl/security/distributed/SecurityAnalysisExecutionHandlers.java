@@ -12,15 +12,22 @@ import com.powsybl.computation.ComputationException;
 import com.powsybl.computation.ComputationExceptionBuilder;
 import com.powsybl.computation.ExecutionHandler;
 import com.powsybl.computation.Partition;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.security.results.PostContingencyResult;
 import com.powsybl.security.SecurityAnalysisReport;
 import com.powsybl.security.SecurityAnalysisResult;
 import com.powsybl.security.SecurityAnalysisResultMerger;
 import com.powsybl.security.execution.SecurityAnalysisExecutionInput;
 import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
+import com.powsybl.security.json.SecurityAnalysisResultJsonWriter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -56,7 +63,7 @@ public final class SecurityAnalysisExecutionHandlers {
      */
     public static ExecutionHandler<SecurityAnalysisReport> forwarded(SecurityAnalysisExecutionInput input, Integer forwardedTaskCount) {
         Preconditions.checkArgument(forwardedTaskCount == null || forwardedTaskCount >= 1, TASK_COUNT_ERROR_MESSAGE, forwardedTaskCount);
-        return new SecurityAnalysisExecutionHandler<>(workingDir -> readSingleResult(workingDir, input.isWithLogs()),
+        return new SecurityAnalysisExecutionHandler<>(workingDir -> writeResult(readSingleResult(workingDir, input.isWithLogs()), input),
             (workingDir, options) -> forwardedOptions(workingDir, options, forwardedTaskCount, input.isWithLogs()),
             SecurityAnalysisExecutionHandlers::generateExceptionWithLogs,
             1,
@@ -69,13 +76,45 @@ public final class SecurityAnalysisExecutionHandlers {
      */
     public static ExecutionHandler<SecurityAnalysisReport> distributed(SecurityAnalysisExecutionInput input, int subtaskCount) {
         Preconditions.checkArgument(subtaskCount >= 1, TASK_COUNT_ERROR_MESSAGE, subtaskCount);
-        return new SecurityAnalysisExecutionHandler<>(workingDir -> readResults(workingDir, subtaskCount, input.isWithLogs()),
+        return new SecurityAnalysisExecutionHandler<>(workingDir -> writeResult(readResults(workingDir, subtaskCount, input.isWithLogs()), input),
             (workingDir, options) -> distributedOptions(workingDir, options, subtaskCount, input.isWithLogs()),
             (workingDir, cause) -> generateExceptionWithLogs(workingDir, cause, subtaskCount),
             subtaskCount,
             input);
     }
 
+    /**
+     * Create an {@link ExecutionHandler} which distributes the security analysis execution through one call
+     * to {@literal itools security-analysis} for each specified batch of contingencies.
+     * Batches are executed as computation resources get available, so many small batches balance the load better
+     * than one batch per resource.
+     *
+     * @param contingencyCosts if not {@code null}, updated with the measured cost of each batch.
+     */
+    public static ExecutionHandler<SecurityAnalysisReport> distributed(SecurityAnalysisExecutionInput input, List<List<Contingency>> contingencyBatches,
+                                                                       ContingencyCosts contingencyCosts) {
+        Preconditions.checkArgument(!contingencyBatches.isEmpty(), TASK_COUNT_ERROR_MESSAGE, contingencyBatches.size());
+        int batchCount = contingencyBatches.size();
+        List<String> contingencyIds = contingencyBatches.stream()
+                .flatMap(List::stream)
+                .map(Contingency::getId)
+                .collect(Collectors.toList());
+        return new SecurityAnalysisExecutionHandler<>(workingDir -> writeResult(readResults(workingDir, batchCount, input.isWithLogs(), contingencyIds), input),
+            (workingDir, options) -> distributedOptions(workingDir, options, input.isWithLogs()),
+            (workingDir, cause) -> generateExceptionWithLogs(workingDir, cause, batchCount),
+            contingencyBatches,
+            contingencyCosts,
+            input);
+    }
+
+    /**
+     * Write the result read back from the external processes to the result writer of the input, if any.
+     */
+    private static SecurityAnalysisReport writeResult(SecurityAnalysisReport report, SecurityAnalysisExecutionInput input) {
+        input.getResultWriter().ifPresent(writer -> writer.write(report.getResult()));
+        return report;
+    }
+
     public static SecurityAnalysisReport readSingleResult(Path workingDir, boolean withLogs) {
         Path taskResultFile = workingDir.resolve(OUTPUT_FILE);
         SecurityAnalysisResult re = SecurityAnalysisResultDeserializer.read(taskResultFile);
@@ -118,16 +157,44 @@ public final class SecurityAnalysisExecutionHandlers {
         }
     }
 
+    private static void distributedOptions(Path workingDir, SecurityAnalysisCommandOptions options, boolean withLogs) {
+        options.id(SA_TASK_CMD_ID);
+        options.outputFile(i -> getOutputPathForTask(workingDir, i), "JSON");
+        if (withLogs) {
+            options.logFile(i -> getLogPathForTask(workingDir, i));
+        }
+    }
+
     public static Path getOutputPathForTask(Path workingDir, int taskIndex) {
         return workingDir.resolve(String.format(OUTPUT_FILE_FMT, taskIndex));
     }
 
     public static SecurityAnalysisReport readResults(Path workingDir, int subtaskCount, boolean withLogs) {
-        List<SecurityAnalysisResult> results = IntStream.range(0, subtaskCount)
+        return readResults(workingDir, subtaskCount, withLogs, null);
+    }
+
+    /**
+     * Read and merge the results of the subtasks, post-contingency results being sorted as the specified
+     * contingencies if not {@code null}.
+     * <p>
+     * Subtask results are merged to a file, post-contingency results being streamed from the subtask results, which
+     * are thus never all in memory at the same time, then the merged result is read.
+     */
+    private static SecurityAnalysisReport readResults(Path workingDir, int subtaskCount, boolean withLogs, List<String> contingencyIds) {
+        List<Path> resultFiles = IntStream.range(0, subtaskCount)
                 .mapToObj(taskIndex -> getOutputPathForTask(workingDir, taskIndex))
-                .map(SecurityAnalysisResultDeserializer::read)
                 .collect(Collectors.toList());
-        SecurityAnalysisResult re = SecurityAnalysisResultMerger.merge(results);
+        Path mergedResultFile = workingDir.resolve(OUTPUT_FILE);
+        try (Writer writer = Files.newBufferedWriter(mergedResultFile, StandardCharsets.UTF_8);
+             SecurityAnalysisResultJsonWriter jsonWriter = new SecurityAnalysisResultJsonWriter(writer)) {
+            SecurityAnalysisResultMerger.merge(resultFiles, jsonWriter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        SecurityAnalysisResult re = SecurityAnalysisResultDeserializer.read(mergedResultFile);
+        if (contingencyIds != null && re.getPreContingencyLimitViolationsResult().isComputationOk()) {
+            re = sortPostContingencyResults(re, contingencyIds);
+        }
         SecurityAnalysisReport report = new SecurityAnalysisReport(re);
         if (withLogs) {
             List<String> collectedLogsFilename = new ArrayList<>();
@@ -142,6 +209,17 @@ public final class SecurityAnalysisExecutionHandlers {
         return report;
     }
 
+    private static SecurityAnalysisResult sortPostContingencyResults(SecurityAnalysisResult result, List<String> contingencyIds) {
+        Map<String, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < contingencyIds.size(); i++) {
+            indexById.put(contingencyIds.get(i), i);
+        }
+        List<PostContingencyResult> postContingencyResults = new ArrayList<>(result.getPostContingencyResults());
+        postContingencyResults.sort(Comparator.comparingInt(r -> indexById.getOrDefault(r.getContingency().getId(), Integer.MAX_VALUE)));
+        return new SecurityAnalysisResult(result.getPreContingencyResult(), postContingencyResults, result.getOperatorStrategyResults())
+                .setNetworkMetadata(result.getNetworkMetadata());
+    }
+
     private static ComputationException generateExceptionWithLogs(Path workingDir, Exception cause, int count) {
         ComputationExceptionBuilder ceb = new ComputationExceptionBuilder(cause)
                 .message("An error occurred during security analysis command execution");
@@ -10,6 +10,7 @@ import com.powsybl.computation.Partition;
 import com.powsybl.contingency.ContingenciesProviders;
 import com.powsybl.security.SecurityAnalysis;
 import com.powsybl.security.SecurityAnalysisInput;
+import com.powsybl.security.distributed.ContingencyCosts;
 import com.powsybl.security.distributed.DistributedSecurityAnalysisExecution;
 import com.powsybl.security.distributed.ExternalSecurityAnalysisConfig;
 import com.powsybl.security.distributed.ForwardedSecurityAnalysisExecution;
@@ -32,6 +33,7 @@ public class SecurityAnalysisExecutionBuilder {
     private boolean forward = false;
     private Integer taskCount = null;
     private Partition subPart = null;
+    private ContingencyCosts contingencyCosts = null;
 
     /**
      * Create a new builder.
@@ -63,11 +65,20 @@ public class SecurityAnalysisExecutionBuilder {
         return this;
     }
 
+    /**
+     * Cost estimates of the contingencies, used by distributed executions to split contingencies
+     * into batches of similar cost. If {@literal null}, all contingencies are given the same cost.
+     */
+    public SecurityAnalysisExecutionBuilder contingencyCosts(ContingencyCosts contingencyCosts) {
+        this.contingencyCosts = contingencyCosts;
+        return this;
+    }
+
     public SecurityAnalysisExecution build() {
         if (forward) {
             return new ForwardedSecurityAnalysisExecution(externalConfig.get(), taskCount);
         } else if (taskCount != null) {
-            return new DistributedSecurityAnalysisExecution(externalConfig.get(), taskCount);
+            return new DistributedSecurityAnalysisExecution(externalConfig.get(), taskCount, inputBuildStrategy, contingencyCosts);
         } else {
             return new SecurityAnalysisExecutionImpl(SecurityAnalysis.find(providerName), inputBuildStrategy());
         }
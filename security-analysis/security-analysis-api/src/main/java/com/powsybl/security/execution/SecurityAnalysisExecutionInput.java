@@ -7,9 +7,11 @@
 package com.powsybl.security.execution;
 
 import com.google.common.io.ByteSource;
+import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.security.LimitViolationType;
 import com.powsybl.security.SecurityAnalysisParameters;
+import com.powsybl.security.SecurityAnalysisResultWriter;
 import com.powsybl.security.action.Action;
 import com.powsybl.security.monitor.StateMonitor;
 import com.powsybl.security.strategy.OperatorStrategy;
@@ -24,6 +26,9 @@ import java.util.*;
  *     <li>a set of requested result extensions</li>
  *     <li>the set of violation types to be considered</li>
  *     <li>an optional {@link ByteSource} which describes contingencies</li>
+ *     <li>an optional list of contingencies, already resolved, which takes precedence over the contingencies source</li>
+ *     <li>an optional {@link SecurityAnalysisResultWriter} receiving the result, which is never forwarded: executions
+ *     in external processes write the result they read back to it</li>
  * </ul>
  *
  * <p>Design note: here we only want serializable objects for forwarding purpose,
@@ -36,6 +41,7 @@ public class SecurityAnalysisExecutionInput {
 
     private NetworkVariant networkVariant;
     private ByteSource contingenciesSource;
+    private List<Contingency> contingencies;
     private SecurityAnalysisParameters parameters;
     private final List<String> resultExtensions = new ArrayList<>();
     private final Set<LimitViolationType> violationTypes = EnumSet.noneOf(LimitViolationType.class);
@@ -43,11 +49,16 @@ public class SecurityAnalysisExecutionInput {
     private final List<OperatorStrategy> operatorStrategies = new ArrayList<>();
     private final List<Action> actions = new ArrayList<>();
     private final List<StateMonitor> monitors = new ArrayList<>();
+    private SecurityAnalysisResultWriter resultWriter;
 
     public Optional<ByteSource> getContingenciesSource() {
         return Optional.ofNullable(contingenciesSource);
     }
 
+    public Optional<List<Contingency>> getContingencies() {
+        return Optional.ofNullable(contingencies);
+    }
+
     public List<String> getResultExtensions() {
         return Collections.unmodifiableList(resultExtensions);
     }
@@ -76,6 +87,10 @@ public class SecurityAnalysisExecutionInput {
         return Collections.unmodifiableList(monitors);
     }
 
+    public Optional<SecurityAnalysisResultWriter> getResultWriter() {
+        return Optional.ofNullable(resultWriter);
+    }
+
     public boolean isWithLogs() {
         return withLogs;
     }
@@ -85,6 +100,11 @@ public class SecurityAnalysisExecutionInput {
         return this;
     }
 
+    public SecurityAnalysisExecutionInput setContingencies(List<Contingency> contingencies) {
+        this.contingencies = contingencies != null ? List.copyOf(contingencies) : null;
+        return this;
+    }
+
     public SecurityAnalysisExecutionInput addResultExtension(String resultExtension) {
         resultExtensions.add(Objects.requireNonNull(resultExtension));
         return this;
@@ -146,6 +166,11 @@ public class SecurityAnalysisExecutionInput {
         return this;
     }
 
+    public SecurityAnalysisExecutionInput setResultWriter(SecurityAnalysisResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
+        return this;
+    }
+
     public SecurityAnalysisExecutionInput setWithLogs(boolean withLogs) {
         this.withLogs = withLogs;
         return this;
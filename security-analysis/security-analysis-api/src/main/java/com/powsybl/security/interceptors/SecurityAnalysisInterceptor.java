@@ -48,6 +48,10 @@ public interface SecurityAnalysisInterceptor {
 
     /**
      * Callback after the security-analysis result is built.
+     * <p>
+     * If the result is built with a {@link com.powsybl.security.SecurityAnalysisResultWriter}, post-contingency results
+     * are streamed to the writer and the given result has no post-contingency result: interceptors needing them must
+     * collect them in {@link #onPostContingencyResult(PostContingencyResult, SecurityAnalysisResultContext)}.
      * @param result
      * @param context
      */
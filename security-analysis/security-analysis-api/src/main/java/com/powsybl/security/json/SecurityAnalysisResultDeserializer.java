@@ -30,6 +30,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * @author Massimo Ferraro <massimo.ferraro@techrain.it>
@@ -42,6 +43,8 @@ public class SecurityAnalysisResultDeserializer extends StdDeserializer<Security
 
     public static final String SOURCE_VERSION_ATTRIBUTE = "sourceVersionAttribute";
 
+    private static final String POST_CONTINGENCY_RESULT_CONSUMER_ATTRIBUTE = "postContingencyResultConsumerAttribute";
+
     SecurityAnalysisResultDeserializer() {
         super(SecurityAnalysisResult.class);
     }
@@ -79,8 +82,15 @@ public class SecurityAnalysisResultDeserializer extends StdDeserializer<Security
 
                 case "postContingencyResults":
                     parser.nextToken();
-                    JavaType postContingencyResultsCollection = ctx.getTypeFactory().constructCollectionType(List.class, PostContingencyResult.class);
-                    postContingencyResults = ctx.readValue(parser, postContingencyResultsCollection);
+                    Consumer<PostContingencyResult> postContingencyResultConsumer = getPostContingencyResultConsumer(ctx);
+                    if (postContingencyResultConsumer != null) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            postContingencyResultConsumer.accept(ctx.readValue(parser, PostContingencyResult.class));
+                        }
+                    } else {
+                        JavaType postContingencyResultsCollection = ctx.getTypeFactory().constructCollectionType(List.class, PostContingencyResult.class);
+                        postContingencyResults = ctx.readValue(parser, postContingencyResultsCollection);
+                    }
                     break;
 
                 case "operatorStrategyResults":
@@ -112,6 +122,11 @@ public class SecurityAnalysisResultDeserializer extends StdDeserializer<Security
         return result;
     }
 
+    @SuppressWarnings("unchecked")
+    private static Consumer<PostContingencyResult> getPostContingencyResultConsumer(DeserializationContext ctx) {
+        return (Consumer<PostContingencyResult>) ctx.getAttribute(POST_CONTINGENCY_RESULT_CONSUMER_ATTRIBUTE);
+    }
+
     public static SecurityAnalysisResult read(Path jsonFile) {
         try (InputStream is = Files.newInputStream(jsonFile)) {
             return read(is);
@@ -120,6 +135,33 @@ public class SecurityAnalysisResultDeserializer extends StdDeserializer<Security
         }
     }
 
+    /**
+     * Read a result, post-contingency results being given one by one to the consumer as they are read, instead of
+     * being kept in the returned result.
+     */
+    public static SecurityAnalysisResult read(Path jsonFile, Consumer<PostContingencyResult> postContingencyResultConsumer) {
+        try (InputStream is = Files.newInputStream(jsonFile)) {
+            return read(is, postContingencyResultConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SecurityAnalysisResult read(InputStream is, Consumer<PostContingencyResult> postContingencyResultConsumer) {
+        Objects.requireNonNull(is);
+        Objects.requireNonNull(postContingencyResultConsumer);
+
+        ObjectMapper objectMapper = JsonUtil.createObjectMapper()
+                .registerModule(new SecurityAnalysisJsonModule());
+        try {
+            return objectMapper.readerFor(SecurityAnalysisResult.class)
+                    .withAttribute(POST_CONTINGENCY_RESULT_CONSUMER_ATTRIBUTE, postContingencyResultConsumer)
+                    .readValue(is);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static SecurityAnalysisResult read(InputStream is) {
         Objects.requireNonNull(is);
 
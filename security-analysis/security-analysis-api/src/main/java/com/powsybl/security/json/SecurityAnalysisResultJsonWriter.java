@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.SecurityAnalysisResultWriter;
+import com.powsybl.security.results.PostContingencyResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Write a security analysis result in the JSON format of {@link SecurityAnalysisResultSerializer}, post-contingency
+ * results being written as soon as they are received. Only the other parts of the result and a few counters are kept
+ * until the writer is closed.
+ * <p>
+ * Post-contingency results come first in the written JSON object, which can be read with
+ * {@link SecurityAnalysisResultDeserializer}. The underlying writer is flushed but not closed on close, closing
+ * several times has no effect.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SecurityAnalysisResultJsonWriter implements SecurityAnalysisResultWriter, AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+
+    private final JsonGenerator jsonGenerator;
+
+    private SecurityAnalysisResult result;
+
+    private int postContingencyResultCount = 0;
+
+    private int failedPostContingencyResultCount = 0;
+
+    private long postContingencyLimitViolationCount = 0;
+
+    private boolean closed = false;
+
+    public SecurityAnalysisResultJsonWriter(Writer writer) {
+        Objects.requireNonNull(writer);
+        objectMapper = JsonUtil.createObjectMapper()
+                .registerModule(new SecurityAnalysisJsonModule());
+        try {
+            jsonGenerator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .useDefaultPrettyPrinter();
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("version", SecurityAnalysisResultSerializer.VERSION);
+            jsonGenerator.writeArrayFieldStart("postContingencyResults");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void writePostContingencyResult(PostContingencyResult result) {
+        Objects.requireNonNull(result);
+        try {
+            jsonGenerator.writeObject(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        postContingencyResultCount++;
+        if (!result.getLimitViolationsResult().isComputationOk()) {
+            failedPostContingencyResultCount++;
+        }
+        postContingencyLimitViolationCount += result.getLimitViolationsResult().getLimitViolations().size();
+    }
+
+    @Override
+    public synchronized void writeResult(SecurityAnalysisResult result) {
+        if (this.result != null) {
+            throw new IllegalStateException("Security analysis result already written");
+        }
+        this.result = Objects.requireNonNull(result);
+    }
+
+    public synchronized int getPostContingencyResultCount() {
+        return postContingencyResultCount;
+    }
+
+    public synchronized int getFailedPostContingencyResultCount() {
+        return failedPostContingencyResultCount;
+    }
+
+    public synchronized long getPostContingencyLimitViolationCount() {
+        return postContingencyLimitViolationCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (JsonGenerator generator = jsonGenerator) {
+            if (result == null) {
+                throw new IllegalStateException("Security analysis result has not been written");
+            }
+            generator.writeEndArray();
+            if (result.getNetworkMetadata() != null) {
+                generator.writeObjectField("network", result.getNetworkMetadata());
+            }
+            generator.writeObjectField("preContingencyResult", result.getPreContingencyResult());
+            generator.writeObjectField("operatorStrategyResults", result.getOperatorStrategyResults());
+            JsonUtil.writeExtensions(result, generator, objectMapper.getSerializerProviderInstance());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -16,6 +16,9 @@ import com.powsybl.computation.ComputationException;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.computation.Partition;
 import com.powsybl.contingency.ContingenciesProviders;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyList;
+import com.powsybl.contingency.DefaultContingencyList;
 import com.powsybl.iidm.import_.ImportConfig;
 import com.powsybl.iidm.import_.Importers;
 import com.powsybl.iidm.import_.ImportersLoader;
@@ -26,6 +29,7 @@ import com.powsybl.iidm.tools.ConversionToolUtils;
 import com.powsybl.security.*;
 import com.powsybl.security.action.ActionList;
 import com.powsybl.security.converter.SecurityAnalysisResultExporters;
+import com.powsybl.security.distributed.ContingencyCosts;
 import com.powsybl.security.distributed.ExternalSecurityAnalysisConfig;
 import com.powsybl.security.execution.SecurityAnalysisExecution;
 import com.powsybl.security.execution.SecurityAnalysisExecutionBuilder;
@@ -33,6 +37,7 @@ import com.powsybl.security.execution.SecurityAnalysisExecutionInput;
 import com.powsybl.security.execution.SecurityAnalysisInputBuildStrategy;
 import com.powsybl.security.interceptors.SecurityAnalysisInterceptors;
 import com.powsybl.security.json.JsonSecurityAnalysisParameters;
+import com.powsybl.security.json.SecurityAnalysisResultJsonWriter;
 import com.powsybl.security.monitor.StateMonitor;
 import com.powsybl.security.strategy.OperatorStrategyList;
 import com.powsybl.security.preprocessor.SecurityAnalysisPreprocessorFactory;
@@ -47,9 +52,11 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
@@ -67,6 +74,8 @@ import static com.powsybl.tools.ToolConstants.TASK_COUNT;
 @AutoService(Tool.class)
 public class SecurityAnalysisTool implements Tool {
 
+    private static final String JSON_FORMAT = "JSON";
+
     @Override
     public Command getCommand() {
         return new Command() {
@@ -119,6 +128,11 @@ public class SecurityAnalysisTool implements Tool {
                     .hasArg()
                     .argName("FILE")
                     .build());
+                options.addOption(Option.builder().longOpt(CONTINGENCY_COSTS_FILE_OPTION)
+                    .desc("contingency costs file (.json) used to balance tasks, updated after computation")
+                    .hasArg()
+                    .argName("FILE")
+                    .build());
                 options.addOption(Option.builder().longOpt(WITH_EXTENSIONS_OPTION)
                     .desc("the extension list to enable")
                     .hasArg()
@@ -167,8 +181,13 @@ public class SecurityAnalysisTool implements Tool {
             .ifPresent(f -> JsonSecurityAnalysisParameters.update(inputs.getParameters(), f));
 
         options.getPath(CONTINGENCIES_FILE_OPTION)
-            .map(FileUtil::asByteSource)
-            .ifPresent(inputs::setContingenciesSource);
+            .ifPresent(f -> {
+                if (f.getFileName().toString().endsWith(".json")) {
+                    inputs.setContingencies(readContingencyList(f));
+                } else {
+                    inputs.setContingenciesSource(FileUtil.asByteSource(f));
+                }
+            });
 
         options.getValues(LIMIT_TYPES_OPTION)
             .map(types -> types.stream().map(LimitViolationType::valueOf).collect(Collectors.toList()))
@@ -181,6 +200,13 @@ public class SecurityAnalysisTool implements Tool {
             .ifPresent(f -> inputs.setWithLogs(true));
     }
 
+    /**
+     * Read a JSON contingency list, which is always a {@link DefaultContingencyList}: its contingencies do not depend on the network.
+     */
+    private static List<Contingency> readContingencyList(Path file) {
+        return ((DefaultContingencyList) ContingencyList.load(file)).getContingencies();
+    }
+
     private static SecurityAnalysisInputBuildStrategy configBasedInputBuildStrategy(PlatformConfig config) {
         return preprocessedInputBuildStrategy(() -> LimitViolationFilter.load(config),
             SecurityAnalysisPreprocessors.configuredFactory(config)
@@ -208,9 +234,13 @@ public class SecurityAnalysisTool implements Tool {
             input.getFilter().setViolationTypes(ImmutableSet.copyOf(executionInput.getViolationTypes()));
         }
 
-        executionInput.getContingenciesSource()
-            .map(preprocessorFactory::newPreprocessor)
-            .ifPresent(p -> p.preprocess(input));
+        if (executionInput.getContingencies().isPresent()) {
+            input.setContingencies(new DefaultContingencyList("contingencies", executionInput.getContingencies().get())::getContingencies);
+        } else {
+            executionInput.getContingenciesSource()
+                .map(preprocessorFactory::newPreprocessor)
+                .ifPresent(p -> p.preprocess(input));
+        }
 
         return input;
     }
@@ -261,6 +291,28 @@ public class SecurityAnalysisTool implements Tool {
         return network;
     }
 
+    private static SecurityAnalysisReport runSecurityAnalysis(ToolOptions options, ComputationManager computationManager,
+                                                              SecurityAnalysisExecution execution, SecurityAnalysisExecutionInput executionInput) {
+        return options.getPath(OUTPUT_LOG_OPTION)
+            .map(logPath -> runSecurityAnalysisWithLog(computationManager, execution, executionInput, logPath))
+            .orElseGet(() -> execution.execute(computationManager, executionInput).join());
+    }
+
+    /**
+     * Run the security analysis with a {@link SecurityAnalysisResultJsonWriter} as result writer, so that
+     * post-contingency results are written to the output file as soon as they are computed, instead of being kept in
+     * memory until the end of the analysis.
+     */
+    private static SecurityAnalysisReport runSecurityAnalysisToJson(ToolOptions options, ComputationManager computationManager,
+                                                                    SecurityAnalysisExecution execution, SecurityAnalysisExecutionInput executionInput,
+                                                                    Path outputFile) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+             SecurityAnalysisResultJsonWriter jsonWriter = new SecurityAnalysisResultJsonWriter(writer)) {
+            executionInput.setResultWriter(jsonWriter);
+            return runSecurityAnalysis(options, computationManager, execution, executionInput);
+        }
+    }
+
     private static void uncheckedWriteBytes(byte[] bytes, Path path) {
         try {
             Files.write(path, bytes);
@@ -306,28 +358,40 @@ public class SecurityAnalysisTool implements Tool {
 
         updateInput(options, executionInput);
 
+        // Contingency costs, updated by the execution
+        Path contingencyCostsFile = options.getPath(CONTINGENCY_COSTS_FILE_OPTION)
+            .orElse(null);
+        ContingencyCosts contingencyCosts = contingencyCostsFile != null ? ContingencyCosts.read(contingencyCostsFile) : null;
+        executionBuilder.contingencyCosts(contingencyCosts);
         SecurityAnalysisExecution execution = buildExecution(options, executionBuilder);
 
         ComputationManager computationManager = options.hasOption(TASK) ? context.getShortTimeExecutionComputationManager() :
             context.getLongTimeExecutionComputationManager();
 
-        SecurityAnalysisReport report = options.getPath(OUTPUT_LOG_OPTION)
-            .map(logPath -> runSecurityAnalysisWithLog(computationManager, execution, executionInput, logPath))
-            .orElseGet(() -> execution.execute(computationManager, executionInput).join());
+        boolean streamedJson = outputFile != null && JSON_FORMAT.equals(format);
+        if (streamedJson) {
+            context.getOutputStream().println("Writing results to '" + outputFile + "'");
+        }
+        SecurityAnalysisReport report = streamedJson ? runSecurityAnalysisToJson(options, computationManager, execution, executionInput, outputFile)
+            : runSecurityAnalysis(options, computationManager, execution, executionInput);
 
         SecurityAnalysisResult result = report.getResult();
 
+        if (contingencyCosts != null) {
+            contingencyCosts.write(contingencyCostsFile);
+        }
+
         if (!result.getPreContingencyLimitViolationsResult().isComputationOk()) {
             context.getErrorStream().println("Pre-contingency state divergence");
         }
 
-        if (outputFile != null) {
-            context.getOutputStream().println("Writing results to '" + outputFile + "'");
-            SecurityAnalysisResultExporters.export(result, outputFile, format);
-        } else {
+        if (outputFile == null) {
             // To avoid the closing of System.out
             Writer writer = new OutputStreamWriter(context.getOutputStream());
             Security.print(result, network, writer, new AsciiTableFormatterFactory(), tableFormatterConfigLoader.get());
+        } else if (!streamedJson) {
+            context.getOutputStream().println("Writing results to '" + outputFile + "'");
+            SecurityAnalysisResultExporters.export(result, outputFile, format);
         }
     }
 }
@@ -17,6 +17,7 @@ public final class SecurityAnalysisToolConstants {
     public static final String OUTPUT_FILE_OPTION = "output-file";
     public static final String OUTPUT_FORMAT_OPTION = "output-format";
     public static final String CONTINGENCIES_FILE_OPTION = "contingencies-file";
+    public static final String CONTINGENCY_COSTS_FILE_OPTION = "contingency-costs-file";
     public static final String WITH_EXTENSIONS_OPTION = "with-extensions";
     public static final String EXTERNAL = "external";
     public static final String OUTPUT_LOG_OPTION = "log-file";
@@ -10,6 +10,7 @@ import com.powsybl.security.results.*;
 import com.powsybl.security.strategy.OperatorStrategy;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -129,6 +130,38 @@ public class SecurityAnalysisResultBuilderTest {
         assertEquals(1, violations2.stream().filter(l -> l.getLimitType() == LimitViolationType.HIGH_VOLTAGE).count());
     }
 
+    @Test
+    public void streamedResult() {
+        List<PostContingencyResult> postContingencyResults = new ArrayList<>();
+        List<SecurityAnalysisResult> results = new ArrayList<>();
+        SecurityAnalysisResultWriter writer = new SecurityAnalysisResultWriter() {
+            @Override
+            public void writePostContingencyResult(PostContingencyResult result) {
+                postContingencyResults.add(result);
+            }
+
+            @Override
+            public void writeResult(SecurityAnalysisResult result) {
+                results.add(result);
+            }
+        };
+        SecurityAnalysisResultBuilder builder = new SecurityAnalysisResultBuilder(new LimitViolationFilter(),
+                new RunningContext(network, network.getVariantManager().getWorkingVariantId()), Collections.emptyList(), writer);
+
+        builder.preContingency().setComputationOk(true).endPreContingency();
+        builder.contingency(new Contingency("contingency1")).setComputationOk(true).endContingency();
+        assertEquals(1, postContingencyResults.size());
+        assertEquals("contingency1", postContingencyResults.get(0).getContingency().getId());
+        builder.contingency(new Contingency("contingency2")).setComputationOk(false).endContingency();
+        assertEquals(2, postContingencyResults.size());
+        assertTrue(results.isEmpty());
+
+        SecurityAnalysisResult res = builder.build();
+        assertTrue(res.getPreContingencyLimitViolationsResult().isComputationOk());
+        assertTrue(res.getPostContingencyResults().isEmpty());
+        assertEquals(List.of(res), results);
+    }
+
     static class MockContext extends DefaultSecurityAnalysisResultContext {
 
         private int calledCount = 0;
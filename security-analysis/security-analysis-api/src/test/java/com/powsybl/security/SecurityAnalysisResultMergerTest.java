@@ -6,17 +6,30 @@
  */
 package com.powsybl.security;
 
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Branch;
+import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
+import com.powsybl.security.json.SecurityAnalysisResultJsonWriter;
+import com.powsybl.security.json.SecurityAnalysisResultSerializer;
 import com.powsybl.security.results.PostContingencyResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Yichen Tang <yichen.tang at rte-france.com>
@@ -65,6 +78,46 @@ public class SecurityAnalysisResultMergerTest {
         assertEquals(Arrays.asList(postContingencyResult, postContingencyResult2), mergedResult.getPostContingencyResults());
     }
 
+    private static SecurityAnalysisResult readStreamedMerge(List<SecurityAnalysisResult> results) throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            List<Path> resultFiles = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                Path resultFile = fileSystem.getPath("/task_" + i + "_result.json");
+                try (Writer writer = Files.newBufferedWriter(resultFile)) {
+                    SecurityAnalysisResultSerializer.write(results.get(i), writer);
+                }
+                resultFiles.add(resultFile);
+            }
+            Path mergedFile = fileSystem.getPath("/result.json");
+            try (Writer writer = Files.newBufferedWriter(mergedFile);
+                 SecurityAnalysisResultJsonWriter jsonWriter = new SecurityAnalysisResultJsonWriter(writer)) {
+                SecurityAnalysisResultMerger.merge(resultFiles, jsonWriter);
+            }
+            return SecurityAnalysisResultDeserializer.read(mergedFile);
+        }
+    }
+
+    @Test
+    public void testStreamedMerge() throws IOException {
+        SecurityAnalysisResult streamed1 = new SecurityAnalysisResult(preContingencyResult,
+                Collections.singletonList(new PostContingencyResult(new Contingency("contingency1"), true, Collections.emptyList())));
+        SecurityAnalysisResult streamed2 = new SecurityAnalysisResult(preContingencyResult,
+                Collections.singletonList(new PostContingencyResult(new Contingency("contingency2"), false, Collections.emptyList())));
+
+        SecurityAnalysisResult mergedResult = readStreamedMerge(List.of(streamed1, streamed2));
+        assertTrue(mergedResult.getPreContingencyLimitViolationsResult().isComputationOk());
+        assertEquals(1, mergedResult.getPreContingencyLimitViolationsResult().getLimitViolations().size());
+        assertEquals(List.of("contingency1", "contingency2"), mergedResult.getPostContingencyResults().stream()
+                .map(r -> r.getContingency().getId())
+                .collect(Collectors.toList()));
+
+        SecurityAnalysisResult failedMergedResult = readStreamedMerge(List.of(streamed1, failedResult));
+        assertFalse(failedMergedResult.getPreContingencyLimitViolationsResult().isComputationOk());
+        assertTrue(failedMergedResult.getPostContingencyResults().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> readStreamedMerge(List.of()));
+    }
+
     @Test
     public void testFailedResultsMerge() {
         SecurityAnalysisResult[] results = new SecurityAnalysisResult[]{
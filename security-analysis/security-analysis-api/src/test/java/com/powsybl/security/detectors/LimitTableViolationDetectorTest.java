@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.detectors;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.security.LimitViolation;
+import com.powsybl.security.LimitViolationDetector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class LimitTableViolationDetectorTest {
+
+    private Network network;
+
+    @Before
+    public void setUp() {
+        network = EurostagTutorialExample1Factory.createWithFixedCurrentLimits();
+        network.getLine("NHV1_NHV2_2").newCurrentLimits2()
+                .setPermanentLimit(900)
+                .beginTemporaryLimit()
+                    .setName("20'")
+                    .setAcceptableDuration(20 * 60)
+                    .setValue(1000)
+                .endTemporaryLimit()
+                .add();
+    }
+
+    private static List<String> checkAll(LimitViolationDetector detector, Network network) {
+        List<LimitViolation> violations = new ArrayList<>();
+        detector.checkAll(network, violations::add);
+        return violations.stream().map(LimitViolation::toString).collect(Collectors.toList());
+    }
+
+    private void setFlows(double p) {
+        network.getBranchStream().forEach(b -> {
+            b.getTerminal1().setP(p).setQ(p / 10);
+            b.getTerminal2().setP(-p * 1.05).setQ(-p / 10);
+        });
+    }
+
+    private void assertSameViolations(float limitReduction, Collection<LoadingLimitType> types) {
+        LimitViolationDetector reference = new DefaultLimitViolationDetector(limitReduction, types);
+        List<LimitViolationDetector> detectors = List.of(new LimitTableViolationDetector(limitReduction, types),
+                new LimitTableViolationDetector(limitReduction, types, true, 1));
+        for (double p = 0; p <= 1200; p += 10) {
+            setFlows(p);
+            network.getBusView().getBusStream().forEach(b -> b.setV(b.getVoltageLevel().getNominalV() * 1.1));
+            ((Bus) network.getIdentifiable("NHV2")).setV(p < 600 ? 299 : Double.NaN);
+            List<String> expected = checkAll(reference, network);
+            for (LimitViolationDetector detector : detectors) {
+                assertEquals(expected, checkAll(detector, network));
+            }
+        }
+    }
+
+    @Test
+    public void testSameViolationsAsDefault() {
+        assertSameViolations(1.0f, EnumSet.allOf(LoadingLimitType.class));
+        assertSameViolations(0.8f, EnumSet.allOf(LoadingLimitType.class));
+        assertSameViolations(0.8f, EnumSet.of(LoadingLimitType.PATL));
+        assertSameViolations(0.8f, EnumSet.of(LoadingLimitType.TATL));
+    }
+
+    @Test
+    public void testViolationsDetected() {
+        LimitViolationDetector detector = new LimitTableViolationDetector();
+        setFlows(800);
+        List<String> violations = checkAll(detector, network);
+        assertFalse(violations.isEmpty());
+        assertTrue(violations.stream().anyMatch(v -> v.contains("NHV1_NHV2_2") && v.contains("side: TWO")));
+
+        // the table follows added branches
+        network.getLine("NHV1_NHV2_1").getCurrentLimits1().ifPresent(l -> l.setPermanentLimit(10));
+        Line line = network.newLine()
+                .setId("NHV1_NHV2_3")
+                .setVoltageLevel1("VLHV1")
+                .setBus1("NHV1")
+                .setVoltageLevel2("VLHV2")
+                .setBus2("NHV2")
+                .setR(3.0)
+                .setX(33.0)
+                .setG1(0.0)
+                .setB1(386E-6 / 2)
+                .setG2(0.0)
+                .setB2(386E-6 / 2)
+                .add();
+        line.newCurrentLimits1().setPermanentLimit(100).add();
+        line.getTerminal1().setP(800).setQ(80);
+        assertEquals(checkAll(new DefaultLimitViolationDetector(), network), checkAll(detector, network));
+        assertTrue(checkAll(detector, network).stream().anyMatch(v -> v.contains("NHV1_NHV2_3")));
+    }
+
+    @Test
+    public void testRemovedBranchReplaced() {
+        LimitViolationDetector detector = new LimitTableViolationDetector();
+        setFlows(800);
+        checkAll(detector, network);
+
+        // same number of branches, but not the same ones
+        network.getLine("NHV1_NHV2_2").remove();
+        Line line = network.newLine()
+                .setId("NHV1_NHV2_3")
+                .setVoltageLevel1("VLHV1")
+                .setBus1("NHV1")
+                .setVoltageLevel2("VLHV2")
+                .setBus2("NHV2")
+                .setR(3.0)
+                .setX(33.0)
+                .setG1(0.0)
+                .setB1(386E-6 / 2)
+                .setG2(0.0)
+                .setB2(386E-6 / 2)
+                .add();
+        line.getTerminal1().setP(800).setQ(80);
+        List<String> violations = checkAll(detector, network);
+        assertEquals(checkAll(new DefaultLimitViolationDetector(), network), violations);
+        assertTrue(violations.stream().noneMatch(v -> v.contains("NHV1_NHV2_2")));
+
+        // limits updated after the compilation are seen
+        network.getLine("NHV1_NHV2_1").getCurrentLimits1().ifPresent(l -> l.setPermanentLimit(10));
+        assertEquals(checkAll(new DefaultLimitViolationDetector(), network), checkAll(detector, network));
+    }
+
+    @Test
+    public void testListenerRegisteredOnce() {
+        Network spiedNetwork = spy(network);
+        setFlows(800);
+        List<String> expected = checkAll(new DefaultLimitViolationDetector(), network);
+        try (LimitTableViolationDetector detector = new LimitTableViolationDetector()) {
+            // the same detector used by several threads compiles the table once
+            List<List<String>> violations = IntStream.range(0, 8)
+                    .parallel()
+                    .mapToObj(i -> checkAll(detector, spiedNetwork))
+                    .collect(Collectors.toList());
+            violations.forEach(v -> assertEquals(expected, v));
+            verify(spiedNetwork, times(1)).addListener(any());
+            verify(spiedNetwork, never()).removeListener(any());
+
+            // the listener of the replaced table is removed
+            network.getLine("NHV1_NHV2_1").getCurrentLimits1().ifPresent(l -> l.setPermanentLimit(10));
+            assertEquals(checkAll(new DefaultLimitViolationDetector(), network), checkAll(detector, spiedNetwork));
+            verify(spiedNetwork, times(2)).addListener(any());
+            verify(spiedNetwork, times(1)).removeListener(any());
+        }
+        verify(spiedNetwork, times(2)).removeListener(any());
+    }
+
+    @Test
+    public void testInvalidChunkSize() {
+        EnumSet<LoadingLimitType> types = EnumSet.allOf(LoadingLimitType.class);
+        assertThrows(IllegalArgumentException.class, () -> new LimitTableViolationDetector(1.0f, types, true, 0));
+    }
+}
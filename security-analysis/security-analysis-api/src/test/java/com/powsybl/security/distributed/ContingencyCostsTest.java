@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.distributed;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.contingency.Contingency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class ContingencyCostsTest {
+
+    private FileSystem fileSystem;
+
+    @Before
+    public void createFileSystem() {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+    }
+
+    @After
+    public void closeFileSystem() throws IOException {
+        fileSystem.close();
+    }
+
+    private static List<Contingency> contingencies(String... ids) {
+        return List.of(ids).stream().map(Contingency::new).collect(Collectors.toList());
+    }
+
+    private static List<List<String>> ids(List<List<Contingency>> batches) {
+        return batches.stream()
+                .map(batch -> batch.stream().map(Contingency::getId).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testDefaultCost() {
+        ContingencyCosts costs = new ContingencyCosts();
+        assertEquals(1, costs.getCost("c1"), 0);
+        assertFalse(costs.getKnownCost("c1").isPresent());
+
+        costs.setCost("c1", 2).setCost("c2", 4);
+        assertEquals(2, costs.getKnownCost("c1").getAsDouble(), 0);
+        assertEquals(3, costs.getCost("c3"), 0);
+        costs.setCost("c2", 6);
+        assertEquals(4, costs.getCost("c3"), 0);
+
+        assertThrows(IllegalArgumentException.class, () -> costs.setCost("c1", -1));
+        assertThrows(IllegalArgumentException.class, () -> costs.setCost("c1", Double.NaN));
+    }
+
+    @Test
+    public void testSplit() {
+        ContingencyCosts costs = new ContingencyCosts()
+                .setCost("c1", 1)
+                .setCost("c2", 5)
+                .setCost("c3", 2)
+                .setCost("c4", 4)
+                .setCost("c5", 3);
+        // 5 to batch 0, 4 to batch 1, 3 to batch 1, 2 to batch 0, 1 to batch 0
+        assertEquals(List.of(List.of("c1", "c2", "c3"), List.of("c4", "c5")),
+                ids(costs.split(contingencies("c1", "c2", "c3", "c4", "c5"), 2)));
+
+        // no empty batch
+        assertEquals(List.of(List.of("c2"), List.of("c1")), ids(costs.split(contingencies("c1", "c2"), 4)));
+        assertTrue(costs.split(List.of(), 4).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> costs.split(List.of(), 0));
+    }
+
+    @Test
+    public void testSplitWithoutCosts() {
+        List<List<Contingency>> batches = new ContingencyCosts().split(contingencies("c1", "c2", "c3", "c4", "c5", "c6", "c7"), 3);
+        assertEquals(List.of(List.of("c1", "c4", "c7"), List.of("c2", "c5"), List.of("c3", "c6")), ids(batches));
+    }
+
+    @Test
+    public void testUpdate() {
+        ContingencyCosts costs = new ContingencyCosts()
+                .setCost("c1", 1)
+                .setCost("c2", 3);
+        costs.update(List.of("c1", "c2"), 8);
+        assertEquals(2, costs.getCost("c1"), 1e-12);
+        assertEquals(6, costs.getCost("c2"), 1e-12);
+
+        // unknown contingencies get the mean cost as estimate
+        costs.update(List.of("c2", "c3"), 5);
+        assertEquals(3, costs.getCost("c2"), 1e-12);
+        assertEquals(2, costs.getCost("c3"), 1e-12);
+    }
+
+    @Test
+    public void testUpdateBatches() {
+        ContingencyCosts costs = new ContingencyCosts()
+                .setCost("c1", 1)
+                .setCost("c2", 2)
+                .setCost("c3", 4);
+        // each batch took 10 more than its estimated cost, the third one was not measured
+        List<List<String>> batches = List.of(List.of("c1"), List.of("c2", "c3"), List.of("c4"));
+        assertEquals(10, costs.updateBatches(batches, new double[] {11, 16, Double.NaN}), 1e-12);
+        assertEquals(1, costs.getCost("c1"), 1e-12);
+        assertEquals(2, costs.getCost("c2"), 1e-12);
+        assertEquals(4, costs.getCost("c3"), 1e-12);
+        assertFalse(costs.getKnownCost("c4").isPresent());
+
+        // overhead cannot be estimated from batches of the same estimated cost
+        ContingencyCosts uniformCosts = new ContingencyCosts();
+        assertEquals(0, uniformCosts.updateBatches(List.of(List.of("c1"), List.of("c2")), new double[] {3, 5}), 0);
+        assertEquals(3, uniformCosts.getCost("c1"), 1e-12);
+        assertEquals(5, uniformCosts.getCost("c2"), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> costs.updateBatches(batches, new double[] {1}));
+    }
+
+    @Test
+    public void testReadWrite() {
+        Path file = fileSystem.getPath("/costs.json");
+        assertFalse(ContingencyCosts.read(file).getKnownCost("c1").isPresent());
+
+        new ContingencyCosts()
+                .setCost("c2", 1.5)
+                .setCost("c1", 3)
+                .write(file);
+        ContingencyCosts costs = ContingencyCosts.read(file);
+        assertEquals(3, costs.getKnownCost("c1").getAsDouble(), 0);
+        assertEquals(1.5, costs.getKnownCost("c2").getAsDouble(), 0);
+    }
+}
@@ -15,8 +15,14 @@ import com.powsybl.computation.ComputationManager;
 import com.powsybl.computation.ExecutionHandler;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyList;
+import com.powsybl.contingency.DefaultContingencyList;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.security.SecurityAnalysisInput;
+import com.powsybl.security.SecurityAnalysisParameters;
+import com.powsybl.security.execution.SecurityAnalysisExecutionInput;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -90,6 +96,51 @@ public class DistributedSecurityAnalysisTest {
         assertTrue(Files.exists(workingDir.resolve("parameters.json")));
     }
 
+    @Test
+    public void testDistributedWithContingencyCosts() throws IOException {
+        ContingencyCosts costs = new ContingencyCosts()
+                .setCost("contingency-1", 1)
+                .setCost("contingency-2", 1)
+                .setCost("contingency-3", 10)
+                .setCost("contingency-4", 1);
+        SecurityAnalysisExecutionInput input = new SecurityAnalysisExecutionInput()
+                .setNetworkVariant(network, VariantManagerConstants.INITIAL_VARIANT_ID)
+                .setParameters(new SecurityAnalysisParameters());
+        new DistributedSecurityAnalysisExecution(new ExternalSecurityAnalysisConfig(), 1,
+            executionInput -> new SecurityAnalysisInput(executionInput.getNetworkVariant()).setContingencies(contingencies), costs)
+                .execute(cm, input);
+
+        ArgumentCaptor<ExecutionHandler> capt = ArgumentCaptor.forClass(ExecutionHandler.class);
+        verify(cm, times(1)).execute(any(), capt.capture());
+        List<CommandExecution> cmd = capt.getValue().before(workingDir);
+        assertEquals(1, cmd.size());
+        assertEquals(4, cmd.get(0).getExecutionCount());
+
+        // the most costly contingency is alone in the first batch
+        DefaultContingencyList firstBatch = (DefaultContingencyList) ContingencyList.load(workingDir.resolve("contingencies_0.json"));
+        assertEquals(List.of("contingency-3"), firstBatch.getContingencies().stream().map(Contingency::getId).collect(Collectors.toList()));
+        assertTrue(Files.exists(workingDir.resolve("contingencies_3.json")));
+    }
+
+    @Test
+    public void testDistributedWithoutContingencyCosts() throws IOException {
+        SecurityAnalysisExecutionInput input = new SecurityAnalysisExecutionInput()
+                .setNetworkVariant(network, VariantManagerConstants.INITIAL_VARIANT_ID)
+                .setParameters(new SecurityAnalysisParameters());
+        new DistributedSecurityAnalysisExecution(new ExternalSecurityAnalysisConfig(), 2,
+            executionInput -> new SecurityAnalysisInput(executionInput.getNetworkVariant()).setContingencies(contingencies), null)
+                .execute(cm, input);
+
+        ArgumentCaptor<ExecutionHandler> capt = ArgumentCaptor.forClass(ExecutionHandler.class);
+        verify(cm, times(1)).execute(any(), capt.capture());
+        List<CommandExecution> cmd = capt.getValue().before(workingDir);
+        // contingencies are resolved once and shipped to each batch, instead of partitioned by each subtask
+        assertEquals(5, cmd.get(0).getExecutionCount());
+        assertFalse(Files.exists(workingDir.resolve("contingencies.groovy")));
+        DefaultContingencyList firstBatch = (DefaultContingencyList) ContingencyList.load(workingDir.resolve("contingencies_0.json"));
+        assertEquals(1, firstBatch.getContingencies().size());
+    }
+
     /**
      * Checks config class.
      */
@@ -13,6 +13,8 @@ import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 import com.powsybl.computation.*;
 import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyList;
+import com.powsybl.contingency.DefaultContingencyList;
 import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.security.*;
@@ -37,6 +39,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.zip.ZipEntry;
+import java.util.stream.Collectors;
 import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -107,6 +110,13 @@ public class SecurityAnalysisExecutionHandlersTest {
         assertTrue(result.getPreContingencyLimitViolationsResult().isComputationOk());
         assertTrue(result.getPreContingencyLimitViolationsResult().getLimitViolations().isEmpty());
         assertTrue(result.getPostContingencyResults().isEmpty());
+
+        // the result read back is written to the result writer of the input
+        SecurityAnalysisResultWriter resultWriter = Mockito.mock(SecurityAnalysisResultWriter.class);
+        Mockito.doCallRealMethod().when(resultWriter).write(Mockito.any());
+        SecurityAnalysisReport writtenReport = SecurityAnalysisExecutionHandlers.forwarded(new SecurityAnalysisExecutionInput().setResultWriter(resultWriter))
+                .after(workingDir, new DefaultExecutionReport(workingDir));
+        Mockito.verify(resultWriter).writeResult(writtenReport.getResult());
     }
 
     @Test
@@ -263,6 +273,80 @@ public class SecurityAnalysisExecutionHandlersTest {
         assertEquals("c2", result.getPostContingencyResults().get(1).getContingency().getId());
     }
 
+    @Test
+    public void distributedBeforeWithContingencyBatches() throws IOException {
+        SecurityAnalysisExecutionInput input = new SecurityAnalysisExecutionInput()
+                .setParameters(new SecurityAnalysisParameters())
+                .setNetworkVariant(EurostagTutorialExample1Factory.create(), VariantManagerConstants.INITIAL_VARIANT_ID);
+        List<List<Contingency>> batches = List.of(List.of(new Contingency("c1"), new Contingency("c3")), List.of(new Contingency("c2")));
+        ExecutionHandler<SecurityAnalysisReport> handler = SecurityAnalysisExecutionHandlers.distributed(input, batches, new ContingencyCosts());
+
+        List<CommandExecution> commandExecutions = handler.before(workingDir);
+        assertEquals(2, commandExecutions.get(0).getExecutionCount());
+        SimpleCommand command = (SimpleCommand) commandExecutions.get(0).getCommand();
+        List<String> args = command.getArgs(0);
+        assertThat(args.subList(1, args.size()))
+                .containsExactlyInAnyOrder("--case-file=/work/network.xiidm",
+                        "--parameters-file=/work/parameters.json",
+                        "--output-file=/work/task_0_result.json",
+                        "--output-format=JSON",
+                        "--contingencies-file=/work/contingencies_0.json");
+        args = command.getArgs(1);
+        assertThat(args.subList(1, args.size()))
+                .containsExactlyInAnyOrder("--case-file=/work/network.xiidm",
+                        "--parameters-file=/work/parameters.json",
+                        "--output-file=/work/task_1_result.json",
+                        "--output-format=JSON",
+                        "--contingencies-file=/work/contingencies_1.json");
+
+        DefaultContingencyList batch0 = (DefaultContingencyList) ContingencyList.load(workingDir.resolve("contingencies_0.json"));
+        assertEquals(List.of("c1", "c3"), batch0.getContingencies().stream().map(Contingency::getId).collect(Collectors.toList()));
+        DefaultContingencyList batch1 = (DefaultContingencyList) ContingencyList.load(workingDir.resolve("contingencies_1.json"));
+        assertEquals(List.of("c2"), batch1.getContingencies().stream().map(Contingency::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void forwardedBeforeWithContingencies() throws IOException {
+        SecurityAnalysisExecutionInput input = new SecurityAnalysisExecutionInput()
+                .setParameters(new SecurityAnalysisParameters())
+                .setNetworkVariant(EurostagTutorialExample1Factory.create(), VariantManagerConstants.INITIAL_VARIANT_ID)
+                .setContingencies(List.of(new Contingency("c1")));
+        ExecutionHandler<SecurityAnalysisReport> handler = SecurityAnalysisExecutionHandlers.forwarded(input);
+
+        List<CommandExecution> commandExecutions = handler.before(workingDir);
+        SimpleCommand command = (SimpleCommand) commandExecutions.get(0).getCommand();
+        assertThat(command.getArgs(0)).contains("--contingencies-file=/work/contingencies.json");
+        DefaultContingencyList contingencies = (DefaultContingencyList) ContingencyList.load(workingDir.resolve("contingencies.json"));
+        assertEquals("c1", contingencies.getContingencies().get(0).getId());
+    }
+
+    @Test
+    public void distributedAfterWithContingencyBatches() throws IOException {
+        JsonSecurityAnalysisResultExporter exporter = new JsonSecurityAnalysisResultExporter();
+        try (Writer writer = Files.newBufferedWriter(workingDir.resolve("task_0_result.json"))) {
+            exporter.export(resultForContingency("c2"), writer);
+        }
+        try (Writer writer = Files.newBufferedWriter(workingDir.resolve("task_1_result.json"))) {
+            exporter.export(resultForContingency("c1"), writer);
+        }
+
+        ContingencyCosts costs = new ContingencyCosts();
+        List<List<Contingency>> batches = List.of(List.of(new Contingency("c2")), List.of(new Contingency("c1")));
+        ExecutionHandler<SecurityAnalysisReport> handler = SecurityAnalysisExecutionHandlers.distributed(new SecurityAnalysisExecutionInput(), batches, costs);
+        CommandExecution execution = Mockito.mock(CommandExecution.class);
+        handler.onExecutionStart(execution, 0);
+        handler.onExecutionCompletion(execution, 0);
+        assertFalse(costs.getKnownCost("c2").isPresent());
+
+        // costs are updated once all executions are completed
+        SecurityAnalysisResult result = handler.after(workingDir, new DefaultExecutionReport(workingDir)).getResult();
+        assertTrue(costs.getKnownCost("c2").isPresent());
+        assertFalse(costs.getKnownCost("c1").isPresent());
+        assertEquals(2, result.getPostContingencyResults().size());
+        assertEquals("c2", result.getPostContingencyResults().get(0).getContingency().getId());
+        assertEquals("c1", result.getPostContingencyResults().get(1).getContingency().getId());
+    }
+
     private static Set<String> getFileNamesFromZip(byte[] bytes) throws IOException {
         Set<String> foundNames = new HashSet<>();
         try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
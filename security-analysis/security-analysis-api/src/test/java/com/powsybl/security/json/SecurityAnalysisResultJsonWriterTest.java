@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.json;
+
+import com.powsybl.commons.AbstractConverterTest;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.results.PostContingencyResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SecurityAnalysisResultJsonWriterTest extends AbstractConverterTest {
+
+    private static String toJson(SecurityAnalysisResult result) throws IOException {
+        StringWriter writer = new StringWriter();
+        SecurityAnalysisResultSerializer.write(result, writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        SecurityAnalysisResult result = SecurityAnalysisResultDeserializer.read(getClass().getResourceAsStream("/SecurityAnalysisResult.json"));
+
+        Path file = tmpDir.resolve("result.json");
+        try (Writer writer = Files.newBufferedWriter(file);
+             SecurityAnalysisResultJsonWriter jsonWriter = new SecurityAnalysisResultJsonWriter(writer)) {
+            result.getPostContingencyResults().forEach(jsonWriter::writePostContingencyResult);
+            jsonWriter.writeResult(result);
+            assertEquals(1, jsonWriter.getPostContingencyResultCount());
+            assertEquals(0, jsonWriter.getFailedPostContingencyResultCount());
+            assertEquals(5, jsonWriter.getPostContingencyLimitViolationCount());
+            assertThrows(IllegalStateException.class, () -> jsonWriter.writeResult(result));
+            // closing before the end of the try block, closing again has no effect
+            jsonWriter.close();
+        }
+
+        // same result as the one written at once
+        assertEquals(toJson(result), toJson(SecurityAnalysisResultDeserializer.read(file)));
+
+        // post-contingency results read one by one
+        List<PostContingencyResult> postContingencyResults = new ArrayList<>();
+        SecurityAnalysisResult streamedResult = SecurityAnalysisResultDeserializer.read(file, postContingencyResults::add);
+        assertTrue(streamedResult.getPostContingencyResults().isEmpty());
+        assertEquals(1, postContingencyResults.size());
+        assertEquals("contingency", postContingencyResults.get(0).getContingency().getId());
+        assertEquals(toJson(new SecurityAnalysisResult(result.getPreContingencyResult(), postContingencyResults, result.getOperatorStrategyResults())
+                        .setNetworkMetadata(result.getNetworkMetadata())),
+                toJson(new SecurityAnalysisResult(streamedResult.getPreContingencyResult(), postContingencyResults, streamedResult.getOperatorStrategyResults())
+                        .setNetworkMetadata(streamedResult.getNetworkMetadata())));
+    }
+
+    @Test
+    public void testMissingResult() {
+        SecurityAnalysisResultJsonWriter jsonWriter = new SecurityAnalysisResultJsonWriter(new StringWriter());
+        assertThrows(IllegalStateException.class, jsonWriter::close);
+        jsonWriter.close();
+    }
+}
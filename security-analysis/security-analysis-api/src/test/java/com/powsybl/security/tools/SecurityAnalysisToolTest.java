@@ -17,6 +17,7 @@ import com.powsybl.computation.ComputationException;
 import com.powsybl.computation.ComputationExceptionBuilder;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.ContingenciesProvider;
+import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.import_.ImportersLoaderList;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.security.*;
@@ -75,13 +76,14 @@ public class SecurityAnalysisToolTest extends AbstractToolTest {
 
     @Override
     public void assertCommand() {
-        assertCommand(tool.getCommand(), "security-analysis", 14, 1);
+        assertCommand(tool.getCommand(), "security-analysis", 15, 1);
         assertOption(tool.getCommand().getOptions(), "case-file", true, true);
         assertOption(tool.getCommand().getOptions(), "parameters-file", false, true);
         assertOption(tool.getCommand().getOptions(), "limit-types", false, true);
         assertOption(tool.getCommand().getOptions(), "output-file", false, true);
         assertOption(tool.getCommand().getOptions(), "output-format", false, true);
         assertOption(tool.getCommand().getOptions(), "contingencies-file", false, true);
+        assertOption(tool.getCommand().getOptions(), "contingency-costs-file", false, true);
         assertOption(tool.getCommand().getOptions(), "with-extensions", false, true);
         assertOption(tool.getCommand().getOptions(), "task-count", false, true);
         assertOption(tool.getCommand().getOptions(), "task", false, true);
@@ -151,6 +153,14 @@ public class SecurityAnalysisToolTest extends AbstractToolTest {
         } else {
             fail();
         }
+
+        Files.writeString(fileSystem.getPath("contingencies.json"), "{\"version\":\"1.0\",\"name\":\"list\",\"contingencies\":[{\"id\":\"c1\",\"elements\":[]}]}");
+        options = mockOptions(ImmutableMap.of(SecurityAnalysisToolConstants.CONTINGENCIES_FILE_OPTION, "contingencies.json"));
+        SecurityAnalysisTool.updateInput(options, input);
+        assertThat(input.getContingencies()).hasValueSatisfying(contingencies -> {
+            assertEquals(1, contingencies.size());
+            assertEquals("c1", contingencies.get(0).getId());
+        });
     }
 
     @Test
@@ -175,6 +185,12 @@ public class SecurityAnalysisToolTest extends AbstractToolTest {
 
         verify(factory, times(1)).newPreprocessor(any());
         verify(preprocessor, times(1)).preprocess(any());
+
+        // resolved contingencies take precedence over the contingencies source
+        executionInput.setContingencies(List.of(new Contingency("c1")));
+        input = SecurityAnalysisTool.buildPreprocessedInput(executionInput, LimitViolationFilter::new, factory);
+        verify(factory, times(1)).newPreprocessor(any());
+        assertEquals(1, input.getContingenciesProvider().getContingencies(mock(Network.class)).size());
     }
 
     @Test
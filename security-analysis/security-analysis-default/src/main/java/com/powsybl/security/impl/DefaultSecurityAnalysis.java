@@ -7,7 +7,6 @@
 package com.powsybl.security.impl;
 
 import com.powsybl.commons.config.PlatformConfig;
-import com.powsybl.commons.exceptions.UncheckedInterruptedException;
 import com.powsybl.commons.reporter.Reporter;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.ContingenciesProvider;
@@ -28,14 +27,10 @@ import com.powsybl.security.results.ThreeWindingsTransformerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -54,9 +49,27 @@ public class DefaultSecurityAnalysis {
      * get an available variant (they hurt the performance of the executor who
      * excutes them)
      */
-    private static final ExecutorService SCHEDULER_EXECUTOR = createThreadPool(getOptionalIntProperty("default-security-analysis", "scheduler-pool-size", 10));
+    private static final ExecutorService SCHEDULER_EXECUTOR = createThreadPool(getOptionalIntProperty("default-security-analysis", "scheduler-pool-size",
+        Math.max(10, Runtime.getRuntime().availableProcessors())));
 
-    private static final int MAX_VARIANTS_PER_ANALYSIS = getOptionalIntProperty("default-security-analysis", "max-variants-per-analysis", 10);
+    /**
+     * Upper bound of the number of working variants of a network, by default the number of processors. The actual
+     * number of variants also depends on the available cores, the number of contingencies and the estimated heap size
+     * of a variant.
+     */
+    private static final int MAX_VARIANTS_PER_ANALYSIS = getOptionalIntProperty("default-security-analysis", "max-variants-per-analysis",
+        Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Fraction of the maximum heap size the working variants of an analysis are allowed to use.
+     */
+    private static final double VARIANTS_MEMORY_RATIO = getOptionalDoubleProperty("default-security-analysis", "variants-memory-ratio", 0.5);
+
+    /**
+     * Working variants of each network, kept across analyses until they are removed with
+     * {@link #removeWorkingVariants(Network)} or the network is garbage collected.
+     */
+    private static final Map<Network, VariantPool> VARIANT_POOLS = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
      * Return the value of the property or the default value if the module or the property doesn't exist in the configuration.
@@ -73,6 +86,13 @@ public class DefaultSecurityAnalysis {
             .orElse(defaultValue);
     }
 
+    private static double getOptionalDoubleProperty(String moduleName, String propertyName, double defaultValue) {
+        return PlatformConfig.defaultConfig()
+            .getOptionalModuleConfig(moduleName)
+            .map(m -> m.getOptionalDoubleProperty(propertyName).orElse(defaultValue))
+            .orElse(defaultValue);
+    }
+
     private static ExecutorService createThreadPool(int poolSize) {
         ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 1L, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<>());
         executor.allowCoreThreadTimeOut(true);
@@ -80,6 +100,18 @@ public class DefaultSecurityAnalysis {
         return executor;
     }
 
+    /**
+     * Remove from the network the working variants kept by the previous analyses of this network, for instance
+     * before merging it with another network. Must not be called while an analysis of the network is running.
+     */
+    public static void removeWorkingVariants(Network network) {
+        Objects.requireNonNull(network);
+        VariantPool variantPool = VARIANT_POOLS.remove(network);
+        if (variantPool != null) {
+            variantPool.clear(network);
+        }
+    }
+
     private final ComputationManager computationManager;
     private final Network network;
     private final LimitViolationDetector violationDetector;
@@ -87,10 +119,22 @@ public class DefaultSecurityAnalysis {
     private final List<SecurityAnalysisInterceptor> interceptors;
     private final StateMonitorIndex monitorIndex;
     private final Reporter reporter;
+    private final SecurityAnalysisResultWriter resultWriter;
 
     public DefaultSecurityAnalysis(Network network, LimitViolationDetector detector,
                                    LimitViolationFilter filter, ComputationManager computationManager,
                                    List<StateMonitor> monitors, Reporter reporter) {
+        this(network, detector, filter, computationManager, monitors, reporter, null);
+    }
+
+    /**
+     * @param resultWriter if not {@code null}, receives each post-contingency result as soon as its contingency has
+     *                     been computed, and then the rest of the result. Post-contingency results are then not kept
+     *                     in the returned result.
+     */
+    public DefaultSecurityAnalysis(Network network, LimitViolationDetector detector,
+                                   LimitViolationFilter filter, ComputationManager computationManager,
+                                   List<StateMonitor> monitors, Reporter reporter, SecurityAnalysisResultWriter resultWriter) {
         this.network = Objects.requireNonNull(network);
         this.violationDetector = Objects.requireNonNull(detector);
         this.violationFilter = Objects.requireNonNull(filter);
@@ -98,6 +142,7 @@ public class DefaultSecurityAnalysis {
         this.computationManager = Objects.requireNonNull(computationManager);
         this.monitorIndex = new StateMonitorIndex(monitors);
         this.reporter = Objects.requireNonNull(reporter);
+        this.resultWriter = resultWriter;
         interceptors.add(new CurrentLimitViolationInterceptor());
     }
 
@@ -110,7 +155,7 @@ public class DefaultSecurityAnalysis {
     }
 
     private SecurityAnalysisResultBuilder createResultBuilder(String initialWorkingStateId) {
-        return new SecurityAnalysisResultBuilder(violationFilter, new RunningContext(network, initialWorkingStateId), interceptors);
+        return new SecurityAnalysisResultBuilder(violationFilter, new RunningContext(network, initialWorkingStateId), interceptors, resultWriter);
     }
 
     public CompletableFuture<SecurityAnalysisReport> run(String workingVariantId,
@@ -126,6 +171,7 @@ public class DefaultSecurityAnalysis {
             .setVoltageInitMode(LoadFlowParameters.VoltageInitMode.PREVIOUS_VALUES);
 
         SecurityAnalysisResultBuilder resultBuilder = createResultBuilder(workingVariantId);
+        AtomicReference<DefaultSecurityAnalysisStatistics> statistics = new AtomicReference<>();
 
         return LoadFlow
             .runAsync(network, workingVariantId, computationManager, loadFlowParameters, reporter)
@@ -137,13 +183,19 @@ public class DefaultSecurityAnalysis {
                             setPreContigencyOkAndCheckViolations(resultBuilder);
                         }, computationManager.getExecutor())
                         .thenComposeAsync(aVoid ->
-                                submitAllLoadFlows(workingVariantId, contingenciesProvider, postContParameters, resultBuilder),
+                                submitAllLoadFlows(workingVariantId, contingenciesProvider, postContParameters, resultBuilder, statistics::set),
                             SCHEDULER_EXECUTOR);
                 } else {
                     return setPreContingencyKo(resultBuilder);
                 }
             })
-            .thenApply(aVoid -> new SecurityAnalysisReport(resultBuilder.build()));
+            .thenApply(aVoid -> {
+                SecurityAnalysisReport report = new SecurityAnalysisReport(resultBuilder.build());
+                if (statistics.get() != null) {
+                    report.addExtension(DefaultSecurityAnalysisStatistics.class, statistics.get());
+                }
+                return report;
+            });
     }
 
     private void setPreContigencyOkAndCheckViolations(SecurityAnalysisResultBuilder resultBuilder) {
@@ -161,48 +213,42 @@ public class DefaultSecurityAnalysis {
 
     private CompletableFuture<Void> submitAllLoadFlows(String workingVariantId,
                                                        ContingenciesProvider contingenciesProvider, LoadFlowParameters postContParameters,
-                                                       SecurityAnalysisResultBuilder resultBuilder) {
+                                                       SecurityAnalysisResultBuilder resultBuilder,
+                                                       Consumer<DefaultSecurityAnalysisStatistics> statisticsConsumer) {
 
         List<Contingency> contingencies = contingenciesProvider.getContingencies(network);
-        int workerCount = Math.min(MAX_VARIANTS_PER_ANALYSIS, Math.min(computationManager.getResourcesStatus().getAvailableCores(), contingencies.isEmpty() ? 1 : contingencies.size()));
-        List<String> variantIds = makeWorkingVariantsNames(workerCount);
-        BlockingQueue<String> queue = new ArrayBlockingQueue<>(workerCount, false, variantIds);
+        if (contingencies.isEmpty()) {
+            // no working variant is needed
+            return CompletableFuture.completedFuture(null);
+        }
+        int maxVariantCount = Math.min(MAX_VARIANTS_PER_ANALYSIS, computationManager.getResourcesStatus().getAvailableCores());
+        VariantPool variantPool = VARIANT_POOLS.computeIfAbsent(network, n -> new VariantPool(Math.max(1, maxVariantCount), VARIANTS_MEMORY_RATIO));
 
         network.getVariantManager().allowVariantMultiThreadAccess(true);
-        network.getVariantManager().cloneVariant(workingVariantId, variantIds);
+        variantPool.allocate(network, workingVariantId, contingencies.size());
 
+        long startTime = System.currentTimeMillis();
         return CompletableFuture
             .allOf(contingencies.stream()
-                .map(contingency -> submitOneLoadFlow(workingVariantId, contingency, postContParameters, resultBuilder, queue))
+                .map(contingency -> submitOneLoadFlow(workingVariantId, contingency, postContParameters, resultBuilder, variantPool))
                 .toArray(CompletableFuture[]::new))
-            .whenComplete((aVoid, throwable) -> variantIds.forEach(network.getVariantManager()::removeVariant));
-    }
-
-    private static List<String> makeWorkingVariantsNames(int workerCount) {
-        String hash = UUID.randomUUID().toString();
-        return IntStream.range(0, workerCount).mapToObj(i -> hash + "_" + i).collect(Collectors.toList());
+            .whenComplete((aVoid, throwable) -> {
+                statisticsConsumer.accept(new DefaultSecurityAnalysisStatistics(contingencies.size(), System.currentTimeMillis() - startTime,
+                    variantPool.getSize(), variantPool.getPeakBusyCount(), variantPool.getVariantSize(), variantPool.getPeakUsedMemory()));
+            });
     }
 
     // Block for an available variant, then submit a loadflow on this variant, then
     // make the variant available again
     private CompletableFuture<Void> submitOneLoadFlow(String workingVariantId, Contingency contingency, LoadFlowParameters postContParameters,
-                                                      SecurityAnalysisResultBuilder resultBuilder, BlockingQueue<String> queue) {
+                                                      SecurityAnalysisResultBuilder resultBuilder, VariantPool variantPool) {
         return CompletableFuture.completedFuture(null).thenCompose(aaVoid -> {
-            String postContVariantId = getVariantId(queue);
+            String postContVariantId = variantPool.acquire();
             return runOneLoadFlowAsync(workingVariantId, postContVariantId, postContParameters, resultBuilder, contingency)
-                .whenComplete((aVoid, throwable) -> queue.add(postContVariantId));
+                .whenComplete((aVoid, throwable) -> variantPool.release(postContVariantId));
         });
     }
 
-    private static String getVariantId(BlockingQueue<String> queue) {
-        try {
-            return queue.take();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new UncheckedInterruptedException(e);
-        }
-    }
-
     private CompletableFuture<Void> runOneLoadFlowAsync(String workingVariantId, String postContVariantId, LoadFlowParameters postContParameters,
                                                         SecurityAnalysisResultBuilder resultBuilder, Contingency contingency) {
         return CompletableFuture
@@ -41,7 +41,25 @@ public class DefaultSecurityAnalysisProvider implements SecurityAnalysisProvider
                                                          List<OperatorStrategy> operatorStrategies,
                                                          List<Action> actions, List<StateMonitor> monitors,
                                                          Reporter reporter) {
-        DefaultSecurityAnalysis securityAnalysis = new DefaultSecurityAnalysis(network, detector, filter, computationManager, monitors, reporter);
+        return run(network, workingVariantId, detector, filter, computationManager, parameters, contingenciesProvider, interceptors,
+                operatorStrategies, actions, monitors, reporter, null);
+    }
+
+    @Override
+    public CompletableFuture<SecurityAnalysisReport> run(Network network,
+                                                         String workingVariantId,
+                                                         LimitViolationDetector detector,
+                                                         LimitViolationFilter filter,
+                                                         ComputationManager computationManager,
+                                                         SecurityAnalysisParameters parameters,
+                                                         ContingenciesProvider contingenciesProvider,
+                                                         List<SecurityAnalysisInterceptor> interceptors,
+                                                         List<OperatorStrategy> operatorStrategies,
+                                                         List<Action> actions, List<StateMonitor> monitors,
+                                                         Reporter reporter,
+                                                         SecurityAnalysisResultWriter resultWriter) {
+        DefaultSecurityAnalysis securityAnalysis = new DefaultSecurityAnalysis(network, detector, filter, computationManager, monitors, reporter,
+                resultWriter);
         interceptors.forEach(securityAnalysis::addInterceptor);
         return securityAnalysis.run(workingVariantId, parameters, contingenciesProvider);
     }
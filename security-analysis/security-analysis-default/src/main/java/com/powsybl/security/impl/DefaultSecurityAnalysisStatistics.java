@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.impl;
+
+import com.powsybl.commons.extensions.AbstractExtension;
+import com.powsybl.security.SecurityAnalysisReport;
+
+/**
+ * Execution statistics of a {@link DefaultSecurityAnalysis} run, attached to its {@link SecurityAnalysisReport}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class DefaultSecurityAnalysisStatistics extends AbstractExtension<SecurityAnalysisReport> {
+
+    private final int contingencyCount;
+
+    private final long postContingencyDuration;
+
+    private final int variantCount;
+
+    private final int peakConcurrentVariantCount;
+
+    private final long variantSize;
+
+    private final long peakUsedMemory;
+
+    public DefaultSecurityAnalysisStatistics(int contingencyCount, long postContingencyDuration, int variantCount,
+                                             int peakConcurrentVariantCount, long variantSize, long peakUsedMemory) {
+        this.contingencyCount = contingencyCount;
+        this.postContingencyDuration = postContingencyDuration;
+        this.variantCount = variantCount;
+        this.peakConcurrentVariantCount = peakConcurrentVariantCount;
+        this.variantSize = variantSize;
+        this.peakUsedMemory = peakUsedMemory;
+    }
+
+    @Override
+    public String getName() {
+        return "DefaultSecurityAnalysisStatistics";
+    }
+
+    public int getContingencyCount() {
+        return contingencyCount;
+    }
+
+    /**
+     * Get the duration of the post-contingency computations in milliseconds.
+     */
+    public long getPostContingencyDuration() {
+        return postContingencyDuration;
+    }
+
+    /**
+     * Get the number of post-contingency computations per second.
+     */
+    public double getThroughput() {
+        return postContingencyDuration > 0 ? contingencyCount * 1000.0 / postContingencyDuration : Double.NaN;
+    }
+
+    /**
+     * Get the number of working variants of the network used for the post-contingency computations, which are kept
+     * across analyses.
+     */
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    /**
+     * Get the maximum number of working variants of the network used at the same time, by this analysis or by other
+     * analyses of the same network.
+     */
+    public int getPeakConcurrentVariantCount() {
+        return peakConcurrentVariantCount;
+    }
+
+    /**
+     * Get the estimated heap size of a working variant in bytes.
+     */
+    public long getVariantSize() {
+        return variantSize;
+    }
+
+    /**
+     * Get the maximum used heap observed during the run in bytes.
+     */
+    public long getPeakUsedMemory() {
+        return peakUsedMemory;
+    }
+}
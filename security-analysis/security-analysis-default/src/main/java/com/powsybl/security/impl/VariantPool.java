@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.impl;
+
+import com.powsybl.commons.exceptions.UncheckedInterruptedException;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.ThreeWindingsTransformer;
+import com.powsybl.iidm.network.TwoWindingsTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A pool of working variants used to run post-contingency computations concurrently. A pool is kept for each network
+ * across analyses, so that its variants are cloned once and then only overwritten by each post-contingency
+ * computation.
+ * <p>
+ * The size of the pool is computed when variants are allocated, from the estimated heap size of a variant, the
+ * memory budget of the pool, the maximum size and the requested size. The heap size of a variant is estimated from the
+ * content of the network: the variant dependent values of its connectables and tap changers, and the buses computed
+ * for each variant. The pool only grows when none of its variants is in use, because the variant arrays of the network
+ * cannot be resized concurrently with reads and writes on other variants.
+ * <p>
+ * During the run, the number of variants that can be acquired at the same time adapts, after each garbage collection,
+ * to the heap still used after the collection: it is halved when this live heap exceeds a high watermark, and
+ * increases again up to the pool size by as many variants as fit under a low watermark.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+class VariantPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VariantPool.class);
+
+    private static final double HIGH_MEMORY_WATERMARK = 0.9;
+
+    private static final double LOW_MEMORY_WATERMARK = 0.7;
+
+    private static final long VARIANT_BASE_SIZE = 1024;
+
+    private static final long CONNECTABLE_VARIANT_SIZE = 32;
+
+    private static final long TERMINAL_VARIANT_SIZE = 48;
+
+    private static final long TAP_CHANGER_VARIANT_SIZE = 32;
+
+    private static final long BUS_VARIANT_SIZE = 256;
+
+    private final int maxSize;
+
+    private final double memoryRatio;
+
+    private final String prefix = UUID.randomUUID().toString();
+
+    private final Deque<String> idleVariantIds = new ArrayDeque<>();
+
+    private final List<String> variantIds = new ArrayList<>();
+
+    private int nextVariantIndex = 0;
+
+    private int activeLimit = 0;
+
+    private int busyCount = 0;
+
+    private int peakBusyCount = 0;
+
+    private long variantSize = 0;
+
+    private long peakUsedMemory;
+
+    private long lastCollectionCount;
+
+    /**
+     * @param maxSize     the maximum number of variants of the pool
+     * @param memoryRatio the fraction of the maximum heap size the pooled variants are allowed to use
+     */
+    VariantPool(int maxSize, double memoryRatio) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid max size: " + maxSize);
+        }
+        if (memoryRatio <= 0 || memoryRatio > 1) {
+            throw new IllegalArgumentException("Invalid memory ratio: " + memoryRatio);
+        }
+        this.maxSize = maxSize;
+        this.memoryRatio = memoryRatio;
+        this.peakUsedMemory = usedMemory();
+        this.lastCollectionCount = collectionCount();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Heap still used after the last garbage collection of each heap memory pool, garbage not being counted, or the
+     * used heap if the collection usage is not available.
+     */
+    private static long liveMemory() {
+        long liveMemory = 0;
+        boolean available = false;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collectionUsage = memoryPool.getType() == MemoryType.HEAP ? memoryPool.getCollectionUsage() : null;
+            if (collectionUsage != null) {
+                liveMemory += collectionUsage.getUsed();
+                available = true;
+            }
+        }
+        return available ? liveMemory : usedMemory();
+    }
+
+    private static long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long tapChangerCount(TwoWindingsTransformer twt) {
+        return (twt.hasRatioTapChanger() ? 1 : 0) + (twt.hasPhaseTapChanger() ? 1 : 0);
+    }
+
+    private static long tapChangerCount(ThreeWindingsTransformer twt) {
+        return twt.getLegStream().mapToLong(leg -> (leg.hasRatioTapChanger() ? 1 : 0) + (leg.hasPhaseTapChanger() ? 1 : 0)).sum();
+    }
+
+    /**
+     * Estimate the heap size of a variant of the network in bytes, from the number of values each variant holds for
+     * connectables, terminals and tap changers, and from the number of buses computed for each variant by the bus
+     * view and the bus/breaker view.
+     */
+    static long estimateVariantSize(Network network) {
+        long connectableCount = network.getConnectableCount();
+        long terminalCount = network.getConnectableStream().mapToLong(connectable -> connectable.getTerminals().size()).sum();
+        long tapChangerCount = network.getTwoWindingsTransformerStream().mapToLong(VariantPool::tapChangerCount).sum()
+                + network.getThreeWindingsTransformerStream().mapToLong(VariantPool::tapChangerCount).sum();
+        long busCount = 2 * network.getBusView().getBusStream().count();
+        return VARIANT_BASE_SIZE
+                + connectableCount * CONNECTABLE_VARIANT_SIZE
+                + terminalCount * TERMINAL_VARIANT_SIZE
+                + tapChangerCount * TAP_CHANGER_VARIANT_SIZE
+                + busCount * BUS_VARIANT_SIZE;
+    }
+
+    private List<String> makeVariantIds(int count) {
+        List<String> ids = IntStream.range(nextVariantIndex, nextVariantIndex + count).mapToObj(i -> prefix + "_" + i).collect(Collectors.toList());
+        nextVariantIndex += count;
+        return ids;
+    }
+
+    /**
+     * Clone the missing variants of the pool. Variants allocated by a previous call are reused. The pool only grows
+     * if none of its variants is in use, so this must be called while no other computation than those using the
+     * variants of the pool is running on the network.
+     *
+     * @param network         the network on which variants are created
+     * @param sourceVariantId the variant the new variants are cloned from
+     * @param wantedSize      the number of variants that would be useful, typically the number of contingencies
+     * @return the number of allocated variants
+     */
+    synchronized int allocate(Network network, String sourceVariantId, int wantedSize) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(sourceVariantId);
+        if (busyCount > 0) {
+            return variantIds.size();
+        }
+        // variants may have been removed from the network since the last allocation
+        if (!network.getVariantManager().getVariantIds().containsAll(variantIds)) {
+            variantIds.retainAll(network.getVariantManager().getVariantIds());
+            idleVariantIds.retainAll(variantIds);
+            activeLimit = Math.min(activeLimit, variantIds.size());
+        }
+
+        variantSize = estimateVariantSize(network);
+        int size = computeSize(Math.max(1, Math.min(maxSize, wantedSize)), variantSize, (long) (Runtime.getRuntime().maxMemory() * memoryRatio));
+        if (size > variantIds.size()) {
+            List<String> newVariantIds = makeVariantIds(size - variantIds.size());
+            network.getVariantManager().cloneVariant(sourceVariantId, newVariantIds);
+            variantIds.addAll(newVariantIds);
+            idleVariantIds.addAll(newVariantIds);
+            activeLimit = size;
+            LOGGER.debug("{} variants allocated (estimated heap size of a variant: {} bytes)", size, variantSize);
+        }
+        peakUsedMemory = Math.max(peakUsedMemory, usedMemory());
+        return variantIds.size();
+    }
+
+    /**
+     * Compute the number of variants of the pool, so that their estimated heap size fits in the memory budget.
+     *
+     * @param wantedSize   the number of variants that would be useful
+     * @param variantSize  the estimated heap size of a variant, 0 if unknown
+     * @param memoryBudget the heap size the variants of the pool are allowed to use
+     */
+    static int computeSize(int wantedSize, long variantSize, long memoryBudget) {
+        if (variantSize <= 0) {
+            return wantedSize;
+        }
+        return (int) Math.max(1, Math.min(wantedSize, memoryBudget / variantSize));
+    }
+
+    private void adaptActiveLimit() {
+        peakUsedMemory = Math.max(peakUsedMemory, usedMemory());
+        // the live heap only changes with garbage collections
+        long collectionCount = collectionCount();
+        if (collectionCount == lastCollectionCount) {
+            return;
+        }
+        lastCollectionCount = collectionCount;
+        long live = liveMemory();
+        long max = Runtime.getRuntime().maxMemory();
+        if (live > max * HIGH_MEMORY_WATERMARK && activeLimit > 1) {
+            activeLimit = Math.max(1, activeLimit / 2);
+            LOGGER.debug("Heap usage is high, reducing the number of active variants to {}", activeLimit);
+        } else if (live < max * LOW_MEMORY_WATERMARK && activeLimit < variantIds.size()) {
+            long headroom = (long) (max * LOW_MEMORY_WATERMARK) - live;
+            activeLimit = Math.max(activeLimit + 1, computeSize(variantIds.size(), variantSize, headroom + activeLimit * variantSize));
+            LOGGER.debug("Heap usage is low, increasing the number of active variants to {}", activeLimit);
+        }
+    }
+
+    /**
+     * Wait for a variant to be available. The returned variant has to be given back with {@link #release(String)}.
+     */
+    synchronized String acquire() {
+        if (variantIds.isEmpty()) {
+            throw new IllegalStateException("Variant pool is not allocated");
+        }
+        while (idleVariantIds.isEmpty() || busyCount >= activeLimit) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedInterruptedException(e);
+            }
+        }
+        busyCount++;
+        peakBusyCount = Math.max(peakBusyCount, busyCount);
+        return idleVariantIds.pop();
+    }
+
+    /**
+     * Give back a variant to the pool.
+     */
+    synchronized void release(String variantId) {
+        Objects.requireNonNull(variantId);
+        if (!variantIds.contains(variantId) || idleVariantIds.contains(variantId)) {
+            throw new IllegalArgumentException("Variant '" + variantId + "' is not in use");
+        }
+        busyCount--;
+        idleVariantIds.push(variantId);
+        adaptActiveLimit();
+        notifyAll();
+    }
+
+    /**
+     * Remove the variants of the pool from the network.
+     */
+    synchronized void clear(Network network) {
+        Objects.requireNonNull(network);
+        if (busyCount > 0) {
+            throw new IllegalStateException("Variant pool is in use");
+        }
+        Collection<String> networkVariantIds = network.getVariantManager().getVariantIds();
+        variantIds.stream().filter(networkVariantIds::contains).collect(Collectors.toList())
+                .forEach(network.getVariantManager()::removeVariant);
+        variantIds.clear();
+        idleVariantIds.clear();
+        activeLimit = 0;
+    }
+
+    synchronized int getSize() {
+        return variantIds.size();
+    }
+
+    synchronized int getActiveLimit() {
+        return activeLimit;
+    }
+
+    synchronized int getPeakBusyCount() {
+        return peakBusyCount;
+    }
+
+    synchronized long getVariantSize() {
+        return variantSize;
+    }
+
+    synchronized long getPeakUsedMemory() {
+        return peakUsedMemory;
+    }
+}
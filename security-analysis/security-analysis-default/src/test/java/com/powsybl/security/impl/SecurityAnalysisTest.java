@@ -149,6 +149,19 @@ public class SecurityAnalysisTest {
         Assert.assertEquals(1, interceptorMock.getOnPostContingencyResultCount());
         Assert.assertEquals(1, interceptorMock.getOnPreContingencyResultCount());
         Assert.assertEquals(1, interceptorMock.getOnSecurityAnalysisResultCount());
+
+        DefaultSecurityAnalysisStatistics statistics = report.getExtension(DefaultSecurityAnalysisStatistics.class);
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getContingencyCount());
+        assertEquals(1, statistics.getVariantCount());
+        assertEquals(1, statistics.getPeakConcurrentVariantCount());
+        assertTrue(statistics.getPeakUsedMemory() > 0);
+        assertTrue(statistics.getVariantSize() > 0);
+
+        // working variants are kept for the next analyses of the network
+        assertEquals(2, network.getVariantManager().getVariantIds().size());
+        DefaultSecurityAnalysis.removeWorkingVariants(network);
+        assertEquals(Collections.singleton(VariantManagerConstants.INITIAL_VARIANT_ID), Set.copyOf(network.getVariantManager().getVariantIds()));
     }
 
     @Test
@@ -178,6 +191,7 @@ public class SecurityAnalysisTest {
         assertTrue(result.getPreContingencyLimitViolationsResult().isComputationOk());
         assertEquals(0, result.getPreContingencyLimitViolationsResult().getLimitViolations().size());
         assertEquals(0, result.getPostContingencyResults().size());
+        assertEquals(1, network.getVariantManager().getVariantIds().size());
 
         Assert.assertEquals(0, interceptorMock.getOnPostContingencyResultCount());
         Assert.assertEquals(1, interceptorMock.getOnPreContingencyResultCount());
@@ -194,6 +208,41 @@ public class SecurityAnalysisTest {
         return computationManager;
     }
 
+    @Test
+    public void runWithResultWriter() {
+        Network network = EurostagTutorialExample1Factory.create();
+        ContingenciesProvider contingenciesProvider = n -> n.getBranchStream()
+            .map(b -> new Contingency(b.getId(), new BranchContingency(b.getId())))
+            .collect(Collectors.toList());
+        List<PostContingencyResult> writtenPostContingencyResults = Collections.synchronizedList(new ArrayList<>());
+        List<SecurityAnalysisResult> writtenResults = new ArrayList<>();
+        SecurityAnalysisResultWriter resultWriter = new SecurityAnalysisResultWriter() {
+            @Override
+            public void writePostContingencyResult(PostContingencyResult result) {
+                // the result is written before the analysis ends
+                assertTrue(writtenResults.isEmpty());
+                writtenPostContingencyResults.add(result);
+            }
+
+            @Override
+            public void writeResult(SecurityAnalysisResult result) {
+                writtenResults.add(result);
+            }
+        };
+
+        DefaultSecurityAnalysis defaultSecurityAnalysis = new DefaultSecurityAnalysis(network, new DefaultLimitViolationDetector(), new LimitViolationFilter(),
+                createMockComputationManager(), Collections.emptyList(), Reporter.NO_OP, resultWriter);
+        SecurityAnalysisResult result = defaultSecurityAnalysis.run(VariantManagerConstants.INITIAL_VARIANT_ID, new SecurityAnalysisParameters(), contingenciesProvider)
+                .join()
+                .getResult();
+
+        assertEquals(network.getBranchCount(), writtenPostContingencyResults.size());
+        assertEquals(List.of(result), writtenResults);
+        // post-contingency results are not kept in memory
+        assertTrue(result.getPostContingencyResults().isEmpty());
+        assertTrue(result.getPreContingencyLimitViolationsResult().isComputationOk());
+    }
+
     @Test
     public void testStateMonitors() {
         Network network = EurostagTutorialExample1Factory.create();
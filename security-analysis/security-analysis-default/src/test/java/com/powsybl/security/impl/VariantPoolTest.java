@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.impl;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class VariantPoolTest {
+
+    private Network network;
+
+    @Before
+    public void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+    }
+
+    @Test
+    public void test() {
+        VariantPool pool = new VariantPool(4, 0.5);
+        assertEquals(3, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 3));
+        assertEquals(3, pool.getSize());
+        assertEquals(4, network.getVariantManager().getVariantIds().size());
+        assertEquals(VariantPool.estimateVariantSize(network), pool.getVariantSize());
+
+        String variantId1 = pool.acquire();
+        String variantId2 = pool.acquire();
+        assertNotEquals(variantId1, variantId2);
+        assertTrue(network.getVariantManager().getVariantIds().contains(variantId1));
+        assertEquals(2, pool.getPeakBusyCount());
+        pool.release(variantId1);
+        pool.release(variantId2);
+        assertEquals(variantId2, pool.acquire());
+        pool.release(variantId2);
+        assertTrue(pool.getActiveLimit() >= 1);
+        assertTrue(pool.getPeakUsedMemory() > 0);
+
+        pool.clear(network);
+        assertEquals(0, pool.getSize());
+        assertEquals(1, network.getVariantManager().getVariantIds().size());
+    }
+
+    @Test
+    public void testReuse() {
+        VariantPool pool = new VariantPool(4, 0.5);
+        assertEquals(2, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 2));
+        Set<String> variantIds = Set.copyOf(network.getVariantManager().getVariantIds());
+
+        // variants of a previous allocation are reused, and the pool grows when more variants are wanted
+        assertEquals(2, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 1));
+        assertEquals(variantIds, Set.copyOf(network.getVariantManager().getVariantIds()));
+        assertEquals(4, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 10));
+        assertTrue(network.getVariantManager().getVariantIds().containsAll(variantIds));
+        assertEquals(5, network.getVariantManager().getVariantIds().size());
+
+        // but not while one of its variants is in use
+        pool.clear(network);
+        pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 1);
+        String variantId = pool.acquire();
+        assertEquals(1, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 10));
+        assertThrows(IllegalStateException.class, () -> pool.clear(network));
+        pool.release(variantId);
+
+        // variants removed from the network are replaced
+        network.getVariantManager().removeVariant(variantId);
+        assertEquals(2, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 2));
+        assertFalse(network.getVariantManager().getVariantIds().contains(variantId));
+        assertEquals(3, network.getVariantManager().getVariantIds().size());
+    }
+
+    @Test
+    public void testMaxSize() {
+        VariantPool pool = new VariantPool(2, 0.5);
+        assertEquals(2, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 100));
+        pool.clear(network);
+        assertEquals(1, pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 0));
+    }
+
+    @Test
+    public void testEstimateVariantSize() {
+        long variantSize = VariantPool.estimateVariantSize(network);
+        assertTrue(variantSize > 0);
+        network.getVoltageLevel("VLLOAD").newLoad()
+                .setId("LOAD2")
+                .setBus("NLOAD")
+                .setP0(10.0)
+                .setQ0(0.0)
+                .add();
+        assertTrue(VariantPool.estimateVariantSize(network) > variantSize);
+    }
+
+    @Test
+    public void testComputeSize() {
+        assertEquals(10, VariantPool.computeSize(10, 0, 1000));
+        assertEquals(4, VariantPool.computeSize(10, 250, 1000));
+        assertEquals(10, VariantPool.computeSize(10, 10, 1000));
+        assertEquals(1, VariantPool.computeSize(10, 2000, 1000));
+    }
+
+    @Test
+    public void testInvalidUsage() {
+        assertThrows(IllegalArgumentException.class, () -> new VariantPool(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new VariantPool(1, 1.5));
+        VariantPool pool = new VariantPool(1, 0.5);
+        assertThrows(IllegalStateException.class, pool::acquire);
+        pool.allocate(network, VariantManagerConstants.INITIAL_VARIANT_ID, 1);
+        assertThrows(IllegalArgumentException.class, () -> pool.release("unknown"));
+    }
+}
@@ -11,7 +11,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.contingency.Contingency;
-import org.jgrapht.alg.util.Triple;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -22,6 +21,7 @@ import java.util.*;
  *
  * <p>
  *     Composed of a list of sensitivity values in pre-contingency and post-contingency states.
+ *     Values are kept in primitive arrays, see {@link SensitivityValueStore}, and indexed by contingency and factor.
  * </p>
  *
  * Sensitivity analysis is used to assess the impact of a small modification of a network variables on the value of
@@ -46,13 +46,26 @@ public class SensitivityAnalysisResult {
 
     private final List<SensitivityContingencyStatus> contingencyStatuses;
 
-    private final List<SensitivityValue> values;
+    private final SensitivityValueStore values;
 
-    private final Map<String, List<SensitivityValue>> valuesByContingencyId = new HashMap<>();
+    // Ids of the contingencies, functions and variables interned as indexes
+    private final Map<String, Integer> contingencyIndexById = new HashMap<>();
 
-    private final Map<SensitivityValueKey, SensitivityValue> valuesByContingencyIdAndFunctionAndVariableId = new HashMap<>();
+    private final Map<String, Integer> functionIndexById = new HashMap<>();
 
-    private final Map<Triple<SensitivityFunctionType, String, String>, Double> functionReferenceByContingencyAndFunction = new HashMap<>();
+    private final Map<String, Integer> variableIndexById = new HashMap<>();
+
+    // Factor index by function type, function index and variable index
+    private final Map<SensitivityFunctionType, Map<Long, Integer>> factorIndexByFunctionAndVariable = new EnumMap<>(SensitivityFunctionType.class);
+
+    // Factor indexes by function type and function index
+    private final Map<SensitivityFunctionType, Map<Integer, int[]>> factorIndexesByFunction = new EnumMap<>(SensitivityFunctionType.class);
+
+    // Positions of the values in the store sorted by contingency then by factor, null if values are already stored in this order
+    private final int[] sortedPositions;
+
+    // Range of the sorted positions of each contingency, the first one being the pre-contingency state
+    private final int[] contingencyOffsets;
 
     enum Status {
         CONVERGED,
@@ -138,18 +151,146 @@ public class SensitivityAnalysisResult {
      * @param values result values of the sensitivity analysis in pre-contingency state and post-contingency states.
      */
     public SensitivityAnalysisResult(List<SensitivityFactor> factors, List<SensitivityContingencyStatus> contingencyStatuses, List<SensitivityValue> values) {
-        this.factors = Collections.unmodifiableList(Objects.requireNonNull(factors));
-        this.contingencyStatuses = Collections.unmodifiableList(Objects.requireNonNull(contingencyStatuses));
-        this.values = Collections.unmodifiableList(Objects.requireNonNull(values));
-        for (SensitivityValue value : values) {
-            SensitivityFactor factor = factors.get(value.getFactorIndex());
-            Contingency contingency = value.getContingencyIndex() != -1 ? contingencyStatuses.get(value.getContingencyIndex()).getContingency() : null;
-            String contingencyId = contingency != null ? contingency.getId() : null;
-            valuesByContingencyId.computeIfAbsent(contingencyId, k -> new ArrayList<>())
-                    .add(value);
-            valuesByContingencyIdAndFunctionAndVariableId.put(new SensitivityValueKey(contingencyId, factor.getVariableId(), factor.getFunctionId(), factor.getFunctionType()), value);
-            functionReferenceByContingencyAndFunction.put(Triple.of(factor.getFunctionType(), contingencyId, factor.getFunctionId()), value.getFunctionReference());
+        this(factors, contingencyStatuses, SensitivityValueStore.of(values).freeze());
+    }
+
+    /**
+     * Sensitivity analysis result
+     * @param factors the list of sensitivity factors that have been computed.
+     * @param contingencyStatuses the list of contingencies and their associated computation status.
+     * @param values result values of the sensitivity analysis in pre-contingency state and post-contingency states.
+     *               A frozen store is used as is, any other store is copied, see {@link SensitivityValueStore#freeze()}.
+     */
+    public SensitivityAnalysisResult(List<SensitivityFactor> factors, List<SensitivityContingencyStatus> contingencyStatuses, SensitivityValueStore values) {
+        // the indexes below are built once, so the inputs are copied or frozen to never be modified afterwards
+        this.factors = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(factors)));
+        this.contingencyStatuses = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(contingencyStatuses)));
+        this.values = Objects.requireNonNull(values).isFrozen() ? values : values.copy().freeze();
+        for (int i = 0; i < contingencyStatuses.size(); i++) {
+            Contingency contingency = contingencyStatuses.get(i).getContingency();
+            if (contingency != null) {
+                contingencyIndexById.put(contingency.getId(), i);
+            }
+        }
+        Map<SensitivityFunctionType, Map<Integer, List<Integer>>> factorIndexListsByFunction = new EnumMap<>(SensitivityFunctionType.class);
+        for (int factorIndex = 0; factorIndex < factors.size(); factorIndex++) {
+            SensitivityFactor factor = factors.get(factorIndex);
+            int functionIndex = functionIndexById.computeIfAbsent(factor.getFunctionId(), id -> functionIndexById.size());
+            int variableIndex = variableIndexById.computeIfAbsent(factor.getVariableId(), id -> variableIndexById.size());
+            factorIndexByFunctionAndVariable.computeIfAbsent(factor.getFunctionType(), t -> new HashMap<>())
+                    .put(key(functionIndex, variableIndex), factorIndex);
+            factorIndexListsByFunction.computeIfAbsent(factor.getFunctionType(), t -> new HashMap<>())
+                    .computeIfAbsent(functionIndex, k -> new ArrayList<>())
+                    .add(factorIndex);
+        }
+        factorIndexListsByFunction.forEach((functionType, factorIndexLists) -> {
+            Map<Integer, int[]> factorIndexes = new HashMap<>();
+            factorIndexLists.forEach((functionIndex, list) -> factorIndexes.put(functionIndex, list.stream().mapToInt(Integer::intValue).toArray()));
+            factorIndexesByFunction.put(functionType, factorIndexes);
+        });
+
+        // Counting sort of the values by contingency, keeping the order of the values of a contingency
+        contingencyOffsets = new int[contingencyStatuses.size() + 2];
+        for (int i = 0; i < values.size(); i++) {
+            Objects.checkIndex(values.getFactorIndex(i), factors.size());
+            int contingencyIndex = values.getContingencyIndex(i);
+            Objects.checkIndex(contingencyIndex + 1, contingencyStatuses.size() + 1);
+            contingencyOffsets[contingencyIndex + 2]++;
+        }
+        for (int c = 2; c < contingencyOffsets.length; c++) {
+            contingencyOffsets[c] += contingencyOffsets[c - 1];
+        }
+        int[] positions = new int[values.size()];
+        int[] next = Arrays.copyOf(contingencyOffsets, contingencyOffsets.length - 1);
+        for (int i = 0; i < values.size(); i++) {
+            positions[next[values.getContingencyIndex(i) + 1]++] = i;
+        }
+        // Then sort the values of each contingency by factor, for lookups by binary search
+        for (int c = 0; c < contingencyOffsets.length - 1; c++) {
+            sortByFactor(positions, contingencyOffsets[c], contingencyOffsets[c + 1]);
+        }
+        sortedPositions = isIdentity(positions) ? null : positions;
+    }
+
+    private static long key(int functionIndex, int variableIndex) {
+        return ((long) functionIndex << 32) | (variableIndex & 0xFFFFFFFFL);
+    }
+
+    private void sortByFactor(int[] positions, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (values.getFactorIndex(positions[i]) < values.getFactorIndex(positions[i - 1])) {
+                // Not sorted, sort factor index and position pairs
+                long[] keys = new long[to - from];
+                for (int j = from; j < to; j++) {
+                    keys[j - from] = ((long) values.getFactorIndex(positions[j]) << 32) | positions[j];
+                }
+                Arrays.sort(keys);
+                for (int j = from; j < to; j++) {
+                    positions[j] = (int) keys[j - from];
+                }
+                return;
+            }
+        }
+    }
+
+    private static boolean isIdentity(int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] != i) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    private int position(int sortedIndex) {
+        return sortedPositions != null ? sortedPositions[sortedIndex] : sortedIndex;
+    }
+
+    /**
+     * Get the position in the store of the value of a factor for a contingency (-1 for pre-contingency state), the
+     * last one written if there are several, or -1 if there is no such value.
+     */
+    private int findPosition(int factorIndex, int contingencyIndex) {
+        int low = contingencyOffsets[contingencyIndex + 1];
+        int high = contingencyOffsets[contingencyIndex + 2] - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleFactorIndex = values.getFactorIndex(position(middle));
+            if (middleFactorIndex < factorIndex) {
+                low = middle + 1;
+            } else if (middleFactorIndex > factorIndex) {
+                high = middle - 1;
+            } else {
+                found = middle;
+                low = middle + 1;
+            }
+        }
+        return found != -1 ? position(found) : -1;
+    }
+
+    /**
+     * Get the index of a contingency given its id, -1 for a null id, or null if the contingency is unknown.
+     */
+    private Integer getContingencyIndex(String contingencyId) {
+        return contingencyId == null ? Integer.valueOf(-1) : contingencyIndexById.get(contingencyId);
+    }
+
+    private List<SensitivityValue> getValuesOfContingency(int contingencyIndex) {
+        int from = contingencyOffsets[contingencyIndex + 1];
+        int to = contingencyOffsets[contingencyIndex + 2];
+        return new AbstractList<>() {
+            @Override
+            public SensitivityValue get(int index) {
+                Objects.checkIndex(index, to - from);
+                return values.get(position(from + index));
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
     }
 
     /**
@@ -176,9 +317,28 @@ public class SensitivityAnalysisResult {
      * @return a list of all the sensitivity values.
      */
     public List<SensitivityValue> getValues() {
+        return values.asList();
+    }
+
+    /**
+     * Get the sensitivity values as stored, without creating an object per value.
+     *
+     * @return a read-only view of the sensitivity values.
+     */
+    public SensitivityValueStore getValueStore() {
         return values;
     }
 
+    /**
+     * Write the sensitivity values then the contingency statuses to a result writer.
+     *
+     * @param writer the result writer.
+     */
+    public void write(SensitivityResultWriter writer) {
+        values.write(writer);
+        contingencyStatuses.forEach(writer::writeContingencyStatus);
+    }
+
     /**
      * Get a list of sensitivity value associated to a given contingency id
      *
@@ -186,7 +346,8 @@ public class SensitivityAnalysisResult {
      * @return the sensitivity value associated to a given contingency ID.
      */
     public List<SensitivityValue> getValues(String contingencyId) {
-        return valuesByContingencyId.getOrDefault(contingencyId, Collections.emptyList());
+        Integer contingencyIndex = getContingencyIndex(contingencyId);
+        return contingencyIndex != null ? getValuesOfContingency(contingencyIndex) : Collections.emptyList();
     }
 
     /**
@@ -195,7 +356,7 @@ public class SensitivityAnalysisResult {
      * @return a list of all the pre-contingency sensitivity values.
      */
     public List<SensitivityValue> getPreContingencyValues() {
-        return valuesByContingencyId.getOrDefault(null, Collections.emptyList());
+        return getValuesOfContingency(-1);
     }
 
     /**
@@ -208,9 +369,15 @@ public class SensitivityAnalysisResult {
      * @return the sensitivity value associated with a given function and a given variable for a given contingency.
      */
     public double getSensitivityValue(String contingencyId, String variableId, String functionId, SensitivityFunctionType functionType) {
-        SensitivityValue value = valuesByContingencyIdAndFunctionAndVariableId.get(new SensitivityValueKey(contingencyId, variableId, functionId, functionType));
-        if (value != null) {
-            return value.getValue();
+        Integer contingencyIndex = getContingencyIndex(contingencyId);
+        Integer functionIndex = functionIndexById.get(functionId);
+        Integer variableIndex = variableIndexById.get(variableId);
+        if (contingencyIndex != null && functionIndex != null && variableIndex != null) {
+            Integer factorIndex = factorIndexByFunctionAndVariable.getOrDefault(functionType, Collections.emptyMap()).get(key(functionIndex, variableIndex));
+            int position = factorIndex != null ? findPosition(factorIndex, contingencyIndex) : -1;
+            if (position != -1) {
+                return values.getValue(position);
+            }
         }
         throw new PowsyblException("Sensitivity value not found for contingency '" + contingencyId + "', function '"
                                    + functionId + "', variable '" + variableId + "'" + "', functionType '" + functionType);
@@ -352,12 +519,20 @@ public class SensitivityAnalysisResult {
      * @return the function reference value
      */
     public double getFunctionReferenceValue(String contingencyId, String functionId, SensitivityFunctionType functionType) {
-        Double value = functionReferenceByContingencyAndFunction.get(Triple.of(functionType, contingencyId, functionId));
-        if (value == null) {
-            throw new PowsyblException("Reference flow value not found for contingency '" + contingencyId + "', function '" + functionId + "'"
-                                       + "', functionType '" + functionType);
+        Integer contingencyIndex = getContingencyIndex(contingencyId);
+        Integer functionIndex = functionIndexById.get(functionId);
+        if (contingencyIndex != null && functionIndex != null) {
+            // Function reference of the last value written for one of the factors of the function
+            int lastPosition = -1;
+            for (int factorIndex : factorIndexesByFunction.getOrDefault(functionType, Collections.emptyMap()).getOrDefault(functionIndex, new int[0])) {
+                lastPosition = Math.max(lastPosition, findPosition(factorIndex, contingencyIndex));
+            }
+            if (lastPosition != -1) {
+                return values.getFunctionReference(lastPosition);
+            }
         }
-        return value;
+        throw new PowsyblException("Reference flow value not found for contingency '" + contingencyId + "', function '" + functionId + "'"
+                                   + "', functionType '" + functionType);
     }
 
     /**
@@ -105,7 +105,7 @@ public class SensitivityAnalysisTool implements Tool {
                         .argName("FILE")
                         .build());
                 options.addOption(Option.builder().longOpt(OUTPUT_FILE_OPTION)
-                        .desc("Sensitivity results output path")
+                        .desc("Sensitivity results output path (json, csv or bin)")
                         .hasArg()
                         .argName("FILE")
                         .required()
@@ -135,17 +135,30 @@ public class SensitivityAnalysisTool implements Tool {
         };
     }
 
-    private static boolean isCsv(Path outputFile) {
+    private enum OutputFormat {
+        JSON,
+        CSV,
+        BINARY
+    }
+
+    private static OutputFormat getOutputFormat(Path outputFile) {
         String fileName = outputFile.getFileName().toString();
         if (fileName.endsWith(".json")) {
-            return false;
+            return OutputFormat.JSON;
         } else if (fileName.endsWith(".csv")) {
-            return true;
+            return OutputFormat.CSV;
+        } else if (fileName.endsWith(".bin")) {
+            return OutputFormat.BINARY;
         } else {
             throw new PowsyblException("Unsupported output format: " + fileName);
         }
     }
 
+    private static PowsyblException createSingleOutputException(OutputFormat format) {
+        return new PowsyblException("Unsupported " + SINGLE_OUTPUT + " option does not support " + format.name().toLowerCase()
+                + " file as argument of " + OUTPUT_FILE_OPTION + ". Must be json.");
+    }
+
     private static String buildContingencyStatusPath(String outputFile) {
         return outputFile.replace(".csv", "_contingency_status.csv");
     }
@@ -154,23 +167,21 @@ public class SensitivityAnalysisTool implements Tool {
     public void run(CommandLine line, ToolRunningContext context) throws Exception {
         Path caseFile = context.getFileSystem().getPath(line.getOptionValue(CASE_FILE_OPTION));
         Path outputFile = context.getFileSystem().getPath(line.getOptionValue(OUTPUT_FILE_OPTION));
-        boolean csv = isCsv(outputFile);
+        OutputFormat format = getOutputFormat(outputFile);
         Path outputFileStatus;
 
-        if (csv) {
+        if (line.hasOption(SINGLE_OUTPUT) && format != OutputFormat.JSON) {
+            throw createSingleOutputException(format);
+        }
+        if (format == OutputFormat.CSV) {
             if (line.hasOption(OUTPUT_CONTINGENCY_STATUS_FILE_OPTION)) {
                 outputFileStatus = context.getFileSystem().getPath(line.getOptionValue(OUTPUT_CONTINGENCY_STATUS_FILE_OPTION));
             } else {
                 outputFileStatus = context.getFileSystem().getPath(buildContingencyStatusPath(line.getOptionValue(OUTPUT_FILE_OPTION)));
             }
-            boolean contingencyCsv = isCsv(outputFileStatus);
-            if (!contingencyCsv) {
+            if (getOutputFormat(outputFileStatus) != OutputFormat.CSV) {
                 throw new PowsyblException(OUTPUT_FILE_OPTION + " and " + OUTPUT_CONTINGENCY_STATUS_FILE_OPTION  + " files must have the same format (csv).");
             }
-
-            if (line.hasOption(SINGLE_OUTPUT)) {
-                throw new PowsyblException("Unsupported " + SINGLE_OUTPUT + " option does not support csv file as argument of " + OUTPUT_FILE_OPTION + ". Must be json.");
-            }
         } else {
             outputFileStatus = null;
         }
@@ -215,9 +226,6 @@ public class SensitivityAnalysisTool implements Tool {
         try (ComputationManager computationManager = DefaultComputationManagerConfig.load().createLongTimeExecutionComputationManager()) {
 
             if (line.hasOption(SINGLE_OUTPUT)) {
-                if (csv) {
-                    throw new PowsyblException("Unsupported " + SINGLE_OUTPUT + " option does not support csv file as argument of " + OUTPUT_FILE_OPTION + ". Must be json.");
-                }
                 List<SensitivityFactor> factors = new ArrayList<>();
                 factorsReader.read((functionType, functionId, variableType, variableId, variableSet, contingencyContext) ->
                         factors.add(new SensitivityFactor(functionType, functionId, variableType, variableId, variableSet, contingencyContext)));
@@ -227,7 +235,7 @@ public class SensitivityAnalysisTool implements Tool {
                 ObjectMapper sensiObjectMapper = JsonUtil.createObjectMapper().registerModule(new SensitivityJsonModule());
                 JsonUtil.writeJson(outputFile, result, sensiObjectMapper);
             } else {
-                if (csv) {
+                if (format == OutputFormat.CSV) {
                     try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
                          Writer writerStatuses = Files.newBufferedWriter(outputFileStatus, StandardCharsets.UTF_8);
                          TableFormatter formatter = SensitivityResultCsvWriter.createTableFormatter(writer);
@@ -237,6 +245,12 @@ public class SensitivityAnalysisTool implements Tool {
                                 factorsReader, valuesWriter, contingencies, variableSets, params,
                                 computationManager, Reporter.NO_OP);
                     }
+                } else if (format == OutputFormat.BINARY) {
+                    try (SensitivityResultBinaryWriter valuesWriter = new SensitivityResultBinaryWriter(new BufferedOutputStream(Files.newOutputStream(outputFile)))) {
+                        SensitivityAnalysis.run(network, network.getVariantManager().getWorkingVariantId(),
+                                factorsReader, valuesWriter, contingencies, variableSets, params,
+                                computationManager, Reporter.NO_OP);
+                    }
                 } else {
                     JsonFactory factory = JsonUtil.createJsonFactory();
                     try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary sensitivity result file format, shared by {@link SensitivityResultBinaryWriter} and
+ * {@link SensitivityResultBinaryReader}.
+ * <p>
+ * The file starts with a header (magic number and version), followed by deflate compressed blocks of values and by a
+ * footer. All the values of a block belong to the same contingency, the block gives in columns:
+ * <ul>
+ *     <li>the number of values,</li>
+ *     <li>the factor indexes, as zigzag varints of the difference with the previous factor index,</li>
+ *     <li>the values then the function references, each column being either raw doubles or varints of the xor of the
+ *     bits of a double with the previous one, possibly bit reversed, whichever is smaller.</li>
+ * </ul>
+ * The footer gives the contingency statuses and the contingency, the number of values, the offset and the sizes of each
+ * block. The file ends with the offset of the footer and the magic number.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class SensitivityResultBinaryFormat {
+
+    static final int MAGIC = 0x50535242; // "PSRB"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+
+    static final int TRAILER_SIZE = 12;
+
+    static final byte RAW_DOUBLES = 0;
+
+    static final byte XOR_DOUBLES = 1;
+
+    static final byte REVERSED_XOR_DOUBLES = 2;
+
+    private SensitivityResultBinaryFormat() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int varLongSize(long value) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    static void writeVarLong(ByteArrayOutputStream os, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            os.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        os.write((int) remaining);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new PowsyblException("Malformed varint in sensitivity result binary file");
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new PowsyblException("Invalid value in sensitivity result binary file: " + value);
+        }
+        return (int) value;
+    }
+
+    static void writeString(ByteArrayOutputStream os, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(os, bytes.length);
+        os.writeBytes(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
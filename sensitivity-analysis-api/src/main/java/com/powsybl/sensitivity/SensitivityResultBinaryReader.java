@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.contingency.Contingency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.powsybl.sensitivity.SensitivityResultBinaryFormat.*;
+
+/**
+ * Read a sensitivity result file written by {@link SensitivityResultBinaryWriter}.
+ * <p>
+ * Only the footer is read on opening, values are decoded on demand, either all of them or only the ones of a given
+ * contingency. Values are given contingency by contingency for each buffer flushed by the writer, in the order they
+ * have been written for a given contingency.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SensitivityResultBinaryReader implements AutoCloseable {
+
+    private final SeekableByteChannel channel;
+
+    private final List<SensitivityAnalysisResult.SensitivityContingencyStatus> contingencyStatuses;
+
+    private final Map<String, Integer> contingencyIndexById = new HashMap<>();
+
+    private final int[] blockContingencyIndexes;
+
+    private final int[] blockValueCounts;
+
+    private final long[] blockOffsets;
+
+    private final int[] blockCompressedLengths;
+
+    private final int[] blockLengths;
+
+    private final Map<Integer, int[]> blocksByContingencyIndex = new HashMap<>();
+
+    private final Inflater inflater = new Inflater();
+
+    public SensitivityResultBinaryReader(Path file) {
+        this(open(file));
+    }
+
+    public SensitivityResultBinaryReader(SeekableByteChannel channel) {
+        this.channel = Objects.requireNonNull(channel);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw invalidFile();
+            }
+            ByteBuffer header = read(0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw invalidFile();
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new PowsyblException("Unsupported sensitivity result binary file version: " + version);
+            }
+            ByteBuffer trailer = read(size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < HEADER_SIZE || footerOffset > size - TRAILER_SIZE) {
+                throw invalidFile();
+            }
+            ByteBuffer footer = read(footerOffset, (int) (size - TRAILER_SIZE - footerOffset));
+
+            int statusCount = readVarInt(footer);
+            List<SensitivityAnalysisResult.SensitivityContingencyStatus> statuses = new ArrayList<>(statusCount);
+            for (int i = 0; i < statusCount; i++) {
+                Contingency contingency = null;
+                if (footer.get() != 0) {
+                    contingency = new Contingency(readString(footer));
+                    contingencyIndexById.put(contingency.getId(), i);
+                }
+                SensitivityAnalysisResult.Status status = SensitivityAnalysisResult.Status.valueOf(readString(footer));
+                statuses.add(new SensitivityAnalysisResult.SensitivityContingencyStatus(contingency, status));
+            }
+            contingencyStatuses = Collections.unmodifiableList(statuses);
+
+            int blockCount = readVarInt(footer);
+            blockContingencyIndexes = new int[blockCount];
+            blockValueCounts = new int[blockCount];
+            blockOffsets = new long[blockCount];
+            blockCompressedLengths = new int[blockCount];
+            blockLengths = new int[blockCount];
+            Map<Integer, List<Integer>> blocks = new HashMap<>();
+            for (int b = 0; b < blockCount; b++) {
+                blockContingencyIndexes[b] = (int) unzigzag(readVarLong(footer));
+                blockValueCounts[b] = readVarInt(footer);
+                blockOffsets[b] = readVarLong(footer);
+                blockCompressedLengths[b] = readVarInt(footer);
+                blockLengths[b] = readVarInt(footer);
+                blocks.computeIfAbsent(blockContingencyIndexes[b], k -> new ArrayList<>()).add(b);
+            }
+            blocks.forEach((contingencyIndex, b) -> blocksByContingencyIndex.put(contingencyIndex, b.stream().mapToInt(Integer::intValue).toArray()));
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    private static SeekableByteChannel open(Path file) {
+        Objects.requireNonNull(file);
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PowsyblException invalidFile() {
+        return new PowsyblException("Invalid sensitivity result binary file");
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw invalidFile();
+            }
+        }
+        return buffer.flip();
+    }
+
+    public List<SensitivityAnalysisResult.SensitivityContingencyStatus> getContingencyStatuses() {
+        return contingencyStatuses;
+    }
+
+    /**
+     * Get the total number of values of the file.
+     */
+    public long getValueCount() {
+        long count = 0;
+        for (int valueCount : blockValueCounts) {
+            count += valueCount;
+        }
+        return count;
+    }
+
+    /**
+     * Read all the values then all the contingency statuses.
+     */
+    public void read(SensitivityResultWriter writer) {
+        Objects.requireNonNull(writer);
+        for (int b = 0; b < blockOffsets.length; b++) {
+            readBlock(b, writer);
+        }
+        contingencyStatuses.forEach(writer::writeContingencyStatus);
+    }
+
+    /**
+     * Read the values of a contingency only.
+     *
+     * @param contingencyIndex the contingency index, -1 for pre-contingency state.
+     */
+    public void read(int contingencyIndex, SensitivityResultWriter writer) {
+        Objects.requireNonNull(writer);
+        int[] blocks = blocksByContingencyIndex.get(contingencyIndex);
+        if (blocks != null) {
+            for (int b : blocks) {
+                readBlock(b, writer);
+            }
+        }
+    }
+
+    /**
+     * Read the values of a contingency only.
+     *
+     * @param contingencyId the contingency id, null for pre-contingency state.
+     */
+    public void read(String contingencyId, SensitivityResultWriter writer) {
+        int contingencyIndex = -1;
+        if (contingencyId != null) {
+            Integer index = contingencyIndexById.get(contingencyId);
+            if (index == null) {
+                throw new PowsyblException("Contingency '" + contingencyId + "' not found");
+            }
+            contingencyIndex = index;
+        }
+        read(contingencyIndex, writer);
+    }
+
+    private void readBlock(int b, SensitivityResultWriter writer) {
+        ByteBuffer block;
+        try {
+            byte[] uncompressed = new byte[blockLengths[b]];
+            inflater.reset();
+            inflater.setInput(read(blockOffsets[b], blockCompressedLengths[b]));
+            int length = 0;
+            while (length < uncompressed.length && !inflater.finished()) {
+                int n = inflater.inflate(uncompressed, length, uncompressed.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw invalidFile();
+                }
+                length += n;
+            }
+            if (length != uncompressed.length) {
+                throw invalidFile();
+            }
+            block = ByteBuffer.wrap(uncompressed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new PowsyblException("Invalid sensitivity result binary file", e);
+        }
+
+        int count = readVarInt(block);
+        if (count != blockValueCounts[b]) {
+            throw invalidFile();
+        }
+        int[] factorIndexes = new int[count];
+        int factorIndex = 0;
+        for (int i = 0; i < count; i++) {
+            factorIndex += (int) unzigzag(readVarLong(block));
+            factorIndexes[i] = factorIndex;
+        }
+        double[] values = readDoubles(block, count);
+        double[] functionReferences = readDoubles(block, count);
+        int contingencyIndex = blockContingencyIndexes[b];
+        for (int i = 0; i < count; i++) {
+            writer.writeSensitivityValue(factorIndexes[i], contingencyIndex, values[i], functionReferences[i]);
+        }
+    }
+
+    private static double[] readDoubles(ByteBuffer block, int count) {
+        double[] doubles = new double[count];
+        byte encoding = block.get();
+        if (encoding == RAW_DOUBLES) {
+            for (int i = 0; i < count; i++) {
+                doubles[i] = block.getDouble();
+            }
+        } else if (encoding == XOR_DOUBLES || encoding == REVERSED_XOR_DOUBLES) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long xor = readVarLong(block);
+                long bits = previous ^ (encoding == REVERSED_XOR_DOUBLES ? Long.reverse(xor) : xor);
+                doubles[i] = Double.longBitsToDouble(bits);
+                previous = bits;
+            }
+        } else {
+            throw new PowsyblException("Unknown double encoding in sensitivity result binary file: " + encoding);
+        }
+        return doubles;
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (UncheckedIOException ignored) {
+            // already failing
+        }
+    }
+
+    @Override
+    public void close() {
+        inflater.end();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
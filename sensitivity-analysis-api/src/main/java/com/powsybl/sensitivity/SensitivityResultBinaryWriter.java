@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+import static com.powsybl.sensitivity.SensitivityResultBinaryFormat.*;
+
+/**
+ * Write sensitivity results to a compressed binary columnar file, see {@link SensitivityResultBinaryFormat} for the
+ * layout and {@link SensitivityResultBinaryReader} to read it back.
+ * <p>
+ * Values are buffered and, each time the buffer is full, written as one block per contingency, so that the values of a
+ * contingency can be read without decoding the whole file. Contingency statuses are written at the end of the file, on
+ * close.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SensitivityResultBinaryWriter implements SensitivityResultWriter, AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final DataOutputStream os;
+
+    private long offset = HEADER_SIZE;
+
+    private final int bufferSize;
+
+    private final SensitivityValueStore buffer;
+
+    private final List<SensitivityAnalysisResult.SensitivityContingencyStatus> contingencyStatusBuffer = new ArrayList<>();
+
+    private final ByteArrayOutputStream blockTable = new ByteArrayOutputStream();
+
+    private int blockCount = 0;
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private byte[] compressed = new byte[8192];
+
+    private long[] sortKeys = new long[0];
+
+    public SensitivityResultBinaryWriter(OutputStream os) {
+        this(os, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SensitivityResultBinaryWriter(OutputStream os, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+        }
+        this.os = new DataOutputStream(Objects.requireNonNull(os));
+        this.bufferSize = bufferSize;
+        this.buffer = new SensitivityValueStore(Math.min(bufferSize, DEFAULT_BUFFER_SIZE));
+        try {
+            this.os.writeInt(MAGIC);
+            this.os.writeInt(VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeSensitivityValue(int factorIndex, int contingencyIndex, double value, double functionReference) {
+        buffer.add(factorIndex, contingencyIndex, value, functionReference);
+        if (buffer.size() == bufferSize) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void writeContingencyStatus(SensitivityAnalysisResult.SensitivityContingencyStatus status) {
+        contingencyStatusBuffer.add(Objects.requireNonNull(status));
+    }
+
+    private void flushBuffer() {
+        int size = buffer.size();
+        if (size == 0) {
+            return;
+        }
+        // stable sort of the buffered values by contingency: the contingency index is in the high bits, the position
+        // in the buffer in the low bits
+        if (sortKeys.length < size) {
+            sortKeys = new long[size];
+        }
+        for (int i = 0; i < size; i++) {
+            sortKeys[i] = ((long) (buffer.getContingencyIndex(i) + 1) << 32) | i;
+        }
+        Arrays.sort(sortKeys, 0, size);
+        int start = 0;
+        while (start < size) {
+            int contingencyIndex = (int) (sortKeys[start] >>> 32) - 1;
+            int end = start + 1;
+            while (end < size && (int) (sortKeys[end] >>> 32) - 1 == contingencyIndex) {
+                end++;
+            }
+            writeBlock(contingencyIndex, start, end);
+            start = end;
+        }
+        buffer.clear();
+    }
+
+    private int position(int k) {
+        return (int) sortKeys[k];
+    }
+
+    private void writeBlock(int contingencyIndex, int start, int end) {
+        block.reset();
+        int count = end - start;
+        writeVarLong(block, count);
+        int previousFactorIndex = 0;
+        for (int k = start; k < end; k++) {
+            int factorIndex = buffer.getFactorIndex(position(k));
+            writeVarLong(block, zigzag((long) factorIndex - previousFactorIndex));
+            previousFactorIndex = factorIndex;
+        }
+        writeDoubles(start, end, true);
+        writeDoubles(start, end, false);
+
+        byte[] uncompressed = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(uncompressed);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        try {
+            os.write(compressed, 0, compressedLength);
+            writeVarLong(blockTable, zigzag(contingencyIndex));
+            writeVarLong(blockTable, count);
+            writeVarLong(blockTable, offset);
+            writeVarLong(blockTable, compressedLength);
+            writeVarLong(blockTable, uncompressed.length);
+            blockCount++;
+            offset += compressedLength;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double getDouble(int k, boolean values) {
+        return values ? buffer.getValue(position(k)) : buffer.getFunctionReference(position(k));
+    }
+
+    /**
+     * Write a column of doubles using the smallest of the encodings. Consecutive close values share their sign,
+     * exponent and high mantissa bits so their xor has leading zeros, round values have a short mantissa so their xor
+     * has trailing zeros and is reversed before being written as a varint.
+     */
+    private void writeDoubles(int start, int end, boolean values) {
+        long xorSize = 0;
+        long reversedXorSize = 0;
+        long previous = 0;
+        for (int k = start; k < end; k++) {
+            long bits = Double.doubleToRawLongBits(getDouble(k, values));
+            xorSize += varLongSize(bits ^ previous);
+            reversedXorSize += varLongSize(Long.reverse(bits ^ previous));
+            previous = bits;
+        }
+        long rawSize = 8L * (end - start);
+        if (rawSize <= xorSize && rawSize <= reversedXorSize) {
+            block.write(RAW_DOUBLES);
+            for (int k = start; k < end; k++) {
+                long bits = Double.doubleToRawLongBits(getDouble(k, values));
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    block.write((int) (bits >>> shift));
+                }
+            }
+        } else {
+            boolean reversed = reversedXorSize < xorSize;
+            block.write(reversed ? REVERSED_XOR_DOUBLES : XOR_DOUBLES);
+            previous = 0;
+            for (int k = start; k < end; k++) {
+                long bits = Double.doubleToRawLongBits(getDouble(k, values));
+                long xor = bits ^ previous;
+                writeVarLong(block, reversed ? Long.reverse(xor) : xor);
+                previous = bits;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            flushBuffer();
+            long footerOffset = offset;
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            writeVarLong(footer, contingencyStatusBuffer.size());
+            for (SensitivityAnalysisResult.SensitivityContingencyStatus status : contingencyStatusBuffer) {
+                if (status.getContingency() != null) {
+                    footer.write(1);
+                    writeString(footer, status.getContingency().getId());
+                } else {
+                    footer.write(0);
+                }
+                writeString(footer, status.getStatus().name());
+            }
+            writeVarLong(footer, blockCount);
+            blockTable.writeTo(footer);
+            footer.writeTo(os);
+            os.writeLong(footerOffset);
+            os.writeInt(MAGIC);
+            os.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -14,11 +14,15 @@ import java.util.List;
  */
 public class SensitivityResultModelWriter implements SensitivityResultWriter {
 
-    private final List<SensitivityValue> values = new ArrayList<>();
+    private final SensitivityValueStore values = new SensitivityValueStore();
 
     private final List<SensitivityAnalysisResult.SensitivityContingencyStatus> contingencyStatuses = new ArrayList<>();
 
     public List<SensitivityValue> getValues() {
+        return values.asList();
+    }
+
+    public SensitivityValueStore getValueStore() {
         return values;
     }
 
@@ -28,7 +32,7 @@ public class SensitivityResultModelWriter implements SensitivityResultWriter {
 
     @Override
     public void writeSensitivityValue(int factorIndex, int contingencyIndex, double value, double functionReference) {
-        values.add(new SensitivityValue(factorIndex, contingencyIndex, value, functionReference));
+        values.add(factorIndex, contingencyIndex, value, functionReference);
     }
 
     @Override
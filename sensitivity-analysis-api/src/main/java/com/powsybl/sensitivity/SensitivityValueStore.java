@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sensitivity values stored in primitive arrays, in the order they have been written: factor index, contingency
+ * index, value and function reference. Compared to a list of {@link SensitivityValue}, there is no object per value,
+ * which matters when results are computed for many factors and many contingencies.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SensitivityValueStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size = 0;
+
+    private int[] factorIndexes;
+
+    private int[] contingencyIndexes;
+
+    private double[] values;
+
+    private double[] functionReferences;
+
+    private boolean frozen = false;
+
+    public SensitivityValueStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public SensitivityValueStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Invalid initial capacity: " + initialCapacity);
+        }
+        factorIndexes = new int[initialCapacity];
+        contingencyIndexes = new int[initialCapacity];
+        values = new double[initialCapacity];
+        functionReferences = new double[initialCapacity];
+    }
+
+    public static SensitivityValueStore of(List<SensitivityValue> values) {
+        Objects.requireNonNull(values);
+        SensitivityValueStore store = new SensitivityValueStore(values.size());
+        for (SensitivityValue value : values) {
+            store.add(value.getFactorIndex(), value.getContingencyIndex(), value.getValue(), value.getFunctionReference());
+        }
+        return store;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param factorIndex the sensitivity factor index
+     * @param contingencyIndex the contingency index, -1 for pre-contingency state.
+     * @param value the sensitivity value.
+     * @param functionReference the value of the sensitivity function.
+     */
+    public void add(int factorIndex, int contingencyIndex, double value, double functionReference) {
+        checkNotFrozen();
+        if (contingencyIndex < -1) {
+            throw new IllegalArgumentException("Invalid contingency index: " + contingencyIndex);
+        }
+        if (size == factorIndexes.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            factorIndexes = Arrays.copyOf(factorIndexes, capacity);
+            contingencyIndexes = Arrays.copyOf(contingencyIndexes, capacity);
+            values = Arrays.copyOf(values, capacity);
+            functionReferences = Arrays.copyOf(functionReferences, capacity);
+        }
+        factorIndexes[size] = factorIndex;
+        contingencyIndexes[size] = contingencyIndex;
+        values[size] = value;
+        functionReferences[size] = functionReference;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all the values, keeping the allocated capacity.
+     */
+    public void clear() {
+        checkNotFrozen();
+        size = 0;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Frozen sensitivity value store");
+        }
+    }
+
+    /**
+     * Make the store read-only, releasing its unused capacity: adding values or clearing the store then throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @return this store
+     */
+    public SensitivityValueStore freeze() {
+        if (!frozen) {
+            factorIndexes = Arrays.copyOf(factorIndexes, size);
+            contingencyIndexes = Arrays.copyOf(contingencyIndexes, size);
+            values = Arrays.copyOf(values, size);
+            functionReferences = Arrays.copyOf(functionReferences, size);
+            frozen = true;
+        }
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Get a modifiable copy of the store, without unused capacity.
+     */
+    public SensitivityValueStore copy() {
+        SensitivityValueStore copy = new SensitivityValueStore(0);
+        copy.size = size;
+        copy.factorIndexes = Arrays.copyOf(factorIndexes, size);
+        copy.contingencyIndexes = Arrays.copyOf(contingencyIndexes, size);
+        copy.values = Arrays.copyOf(values, size);
+        copy.functionReferences = Arrays.copyOf(functionReferences, size);
+        return copy;
+    }
+
+    public int getFactorIndex(int i) {
+        Objects.checkIndex(i, size);
+        return factorIndexes[i];
+    }
+
+    public int getContingencyIndex(int i) {
+        Objects.checkIndex(i, size);
+        return contingencyIndexes[i];
+    }
+
+    public double getValue(int i) {
+        Objects.checkIndex(i, size);
+        return values[i];
+    }
+
+    public double getFunctionReference(int i) {
+        Objects.checkIndex(i, size);
+        return functionReferences[i];
+    }
+
+    public SensitivityValue get(int i) {
+        Objects.checkIndex(i, size);
+        return new SensitivityValue(factorIndexes[i], contingencyIndexes[i], values[i], functionReferences[i]);
+    }
+
+    /**
+     * Get a read-only list view of the values, {@link SensitivityValue} objects are created on access.
+     */
+    public List<SensitivityValue> asList() {
+        return new AbstractList<>() {
+            @Override
+            public SensitivityValue get(int index) {
+                return SensitivityValueStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Write all the values to a result writer, in the order they have been added.
+     */
+    public void write(SensitivityResultWriter writer) {
+        Objects.requireNonNull(writer);
+        for (int i = 0; i < size; i++) {
+            writer.writeSensitivityValue(factorIndexes[i], contingencyIndexes[i], values[i], functionReferences[i]);
+        }
+    }
+
+    /**
+     * Write all the values as a JSON array of {@link SensitivityValue}.
+     */
+    public void writeJson(JsonGenerator jsonGenerator) {
+        Objects.requireNonNull(jsonGenerator);
+        try {
+            jsonGenerator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                SensitivityValue.writeJson(jsonGenerator, factorIndexes[i], contingencyIndexes[i], values[i], functionReferences[i]);
+            }
+            jsonGenerator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
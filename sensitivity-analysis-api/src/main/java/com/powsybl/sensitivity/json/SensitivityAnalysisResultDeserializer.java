@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.powsybl.sensitivity.SensitivityAnalysisResult;
 import com.powsybl.sensitivity.SensitivityFactor;
 import com.powsybl.sensitivity.SensitivityValue;
+import com.powsybl.sensitivity.SensitivityValueStore;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -31,7 +32,7 @@ public class SensitivityAnalysisResultDeserializer extends StdDeserializer<Sensi
     @Override
     public SensitivityAnalysisResult deserialize(JsonParser parser, DeserializationContext deserializationContext) throws IOException {
         String version = null;
-        List<SensitivityValue> sensitivityValues = null;
+        SensitivityValueStore sensitivityValues = null;
         List<SensitivityAnalysisResult.SensitivityContingencyStatus> contingencyStatus = null;
         List<SensitivityFactor> factors = null;
         while (parser.nextToken() != JsonToken.END_OBJECT) {
@@ -48,7 +49,11 @@ public class SensitivityAnalysisResultDeserializer extends StdDeserializer<Sensi
 
                 case "sensitivityValues":
                     parser.nextToken();
-                    sensitivityValues = parser.readValueAs(new TypeReference<ArrayList<SensitivityValue>>() { });
+                    sensitivityValues = new SensitivityValueStore();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        SensitivityValue value = SensitivityValue.parseJson(parser);
+                        sensitivityValues.add(value.getFactorIndex(), value.getContingencyIndex(), value.getValue(), value.getFunctionReference());
+                    }
                     break;
 
                 case "contingencyStatus":
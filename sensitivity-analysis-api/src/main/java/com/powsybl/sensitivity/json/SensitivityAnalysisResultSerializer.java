@@ -29,7 +29,8 @@ public class SensitivityAnalysisResultSerializer extends StdSerializer<Sensitivi
         jsonGenerator.writeStartObject();
         jsonGenerator.writeStringField("version", VERSION);
         jsonGenerator.writeObjectField("sensitivityFactors", result.getFactors());
-        jsonGenerator.writeObjectField("sensitivityValues", result.getValues());
+        jsonGenerator.writeFieldName("sensitivityValues");
+        result.getValueStore().writeJson(jsonGenerator);
         jsonGenerator.writeObjectField("contingencyStatus", result.getContingencyStatuses());
         jsonGenerator.writeEndObject();
     }
@@ -74,6 +74,79 @@ public class SensitivityAnalysisResultTest extends AbstractConverterTest {
         assertEquals(2, result.getPreContingencyValues().size());
     }
 
+    @Test
+    public void testUnsortedValues() {
+        List<SensitivityFactor> factors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            factors.add(new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, "l" + i,
+                    SensitivityVariableType.INJECTION_ACTIVE_POWER, "g",
+                    false, ContingencyContext.all()));
+        }
+        List<SensitivityAnalysisResult.SensitivityContingencyStatus> contingencyStatus = List.of(
+                new SensitivityAnalysisResult.SensitivityContingencyStatus(new Contingency("c0"), SensitivityAnalysisResult.Status.CONVERGED),
+                new SensitivityAnalysisResult.SensitivityContingencyStatus(new Contingency("c1"), SensitivityAnalysisResult.Status.FAILED));
+        // Values written neither by contingency nor by factor, and a value written twice
+        SensitivityValueStore store = new SensitivityValueStore(1);
+        store.add(2, 1, 12d, 102d);
+        store.add(0, -1, 0d, 100d);
+        store.add(1, 1, 11d, 101d);
+        store.add(2, -1, 2d, 102d);
+        store.add(0, 1, 10d, 100d);
+        store.add(1, 1, 21d, 201d);
+        SensitivityAnalysisResult result = new SensitivityAnalysisResult(factors, contingencyStatus, store);
+
+        assertEquals(store.size(), result.getValueStore().size());
+        assertThrows(UnsupportedOperationException.class, () -> result.getValueStore().add(0, -1, 0d, 0d));
+        assertThrows(UnsupportedOperationException.class, () -> result.getValueStore().clear());
+        assertEquals(6, result.getValues().size());
+        assertEquals(2, result.getValues().get(0).getFactorIndex());
+        assertEquals(2, result.getPreContingencyValues().size());
+        assertTrue(result.getValues("c0").isEmpty());
+        assertTrue(result.getValues("unknown").isEmpty());
+        List<SensitivityValue> c1Values = result.getValues("c1");
+        assertEquals(4, c1Values.size());
+        assertEquals(0, c1Values.get(0).getFactorIndex());
+        assertEquals(2, c1Values.get(3).getFactorIndex());
+
+        assertEquals(0d, result.getBranchFlow1SensitivityValue("g", "l0"), 0d);
+        assertEquals(2d, result.getBranchFlow1SensitivityValue("g", "l2"), 0d);
+        assertEquals(10d, result.getBranchFlow1SensitivityValue("c1", "g", "l0"), 0d);
+        assertEquals(21d, result.getBranchFlow1SensitivityValue("c1", "g", "l1"), 0d);
+        assertEquals(12d, result.getBranchFlow1SensitivityValue("c1", "g", "l2"), 0d);
+        assertEquals(201d, result.getBranchFlow1FunctionReferenceValue("c1", "l1"), 0d);
+        assertEquals(102d, result.getBranchFlow1FunctionReferenceValue("l2"), 0d);
+        assertThrows(PowsyblException.class, () -> result.getBranchFlow1SensitivityValue("g", "l1"));
+        assertThrows(PowsyblException.class, () -> result.getBranchFlow1SensitivityValue("c0", "g", "l1"));
+        assertThrows(PowsyblException.class, () -> result.getBranchFlow1SensitivityValue("unknown", "g", "l1"));
+        assertThrows(PowsyblException.class, () -> result.getBranchFlow1FunctionReferenceValue("l1"));
+
+        // Values are written back in the order they have been written
+        SensitivityResultModelWriter writer = new SensitivityResultModelWriter();
+        result.write(writer);
+        assertEquals(2, writer.getContingencyStatuses().size());
+        assertEquals(6, writer.getValueStore().size());
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(store.getFactorIndex(i), writer.getValueStore().getFactorIndex(i));
+            assertEquals(store.getContingencyIndex(i), writer.getValueStore().getContingencyIndex(i));
+            assertEquals(store.getValue(i), writer.getValueStore().getValue(i), 0d);
+            assertEquals(store.getFunctionReference(i), writer.getValueStore().getFunctionReference(i), 0d);
+        }
+
+        SensitivityValueStore invalidStore = new SensitivityValueStore();
+        invalidStore.add(0, 2, 0d, 0d);
+        assertThrows(IndexOutOfBoundsException.class, () -> new SensitivityAnalysisResult(factors, contingencyStatus, invalidStore));
+        assertThrows(IllegalArgumentException.class, () -> invalidStore.add(0, -2, 0d, 0d));
+        SensitivityValueStore unknownFactorStore = new SensitivityValueStore();
+        unknownFactorStore.add(3, -1, 0d, 0d);
+        assertThrows(IndexOutOfBoundsException.class, () -> new SensitivityAnalysisResult(factors, contingencyStatus, unknownFactorStore));
+
+        // the result keeps a copy of a store which is not frozen
+        store.add(0, -1, 1d, 1d);
+        assertEquals(6, result.getValueStore().size());
+        SensitivityValueStore frozenStore = store.freeze();
+        assertSame(frozenStore, new SensitivityAnalysisResult(factors, contingencyStatus, frozenStore).getValueStore());
+    }
+
     @Test
     public void testSide2() {
         SensitivityFactor factor1 = new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_2, "l",
@@ -169,6 +169,33 @@ public class SensitivityAnalysisToolTest extends AbstractToolTest {
 
     }
 
+    @Test
+    public void runBinaryOutput() throws IOException {
+        String expectedOut = "Loading network 'network.xiidm'" + System.lineSeparator() +
+                "Running analysis..." + System.lineSeparator();
+        assertCommand(new String[] {COMMAND_NAME,
+            "--case-file", "network.xiidm",
+            "--factors-file", "factors.json",
+            "--contingencies-file", "contingencies.json",
+            "--parameters-file", "parameters.json",
+            "--output-file", "output.bin"},
+                CommandLineTools.COMMAND_OK_STATUS, expectedOut, "");
+
+        try (SensitivityResultBinaryReader reader = new SensitivityResultBinaryReader(fileSystem.getPath("output.bin"))) {
+            assertEquals(1, reader.getContingencyStatuses().size());
+            assertEquals("NHV1_NHV2_2", reader.getContingencyStatuses().get(0).getContingency().getId());
+            assertEquals(SensitivityAnalysisResult.Status.CONVERGED, reader.getContingencyStatuses().get(0).getStatus());
+            SensitivityResultModelWriter writer = new SensitivityResultModelWriter();
+            reader.read("NHV1_NHV2_2", writer);
+            List<SensitivityValue> values = writer.getValues();
+            assertEquals(2, values.size());
+            assertEquals(0, values.get(0).getFactorIndex());
+            assertEquals(0, values.get(0).getContingencyIndex());
+            assertEquals(1, values.get(1).getFactorIndex());
+            assertEquals(0, values.get(1).getContingencyIndex());
+        }
+    }
+
     @Test
     public void checkFailsWhenNetworkFileNotFound() throws IOException {
         assertCommand(new String[] {COMMAND_NAME,
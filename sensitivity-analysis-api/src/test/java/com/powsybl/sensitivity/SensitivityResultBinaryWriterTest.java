@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.sensitivity;
+
+import com.powsybl.commons.AbstractConverterTest;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class SensitivityResultBinaryWriterTest extends AbstractConverterTest {
+
+    private static final int CONTINGENCY_COUNT = 5;
+
+    private static final int FACTOR_COUNT = 1000;
+
+    private static SensitivityValueStore createValues() {
+        // interleaved contingencies, mix of random, close and round values
+        Random random = new Random(42);
+        SensitivityValueStore values = new SensitivityValueStore();
+        for (int factorIndex = 0; factorIndex < FACTOR_COUNT; factorIndex++) {
+            for (int contingencyIndex = -1; contingencyIndex < CONTINGENCY_COUNT; contingencyIndex++) {
+                double value;
+                if (factorIndex % 3 == 0) {
+                    value = random.nextGaussian();
+                } else if (factorIndex % 3 == 1) {
+                    value = 0.5 + factorIndex * 1e-9;
+                } else {
+                    value = Math.round(random.nextDouble() * 100);
+                }
+                double functionReference = contingencyIndex == 2 ? Double.NaN : 100 + contingencyIndex;
+                values.add(factorIndex, contingencyIndex, value, functionReference);
+            }
+        }
+        return values;
+    }
+
+    private static List<SensitivityFactor> createFactors() {
+        List<SensitivityFactor> factors = new ArrayList<>(FACTOR_COUNT);
+        for (int factorIndex = 0; factorIndex < FACTOR_COUNT; factorIndex++) {
+            factors.add(new SensitivityFactor(SensitivityFunctionType.BRANCH_ACTIVE_POWER_1, "l" + factorIndex,
+                    SensitivityVariableType.INJECTION_ACTIVE_POWER, "g", false, ContingencyContext.all()));
+        }
+        return factors;
+    }
+
+    private static List<SensitivityAnalysisResult.SensitivityContingencyStatus> createStatuses() {
+        List<SensitivityAnalysisResult.SensitivityContingencyStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < CONTINGENCY_COUNT; i++) {
+            statuses.add(new SensitivityAnalysisResult.SensitivityContingencyStatus(new Contingency("c" + i),
+                    i == 3 ? SensitivityAnalysisResult.Status.FAILED : SensitivityAnalysisResult.Status.CONVERGED));
+        }
+        return statuses;
+    }
+
+    private static SensitivityValueStore filter(SensitivityValueStore values, int contingencyIndex) {
+        SensitivityValueStore filtered = new SensitivityValueStore();
+        for (int i = 0; i < values.size(); i++) {
+            if (values.getContingencyIndex(i) == contingencyIndex) {
+                filtered.add(values.getFactorIndex(i), values.getContingencyIndex(i), values.getValue(i), values.getFunctionReference(i));
+            }
+        }
+        return filtered;
+    }
+
+    private static void assertValuesEquals(SensitivityValueStore expected, SensitivityValueStore actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getFactorIndex(i), actual.getFactorIndex(i));
+            assertEquals(expected.getContingencyIndex(i), actual.getContingencyIndex(i));
+            assertEquals(Double.doubleToRawLongBits(expected.getValue(i)), Double.doubleToRawLongBits(actual.getValue(i)));
+            assertEquals(Double.doubleToRawLongBits(expected.getFunctionReference(i)), Double.doubleToRawLongBits(actual.getFunctionReference(i)));
+        }
+    }
+
+    private void write(Path file, SensitivityValueStore values, List<SensitivityAnalysisResult.SensitivityContingencyStatus> statuses,
+                       int bufferSize) throws IOException {
+        try (SensitivityResultBinaryWriter writer = new SensitivityResultBinaryWriter(Files.newOutputStream(file), bufferSize)) {
+            values.write(writer);
+            statuses.forEach(writer::writeContingencyStatus);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        SensitivityValueStore values = createValues();
+        List<SensitivityAnalysisResult.SensitivityContingencyStatus> statuses = createStatuses();
+        Path file = tmpDir.resolve("result.bin");
+        write(file, values, statuses, 1000);
+
+        try (SensitivityResultBinaryReader reader = new SensitivityResultBinaryReader(file)) {
+            assertEquals(values.size(), reader.getValueCount());
+            assertEquals(CONTINGENCY_COUNT, reader.getContingencyStatuses().size());
+            assertEquals("c3", reader.getContingencyStatuses().get(3).getContingency().getId());
+            assertEquals(SensitivityAnalysisResult.Status.FAILED, reader.getContingencyStatuses().get(3).getStatus());
+
+            // random access, whatever the order
+            for (int contingencyIndex = CONTINGENCY_COUNT - 1; contingencyIndex >= -1; contingencyIndex--) {
+                SensitivityResultModelWriter writer = new SensitivityResultModelWriter();
+                reader.read(contingencyIndex, writer);
+                assertValuesEquals(filter(values, contingencyIndex), writer.getValueStore());
+                assertTrue(writer.getContingencyStatuses().isEmpty());
+            }
+            SensitivityResultModelWriter writer = new SensitivityResultModelWriter();
+            reader.read("c1", writer);
+            assertValuesEquals(filter(values, 1), writer.getValueStore());
+            writer = new SensitivityResultModelWriter();
+            reader.read((String) null, writer);
+            assertValuesEquals(filter(values, -1), writer.getValueStore());
+            assertThrows(PowsyblException.class, () -> reader.read("unknown", new SensitivityResultModelWriter()));
+
+            // full read gives the results back, grouped by contingency for each buffer
+            writer = new SensitivityResultModelWriter();
+            reader.read(writer);
+            assertEquals(values.size(), writer.getValueStore().size());
+            assertEquals(CONTINGENCY_COUNT, writer.getContingencyStatuses().size());
+            SensitivityAnalysisResult result = new SensitivityAnalysisResult(createFactors(), writer.getContingencyStatuses(), writer.getValueStore());
+            assertEquals(FACTOR_COUNT, result.getValues("c4").size());
+        }
+    }
+
+    @Test
+    public void testCompression() throws IOException {
+        SensitivityValueStore values = createValues();
+        Path file = tmpDir.resolve("result.bin");
+        write(file, values, createStatuses(), SensitivityResultBinaryWriter.DEFAULT_BUFFER_SIZE);
+        // far less than the 24 bytes of the indexes and doubles of each value
+        assertTrue(Files.size(file) < 12L * values.size());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path file = tmpDir.resolve("result.bin");
+        write(file, new SensitivityValueStore(), List.of(), 10);
+        try (SensitivityResultBinaryReader reader = new SensitivityResultBinaryReader(file)) {
+            assertEquals(0, reader.getValueCount());
+            assertTrue(reader.getContingencyStatuses().isEmpty());
+            SensitivityResultModelWriter writer = new SensitivityResultModelWriter();
+            reader.read(-1, writer);
+            assertEquals(0, writer.getValueStore().size());
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Path file = tmpDir.resolve("result.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+        PowsyblException e = assertThrows(PowsyblException.class, () -> new SensitivityResultBinaryReader(file));
+        assertEquals("Invalid sensitivity result binary file", e.getMessage());
+    }
+}
@@ -66,7 +66,7 @@ public abstract class AbstractTimeSeries<P extends AbstractPoint, C extends Data
                 .collect(Collectors.toList());
     }
 
-    private List<C> getCheckedChunks(boolean fillGap) {
+    List<C> getCheckedChunks(boolean fillGap) {
         // sort chunks by offset
         List<C> sortedChunks = getSortedChunks();
         int pointCount = metadata.getIndex().getPointCount();
@@ -159,48 +159,78 @@ public class CalculatedTimeSeries implements DoubleTimeSeries {
         }
     }
 
-    //To remove if we ever get it from somewhere else
-    @FunctionalInterface private interface DoubleIntConsumer { public void accept(double a, int b); }
-
-    private void forEachMaterializedValueIndex(DoubleIntConsumer consumer) {
+    private void checkSynchronized() {
         if (metadata.getIndex() == InfiniteTimeSeriesIndex.INSTANCE) {
             throw new TimeSeriesException("Impossible to fill buffer because calculated time series has not been synchronized on a finite time index");
         }
-        Iterator<DoublePoint> it = iterator();
-        DoublePoint prevPoint = null;
-        while (it.hasNext()) {
-            DoublePoint point = it.next();
-            if (prevPoint != null) {
-                for (int i = prevPoint.getIndex(); i < point.getIndex(); i++) {
-                    consumer.accept(prevPoint.getValue(), i);
-                }
-            }
-            prevPoint = point;
+    }
+
+    /**
+     * Evaluate all the points at once, see {@link NodeCalcVectorEvaluator}. The index is split in ranges on which
+     * each input time series is either constant (a step of a compressed chunk) or stored in an array.
+     */
+    private double[] evaluateAll() {
+        checkSynchronized();
+        TimeSeriesIndex timeSeriesIndex = metadata.getIndex();
+        double[] result = new double[timeSeriesIndex.getPointCount()];
+        List<DoubleTimeSeries> timeSeriesList = loadData();
+        NodeCalc resolvedNodeCalc = resolve(timeSeriesList);
+        if (timeSeriesList.isEmpty()) {
+            Arrays.fill(result, evaluate(resolvedNodeCalc).getValue());
+            return result;
+        }
+        long indexCount = timeSeriesList.stream().map(ts -> ts.getMetadata().getIndex()).distinct().count();
+        if (indexCount > 1) {
+            throw new TimeSeriesException("Time series must have the same index");
+        }
+
+        NodeCalcVectorEvaluator evaluator = NodeCalcVectorEvaluator.compile(resolvedNodeCalc);
+        int inputCount = timeSeriesList.size();
+        DoubleChunkCursor[] cursors = new DoubleChunkCursor[inputCount];
+        for (int k = 0; k < inputCount; k++) {
+            cursors[k] = DoubleChunkCursor.create(timeSeriesList.get(k));
         }
-        if (prevPoint != null) {
-            for (int i = prevPoint.getIndex(); i < metadata.getIndex().getPointCount(); i++) {
-                consumer.accept(prevPoint.getValue(), i);
+        double[][] inputValues = new double[inputCount][];
+        int[] inputOffsets = new int[inputCount];
+        double[] inputConstants = new double[inputCount];
+        int position = 0;
+        while (position < result.length) {
+            int end = result.length;
+            for (int k = 0; k < inputCount; k++) {
+                DoubleChunkCursor cursor = cursors[k];
+                cursor.moveTo(position);
+                end = Math.min(end, cursor.getEnd());
+                inputValues[k] = cursor.getValues();
+                inputOffsets[k] = cursor.getValuesOffset();
+                inputConstants[k] = cursor.getConstant();
             }
+            evaluator.eval(inputValues, inputOffsets, inputConstants, timeSeriesIndex, position, end - position, result);
+            position = end;
         }
+        return result;
     }
 
     @Override
     public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(i + timeSeriesOffset, v));
+        double[] values = evaluateAll();
+        for (int i = 0; i < values.length; i++) {
+            buffer.put(i + timeSeriesOffset, values[i]);
+        }
     }
 
     @Override
     public void fillBuffer(BigDoubleBuffer buffer, long timeSeriesOffset) {
         Objects.requireNonNull(buffer);
-        forEachMaterializedValueIndex((v, i) -> buffer.put(i + timeSeriesOffset, v));
+        double[] values = evaluateAll();
+        for (int i = 0; i < values.length; i++) {
+            buffer.put(i + timeSeriesOffset, values[i]);
+        }
     }
 
     @Override
     public double[] toArray() {
-        DoubleBuffer buffer = DoubleBuffer.allocate(metadata.getIndex().getPointCount());
-        fillBuffer(buffer, 0);
-        return buffer.array();
+        return evaluateAll();
     }
 
     @Override
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import java.nio.DoubleBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Walk through the values of a double time series by pieces: a piece is either a step of a compressed chunk, whose
+ * value is constant, or the remaining part of an uncompressed chunk.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+final class DoubleChunkCursor {
+
+    private final Iterator<DoubleDataChunk> chunks;
+
+    private DoubleDataChunk chunk;
+
+    /* current step of a compressed chunk */
+    private int step;
+
+    private int position;
+
+    private int end;
+
+    private double[] values;
+
+    private int valuesOffset;
+
+    private double constant;
+
+    /**
+     * @param chunks sorted chunks covering all the points of the index, without gap
+     */
+    DoubleChunkCursor(List<DoubleDataChunk> chunks) {
+        this.chunks = Objects.requireNonNull(chunks).iterator();
+    }
+
+    static DoubleChunkCursor create(DoubleTimeSeries timeSeries) {
+        if (timeSeries instanceof StoredDoubleTimeSeries) {
+            return new DoubleChunkCursor(((StoredDoubleTimeSeries) timeSeries).getCheckedChunks(true));
+        }
+        return new DoubleChunkCursor(List.of(new UncompressedDoubleDataChunk(0, timeSeries.toArray())));
+    }
+
+    private void nextChunk() {
+        if (!chunks.hasNext()) {
+            throw new TimeSeriesException("No value at point " + position);
+        }
+        chunk = chunks.next();
+        step = 0;
+        if (chunk instanceof CompressedDoubleDataChunk) {
+            values = null;
+            CompressedDoubleDataChunk compressedChunk = (CompressedDoubleDataChunk) chunk;
+            constant = compressedChunk.getStepValues()[0];
+            end = chunk.getOffset() + compressedChunk.getStepLengths()[0];
+        } else {
+            if (chunk instanceof UncompressedDoubleDataChunk) {
+                values = ((UncompressedDoubleDataChunk) chunk).getValues();
+            } else {
+                values = new double[chunk.getLength()];
+                chunk.fillBuffer(DoubleBuffer.wrap(values), -chunk.getOffset());
+            }
+            end = chunk.getOffset() + chunk.getLength();
+        }
+    }
+
+    /**
+     * Move to the piece holding the point at the given position, which is either in the current piece or the first
+     * point of the next one.
+     */
+    void moveTo(int position) {
+        this.position = position;
+        if (chunk == null || position == end) {
+            if (chunk != null && values == null && step + 1 < ((CompressedDoubleDataChunk) chunk).getStepValues().length) {
+                CompressedDoubleDataChunk compressedChunk = (CompressedDoubleDataChunk) chunk;
+                step++;
+                constant = compressedChunk.getStepValues()[step];
+                end += compressedChunk.getStepLengths()[step];
+            } else {
+                nextChunk();
+            }
+        }
+        if (values != null) {
+            valuesOffset = position - chunk.getOffset();
+        }
+    }
+
+    /**
+     * End (exclusive) of the current piece.
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Values of the current piece, or null if it is constant.
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Position in {@link #getValues()} of the value of the current point.
+     */
+    int getValuesOffset() {
+        return valuesOffset;
+    }
+
+    /**
+     * Value of the current piece if it is constant.
+     */
+    double getConstant() {
+        return constant;
+    }
+}
@@ -0,0 +1,370 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.commons.json.JsonUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A read only time series store backed by a file written by {@link MappedTimeSeriesStoreWriter}.
+ * <p>
+ * The file holds the data chunks of each version of each time series, followed by an index giving for each of them
+ * its point range and position in the file. Only the index is loaded on opening: chunks are read from memory mapped
+ * buffers when a time series is requested, so that a store much larger than the heap can be queried. Requesting a
+ * point range with {@link #getDoubleTimeSeries(String, int, int, int)} only reads the chunks overlapping it.
+ * <p>
+ * File layout, all numbers being little endian:
+ * <pre>
+ * header:  magic number (int), format version (int), index position (long)
+ * chunks:  uncompressed: values (double * length)
+ *          compressed: step values (double * step count), step lengths (int * step count), padding to 8 bytes
+ * index:   time series count (int), then for each time series:
+ *              metadata JSON size (int), metadata JSON (UTF-8), version count (int), then for each version:
+ *                  version (int), chunk count (int), then for each chunk:
+ *                      offset (int), length (int), step count (int, -1 if uncompressed), position (long)
+ * </pre>
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public final class MappedTimeSeriesStore implements ReadOnlyTimeSeriesStore {
+
+    static final int MAGIC_NUMBER = 0x50545353; // PTSS
+
+    static final int FORMAT_VERSION = 1;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+
+    static final long INDEX_POSITION_OFFSET = 2L * Integer.BYTES;
+
+    static final int UNCOMPRESSED = -1;
+
+    /**
+     * Chunks are mapped by segments of at most this size, a larger chunk having its own segment.
+     */
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    static final class ChunkEntry {
+
+        private final int offset;
+
+        private final int length;
+
+        private final int stepCount;
+
+        private final long position;
+
+        /* mapped segment holding the chunk, and position of the chunk in it */
+        private ByteBuffer segment;
+
+        private int segmentPosition;
+
+        ChunkEntry(int offset, int length, int stepCount, long position) {
+            this.offset = offset;
+            this.length = length;
+            this.stepCount = stepCount;
+            this.position = position;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+
+        int getLength() {
+            return length;
+        }
+
+        int getStepCount() {
+            return stepCount;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        long getByteSize() {
+            if (stepCount == UNCOMPRESSED) {
+                return (long) length * Double.BYTES;
+            }
+            long size = (long) stepCount * (Double.BYTES + Integer.BYTES);
+            return (size + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+        }
+
+        /**
+         * Read the points from {@code first} to {@code last} (included), which have to be in the chunk range.
+         */
+        DoubleDataChunk read(int first, int last) {
+            ByteBuffer buffer = segment.duplicate().order(BYTE_ORDER);
+            if (stepCount == UNCOMPRESSED) {
+                double[] values = new double[last - first + 1];
+                buffer.position(segmentPosition + (first - offset) * Double.BYTES);
+                buffer.asDoubleBuffer().get(values);
+                return new UncompressedDoubleDataChunk(first, values);
+            }
+            double[] stepValues = new double[stepCount];
+            int[] stepLengths = new int[stepCount];
+            buffer.position(segmentPosition);
+            buffer.asDoubleBuffer().get(stepValues);
+            buffer.position(segmentPosition + stepCount * Double.BYTES);
+            buffer.asIntBuffer().get(stepLengths);
+            DoubleDataChunk chunk = new CompressedDoubleDataChunk(offset, length, stepValues, stepLengths);
+            if (first > offset) {
+                chunk = chunk.splitAt(first).getChunk2();
+            }
+            if (last < offset + length - 1) {
+                chunk = chunk.splitAt(last + 1).getChunk1();
+            }
+            return chunk;
+        }
+    }
+
+    private static final class TimeSeriesEntry {
+
+        private final TimeSeriesMetadata metadata;
+
+        private final SortedMap<Integer, List<ChunkEntry>> chunksByVersion = new TreeMap<>();
+
+        private TimeSeriesEntry(TimeSeriesMetadata metadata) {
+            this.metadata = metadata;
+        }
+    }
+
+    private final Map<String, TimeSeriesEntry> timeSeriesEntries = new LinkedHashMap<>();
+
+    private MappedTimeSeriesStore(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            throw new TimeSeriesException("Invalid time series store file");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(BYTE_ORDER);
+        if (header.getInt() != MAGIC_NUMBER) {
+            throw new TimeSeriesException("Invalid time series store file");
+        }
+        int formatVersion = header.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new TimeSeriesException("Unsupported time series store format version " + formatVersion);
+        }
+        long indexPosition = header.getLong();
+        if (indexPosition < HEADER_SIZE || indexPosition > fileSize || fileSize - indexPosition > Integer.MAX_VALUE) {
+            throw new TimeSeriesException("Invalid time series store index position " + indexPosition + ", the file has not been closed properly");
+        }
+        readIndex(channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, fileSize - indexPosition).order(BYTE_ORDER));
+        mapSegments(channel);
+    }
+
+    public static MappedTimeSeriesStore open(Path file) {
+        Objects.requireNonNull(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // mapped buffers stay valid after the channel is closed
+            return new MappedTimeSeriesStore(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readIndex(ByteBuffer index) {
+        int timeSeriesCount = index.getInt();
+        for (int i = 0; i < timeSeriesCount; i++) {
+            byte[] json = new byte[index.getInt()];
+            index.get(json);
+            TimeSeriesMetadata metadata = JsonUtil.parseJson(new String(json, StandardCharsets.UTF_8), TimeSeriesMetadata::parseJson);
+            TimeSeriesEntry entry = new TimeSeriesEntry(metadata);
+            int versionCount = index.getInt();
+            for (int v = 0; v < versionCount; v++) {
+                int version = index.getInt();
+                int chunkCount = index.getInt();
+                List<ChunkEntry> chunks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    int offset = index.getInt();
+                    int length = index.getInt();
+                    int stepCount = index.getInt();
+                    long position = index.getLong();
+                    chunks.add(new ChunkEntry(offset, length, stepCount, position));
+                }
+                entry.chunksByVersion.put(version, chunks);
+            }
+            timeSeriesEntries.put(metadata.getName(), entry);
+        }
+    }
+
+    /**
+     * Map the chunks by segments. As chunks are written one after the other, consecutive chunks are grouped until the
+     * segment reaches its maximum size.
+     */
+    private void mapSegments(FileChannel channel) throws IOException {
+        List<ChunkEntry> chunks = timeSeriesEntries.values().stream()
+                .flatMap(e -> e.chunksByVersion.values().stream())
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(ChunkEntry::getPosition))
+                .collect(Collectors.toList());
+        int first = 0;
+        while (first < chunks.size()) {
+            long start = chunks.get(first).getPosition();
+            int last = first;
+            long end = start + chunks.get(first).getByteSize();
+            while (last + 1 < chunks.size()) {
+                ChunkEntry next = chunks.get(last + 1);
+                long nextEnd = next.getPosition() + next.getByteSize();
+                if (nextEnd - start > MAX_SEGMENT_SIZE) {
+                    break;
+                }
+                end = nextEnd;
+                last++;
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new TimeSeriesException("Chunk at position " + start + " is too large to be mapped");
+            }
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            for (int i = first; i <= last; i++) {
+                ChunkEntry chunk = chunks.get(i);
+                chunk.segment = segment;
+                chunk.segmentPosition = (int) (chunk.getPosition() - start);
+            }
+            first = last + 1;
+        }
+    }
+
+    private static int findFirstChunk(List<ChunkEntry> chunks, int point) {
+        // chunks are sorted by offset and do not overlap
+        int low = 0;
+        int high = chunks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            ChunkEntry chunk = chunks.get(middle);
+            if (chunk.getOffset() + chunk.getLength() <= point) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static DoubleTimeSeries read(TimeSeriesEntry entry, List<ChunkEntry> chunkEntries, int firstPoint, int lastPoint) {
+        List<DoubleDataChunk> chunks = new ArrayList<>();
+        for (int i = findFirstChunk(chunkEntries, firstPoint); i < chunkEntries.size(); i++) {
+            ChunkEntry chunk = chunkEntries.get(i);
+            if (chunk.getOffset() > lastPoint) {
+                break;
+            }
+            chunks.add(chunk.read(Math.max(firstPoint, chunk.getOffset()), Math.min(lastPoint, chunk.getOffset() + chunk.getLength() - 1)));
+        }
+        return new StoredDoubleTimeSeries(entry.metadata, chunks);
+    }
+
+    /**
+     * Get the points from {@code firstPoint} to {@code lastPoint} (included) of a version of a time series. The
+     * returned time series has the index of the stored one, without values outside of the range.
+     */
+    public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version, int firstPoint, int lastPoint) {
+        Objects.requireNonNull(timeSeriesName);
+        if (firstPoint < 0 || lastPoint < firstPoint) {
+            throw new IllegalArgumentException("Invalid point range [" + firstPoint + ", " + lastPoint + "]");
+        }
+        TimeSeriesEntry entry = timeSeriesEntries.get(timeSeriesName);
+        if (entry == null || entry.metadata.getDataType() != TimeSeriesDataType.DOUBLE) {
+            return Optional.empty();
+        }
+        List<ChunkEntry> chunks = entry.chunksByVersion.get(version);
+        return chunks == null ? Optional.empty() : Optional.of(read(entry, chunks, firstPoint, lastPoint));
+    }
+
+    @Override
+    public Set<String> getTimeSeriesNames(TimeSeriesFilter filter) {
+        return Collections.unmodifiableSet(timeSeriesEntries.keySet());
+    }
+
+    @Override
+    public boolean timeSeriesExists(String timeSeriesName) {
+        return timeSeriesEntries.containsKey(timeSeriesName);
+    }
+
+    @Override
+    public Optional<TimeSeriesMetadata> getTimeSeriesMetadata(String timeSeriesName) {
+        Objects.requireNonNull(timeSeriesName);
+        return Optional.ofNullable(timeSeriesEntries.get(timeSeriesName)).map(e -> e.metadata);
+    }
+
+    @Override
+    public List<TimeSeriesMetadata> getTimeSeriesMetadata(Set<String> timeSeriesNames) {
+        Objects.requireNonNull(timeSeriesNames);
+        return timeSeriesNames.stream()
+                .map(this::getTimeSeriesMetadata)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions() {
+        return timeSeriesEntries.values().stream()
+                .flatMap(e -> e.chunksByVersion.keySet().stream())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions(String timeSeriesName) {
+        Objects.requireNonNull(timeSeriesName);
+        TimeSeriesEntry entry = timeSeriesEntries.get(timeSeriesName);
+        return entry == null ? Collections.emptySet() : Collections.unmodifiableSet(entry.chunksByVersion.keySet());
+    }
+
+    @Override
+    public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version) {
+        return getDoubleTimeSeries(timeSeriesName, version, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
+        Objects.requireNonNull(timeSeriesNames);
+        return timeSeriesNames.stream()
+                .map(timeSeriesName -> getDoubleTimeSeries(timeSeriesName, version))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(int version) {
+        return getDoubleTimeSeries(timeSeriesEntries.keySet(), version);
+    }
+
+    @Override
+    public Optional<StringTimeSeries> getStringTimeSeries(String timeSeriesName, int version) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<StringTimeSeries> getStringTimeSeries(Set<String> timeSeriesNames, int version) {
+        return Collections.emptyList();
+    }
+
+    private static UnsupportedOperationException createNotImplementedException() {
+        return new UnsupportedOperationException("Not implemented");
+    }
+
+    @Override
+    public void addListener(TimeSeriesStoreListener listener) {
+        throw createNotImplementedException();
+    }
+
+    @Override
+    public void removeListener(TimeSeriesStoreListener listener) {
+        throw createNotImplementedException();
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.commons.json.JsonUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static com.powsybl.timeseries.MappedTimeSeriesStore.*;
+
+/**
+ * Write double time series, chunk by chunk, in the file format read by {@link MappedTimeSeriesStore}.
+ * <pre>
+ * try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+ *     writer.write(timeSeries, 1);
+ * }
+ * </pre>
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class MappedTimeSeriesStoreWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+
+    /* position in the file of the start of the buffer */
+    private long bufferPosition = 0;
+
+    private final Map<String, TimeSeriesMetadata> metadataByName = new LinkedHashMap<>();
+
+    private final Map<String, SortedMap<Integer, List<ChunkEntry>>> chunksByName = new HashMap<>();
+
+    private boolean closed = false;
+
+    public MappedTimeSeriesStoreWriter(Path file) {
+        Objects.requireNonNull(file);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.putInt(MAGIC_NUMBER);
+        buffer.putInt(FORMAT_VERSION);
+        // index position, written on close
+        buffer.putLong(-1);
+    }
+
+    private long position() {
+        return bufferPosition + buffer.position();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        bufferPosition += buffer.limit();
+        buffer.clear();
+    }
+
+    private void ensureRemaining(int byteCount) throws IOException {
+        if (buffer.remaining() < byteCount) {
+            flush();
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    private void putDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        putInt(bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            ensureRemaining(1);
+            int count = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, count);
+            written += count;
+        }
+    }
+
+    private void align() throws IOException {
+        while (position() % Double.BYTES != 0) {
+            ensureRemaining(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+    }
+
+    /**
+     * Write the chunks of a version of a time series. A stored time series is written chunk by chunk, other time
+     * series are written as a single chunk, compressed if it is worth it.
+     */
+    public void write(DoubleTimeSeries timeSeries, int version) {
+        Objects.requireNonNull(timeSeries);
+        checkNotClosed();
+        TimeSeriesVersions.check(version);
+        // copy the metadata so that the index of a calculated time series is the resolved one
+        TimeSeriesMetadata metadata = new TimeSeriesMetadata(timeSeries.getMetadata().getName(), timeSeries.getMetadata().getDataType(),
+                timeSeries.getMetadata().getTags(), timeSeries.getMetadata().getIndex());
+        String name = metadata.getName();
+        TimeSeriesMetadata otherMetadata = metadataByName.get(name);
+        if (otherMetadata != null && !otherMetadata.equals(metadata)) {
+            throw new TimeSeriesException("Time series '" + name + "' already written with a different metadata");
+        }
+        SortedMap<Integer, List<ChunkEntry>> versions = chunksByName.computeIfAbsent(name, k -> new TreeMap<>());
+        if (versions.containsKey(version)) {
+            throw new TimeSeriesException("Version " + version + " of time series '" + name + "' already written");
+        }
+        List<DoubleDataChunk> chunks;
+        if (timeSeries instanceof StoredDoubleTimeSeries) {
+            chunks = ((StoredDoubleTimeSeries) timeSeries).getCheckedChunks(false);
+        } else {
+            chunks = List.of(new UncompressedDoubleDataChunk(0, timeSeries.toArray()).tryToCompress());
+        }
+        List<ChunkEntry> entries = new ArrayList<>(chunks.size());
+        try {
+            for (DoubleDataChunk chunk : chunks) {
+                entries.add(writeChunk(chunk));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        metadataByName.put(name, metadata);
+        versions.put(version, entries);
+    }
+
+    private ChunkEntry writeChunk(DoubleDataChunk chunk) throws IOException {
+        long chunkPosition = position();
+        if (chunk instanceof CompressedDoubleDataChunk) {
+            CompressedDoubleDataChunk compressedChunk = (CompressedDoubleDataChunk) chunk;
+            for (double value : compressedChunk.getStepValues()) {
+                putDouble(value);
+            }
+            for (int length : compressedChunk.getStepLengths()) {
+                putInt(length);
+            }
+            align();
+            return new ChunkEntry(chunk.getOffset(), chunk.getLength(), compressedChunk.getStepValues().length, chunkPosition);
+        } else {
+            double[] values;
+            if (chunk instanceof UncompressedDoubleDataChunk) {
+                values = ((UncompressedDoubleDataChunk) chunk).getValues();
+            } else {
+                values = new double[chunk.getLength()];
+                chunk.fillBuffer(DoubleBuffer.wrap(values), -chunk.getOffset());
+            }
+            for (double value : values) {
+                putDouble(value);
+            }
+            return new ChunkEntry(chunk.getOffset(), chunk.getLength(), UNCOMPRESSED, chunkPosition);
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        putInt(metadataByName.size());
+        for (TimeSeriesMetadata metadata : metadataByName.values()) {
+            putBytes(JsonUtil.toJson(metadata::writeJson).getBytes(StandardCharsets.UTF_8));
+            SortedMap<Integer, List<ChunkEntry>> versions = chunksByName.get(metadata.getName());
+            putInt(versions.size());
+            for (Map.Entry<Integer, List<ChunkEntry>> e : versions.entrySet()) {
+                putInt(e.getKey());
+                putInt(e.getValue().size());
+                for (ChunkEntry entry : e.getValue()) {
+                    putInt(entry.getOffset());
+                    putInt(entry.getLength());
+                    putInt(entry.getStepCount());
+                    putLong(entry.getPosition());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexPosition = position();
+            writeIndex();
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).order(BYTE_ORDER);
+            header.putLong(indexPosition).flip();
+            long headerPosition = INDEX_POSITION_OFFSET;
+            while (header.hasRemaining()) {
+                headerPosition += channel.write(header, headerPosition);
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
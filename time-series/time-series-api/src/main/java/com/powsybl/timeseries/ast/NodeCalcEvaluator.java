@@ -39,23 +39,25 @@ public class NodeCalcEvaluator implements NodeCalcVisitor<Double, DoubleMultiPoi
         return nodeCalc.toDouble();
     }
 
+    static double eval(BinaryOperation.Operator operator, double left, double right) {
+        switch (operator) {
+            case PLUS: return left + right;
+            case MINUS: return left - right;
+            case MULTIPLY: return left * right;
+            case DIVIDE: return left / right;
+            case LESS_THAN: return left < right ? 1d : 0d;
+            case LESS_THAN_OR_EQUALS_TO: return left <= right ? 1d : 0d;
+            case GREATER_THAN: return left > right ? 1d : 0d;
+            case GREATER_THAN_OR_EQUALS_TO: return left >= right ? 1d : 0d;
+            case EQUALS: return left == right ? 1d : 0d;
+            case NOT_EQUALS: return left != right ? 1d : 0d;
+            default: throw new AssertionError("Unexpected operator value: " + operator);
+        }
+    }
+
     @Override
     public Double visit(BinaryOperation nodeCalc, DoubleMultiPoint multiPoint, Double left, Double right) {
-        double leftValue = left;
-        double rightValue = right;
-        switch (nodeCalc.getOperator()) {
-            case PLUS: return leftValue + rightValue;
-            case MINUS: return leftValue - rightValue;
-            case MULTIPLY: return leftValue * rightValue;
-            case DIVIDE: return leftValue / rightValue;
-            case LESS_THAN: return leftValue < rightValue ? 1d : 0d;
-            case LESS_THAN_OR_EQUALS_TO: return leftValue <= rightValue ? 1d : 0d;
-            case GREATER_THAN: return leftValue > rightValue ? 1d : 0d;
-            case GREATER_THAN_OR_EQUALS_TO: return leftValue >= rightValue ? 1d : 0d;
-            case EQUALS: return leftValue == rightValue ? 1d : 0d;
-            case NOT_EQUALS: return leftValue != rightValue ? 1d : 0d;
-            default: throw new AssertionError("Unexpected operator value: " + nodeCalc.getOperator());
-        }
+        return eval(nodeCalc.getOperator(), left, right);
     }
 
     @Override
@@ -63,15 +65,18 @@ public class NodeCalcEvaluator implements NodeCalcVisitor<Double, DoubleMultiPoi
         return Pair.of(nodeCalc.getLeft(), nodeCalc.getRight());
     }
 
+    static double eval(UnaryOperation.Operator operator, double value) {
+        switch (operator) {
+            case ABS: return Math.abs(value);
+            case NEGATIVE: return -value;
+            case POSITIVE: return value;
+            default: throw new AssertionError("Unexpected operator value: " + operator);
+        }
+    }
+
     @Override
     public Double visit(UnaryOperation nodeCalc, DoubleMultiPoint multiPoint, Double child) {
-        double childValue = child;
-        switch (nodeCalc.getOperator()) {
-            case ABS: return Math.abs(childValue);
-            case NEGATIVE: return -childValue;
-            case POSITIVE: return childValue;
-            default: throw new AssertionError("Unexpected operator value: " + nodeCalc.getOperator());
-        }
+        return eval(nodeCalc.getOperator(), child);
     }
 
     @Override
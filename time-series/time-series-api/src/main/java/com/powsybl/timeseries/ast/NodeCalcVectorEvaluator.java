@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.ast;
+
+import com.powsybl.timeseries.TimeSeriesIndex;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Evaluate a resolved {@link NodeCalc} on a range of points at once, instead of walking the tree for each point as
+ * {@link NodeCalcEvaluator} does.
+ * <p>
+ * The tree is compiled once in a stack program, constant sub trees being folded. The program is then run on tiles of
+ * points, each operation looping over primitive arrays. Inputs constant over the evaluated range, such as a step of a
+ * compressed chunk, are kept as scalars, and if all of them are constant the program is run only once for the
+ * whole range.
+ * <p>
+ * An instance holds its work arrays and is not thread safe.
+ *
+ * @see NodeCalcEvaluator
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public final class NodeCalcVectorEvaluator {
+
+    private static final int TILE_SIZE = 1024;
+
+    private static final int CONSTANT = 0;
+    private static final int LOAD = 1;
+    private static final int TIME = 2;
+    private static final int BINARY = 3;
+    private static final int UNARY = 4;
+    private static final int MIN = 5;
+    private static final int MAX = 6;
+
+    private static final BinaryOperation.Operator[] BINARY_OPERATORS = BinaryOperation.Operator.values();
+    private static final UnaryOperation.Operator[] UNARY_OPERATORS = UnaryOperation.Operator.values();
+
+    private final int[] codes;
+
+    /* time series num for LOAD, operator ordinal for BINARY and UNARY */
+    private final int[] arguments;
+
+    /* value for CONSTANT, MIN and MAX */
+    private final double[] constants;
+
+    private final double[][] registers;
+
+    private final boolean[] scalar;
+
+    private final double[] scalarValues;
+
+    private NodeCalcVectorEvaluator(Compiler compiler) {
+        codes = compiler.codes.toArray();
+        arguments = compiler.arguments.toArray();
+        constants = compiler.constants.toArray();
+        registers = new double[compiler.maxDepth][];
+        scalar = new boolean[compiler.maxDepth];
+        scalarValues = new double[compiler.maxDepth];
+    }
+
+    /**
+     * Compile a node calc, in which time series names have been resolved to time series nums.
+     */
+    public static NodeCalcVectorEvaluator compile(NodeCalc nodeCalc) {
+        Compiler compiler = new Compiler();
+        nodeCalc.accept(compiler, null, 0);
+        return new NodeCalcVectorEvaluator(compiler);
+    }
+
+    /**
+     * Evaluate the points {@code start} to {@code start + length - 1} of the index.
+     *
+     * @param inputValues for each time series num, an array holding its values on the range, or null if it is
+     *                    constant on the range
+     * @param inputOffsets for each time series num, position in its array of the value of point {@code start}
+     * @param inputConstants for each time series num constant on the range, its value
+     * @param index the time series index, used by time nodes
+     * @param start first point to evaluate
+     * @param length number of points to evaluate
+     * @param result array in which the value of point {@code i} is written at position {@code i}
+     */
+    public void eval(double[][] inputValues, int[] inputOffsets, double[] inputConstants, TimeSeriesIndex index,
+                     int start, int length, double[] result) {
+        Objects.requireNonNull(inputValues);
+        Objects.requireNonNull(index);
+        Objects.requireNonNull(result);
+        boolean constantRange = true;
+        for (double[] values : inputValues) {
+            if (values != null) {
+                constantRange = false;
+                break;
+            }
+        }
+        if (constantRange) {
+            // same value for all the points, like the point by point evaluation, time is the one of the first point
+            run(inputValues, inputOffsets, inputConstants, index, start, start, 1, true);
+            Arrays.fill(result, start, start + length, scalarValues[0]);
+            return;
+        }
+        for (int tileStart = start; tileStart < start + length; tileStart += TILE_SIZE) {
+            int tileLength = Math.min(TILE_SIZE, start + length - tileStart);
+            run(inputValues, inputOffsets, inputConstants, index, start, tileStart, tileLength, false);
+            if (scalar[0]) {
+                Arrays.fill(result, tileStart, tileStart + tileLength, scalarValues[0]);
+            } else {
+                System.arraycopy(registers[0], 0, result, tileStart, tileLength);
+            }
+        }
+    }
+
+    private double[] getRegister(int r) {
+        if (registers[r] == null) {
+            registers[r] = new double[TILE_SIZE];
+        }
+        return registers[r];
+    }
+
+    private void run(double[][] inputValues, int[] inputOffsets, double[] inputConstants, TimeSeriesIndex index,
+                     int start, int tileStart, int tileLength, boolean constantRange) {
+        int sp = -1;
+        for (int pc = 0; pc < codes.length; pc++) {
+            switch (codes[pc]) {
+                case CONSTANT:
+                    sp++;
+                    scalar[sp] = true;
+                    scalarValues[sp] = constants[pc];
+                    break;
+
+                case LOAD:
+                    sp++;
+                    load(sp, arguments[pc], inputValues, inputOffsets, inputConstants, tileStart - start, tileLength);
+                    break;
+
+                case TIME:
+                    sp++;
+                    loadTime(sp, index, tileStart, tileLength, constantRange);
+                    break;
+
+                case BINARY:
+                    sp--;
+                    binary(BINARY_OPERATORS[arguments[pc]], sp, tileLength);
+                    break;
+
+                case UNARY:
+                    unary(UNARY_OPERATORS[arguments[pc]], sp, tileLength);
+                    break;
+
+                case MIN:
+                    min(constants[pc], sp, tileLength);
+                    break;
+
+                case MAX:
+                    max(constants[pc], sp, tileLength);
+                    break;
+
+                default:
+                    throw new AssertionError("Unexpected code: " + codes[pc]);
+            }
+        }
+    }
+
+    private void load(int r, int timeSeriesNum, double[][] inputValues, int[] inputOffsets, double[] inputConstants,
+                      int shift, int length) {
+        double[] values = inputValues[timeSeriesNum];
+        if (values == null) {
+            scalar[r] = true;
+            scalarValues[r] = inputConstants[timeSeriesNum];
+        } else {
+            scalar[r] = false;
+            System.arraycopy(values, inputOffsets[timeSeriesNum] + shift, getRegister(r), 0, length);
+        }
+    }
+
+    private void loadTime(int r, TimeSeriesIndex index, int tileStart, int length, boolean constantRange) {
+        if (constantRange) {
+            scalar[r] = true;
+            scalarValues[r] = index.getTimeAt(tileStart);
+        } else {
+            scalar[r] = false;
+            double[] x = getRegister(r);
+            for (int i = 0; i < length; i++) {
+                x[i] = index.getTimeAt(tileStart + i);
+            }
+        }
+    }
+
+    private void toVector(int r, int length) {
+        if (scalar[r]) {
+            scalar[r] = false;
+            Arrays.fill(getRegister(r), 0, length, scalarValues[r]);
+        }
+    }
+
+    private void binary(BinaryOperation.Operator operator, int r, int length) {
+        if (scalar[r] && scalar[r + 1]) {
+            scalarValues[r] = NodeCalcEvaluator.eval(operator, scalarValues[r], scalarValues[r + 1]);
+            return;
+        }
+        toVector(r, length);
+        toVector(r + 1, length);
+        double[] x = registers[r];
+        double[] y = registers[r + 1];
+        switch (operator) {
+            case PLUS:
+                for (int i = 0; i < length; i++) {
+                    x[i] += y[i];
+                }
+                break;
+            case MINUS:
+                for (int i = 0; i < length; i++) {
+                    x[i] -= y[i];
+                }
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) {
+                    x[i] *= y[i];
+                }
+                break;
+            case DIVIDE:
+                for (int i = 0; i < length; i++) {
+                    x[i] /= y[i];
+                }
+                break;
+            default:
+                // comparisons
+                for (int i = 0; i < length; i++) {
+                    x[i] = NodeCalcEvaluator.eval(operator, x[i], y[i]);
+                }
+                break;
+        }
+    }
+
+    private void unary(UnaryOperation.Operator operator, int r, int length) {
+        if (scalar[r]) {
+            scalarValues[r] = NodeCalcEvaluator.eval(operator, scalarValues[r]);
+            return;
+        }
+        double[] x = registers[r];
+        switch (operator) {
+            case ABS:
+                for (int i = 0; i < length; i++) {
+                    x[i] = Math.abs(x[i]);
+                }
+                break;
+            case NEGATIVE:
+                for (int i = 0; i < length; i++) {
+                    x[i] = -x[i];
+                }
+                break;
+            case POSITIVE:
+                break;
+            default:
+                throw new AssertionError("Unexpected operator value: " + operator);
+        }
+    }
+
+    private void min(double value, int r, int length) {
+        if (scalar[r]) {
+            scalarValues[r] = Math.min(scalarValues[r], value);
+            return;
+        }
+        double[] x = registers[r];
+        for (int i = 0; i < length; i++) {
+            x[i] = Math.min(x[i], value);
+        }
+    }
+
+    private void max(double value, int r, int length) {
+        if (scalar[r]) {
+            scalarValues[r] = Math.max(scalarValues[r], value);
+            return;
+        }
+        double[] x = registers[r];
+        for (int i = 0; i < length; i++) {
+            x[i] = Math.max(x[i], value);
+        }
+    }
+
+    /**
+     * Emit the program in post order. Node calc accept methods switch to an iterative traversal for deep trees, so
+     * the compilation does not overflow the stack.
+     */
+    private static final class Compiler implements NodeCalcVisitor<Void, Void> {
+
+        private final TIntArrayList codes = new TIntArrayList();
+        private final TIntArrayList arguments = new TIntArrayList();
+        private final TDoubleArrayList constants = new TDoubleArrayList();
+
+        private int depth = 0;
+        private int maxDepth = 0;
+
+        private void emit(int code, int argument, double constant) {
+            codes.add(code);
+            arguments.add(argument);
+            constants.add(constant);
+        }
+
+        private void push(int code, int argument, double constant) {
+            emit(code, argument, constant);
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private boolean isConstant(int fromEnd) {
+            int pc = codes.size() - 1 - fromEnd;
+            return pc >= 0 && codes.get(pc) == CONSTANT;
+        }
+
+        private double popConstant() {
+            int pc = codes.size() - 1;
+            double value = constants.get(pc);
+            codes.removeAt(pc);
+            arguments.removeAt(pc);
+            constants.removeAt(pc);
+            depth--;
+            return value;
+        }
+
+        private Void pushConstant(double value) {
+            push(CONSTANT, 0, value);
+            return null;
+        }
+
+        @Override
+        public Void visit(IntegerNodeCalc nodeCalc, Void arg) {
+            return pushConstant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Void visit(FloatNodeCalc nodeCalc, Void arg) {
+            return pushConstant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Void visit(DoubleNodeCalc nodeCalc, Void arg) {
+            return pushConstant(nodeCalc.getValue());
+        }
+
+        @Override
+        public Void visit(BigDecimalNodeCalc nodeCalc, Void arg) {
+            return pushConstant(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Void visit(TimeNodeCalc nodeCalc, Void arg, Void child) {
+            push(TIME, 0, 0);
+            return null;
+        }
+
+        @Override
+        public NodeCalc iterate(TimeNodeCalc nodeCalc, Void arg) {
+            return null;
+        }
+
+        @Override
+        public Void visit(BinaryOperation nodeCalc, Void arg, Void left, Void right) {
+            if (isConstant(0) && isConstant(1)) {
+                double rightValue = popConstant();
+                double leftValue = popConstant();
+                return pushConstant(NodeCalcEvaluator.eval(nodeCalc.getOperator(), leftValue, rightValue));
+            }
+            emit(BINARY, nodeCalc.getOperator().ordinal(), 0);
+            depth--;
+            return null;
+        }
+
+        @Override
+        public Pair<NodeCalc, NodeCalc> iterate(BinaryOperation nodeCalc, Void arg) {
+            return Pair.of(nodeCalc.getLeft(), nodeCalc.getRight());
+        }
+
+        @Override
+        public Void visit(UnaryOperation nodeCalc, Void arg, Void child) {
+            if (isConstant(0)) {
+                return pushConstant(NodeCalcEvaluator.eval(nodeCalc.getOperator(), popConstant()));
+            }
+            emit(UNARY, nodeCalc.getOperator().ordinal(), 0);
+            return null;
+        }
+
+        @Override
+        public NodeCalc iterate(UnaryOperation nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Void visit(MinNodeCalc nodeCalc, Void arg, Void child) {
+            if (isConstant(0)) {
+                return pushConstant(Math.min(popConstant(), nodeCalc.getMin()));
+            }
+            emit(MIN, 0, nodeCalc.getMin());
+            return null;
+        }
+
+        @Override
+        public NodeCalc iterate(MinNodeCalc nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Void visit(MaxNodeCalc nodeCalc, Void arg, Void child) {
+            if (isConstant(0)) {
+                return pushConstant(Math.max(popConstant(), nodeCalc.getMax()));
+            }
+            emit(MAX, 0, nodeCalc.getMax());
+            return null;
+        }
+
+        @Override
+        public NodeCalc iterate(MaxNodeCalc nodeCalc, Void arg) {
+            return nodeCalc.getChild();
+        }
+
+        @Override
+        public Void visit(TimeSeriesNameNodeCalc nodeCalc, Void arg) {
+            throw new AssertionError("NodeCalc should have been resolved before");
+        }
+
+        @Override
+        public Void visit(TimeSeriesNumNodeCalc nodeCalc, Void arg) {
+            push(LOAD, nodeCalc.getTimeSeriesNum(), 0);
+            return null;
+        }
+    }
+}
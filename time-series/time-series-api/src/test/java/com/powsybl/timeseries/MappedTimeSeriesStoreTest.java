@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.timeseries.ast.BinaryOperation;
+import com.powsybl.timeseries.ast.IntegerNodeCalc;
+import com.powsybl.timeseries.ast.TimeSeriesNameNodeCalc;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class MappedTimeSeriesStoreTest {
+
+    private static final double NAN = Double.NaN;
+
+    private Path tmpDir;
+
+    private Path file;
+
+    private final TimeSeriesIndex index = new RegularTimeSeriesIndex(0, 19, 1);
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("mapped-store");
+        file = tmpDir.resolve("store.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tmpDir.toFile());
+    }
+
+    private StoredDoubleTimeSeries createA(double factor) {
+        double[] values = new double[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * factor;
+        }
+        // chunks not sorted, with a gap
+        return new StoredDoubleTimeSeries(new TimeSeriesMetadata("a", TimeSeriesDataType.DOUBLE, Map.of("tag", "value"), index),
+                new UncompressedDoubleDataChunk(10, values),
+                new CompressedDoubleDataChunk(0, 8, new double[] {1, 2, 3}, new int[] {2, 5, 1}));
+    }
+
+    private void write() {
+        StoredDoubleTimeSeries b = TimeSeries.createDouble("b", IrregularTimeSeriesIndex.create(Instant.ofEpochMilli(0), Instant.ofEpochMilli(10)), 4, 5);
+        CalculatedTimeSeries c = new CalculatedTimeSeries("c", BinaryOperation.plus(new TimeSeriesNameNodeCalc("a"), new IntegerNodeCalc(1)),
+                new FromStoreTimeSeriesNameResolver(new ReadOnlyTimeSeriesStoreCache(createA(1)), -1));
+        try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+            writer.write(createA(1), 1);
+            writer.write(b, 1);
+            writer.write(createA(2), 2);
+            writer.write(c, 1);
+        }
+    }
+
+    @Test
+    public void testReadWrite() {
+        write();
+        MappedTimeSeriesStore store = MappedTimeSeriesStore.open(file);
+        assertEquals(Set.of("a", "b", "c"), store.getTimeSeriesNames(new TimeSeriesFilter()));
+        assertTrue(store.timeSeriesExists("a"));
+        assertFalse(store.timeSeriesExists("d"));
+        assertEquals(createA(1).getMetadata(), store.getTimeSeriesMetadata("a").orElseThrow());
+        assertEquals(2, store.getTimeSeriesMetadata(Set.of("a", "b", "d")).size());
+        assertEquals(Set.of(1, 2), store.getTimeSeriesDataVersions());
+        assertEquals(Set.of(1, 2), store.getTimeSeriesDataVersions("a"));
+        assertEquals(Set.of(1), store.getTimeSeriesDataVersions("b"));
+        assertTrue(store.getTimeSeriesDataVersions("d").isEmpty());
+
+        double[] expectedA1 = {1, 1, 2, 2, 2, 2, 2, 3, NAN, NAN, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        assertArrayEquals(expectedA1, store.getDoubleTimeSeries("a", 1).orElseThrow().toArray(), 0);
+        assertArrayEquals(createA(2).toArray(), store.getDoubleTimeSeries("a", 2).orElseThrow().toArray(), 0);
+        assertArrayEquals(new double[] {4, 5}, store.getDoubleTimeSeries("b", 1).orElseThrow().toArray(), 0);
+        assertArrayEquals(new double[] {2, 2, 3, 3, 3, 3, 3, 4, NAN, NAN, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+                store.getDoubleTimeSeries("c", 1).orElseThrow().toArray(), 0);
+        assertTrue(store.getDoubleTimeSeries("b", 2).isEmpty());
+        assertTrue(store.getDoubleTimeSeries("d", 1).isEmpty());
+        assertEquals(3, store.getDoubleTimeSeries(1).size());
+        assertEquals(1, store.getDoubleTimeSeries(Set.of("a", "b"), 2).size());
+        assertTrue(store.getStringTimeSeries("a", 1).isEmpty());
+        assertTrue(store.getStringTimeSeries(Set.of("a"), 1).isEmpty());
+
+        // compressed chunks are kept compressed
+        StoredDoubleTimeSeries a = (StoredDoubleTimeSeries) store.getDoubleTimeSeries("a", 1).orElseThrow();
+        assertEquals(2, a.getChunks().size());
+        assertTrue(a.getChunks().get(0).isCompressed());
+        assertFalse(a.getChunks().get(1).isCompressed());
+    }
+
+    @Test
+    public void testPointRange() {
+        write();
+        MappedTimeSeriesStore store = MappedTimeSeriesStore.open(file);
+        assertArrayEquals(new double[] {NAN, NAN, NAN, 2, 2, 2, 2, 3, NAN, NAN, NAN, NAN, NAN, NAN, NAN, NAN, NAN, NAN, NAN, NAN},
+                store.getDoubleTimeSeries("a", 1, 3, 7).orElseThrow().toArray(), 0);
+        assertArrayEquals(new double[] {NAN, NAN, NAN, NAN, NAN, NAN, NAN, 3, NAN, NAN, 0, 1, 2, NAN, NAN, NAN, NAN, NAN, NAN, NAN},
+                store.getDoubleTimeSeries("a", 1, 7, 12).orElseThrow().toArray(), 0);
+        StoredDoubleTimeSeries a = (StoredDoubleTimeSeries) store.getDoubleTimeSeries("a", 2, 15, 30).orElseThrow();
+        assertEquals(1, a.getChunks().size());
+        assertEquals(15, a.getChunks().get(0).getOffset());
+        assertEquals(5, a.getChunks().get(0).getLength());
+        assertTrue(((StoredDoubleTimeSeries) store.getDoubleTimeSeries("a", 1, 8, 9).orElseThrow()).getChunks().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.getDoubleTimeSeries("a", 1, 5, 4));
+    }
+
+    @Test
+    public void testWriteErrors() {
+        try (MappedTimeSeriesStoreWriter writer = new MappedTimeSeriesStoreWriter(file)) {
+            writer.write(createA(1), 1);
+            StoredDoubleTimeSeries a2 = createA(2);
+            TimeSeriesException e = assertThrows(TimeSeriesException.class, () -> writer.write(a2, 1));
+            assertEquals("Version 1 of time series 'a' already written", e.getMessage());
+            StoredDoubleTimeSeries otherA = TimeSeries.createDouble("a", new RegularTimeSeriesIndex(0, 1, 1), 1, 2);
+            e = assertThrows(TimeSeriesException.class, () -> writer.write(otherA, 2));
+            assertEquals("Time series 'a' already written with a different metadata", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        TimeSeriesException e = assertThrows(TimeSeriesException.class, () -> MappedTimeSeriesStore.open(file));
+        assertEquals("Invalid time series store file", e.getMessage());
+
+        // header of a writer which has not been closed
+        ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MappedTimeSeriesStore.MAGIC_NUMBER).putInt(MappedTimeSeriesStore.FORMAT_VERSION).putLong(-1);
+        Files.write(file, header.array());
+        e = assertThrows(TimeSeriesException.class, () -> MappedTimeSeriesStore.open(file));
+        assertEquals("Invalid time series store index position -1, the file has not been closed properly", e.getMessage());
+    }
+}
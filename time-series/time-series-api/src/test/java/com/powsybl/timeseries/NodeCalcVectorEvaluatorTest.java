@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries;
+
+import com.powsybl.timeseries.ast.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class NodeCalcVectorEvaluatorTest {
+
+    private static final int POINT_COUNT = 3000;
+
+    private TimeSeriesIndex index;
+
+    private ReadOnlyTimeSeriesStore store;
+
+    @Before
+    public void setUp() {
+        index = new RegularTimeSeriesIndex(0, (POINT_COUNT - 1) * 1000L, 1000);
+
+        // a: uncompressed, in 2 chunks
+        double[] aValues = new double[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            aValues[i] = Math.sin(i / 10d) * 100;
+        }
+        StoredDoubleTimeSeries a = new StoredDoubleTimeSeries(new TimeSeriesMetadata("a", TimeSeriesDataType.DOUBLE, index),
+                new UncompressedDoubleDataChunk(0, Arrays.copyOfRange(aValues, 0, 1500)),
+                new UncompressedDoubleDataChunk(1500, Arrays.copyOfRange(aValues, 1500, POINT_COUNT)));
+
+        // b: compressed steps, with a gap at the end
+        StoredDoubleTimeSeries b = new StoredDoubleTimeSeries(new TimeSeriesMetadata("b", TimeSeriesDataType.DOUBLE, index),
+                new CompressedDoubleDataChunk(0, 1000, new double[] {1, -2, 3}, new int[] {10, 490, 500}),
+                new UncompressedDoubleDataChunk(1000, new double[] {4, 5, 6}),
+                new CompressedDoubleDataChunk(1003, 1997, new double[] {7, 0}, new int[] {1000, 997}));
+
+        // c: compressed only, steps not aligned with the ones of b
+        StoredDoubleTimeSeries c = new StoredDoubleTimeSeries(new TimeSeriesMetadata("c", TimeSeriesDataType.DOUBLE, index),
+                new CompressedDoubleDataChunk(0, 2500, new double[] {2, 5}, new int[] {700, 1800}));
+
+        store = new ReadOnlyTimeSeriesStoreCache(a, b, c);
+    }
+
+    private CalculatedTimeSeries create(NodeCalc nodeCalc) {
+        CalculatedTimeSeries timeSeries = new CalculatedTimeSeries("calc", nodeCalc, new FromStoreTimeSeriesNameResolver(store, -1));
+        timeSeries.synchronize(index);
+        return timeSeries;
+    }
+
+    /**
+     * Point by point evaluation.
+     */
+    private static double[] evaluatePoints(CalculatedTimeSeries timeSeries) {
+        double[] values = new double[POINT_COUNT];
+        Iterator<DoublePoint> it = timeSeries.iterator();
+        DoublePoint previous = it.next();
+        while (it.hasNext()) {
+            DoublePoint point = it.next();
+            Arrays.fill(values, previous.getIndex(), point.getIndex(), previous.getValue());
+            previous = point;
+        }
+        Arrays.fill(values, previous.getIndex(), POINT_COUNT, previous.getValue());
+        return values;
+    }
+
+    private void assertSameAsPointEvaluation(NodeCalc nodeCalc) {
+        CalculatedTimeSeries timeSeries = create(nodeCalc);
+        double[] expected = evaluatePoints(timeSeries);
+        assertArrayEquals(expected, timeSeries.toArray(), 0d);
+        DoubleBuffer buffer = DoubleBuffer.allocate(POINT_COUNT + 2);
+        timeSeries.fillBuffer(buffer, 2);
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 2, POINT_COUNT + 2), 0d);
+    }
+
+    private static NodeCalc ts(String name) {
+        return new TimeSeriesNameNodeCalc(name);
+    }
+
+    @Test
+    public void testOperations() {
+        List<NodeCalc> nodeCalcs = List.of(
+                BinaryOperation.plus(ts("a"), ts("b")),
+                BinaryOperation.minus(ts("b"), ts("c")),
+                BinaryOperation.multiply(ts("a"), new IntegerNodeCalc(3)),
+                BinaryOperation.div(new DoubleNodeCalc(1.5), ts("c")),
+                BinaryOperation.lessThan(ts("a"), ts("b")),
+                BinaryOperation.lessThanOrEqualsTo(ts("b"), ts("c")),
+                BinaryOperation.greaterThan(ts("a"), new IntegerNodeCalc(50)),
+                BinaryOperation.greaterThanOrEqualsTo(ts("c"), ts("b")),
+                BinaryOperation.equals(ts("b"), new IntegerNodeCalc(5)),
+                BinaryOperation.notEquals(ts("b"), ts("c")),
+                UnaryOperation.abs(ts("a")),
+                UnaryOperation.negative(ts("b")),
+                UnaryOperation.positive(ts("a")),
+                new MinNodeCalc(ts("a"), 20),
+                new MaxNodeCalc(ts("b"), 2),
+                BinaryOperation.multiply(new TimeNodeCalc(ts("b")), new DoubleNodeCalc(2)),
+                BinaryOperation.plus(new TimeNodeCalc(ts("b")), ts("a")));
+        for (NodeCalc nodeCalc : nodeCalcs) {
+            assertSameAsPointEvaluation(nodeCalc);
+        }
+    }
+
+    @Test
+    public void testFusedExpression() {
+        // (abs(a - b * 2) + max(c, 3)) / (b + 1 + 2) with a constant sub tree
+        NodeCalc nodeCalc = BinaryOperation.div(
+                BinaryOperation.plus(UnaryOperation.abs(BinaryOperation.minus(ts("a"), BinaryOperation.multiply(ts("b"), new IntegerNodeCalc(2)))),
+                                     new MaxNodeCalc(ts("c"), 3)),
+                BinaryOperation.plus(ts("b"), BinaryOperation.plus(new IntegerNodeCalc(1), new IntegerNodeCalc(2))));
+        assertSameAsPointEvaluation(nodeCalc);
+
+        // only compressed inputs
+        assertSameAsPointEvaluation(BinaryOperation.multiply(BinaryOperation.plus(ts("b"), ts("c")), UnaryOperation.negative(ts("c"))));
+    }
+
+    @Test
+    public void testDeepTree() {
+        // deeper than the recursion threshold of node calc visitors
+        NodeCalc nodeCalc = ts("a");
+        for (int i = 0; i < 1500; i++) {
+            nodeCalc = BinaryOperation.plus(i % 2 == 0 ? ts("b") : new IntegerNodeCalc(i), nodeCalc);
+        }
+        assertSameAsPointEvaluation(nodeCalc);
+    }
+
+    @Test
+    public void testConstantFolding() {
+        NodeCalcVectorEvaluator evaluator = NodeCalcVectorEvaluator.compile(
+                new MinNodeCalc(UnaryOperation.negative(BinaryOperation.plus(new IntegerNodeCalc(1), new DoubleNodeCalc(2.5))), -4));
+        double[] result = new double[3];
+        evaluator.eval(new double[0][], new int[0], new double[0], index, 0, 3, result);
+        assertArrayEquals(new double[] {-4, -4, -4}, result, 0d);
+    }
+}
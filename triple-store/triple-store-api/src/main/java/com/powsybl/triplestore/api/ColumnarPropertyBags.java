@@ -0,0 +1,377 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.triplestore.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Property bags sharing the same property names, stored in columns instead of one map per bag.
+ * <p>
+ * Values are dictionary encoded: each distinct value is stored once and the columns only hold its code. Numeric values
+ * are parsed once per distinct value, the first time they are accessed through {@link PropertyBag#asDouble} or
+ * {@link PropertyBag#asInt}. The bags of the list are lightweight views on a row of the columns, that are copied to a
+ * regular map the first time they are modified.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class ColumnarPropertyBags extends PropertyBags {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ColumnarPropertyBags.class);
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int UNBOUND = -1;
+
+    private static final byte UNPARSED = 0;
+    private static final byte VALID = 1;
+    private static final byte INVALID = 2;
+
+    private final List<String> names;
+
+    private final Map<String, Integer> columnByName = new HashMap<>();
+
+    private final boolean removeInitialUnderscoreForIdentifiers;
+
+    private int[][] columns;
+
+    private int rowCount = 0;
+
+    private final Map<String, Integer> codeByValue = new HashMap<>();
+
+    private String[] dictionary = new String[INITIAL_CAPACITY];
+
+    private double[] doubles = new double[0];
+    private byte[] doubleStates = new byte[0];
+
+    private int[] ints = new int[0];
+    private byte[] intStates = new byte[0];
+
+    public ColumnarPropertyBags(List<String> names, boolean removeInitialUnderscoreForIdentifiers) {
+        this.names = List.copyOf(names);
+        this.removeInitialUnderscoreForIdentifiers = removeInitialUnderscoreForIdentifiers;
+        for (int i = 0; i < this.names.size(); i++) {
+            columnByName.put(this.names.get(i), i);
+        }
+        columns = new int[this.names.size()][INITIAL_CAPACITY];
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Add a bag given the values of all the properties, in the order of the property names, a null value meaning the
+     * property is not defined in the bag.
+     */
+    public PropertyBag addRow(String... values) {
+        if (values.length != names.size()) {
+            throw new IllegalArgumentException("Expected " + names.size() + " values, got " + values.length);
+        }
+        if (rowCount == columns[0].length) {
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], rowCount * 2);
+            }
+        }
+        for (int c = 0; c < values.length; c++) {
+            columns[c][rowCount] = values[c] != null ? encode(values[c]) : UNBOUND;
+        }
+        Row row = new Row(this, rowCount++);
+        add(row);
+        return row;
+    }
+
+    private int encode(String value) {
+        Integer code = codeByValue.get(value);
+        if (code == null) {
+            code = codeByValue.size();
+            if (code == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, code * 2);
+            }
+            dictionary[code] = value;
+            codeByValue.put(value, code);
+        }
+        return code;
+    }
+
+    private int code(int row, Object name) {
+        Integer column = columnByName.get(name);
+        return column != null ? columns[column][row] : UNBOUND;
+    }
+
+    private String value(int row, Object name) {
+        int code = code(row, name);
+        return code != UNBOUND ? dictionary[code] : null;
+    }
+
+    private double asDouble(int row, String name, double defaultValue) {
+        int code = code(row, name);
+        if (code == UNBOUND) {
+            return defaultValue;
+        }
+        if (code >= doubleStates.length) {
+            doubles = Arrays.copyOf(doubles, codeByValue.size());
+            doubleStates = Arrays.copyOf(doubleStates, codeByValue.size());
+        }
+        if (doubleStates[code] == UNPARSED) {
+            try {
+                doubles[code] = Double.parseDouble(dictionary[code]);
+                doubleStates[code] = VALID;
+            } catch (NumberFormatException x) {
+                doubleStates[code] = INVALID;
+            }
+        }
+        if (doubleStates[code] == INVALID) {
+            LOG.warn("Invalid value for property {} : {}", name, dictionary[code]);
+            return Double.NaN;
+        }
+        return doubles[code];
+    }
+
+    private int asInt(int row, String name) {
+        int code = code(row, name);
+        if (code == UNBOUND) {
+            // Same failure than parsing a missing value
+            throw new NumberFormatException("null");
+        }
+        if (code >= intStates.length) {
+            ints = Arrays.copyOf(ints, codeByValue.size());
+            intStates = Arrays.copyOf(intStates, codeByValue.size());
+        }
+        if (intStates[code] == UNPARSED) {
+            try {
+                ints[code] = Integer.parseInt(dictionary[code]);
+                intStates[code] = VALID;
+            } catch (NumberFormatException x) {
+                intStates[code] = INVALID;
+            }
+        }
+        if (intStates[code] == INVALID) {
+            return Integer.parseInt(dictionary[code]);
+        }
+        return ints[code];
+    }
+
+    /**
+     * A view on a row of the columns. All the read accessors are answered from the columns, the first modification
+     * copies the row to the map.
+     */
+    private static final class Row extends PropertyBag {
+
+        private ColumnarPropertyBags bags;
+
+        private final int row;
+
+        private Row(ColumnarPropertyBags bags, int row) {
+            super(bags.names, bags.removeInitialUnderscoreForIdentifiers);
+            this.bags = bags;
+            this.row = row;
+        }
+
+        private boolean isView() {
+            return bags != null;
+        }
+
+        private Map<String, String> toMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (String name : bags.names) {
+                String value = bags.value(row, name);
+                if (value != null) {
+                    map.put(name, value);
+                }
+            }
+            return map;
+        }
+
+        private void materialize() {
+            if (isView()) {
+                Map<String, String> map = toMap();
+                bags = null;
+                super.putAll(map);
+            }
+        }
+
+        @Override
+        public String get(Object key) {
+            return isView() ? bags.value(row, key) : super.get(key);
+        }
+
+        @Override
+        public String getOrDefault(Object key, String defaultValue) {
+            if (isView()) {
+                String value = bags.value(row, key);
+                return value != null ? value : defaultValue;
+            }
+            return super.getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return isView() ? bags.code(row, key) != UNBOUND : super.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return isView() ? toMap().containsValue(value) : super.containsValue(value);
+        }
+
+        @Override
+        public int size() {
+            if (isView()) {
+                int size = 0;
+                for (int[] column : bags.columns) {
+                    if (column[row] != UNBOUND) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+            return super.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return isView() ? Collections.unmodifiableMap(toMap()).entrySet() : super.entrySet();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return isView() ? Collections.unmodifiableSet(toMap().keySet()) : super.keySet();
+        }
+
+        @Override
+        public Collection<String> values() {
+            return isView() ? Collections.unmodifiableCollection(toMap().values()) : super.values();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super String> action) {
+            if (isView()) {
+                toMap().forEach(action);
+            } else {
+                super.forEach(action);
+            }
+        }
+
+        @Override
+        public double asDouble(String property, double defaultValue) {
+            return isView() ? bags.asDouble(row, property, defaultValue) : super.asDouble(property, defaultValue);
+        }
+
+        @Override
+        public int asInt(String property) {
+            return isView() ? bags.asInt(row, property) : super.asInt(property);
+        }
+
+        @Override
+        public int asInt(String property, int defaultValue) {
+            if (isView()) {
+                return containsKey(property) ? bags.asInt(row, property) : defaultValue;
+            }
+            return super.asInt(property, defaultValue);
+        }
+
+        @Override
+        public String put(String key, String value) {
+            materialize();
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends String> m) {
+            materialize();
+            super.putAll(m);
+        }
+
+        @Override
+        public String putIfAbsent(String key, String value) {
+            materialize();
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        public String remove(Object key) {
+            materialize();
+            return super.remove(key);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            materialize();
+            return super.remove(key, value);
+        }
+
+        @Override
+        public void clear() {
+            materialize();
+            super.clear();
+        }
+
+        @Override
+        public String replace(String key, String value) {
+            materialize();
+            return super.replace(key, value);
+        }
+
+        @Override
+        public boolean replace(String key, String oldValue, String newValue) {
+            materialize();
+            return super.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super String, ? extends String> function) {
+            materialize();
+            super.replaceAll(function);
+        }
+
+        @Override
+        public String computeIfAbsent(String key, Function<? super String, ? extends String> mappingFunction) {
+            materialize();
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public String computeIfPresent(String key, BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+            materialize();
+            return super.computeIfPresent(key, remappingFunction);
+        }
+
+        @Override
+        public String compute(String key, BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+            materialize();
+            return super.compute(key, remappingFunction);
+        }
+
+        @Override
+        public String merge(String key, String value, BiFunction<? super String, ? super String, ? extends String> remappingFunction) {
+            materialize();
+            return super.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public Object clone() {
+            materialize();
+            return super.clone();
+        }
+
+        @Override
+        public String toString() {
+            return isView() ? toMap().toString() : super.toString();
+        }
+    }
+}
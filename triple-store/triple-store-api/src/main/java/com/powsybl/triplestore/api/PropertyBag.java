@@ -182,13 +182,11 @@ public class PropertyBag extends HashMap<String, String> {
     }
 
     public void setResourceNames(List<String> resourceNames) {
-        this.resourceNames.clear();
-        this.resourceNames.addAll(Objects.requireNonNull(resourceNames));
+        this.resourceNames = copyOf(resourceNames);
     }
 
     public void setClassPropertyNames(List<String> classPropertyNames) {
-        this.classPropertyNames.clear();
-        this.classPropertyNames.addAll(Objects.requireNonNull(classPropertyNames));
+        this.classPropertyNames = copyOf(classPropertyNames);
     }
 
     public boolean isClassProperty(String name) {
@@ -196,8 +194,12 @@ public class PropertyBag extends HashMap<String, String> {
     }
 
     public void setMultivaluedProperty(List<String> multiValuedPropertyNames) {
-        this.multiValuedPropertyNames.clear();
-        this.multiValuedPropertyNames.addAll(Objects.requireNonNull(multiValuedPropertyNames));
+        this.multiValuedPropertyNames = copyOf(multiValuedPropertyNames);
+    }
+
+    private static List<String> copyOf(List<String> names) {
+        // Most of the bags do not have any of these names, do not allocate a list for each of them
+        return Objects.requireNonNull(names).isEmpty() ? Collections.emptyList() : new ArrayList<>(names);
     }
 
     public boolean isMultivaluedProperty(String name) {
@@ -216,9 +218,9 @@ public class PropertyBag extends HashMap<String, String> {
 
     private final List<String> propertyNames;
     private final boolean removeInitialUnderscoreForIdentifiers;
-    private final List<String> resourceNames = new ArrayList<>();
-    private final List<String> classPropertyNames = new ArrayList<>();
-    private final List<String> multiValuedPropertyNames = new ArrayList<>();
+    private List<String> resourceNames = Collections.emptyList();
+    private List<String> classPropertyNames = Collections.emptyList();
+    private List<String> multiValuedPropertyNames = Collections.emptyList();
 
     private static final String NAMESPACE_PREFIX = "data";
     private static final String INDENTATION = "    ";
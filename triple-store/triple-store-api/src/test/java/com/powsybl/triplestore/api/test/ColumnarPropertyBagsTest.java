@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.triplestore.api.test;
+
+import com.powsybl.triplestore.api.ColumnarPropertyBags;
+import com.powsybl.triplestore.api.PropertyBag;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class ColumnarPropertyBagsTest {
+
+    private static final List<String> NAMES = Arrays.asList("id", "value", "count");
+
+    @Test
+    public void testRowsBehaveAsBags() {
+        ColumnarPropertyBags bags = new ColumnarPropertyBags(NAMES, true);
+        PropertyBag b0 = bags.addRow("http://example.com/#_id0", "1.5", "3");
+        PropertyBag b1 = bags.addRow("http://example.com/#_id1", null, "3");
+
+        PropertyBag expected0 = new PropertyBag(NAMES, true);
+        expected0.put("id", "http://example.com/#_id0");
+        expected0.put("value", "1.5");
+        expected0.put("count", "3");
+
+        assertEquals(2, bags.size());
+        assertSame(b0, bags.get(0));
+        assertEquals(expected0, b0);
+        assertEquals(Map.copyOf(expected0), Map.copyOf(b0));
+        assertEquals(expected0.hashCode(), b0.hashCode());
+        assertEquals("id0", b0.getId("id"));
+        assertEquals("_id1", b1.getLocal("id"));
+        assertEquals(1.5, b0.asDouble("value"), 0.0);
+        assertTrue(Double.isNaN(b1.asDouble("value")));
+        assertEquals(2.0, b1.asDouble("value", 2.0), 0.0);
+        assertEquals(3, b0.asInt("count"));
+        assertEquals(3, b1.asInt("count", 0));
+        assertEquals(2, b1.size());
+        assertFalse(b1.containsKey("value"));
+        assertNull(b1.get("unknown"));
+        assertEquals(Arrays.asList("1.5", null), bags.pluck("value"));
+        assertEquals(Arrays.asList("id0", "id1"), bags.pluckIdentifiers("id"));
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        ColumnarPropertyBags bags = new ColumnarPropertyBags(NAMES, true);
+        PropertyBag b = bags.addRow("id", "invalid", "1.5");
+        assertTrue(Double.isNaN(b.asDouble("value")));
+        assertTrue(Double.isNaN(b.asDouble("value")));
+        assertThrows(NumberFormatException.class, () -> b.asInt("count"));
+        assertThrows(NumberFormatException.class, () -> b.asInt("value"));
+    }
+
+    @Test
+    public void testModifiedRow() {
+        ColumnarPropertyBags bags = new ColumnarPropertyBags(NAMES, true);
+        PropertyBag b0 = bags.addRow("id0", "1.0", null);
+        PropertyBag b1 = bags.addRow("id1", "1.0", null);
+        b0.put("value", "2.0");
+        b0.put("count", "4");
+        b0.remove("id");
+
+        assertEquals(2.0, b0.asDouble("value"), 0.0);
+        assertEquals(4, b0.asInt("count"));
+        assertFalse(b0.containsKey("id"));
+        assertEquals(2, b0.size());
+        // other rows sharing the same values are not modified
+        assertEquals(1.0, b1.asDouble("value"), 0.0);
+        assertEquals("id1", b1.get("id"));
+
+        PropertyBag copy = b1.copy();
+        copy.put("count", "5");
+        assertFalse(b1.containsKey("count"));
+        assertEquals(5, copy.asInt("count"));
+    }
+}
@@ -171,7 +171,6 @@ public class TripleStoreRDF4J extends AbstractPowsyblTripleStore {
     @Override
     public PropertyBags query(String query) {
         String query1 = adjustedQuery(query);
-        PropertyBags results = new PropertyBags();
         try (RepositoryConnection conn = repo.getConnection()) {
             // Default language is SPARQL
             TupleQuery q = conn.prepareTupleQuery(query1);
@@ -191,23 +190,24 @@ public class TripleStoreRDF4J extends AbstractPowsyblTripleStore {
             // This means that we have to filter distinct results
             try (TupleQueryResult r = QueryResults.distinctResults(q.evaluate())) {
                 List<String> names = r.getBindingNames();
+                // All the solutions share the same names, store them in columns
+                ColumnarPropertyBags results = new ColumnarPropertyBags(names, options.isRemoveInitialUnderscoreForIdentifiers());
+                String[] values = new String[names.size()];
                 while (r.hasNext()) {
                     BindingSet s = r.next();
-                    PropertyBag result = new PropertyBag(names, options.isRemoveInitialUnderscoreForIdentifiers());
-
-                    names.forEach(name -> {
-                        if (s.hasBinding(name)) {
-                            String value = s.getBinding(name).getValue().stringValue();
-                            result.put(name, value);
-                        }
-                    });
-                    if (result.size() > 0) {
-                        results.add(result);
+                    boolean bound = false;
+                    for (int i = 0; i < values.length; i++) {
+                        Binding binding = s.getBinding(names.get(i));
+                        values[i] = binding != null ? binding.getValue().stringValue() : null;
+                        bound |= binding != null;
+                    }
+                    if (bound) {
+                        results.addRow(values);
                     }
                 }
+                return results;
             }
         }
-        return results;
     }
 
     @Override
@@ -15,6 +15,9 @@ import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.parameters.Parameter;
+import com.powsybl.commons.parameters.ParameterDefaultValueConfig;
+import com.powsybl.commons.parameters.ParameterType;
 import com.powsybl.commons.reporter.Reporter;
 import com.powsybl.entsoe.util.*;
 import com.powsybl.iidm.import_.Importer;
@@ -47,6 +50,11 @@ public class UcteImporter implements Importer {
 
     private static final String[] EXTENSIONS = {"uct", "UCT"};
 
+    private static final Parameter PARALLEL_PARSING_PARAMETER = new Parameter("ucte.import.parallel-parsing",
+                                                                              ParameterType.BOOLEAN,
+                                                                              "Parse the records of the file in parallel",
+                                                                              Boolean.FALSE);
+
     private static double getConductance(UcteTransformer ucteTransfo) {
         double g = 0;
         if (!Double.isNaN(ucteTransfo.getConductance())) {
@@ -861,6 +869,11 @@ public class UcteImporter implements Importer {
         return "UCTE";
     }
 
+    @Override
+    public List<Parameter> getParameters() {
+        return Collections.singletonList(PARALLEL_PARSING_PARAMETER);
+    }
+
     @Override
     public String getComment() {
         return "UCTE-DEF";
@@ -1016,7 +1029,9 @@ public class UcteImporter implements Importer {
 
                 Stopwatch stopwatch = Stopwatch.createStarted();
 
-                UcteNetworkExt ucteNetwork = new UcteNetworkExt(new UcteReader().read(reader, reporter), LINE_MIN_Z);
+                boolean parallelParsing = Parameter.readBoolean(getFormat(), parameters, PARALLEL_PARSING_PARAMETER,
+                        ParameterDefaultValueConfig.INSTANCE);
+                UcteNetworkExt ucteNetwork = new UcteNetworkExt(new UcteReader().read(reader, parallelParsing, reporter), LINE_MIN_Z);
                 String fileName = dataSource.getBaseName();
 
                 EntsoeFileName ucteFileName = EntsoeFileName.parse(fileName);
@@ -6,6 +6,7 @@
  */
 package com.powsybl.ucte.converter;
 
+import com.powsybl.commons.datasource.MemDataSource;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.commons.datasource.ResourceDataSource;
 import com.powsybl.commons.datasource.ResourceSet;
@@ -18,6 +19,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+
 import static org.junit.Assert.*;
 
 /**
@@ -255,5 +261,23 @@ public class UcteImporterTest {
         assertEquals(0.0, network.getTwoWindingsTransformer("ZABCD221 ZEFGH221 1").getPhaseTapChanger().getTargetDeadband(), 10E-3);
         assertEquals(network.getTwoWindingsTransformer("ZABCD221 ZEFGH221 1").getTerminal1(), network.getTwoWindingsTransformer("ZABCD221 ZEFGH221 1").getPhaseTapChanger().getRegulationTerminal());
     }
+
+    private static String importAndExport(String baseName, boolean parallelParsing) throws IOException {
+        ResourceDataSource dataSource = new ResourceDataSource(baseName, new ResourceSet("/", baseName + ".uct"));
+        Properties parameters = new Properties();
+        parameters.setProperty("ucte.import.parallel-parsing", Boolean.toString(parallelParsing));
+        Network network = new UcteImporter().importData(dataSource, new NetworkFactoryImpl(), parameters);
+        MemDataSource exported = new MemDataSource();
+        new UcteExporter().export(network, null, exported);
+        // skip the comment block, that contains the export date
+        return new String(exported.getData(null, "uct"), StandardCharsets.UTF_8).replaceFirst("(?s)^##C.*?##N", "");
+    }
+
+    @Test
+    public void parallelParsingTest() throws IOException {
+        for (String baseName : List.of("germanTsos", "phaseShifterActivePowerOn", "multipleStatusTests", "tapPositionsRange", "frTestGridForMerging")) {
+            assertEquals(baseName, importAndExport(baseName, false), importAndExport(baseName, true));
+        }
+    }
 }
 
@@ -14,6 +14,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  *
@@ -23,8 +32,14 @@ public class UcteReader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UcteReader.class);
 
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final int MAX_PENDING_CHUNKS_PER_THREAD = 4;
+
     private boolean firstCommendBlockRead = false;
 
+    private boolean skipCommentBlock = false;
+
     private void readCommentBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
         LOGGER.trace("Reading comment block");
         if (!firstCommendBlockRead && parser.getParsedRecordTypes().size() > 1) {
@@ -57,7 +72,7 @@ public class UcteReader {
         return new UcteNodeCode(ucteCountryCode, geographicalSpot, voltageLevelCode, busbar);
     }
 
-    private void parseNode(UcteRecordParser parser, UcteNetwork network) {
+    private static UcteNode parseNode(UcteRecordParser parser) {
         UcteNodeCode id = parseNodeCode(parser, 0);
         String geographicalName = parser.parseString(9, 21).trim();
         UcteNodeStatus status = parser.parseEnumOrdinal(22, UcteNodeStatus.class);
@@ -77,13 +92,12 @@ public class UcteReader {
         double xrRatio = parser.parseDouble(119, 126);
         UctePowerPlantType powerPlantType = parser.parseEnumValue(127, UctePowerPlantType.class);
 
-        UcteNode node = new UcteNode(id, geographicalName, status, typeCode, voltageReference,
-                                     activeLoad, reactiveLoad, activePowerGeneration,
-                                     reactivePowerGeneration, minimumPermissibleActivePowerGeneration,
-                                     maximumPermissibleActivePowerGeneration, minimumPermissibleReactivePowerGeneration,
-                                     maximumPermissibleReactivePowerGeneration, staticOfPrimaryControl,
-                                     nominalPowerPrimaryControl, threePhaseShortCircuitPower, xrRatio, powerPlantType);
-        network.addNode(node);
+        return new UcteNode(id, geographicalName, status, typeCode, voltageReference,
+                            activeLoad, reactiveLoad, activePowerGeneration,
+                            reactivePowerGeneration, minimumPermissibleActivePowerGeneration,
+                            maximumPermissibleActivePowerGeneration, minimumPermissibleReactivePowerGeneration,
+                            maximumPermissibleReactivePowerGeneration, staticOfPrimaryControl,
+                            nominalPowerPrimaryControl, threePhaseShortCircuitPower, xrRatio, powerPlantType);
     }
 
     private void readNodeBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
@@ -101,7 +115,7 @@ public class UcteReader {
                 if (countryIsoCode == null) {
                     throw new UcteIoException("A node must be define in a ##Z context");
                 }
-                parseNode(parser, network);
+                network.addNode(parseNode(parser));
             }
         }
     }
@@ -111,7 +125,7 @@ public class UcteReader {
         return UcteElementId.parseUcteElementId(elementId).orElseThrow(() -> new UcteIoException("Invalid element ID: " + elementId));
     }
 
-    private void parseLine(UcteRecordParser parser, UcteNetwork network) {
+    private static UcteLine parseLine(UcteRecordParser parser) {
         UcteElementId id = parseElementId(parser);
         UcteElementStatus status = UcteElementStatus.fromCode(parser.parseInt(20));
         double resistance = parser.parseDouble(22, 28);
@@ -120,8 +134,7 @@ public class UcteReader {
         Integer currentLimit = parser.parseInt(45, 51);
         String elementName = parser.parseString(52, 64);
 
-        UcteLine l = new UcteLine(id, status, resistance, reactance, susceptance, currentLimit, elementName);
-        network.addLine(l);
+        return new UcteLine(id, status, resistance, reactance, susceptance, currentLimit, elementName);
     }
 
     private void readLineBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
@@ -130,12 +143,12 @@ public class UcteReader {
             if (parser.scanRecordType() != null) {
                 parseRecords(parser, network, reporter);
             } else {
-                parseLine(parser, network);
+                network.addLine(parseLine(parser));
             }
         }
     }
 
-    private void parseTransformer(UcteRecordParser parser, UcteNetwork network) {
+    private static UcteTransformer parseTransformer(UcteRecordParser parser) {
         UcteElementId id = parseElementId(parser);
         UcteElementStatus status = UcteElementStatus.fromCode(parser.parseInt(20));
         double ratedVoltage1 = parser.parseDouble(22, 27);
@@ -148,9 +161,8 @@ public class UcteReader {
         Integer currentLimit = parser.parseInt(70, 76);
         String elementName = parser.parseString(77, 89);
 
-        UcteTransformer transfo = new UcteTransformer(id, status, resistance, reactance, susceptance, currentLimit, elementName,
-                                                      ratedVoltage1, ratedVoltage2, nominalPower, conductance);
-        network.addTransformer(transfo);
+        return new UcteTransformer(id, status, resistance, reactance, susceptance, currentLimit, elementName,
+                                   ratedVoltage1, ratedVoltage2, nominalPower, conductance);
     }
 
     private void readTransformerBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
@@ -159,12 +171,12 @@ public class UcteReader {
             if (parser.scanRecordType() != null) {
                 parseRecords(parser, network, reporter);
             } else {
-                parseTransformer(parser, network);
+                network.addTransformer(parseTransformer(parser));
             }
         }
     }
 
-    private UctePhaseRegulation parsePhaseRegulation(UcteRecordParser parser) {
+    private static UctePhaseRegulation parsePhaseRegulation(UcteRecordParser parser) {
         double du = parser.parseDouble(20, 25);
         Integer n = parser.parseInt(26, 28);
         Integer np = parser.parseInt(29, 32);
@@ -175,7 +187,7 @@ public class UcteReader {
         return null;
     }
 
-    private UcteAngleRegulation parseAngleRegulation(UcteRecordParser parser) {
+    private static UcteAngleRegulation parseAngleRegulation(UcteRecordParser parser) {
         double du = parser.parseDouble(39, 44);
         double theta = parser.parseDouble(45, 50);
         Integer n = parser.parseInt(51, 53);
@@ -188,12 +200,11 @@ public class UcteReader {
         return null;
     }
 
-    private void parseRegulation(UcteRecordParser parser, UcteNetwork network) {
+    private static UcteRegulation parseRegulation(UcteRecordParser parser) {
         UcteElementId transfoId = parseElementId(parser);
         UctePhaseRegulation phaseRegulation = parsePhaseRegulation(parser);
         UcteAngleRegulation angleRegulation = parseAngleRegulation(parser);
-        UcteRegulation regulation = new UcteRegulation(transfoId, phaseRegulation, angleRegulation);
-        network.addRegulation(regulation);
+        return new UcteRegulation(transfoId, phaseRegulation, angleRegulation);
     }
 
     private void readRegulationBlock(UcteRecordParser parser, UcteNetwork network, Reporter reporter) throws IOException {
@@ -202,7 +213,7 @@ public class UcteReader {
             if (parser.scanRecordType() != null) {
                 parseRecords(parser, network, reporter);
             } else {
-                parseRegulation(parser, network);
+                network.addRegulation(parseRegulation(parser));
             }
         }
     }
@@ -265,13 +276,195 @@ public class UcteReader {
         } while (parser.nextLine());
     }
 
+    /**
+     * A chunk of consecutive records of a block, parsed concurrently with the other chunks.
+     */
+    private static final class Chunk {
+
+        private final UcteRecordType recordType;
+
+        private final List<String> lines = new ArrayList<>(CHUNK_SIZE);
+
+        private Chunk(UcteRecordType recordType) {
+            this.recordType = recordType;
+        }
+
+        private <T> List<T> parse(Function<UcteRecordParser, T> parseRecord) {
+            UcteRecordParser parser = new UcteRecordParser();
+            List<T> records = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                parser.setLine(line);
+                records.add(parseRecord.apply(parser));
+            }
+            return records;
+        }
+
+        /**
+         * Parse the records of the chunk and return how to add them to the network.
+         */
+        private Consumer<UcteNetwork> parse() {
+            switch (recordType) {
+                case N:
+                    List<UcteNode> nodes = parse(UcteReader::parseNode);
+                    return network -> nodes.forEach(network::addNode);
+                case L:
+                    List<UcteLine> lines = parse(UcteReader::parseLine);
+                    return network -> lines.forEach(network::addLine);
+                case T:
+                    List<UcteTransformer> transformers = parse(UcteReader::parseTransformer);
+                    return network -> transformers.forEach(network::addTransformer);
+                case R:
+                    List<UcteRegulation> regulations = parse(UcteReader::parseRegulation);
+                    return network -> regulations.forEach(network::addRegulation);
+                default:
+                    throw new IllegalStateException("Unexpected record type " + recordType);
+            }
+        }
+    }
+
+    private static void addParsedChunk(Deque<CompletableFuture<Consumer<UcteNetwork>>> parsedChunks, UcteNetwork network) {
+        try {
+            parsedChunks.removeFirst().join().accept(network);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Chunk submit(Chunk chunk, Deque<CompletableFuture<Consumer<UcteNetwork>>> parsedChunks, int maxPendingChunks,
+                                UcteNetwork network) {
+        if (chunk != null && !chunk.lines.isEmpty()) {
+            if (parsedChunks.size() >= maxPendingChunks) {
+                addParsedChunk(parsedChunks, network);
+            }
+            parsedChunks.addLast(CompletableFuture.supplyAsync(chunk::parse, ForkJoinPool.commonPool()));
+        }
+        return null;
+    }
+
+    /**
+     * Read the block structure in the calling thread, and parse the node, line, transformer and regulation records by
+     * chunks in the common pool. Parsed records are added to the network in the order of the file, so that the network
+     * and the first error reported, if any, are the same as with the sequential reading.
+     */
+    private void readRecordsInParallel(BufferedReader reader, UcteNetwork network, Reporter reporter) throws IOException {
+        int maxPendingChunks = MAX_PENDING_CHUNKS_PER_THREAD * ForkJoinPool.commonPool().getParallelism();
+        Deque<CompletableFuture<Consumer<UcteNetwork>>> parsedChunks = new ArrayDeque<>();
+        UcteRecordParser parser = new UcteRecordParser(reader);
+        UcteRecordType blockType = null;
+        String countryIsoCode = null;
+        Chunk chunk = null;
+        if (parser.getLine() != null) {
+            do {
+                UcteRecordType recordType = parser.scanRecordType();
+                if (recordType == UcteRecordType.Z && blockType == UcteRecordType.N) {
+                    countryIsoCode = parser.parseString(3, 5);
+                } else if (recordType != null) {
+                    chunk = submit(chunk, parsedChunks, maxPendingChunks, network);
+                    blockType = recordType;
+                    countryIsoCode = null;
+                    try {
+                        startBlock(parser, recordType, network, reporter);
+                    } catch (RuntimeException e) {
+                        throw addParsedChunksBefore(e, null, parsedChunks, network);
+                    }
+                } else if (blockType == null) {
+                    LOGGER.warn("Skipping line '{}'", parser.getLine());
+                } else if (blockType == UcteRecordType.C) {
+                    if (!skipCommentBlock) {
+                        network.getComments().add(parser.getLine());
+                    }
+                } else if (blockType != UcteRecordType.TT && blockType != UcteRecordType.E) {
+                    if (blockType == UcteRecordType.N && countryIsoCode == null) {
+                        throw addParsedChunksBefore(new UcteIoException("A node must be define in a ##Z context"), chunk, parsedChunks, network);
+                    }
+                    if (chunk == null) {
+                        chunk = new Chunk(blockType);
+                    }
+                    chunk.lines.add(parser.getLine());
+                    if (chunk.lines.size() == CHUNK_SIZE) {
+                        chunk = submit(chunk, parsedChunks, maxPendingChunks, network);
+                    }
+                }
+            } while (parser.nextLine());
+        }
+        submit(chunk, parsedChunks, maxPendingChunks, network);
+        while (!parsedChunks.isEmpty()) {
+            addParsedChunk(parsedChunks, network);
+        }
+    }
+
+    /**
+     * Records before an invalid block structure are parsed first, to report the same error as the sequential reading.
+     */
+    private static RuntimeException addParsedChunksBefore(RuntimeException error, Chunk chunk,
+                                                          Deque<CompletableFuture<Consumer<UcteNetwork>>> parsedChunks,
+                                                          UcteNetwork network) {
+        submit(chunk, parsedChunks, Integer.MAX_VALUE, network);
+        while (!parsedChunks.isEmpty()) {
+            addParsedChunk(parsedChunks, network);
+        }
+        return error;
+    }
+
+    private void startBlock(UcteRecordParser parser, UcteRecordType recordType, UcteNetwork network, Reporter reporter) {
+        switch (recordType) {
+            case C:
+                LOGGER.trace("Reading comment block");
+                if (!firstCommendBlockRead && parser.getParsedRecordTypes().size() > 1) {
+                    throw new UcteIoException("First block must be a comment block");
+                }
+                skipCommentBlock = firstCommendBlockRead;
+                if (!firstCommendBlockRead) {
+                    network.setVersion(UcteFormatVersion.findByDate(parser.parseString(4, 14)));
+                }
+                firstCommendBlockRead = true;
+                break;
+            case N:
+                LOGGER.trace("Reading node block");
+                break;
+            case L:
+                LOGGER.trace("Reading line block");
+                break;
+            case T:
+                LOGGER.trace("Reading transformer block");
+                break;
+            case R:
+                LOGGER.trace("Reading regulation block");
+                break;
+            case TT:
+                LOGGER.warn("TT block not supported");
+                reporter.report("UnsupportedTTBlock", "TT block not supported");
+                break;
+            case E:
+                LOGGER.warn("E block not supported");
+                break;
+            default:
+                throw new UcteIoException("Unknown record type " + recordType);
+        }
+    }
+
     public UcteNetwork read(BufferedReader reader, Reporter reporter) throws IOException {
+        return read(reader, false, reporter);
+    }
+
+    /**
+     * Read a UCTE network, the records of the file being parsed concurrently if {@code parallel} is true. The resulting
+     * network is the same in both cases.
+     */
+    public UcteNetwork read(BufferedReader reader, boolean parallel, Reporter reporter) throws IOException {
 
         Reporter readReporter = reporter.createSubReporter("UcteReading", "Reading UCTE network file");
         long start = System.currentTimeMillis();
         UcteNetwork network = new UcteNetworkImpl();
-        UcteRecordParser parser = new UcteRecordParser(reader);
-        parseRecords(parser, network, readReporter);
+        if (parallel) {
+            readRecordsInParallel(reader, network, readReporter);
+        } else {
+            UcteRecordParser parser = new UcteRecordParser(reader);
+            parseRecords(parser, network, readReporter);
+        }
         LOGGER.debug("UCTE file read in {} ms", System.currentTimeMillis() - start);
 
         network.fix(readReporter);
@@ -17,6 +17,15 @@ import java.util.Set;
  */
 class UcteRecordParser {
 
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    /* up to 15 digits, the mantissa and the power of ten are exact doubles so their quotient is correctly rounded */
+    private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+
+    private static final int MAX_FAST_INT_DIGITS = 9;
+
     private final BufferedReader reader;
 
     private String line;
@@ -28,11 +37,26 @@ class UcteRecordParser {
         nextLine();
     }
 
+    /**
+     * Create a parser of records that are not read from a file but given one by one with {@link #setLine(String)}.
+     */
+    UcteRecordParser() {
+        this.reader = null;
+    }
+
     String getLine() {
         return line;
     }
 
+    void setLine(String line) {
+        this.line = line;
+    }
+
     boolean nextLine() throws IOException {
+        if (reader == null) {
+            line = null;
+            return false;
+        }
         do {
             line = reader.readLine();
         } while (line != null && line.trim().isEmpty()); // skip empty lines
@@ -76,19 +100,96 @@ class UcteRecordParser {
         return line == null || index >= line.length() ? null : line.charAt(index);
     }
 
+    private int trimmedBegin(int beginIndex, int endIndex) {
+        int begin = beginIndex;
+        while (begin < endIndex && line.charAt(begin) <= ' ') {
+            begin++;
+        }
+        return begin;
+    }
+
+    private int trimmedEnd(int begin, int endIndex) {
+        int end = endIndex;
+        while (end > begin && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
     Integer parseInt(int beginIndex, int endIndex) {
-        String str = parseString(beginIndex, endIndex);
-        return str == null || str.trim().isEmpty() ? null : Integer.valueOf(str);
+        // Numbers are parsed from the characters of the line, without creating a string, except for unusual forms
+        if (line == null || Math.min(endIndex, line.length()) < beginIndex) {
+            return null;
+        }
+        int begin = trimmedBegin(beginIndex, Math.min(endIndex, line.length()));
+        int end = trimmedEnd(begin, Math.min(endIndex, line.length()));
+        if (begin == end) {
+            return null;
+        }
+        int i = begin;
+        boolean negative = line.charAt(i) == '-';
+        if (negative || line.charAt(i) == '+') {
+            i++;
+        }
+        int value = 0;
+        if (i == end || end - i > MAX_FAST_INT_DIGITS) {
+            return Integer.valueOf(line.substring(begin, end));
+        }
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return Integer.valueOf(line.substring(begin, end));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
     }
 
     Integer parseInt(int index) {
         Character c = parseChar(index);
-        return c == null || c == ' ' ? null : Integer.valueOf(Character.toString(c));
+        if (c == null || c == ' ') {
+            return null;
+        }
+        return c >= '0' && c <= '9' ? Integer.valueOf(c - '0') : Integer.valueOf(Character.toString(c));
     }
 
     double parseDouble(int beginIndex, int endIndex) {
-        String str = parseString(beginIndex, endIndex);
-        return str == null || str.trim().isEmpty() ? Double.NaN : Double.valueOf(str);
+        if (line == null || Math.min(endIndex, line.length()) < beginIndex) {
+            return Double.NaN;
+        }
+        int begin = trimmedBegin(beginIndex, Math.min(endIndex, line.length()));
+        int end = trimmedEnd(begin, Math.min(endIndex, line.length()));
+        if (begin == end) {
+            return Double.NaN;
+        }
+        int i = begin;
+        boolean negative = line.charAt(i) == '-';
+        if (negative || line.charAt(i) == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9' && digits < MAX_FAST_DOUBLE_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                // exponent, too many digits or invalid number: same result and same failure than the usual parsing
+                return Double.parseDouble(line.substring(begin, end));
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(line.substring(begin, end));
+        }
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return negative ? -value : value;
     }
 
     <E extends Enum<E>> E parseEnumOrdinal(int index, Class<E> clazz) {
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import com.powsybl.commons.reporter.Reporter;
+import com.powsybl.ucte.network.UcteNetwork;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read a large UCTE file, records being parsed sequentially or in parallel.
+ * <p>
+ * Run it with {@code java -cp <test classpath> com.powsybl.ucte.network.io.UcteReaderBenchmark}.
+ *
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UcteReaderBenchmark {
+
+    @Param({"100000"})
+    private int nodeCount;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        content = UcteReaderTest.createFile(nodeCount);
+    }
+
+    @Benchmark
+    public UcteNetwork read() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+            return new UcteReader().read(reader, parallel, Reporter.NO_OP);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UcteReaderBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
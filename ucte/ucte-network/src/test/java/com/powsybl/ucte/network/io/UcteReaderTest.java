@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import com.powsybl.commons.reporter.Reporter;
+import com.powsybl.ucte.network.UcteNetwork;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class UcteReaderTest {
+
+    private static final String REFERENCE = "/20170322_1844_SN3_FR2.uct";
+
+    /**
+     * Create a UCTE file of a chain of nodes, large enough to be parsed in several chunks.
+     */
+    static String createFile(int nodeCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("##C 2007.05.01").append(System.lineSeparator())
+                .append("Generated network").append(System.lineSeparator())
+                .append("##N").append(System.lineSeparator())
+                .append("##ZFR").append(System.lineSeparator());
+        for (int i = 0; i < nodeCount; i++) {
+            builder.append(String.format(Locale.US, "%s %-12s 0 0 %6.2f %7.3f %7.3f %7.3f %7.3f",
+                    nodeCode(i), "NODE" + i, 400.0, i % 1000 * 0.137, i % 100 * -0.31, 0.0, 0.0))
+                    .append(System.lineSeparator());
+        }
+        builder.append("##L").append(System.lineSeparator());
+        for (int i = 0; i < nodeCount - 1; i++) {
+            builder.append(String.format(Locale.US, "%s %s 1 0 %6.4f %6.3f %8.4f %6d %-12s",
+                    nodeCode(i), nodeCode(i + 1), 1 + i % 100 * 0.01, 10 + i % 50 * 0.1, 1.5, 1000 + i % 500, "LINE" + i))
+                    .append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    private static String nodeCode(int i) {
+        return String.format("F%05d11", i);
+    }
+
+    private static UcteNetwork read(String content, boolean parallel) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+            return new UcteReader().read(reader, parallel, Reporter.NO_OP);
+        }
+    }
+
+    private static String write(UcteNetwork network) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (BufferedWriter bufferedWriter = new BufferedWriter(writer)) {
+            new UcteWriter(network).write(bufferedWriter);
+        }
+        return writer.toString();
+    }
+
+    private static void assertSameNetwork(String content) throws IOException {
+        UcteNetwork expected = read(content, false);
+        UcteNetwork actual = read(content, true);
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getComments(), actual.getComments());
+        assertEquals(write(expected), write(actual));
+    }
+
+    @Test
+    public void testParallelReading() throws IOException {
+        String reference;
+        try (InputStream is = getClass().getResourceAsStream(REFERENCE)) {
+            reference = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertSameNetwork(reference);
+        assertSameNetwork(createFile(5000));
+    }
+
+    @Test
+    public void testParallelReadingErrors() {
+        // node outside of a ##Z block
+        String noCountry = String.join(System.lineSeparator(), "##C 2007.05.01", "##N",
+                "FFNHV111 FNHV1__ HV1- 0 0        0.00000 0.00000 0.00000 0.00000");
+        UcteIoException e = assertThrows(UcteIoException.class, () -> read(noCountry, true));
+        assertEquals("A node must be define in a ##Z context", e.getMessage());
+
+        // invalid number before an invalid block structure: the first error of the file is reported
+        String invalidNumber = String.join(System.lineSeparator(), "##C 2007.05.01", "##N", "##ZFR",
+                "FFNHV111 FNHV1__ HV1- 0 0        0.0x000 0.00000 0.00000 0.00000", "##Z");
+        assertThrows(NumberFormatException.class, () -> read(invalidNumber, false));
+        assertThrows(NumberFormatException.class, () -> read(invalidNumber, true));
+
+        String noComment = String.join(System.lineSeparator(), "##N", "##C 2007.05.01");
+        e = assertThrows(UcteIoException.class, () -> read(noComment, true));
+        assertEquals("First block must be a comment block", e.getMessage());
+    }
+}
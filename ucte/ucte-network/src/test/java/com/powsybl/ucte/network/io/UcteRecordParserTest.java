@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2022, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.ucte.network.io;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Damien Rousseau <damien.rousseau at rte-france.com>
+ */
+public class UcteRecordParserTest {
+
+    private static double parseDouble(String value) {
+        UcteRecordParser parser = new UcteRecordParser();
+        parser.setLine("  " + value);
+        return parser.parseDouble(2, 2 + value.length());
+    }
+
+    private static Integer parseInt(String value) {
+        UcteRecordParser parser = new UcteRecordParser();
+        parser.setLine("  " + value);
+        return parser.parseInt(2, 2 + value.length());
+    }
+
+    @Test
+    public void testParseDouble() {
+        String[] values = {"3.0035", "-800.00", "0.00000", "  1.5  ", "1.", "-.5", "+2.25", "-0.0", "385.9970", "9999.00",
+            "0.1", "0.3", "-5.48435", "0.0000023", "1e3", "1.5E-6", "123456789012345678", "0.12345678901234567"};
+        for (String value : values) {
+            assertEquals(value, Double.valueOf(value.trim()), parseDouble(value), 0.0);
+            assertEquals(value, Double.doubleToRawLongBits(Double.parseDouble(value.trim())),
+                    Double.doubleToRawLongBits(parseDouble(value)));
+        }
+        assertTrue(Double.isNaN(parseDouble("")));
+        assertTrue(Double.isNaN(parseDouble("      ")));
+        assertThrows(NumberFormatException.class, () -> parseDouble("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> parseDouble("-"));
+        assertThrows(NumberFormatException.class, () -> parseDouble("abc"));
+
+        // Field beyond the end of a trimmed line
+        UcteRecordParser parser = new UcteRecordParser();
+        parser.setLine("1.5");
+        assertTrue(Double.isNaN(parser.parseDouble(5, 10)));
+        assertEquals(1.5, parser.parseDouble(0, 10), 0.0);
+    }
+
+    @Test
+    public void testParseInt() {
+        assertEquals(Integer.valueOf(1519), parseInt("  1519"));
+        assertEquals(Integer.valueOf(-12), parseInt("-12"));
+        assertEquals(Integer.valueOf(3), parseInt("+3"));
+        assertEquals(Integer.valueOf(1234567890), parseInt("1234567890"));
+        assertNull(parseInt("   "));
+        assertThrows(NumberFormatException.class, () -> parseInt("1.5"));
+        assertThrows(NumberFormatException.class, () -> parseInt("-"));
+
+        UcteRecordParser parser = new UcteRecordParser();
+        parser.setLine("7 x");
+        assertEquals(Integer.valueOf(7), parser.parseInt(0));
+        assertNull(parser.parseInt(1));
+        assertThrows(NumberFormatException.class, () -> parser.parseInt(2));
+    }
+}